@@ -36,6 +36,7 @@ import ActivityLogs from './components/logs/ActivityLogs';
 import ErrorLogs from './components/logs/ErrorLogs';
 import PerformanceLogs from './components/logs/PerformanceLogs';
 import FrontendLogs from './components/logs/FrontendLogs';
+import LiveLogs from './components/logs/LiveLogs';
 
 // Admin Panel
 import AdminDashboard from './components/admin/AdminDashboard';
@@ -346,6 +347,14 @@ function App() {
                 </PermissionGuard>
               } 
             />
+            <Route 
+              path="/logs/live" 
+              element={
+                <PermissionGuard module="logs" action="view">
+                  <LiveLogs />
+                </PermissionGuard>
+              } 
+            />
 
             {/* Admin Panel Rotaları */}
             <Route 
@@ -41,7 +41,7 @@ function EgitimList() {
         sort: 'id,desc',
         ...filters,
       };
-      const response = await egitimAPI.getAll(params);
+      const response = await egitimAPI.getList(params);
       setEgitimler(response.data.content);
       setTotalPages(response.data.totalPages);
     } catch (err) {
@@ -0,0 +1,225 @@
+import React, { useState, useEffect, useRef } from 'react';
+import {
+  Box,
+  Paper,
+  Table,
+  TableBody,
+  TableCell,
+  TableContainer,
+  TableHead,
+  TableRow,
+  TextField,
+  Button,
+  Chip,
+  Grid,
+  Typography,
+  FormControl,
+  InputLabel,
+  Select,
+  MenuItem,
+  OutlinedInput,
+  Alert
+} from '@mui/material';
+import { PlayArrow, Pause, DeleteSweep } from '@mui/icons-material';
+import { format } from 'date-fns';
+import Navbar from '../Navbar';
+import { streamLogs } from '../../services/api';
+
+// Ekranda tutulan en fazla satır
+const MAX_ROWS = 500;
+
+const LOG_TYPES = [
+  { value: 'api', label: 'API', color: 'primary' },
+  { value: 'activity', label: 'Aksiyon', color: 'success' },
+  { value: 'error', label: 'Hata', color: 'error' },
+  { value: 'performance', label: 'Performans', color: 'warning' },
+  { value: 'frontend', label: 'Frontend', color: 'secondary' }
+];
+
+function LiveLogs() {
+  const [events, setEvents] = useState([]);
+  const [running, setRunning] = useState(false);
+  const [dropped, setDropped] = useState(0);
+  const [connectionError, setConnectionError] = useState(null);
+  const [filters, setFilters] = useState({
+    types: ['api', 'error'],
+    endpoint: '',
+    userId: ''
+  });
+  const closeRef = useRef(null);
+
+  useEffect(() => {
+    return () => closeRef.current && closeRef.current();
+  }, []);
+
+  const start = () => {
+    setConnectionError(null);
+    setDropped(0);
+    closeRef.current = streamLogs(
+      {
+        types: filters.types.join(','),
+        endpoint: filters.endpoint,
+        userId: filters.userId
+      },
+      (name, data) => {
+        if (name === 'dropped') {
+          setDropped((count) => count + data.dropped);
+        } else if (name !== 'connected') {
+          setEvents((current) => [data, ...current].slice(0, MAX_ROWS));
+        }
+      },
+      (error) => {
+        setRunning(false);
+        if (error) {
+          setConnectionError(`Akış bağlantısı kapandı: ${error.message}`);
+        }
+      }
+    );
+    setRunning(true);
+  };
+
+  const stop = () => {
+    closeRef.current && closeRef.current();
+    closeRef.current = null;
+    setRunning(false);
+  };
+
+  const handleFilterChange = (field, value) => {
+    setFilters({ ...filters, [field]: value });
+  };
+
+  const typeChip = (type) => {
+    const logType = LOG_TYPES.find((t) => t.value === type);
+    return <Chip label={logType ? logType.label : type} color={logType ? logType.color : 'default'} size="small" />;
+  };
+
+  const describe = (event) => {
+    if (event.type === 'api') {
+      return `${event.statusCode} · ${event.durationMs}ms`;
+    }
+    if (event.type === 'performance') {
+      return `${event.durationMs}ms`;
+    }
+    return event.summary || '-';
+  };
+
+  return (
+    <div>
+      <Navbar />
+      <Box sx={{ p: 3 }}>
+        <Typography variant="h4" gutterBottom>
+          Canlı Loglar
+        </Typography>
+
+        {/* Filters */}
+        <Paper sx={{ p: 2, mb: 2 }}>
+          <Grid container spacing={2} alignItems="center">
+            <Grid item xs={12} md={4}>
+              <FormControl fullWidth size="small">
+                <InputLabel>Log Türleri</InputLabel>
+                <Select
+                  multiple
+                  value={filters.types}
+                  onChange={(e) => handleFilterChange('types', e.target.value)}
+                  input={<OutlinedInput label="Log Türleri" />}
+                  disabled={running}
+                  renderValue={(selected) => selected
+                    .map((value) => LOG_TYPES.find((t) => t.value === value)?.label)
+                    .join(', ')}
+                >
+                  {LOG_TYPES.map((type) => (
+                    <MenuItem key={type.value} value={type.value}>{type.label}</MenuItem>
+                  ))}
+                </Select>
+              </FormControl>
+            </Grid>
+            <Grid item xs={12} sm={6} md={3}>
+              <TextField
+                fullWidth
+                label="Endpoint"
+                size="small"
+                value={filters.endpoint}
+                onChange={(e) => handleFilterChange('endpoint', e.target.value)}
+                placeholder="/egitim"
+                disabled={running}
+              />
+            </Grid>
+            <Grid item xs={12} sm={6} md={2}>
+              <TextField
+                fullWidth
+                label="User ID"
+                size="small"
+                value={filters.userId}
+                onChange={(e) => handleFilterChange('userId', e.target.value)}
+                disabled={running}
+              />
+            </Grid>
+            <Grid item xs={6} md={2}>
+              <Button
+                fullWidth
+                variant="contained"
+                color={running ? 'warning' : 'primary'}
+                startIcon={running ? <Pause /> : <PlayArrow />}
+                onClick={running ? stop : start}
+                disabled={filters.types.length === 0}
+              >
+                {running ? 'Durdur' : 'Başlat'}
+              </Button>
+            </Grid>
+            <Grid item xs={6} md={1}>
+              <Button fullWidth startIcon={<DeleteSweep />} onClick={() => setEvents([])}>
+                Temizle
+              </Button>
+            </Grid>
+          </Grid>
+        </Paper>
+
+        {connectionError && <Alert severity="error" sx={{ mb: 2 }}>{connectionError}</Alert>}
+        {dropped > 0 && (
+          <Alert severity="warning" sx={{ mb: 2 }}>
+            Akış yetişemediği için {dropped} kayıt gösterilmedi (kayıtlar veritabanına yazıldı).
+          </Alert>
+        )}
+
+        {/* Table */}
+        <Paper>
+          <Box sx={{ p: 2 }}>
+            <Typography variant="h6">
+              {running ? 'Dinleniyor' : 'Durduruldu'} · son {events.length} kayıt
+            </Typography>
+          </Box>
+          <TableContainer>
+            <Table size="small">
+              <TableHead>
+                <TableRow>
+                  <TableCell>Zaman</TableCell>
+                  <TableCell>Tür</TableCell>
+                  <TableCell>User ID</TableCell>
+                  <TableCell>Method / Aksiyon</TableCell>
+                  <TableCell>Endpoint</TableCell>
+                  <TableCell>Detay</TableCell>
+                </TableRow>
+              </TableHead>
+              <TableBody>
+                {events.map((event, index) => (
+                  <TableRow key={index} hover>
+                    <TableCell>
+                      {event.createdAt ? format(new Date(event.createdAt), 'HH:mm:ss.SSS') : '-'}
+                    </TableCell>
+                    <TableCell>{typeChip(event.type)}</TableCell>
+                    <TableCell>{event.userId || '-'}</TableCell>
+                    <TableCell>{event.method || '-'}</TableCell>
+                    <TableCell sx={{ fontFamily: 'monospace' }}>{event.endpoint || '-'}</TableCell>
+                    <TableCell>{describe(event)}</TableCell>
+                  </TableRow>
+                ))}
+              </TableBody>
+            </Table>
+          </TableContainer>
+        </Paper>
+      </Box>
+    </div>
+  );
+}
+
+export default LiveLogs;
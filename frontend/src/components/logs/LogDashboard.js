@@ -13,7 +13,8 @@ import {
   Assessment,
   Error as ErrorIcon,
   Speed,
-  Computer
+  Computer,
+  Stream
 } from '@mui/icons-material';
 import { useNavigate } from 'react-router-dom';
 import Navbar from '../Navbar';
@@ -56,6 +57,13 @@ function LogDashboard() {
       icon: <Computer sx={{ fontSize: 60, color: '#9c27b0' }} />,
       path: '/logs/frontend',
       color: '#9c27b0'
+    },
+    {
+      title: 'Canlı Loglar',
+      description: 'Yeni kayıtları anlık izleyin',
+      icon: <Stream sx={{ fontSize: 60, color: '#0288d1' }} />,
+      path: '/logs/live',
+      color: '#0288d1'
     }
   ];
 
@@ -4,23 +4,105 @@ import api from '../services/api';
 
 /**
  * useEventLogger Hook
- * 
+ *
  * Frontend'de kullanıcı aksiyonlarını backend'e loglamak için custom hook.
  * Button click, page view ve form submit eventlerini otomatik olarak kaydeder.
- * 
+ *
+ * Olaylar her aksiyonda ayrı istek yerine bellekte tamponlanır ve
+ * POST /api/logs/frontend/batch ile toplu gönderilir:
+ * - tampon FLUSH_SIZE olaya ulaştığında,
+ * - her FLUSH_INTERVAL_MS'de bir,
+ * - sayfa gizlendiğinde/kapatıldığında navigator.sendBeacon ile.
+ *
  * Kullanım:
- * 
+ *
  * 1. Page View (otomatik):
  *    const { logPageView } = useEventLogger();
- * 
+ *
  * 2. Button Click:
  *    const { logButtonClick } = useEventLogger();
  *    <button onClick={() => logButtonClick('Save Button')}>Kaydet</button>
- * 
+ *
  * 3. Form Submit:
  *    const { logFormSubmit } = useEventLogger();
  *    <form onSubmit={(e) => { e.preventDefault(); logFormSubmit('Login Form'); }}>
  */
+
+const BATCH_ENDPOINT = '/api/logs/frontend/batch';
+const FLUSH_SIZE = 20;
+const FLUSH_INTERVAL_MS = 5000;
+// Backend tek istekte en fazla 500 olay kabul eder; tampon bunun üzerine çıkmaz
+const MAX_BUFFER_SIZE = 500;
+
+// Tüm hook örnekleri tek tamponu paylaşır
+let buffer = [];
+let flushTimer = null;
+
+// Tamponu boşaltır ve gönderilecek olayları döndürür
+const drainBuffer = () => {
+  const events = buffer;
+  buffer = [];
+  return events;
+};
+
+// Tamponu axios ile gönderir (normal akış)
+const flushEvents = async () => {
+  if (buffer.length === 0) {
+    return;
+  }
+  const events = drainBuffer();
+  try {
+    await api.post(BATCH_ENDPOINT, events);
+  } catch (error) {
+    // Log hatası kullanıcı deneyimini etkilememeli
+    console.debug('Event logging failed:', error);
+  }
+};
+
+// Sayfa kapanırken kalan olayları sendBeacon ile gönderir
+// (text/plain gövde CORS preflight gerektirmez; backend JSON olarak okur)
+const flushEventsWithBeacon = () => {
+  if (buffer.length === 0) {
+    return;
+  }
+  const events = drainBuffer();
+  const url = `${api.defaults.baseURL}${BATCH_ENDPOINT}`;
+  const body = new Blob([JSON.stringify(events)], { type: 'text/plain' });
+
+  if (navigator.sendBeacon && navigator.sendBeacon(url, body)) {
+    return;
+  }
+  fetch(url, { method: 'POST', body, keepalive: true }).catch(() => {});
+};
+
+const handleVisibilityChange = () => {
+  if (document.visibilityState === 'hidden') {
+    flushEventsWithBeacon();
+  }
+};
+
+// Zamanlayıcı ve sayfa kapanış dinleyicileri ilk olayda bir kez kurulur
+const ensureFlushScheduled = () => {
+  if (flushTimer !== null) {
+    return;
+  }
+  flushTimer = setInterval(flushEvents, FLUSH_INTERVAL_MS);
+  document.addEventListener('visibilitychange', handleVisibilityChange);
+  window.addEventListener('pagehide', flushEventsWithBeacon);
+};
+
+const enqueueEvent = (event) => {
+  if (buffer.length >= MAX_BUFFER_SIZE) {
+    buffer.shift(); // en eski olay atılır
+  }
+  buffer.push(event);
+  ensureFlushScheduled();
+
+  if (buffer.length >= FLUSH_SIZE) {
+    flushEvents();
+  }
+};
+
 const useEventLogger = () => {
   const location = useLocation();
 
@@ -34,23 +116,14 @@ const useEventLogger = () => {
     }
   };
 
-  // Backend'e log gönder
-  const sendLog = useCallback(async (action, details = '') => {
-    try {
-      const userId = getUserId();
-      const payload = {
-        userId,
-        action,
-        page: location.pathname,
-        details
-      };
-
-      // API çağrısını sessizce yap (hata olsa bile kullanıcı deneyimini etkilemesin)
-      await api.post('/api/logs/frontend', payload);
-    } catch (error) {
-      // Log hatası kullanıcı deneyimini etkilememeli
-      console.debug('Event logging failed:', error);
-    }
+  // Olayı gönderim tamponuna ekle
+  const sendLog = useCallback((action, details = '') => {
+    enqueueEvent({
+      userId: getUserId(),
+      action,
+      page: location.pathname,
+      details
+    });
   }, [location.pathname]);
 
   // 1. Page View Logger (otomatik)
@@ -65,16 +138,16 @@ const useEventLogger = () => {
 
   // 2. Button Click Logger
   const logButtonClick = useCallback((buttonName, additionalDetails = '') => {
-    const details = additionalDetails 
-      ? `${buttonName} - ${additionalDetails}` 
+    const details = additionalDetails
+      ? `${buttonName} - ${additionalDetails}`
       : buttonName;
     sendLog('BUTTON_CLICK', details);
   }, [sendLog]);
 
   // 3. Form Submit Logger
   const logFormSubmit = useCallback((formName, additionalDetails = '') => {
-    const details = additionalDetails 
-      ? `${formName} - ${additionalDetails}` 
+    const details = additionalDetails
+      ? `${formName} - ${additionalDetails}`
       : formName;
     sendLog('FORM_SUBMIT', details);
   }, [sendLog]);
@@ -88,10 +161,9 @@ const useEventLogger = () => {
     logPageView,
     logButtonClick,
     logFormSubmit,
-    logCustomEvent
+    logCustomEvent,
+    flushEvents
   };
 };
 
 export default useEventLogger;
-
-
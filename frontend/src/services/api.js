@@ -64,6 +64,7 @@ export const authAPI = {
 // Egitim API
 export const egitimAPI = {
   getAll: (params) => api.get('/egitim', { params }),
+  getList: (params) => api.get('/egitim/list', { params }),
   getById: (id) => api.get(`/egitim/${id}`),
   create: (data) => api.post('/egitim', data),
   update: (id, data) => api.put(`/egitim/${id}`, data),
@@ -155,5 +156,59 @@ export const updateOdeme = (id, data) => odemeAPI.update(id, data).then(res => r
 export const deleteOdeme = (id) => odemeAPI.delete(id).then(res => res.data);
 export const calculateTotalPrice = (unitPrice, quantity) => odemeAPI.calculateTotal(unitPrice, quantity).then(res => res.data);
 
+// Canlı log akışı (Server-Sent Events)
+// EventSource Authorization header gönderemediği için akış fetch ile okunur.
+// onEvent(name, data) her olayda çağrılır; dönen fonksiyon bağlantıyı kapatır.
+export const streamLogs = (params, onEvent, onClose) => {
+  const controller = new AbortController();
+  const query = new URLSearchParams(
+    Object.entries(params).filter(([_, v]) => v !== '' && v !== null && v !== undefined)
+  ).toString();
+  const token = localStorage.getItem('token');
+
+  fetch(`${API_BASE_URL}/api/logs/stream?${query}`, {
+    headers: {
+      Accept: 'text/event-stream',
+      ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+    signal: controller.signal,
+  })
+    .then(async (response) => {
+      if (!response.ok) {
+        throw new Error(`HTTP ${response.status}`);
+      }
+      const reader = response.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = '';
+      for (;;) {
+        const { done, value } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true });
+        let separator;
+        while ((separator = buffer.indexOf('\n\n')) >= 0) {
+          const block = buffer.slice(0, separator);
+          buffer = buffer.slice(separator + 2);
+          let name = 'message';
+          const data = [];
+          block.split('\n').forEach((line) => {
+            if (line.startsWith('event:')) name = line.slice(6).trim();
+            else if (line.startsWith('data:')) data.push(line.slice(5));
+          });
+          if (data.length > 0) {
+            onEvent(name, JSON.parse(data.join('\n')));
+          }
+        }
+      }
+      onClose && onClose(null);
+    })
+    .catch((error) => {
+      if (error.name !== 'AbortError') {
+        onClose && onClose(error);
+      }
+    });
+
+  return () => controller.abort();
+};
+
 export default api;
 
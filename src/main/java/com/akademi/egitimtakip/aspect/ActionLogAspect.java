@@ -2,30 +2,36 @@ package com.akademi.egitimtakip.aspect;
 
 import com.akademi.egitimtakip.annotation.LogAction;
 import com.akademi.egitimtakip.service.ActivityLogService;
-import com.akademi.egitimtakip.util.JwtUtil;
+import com.akademi.egitimtakip.util.SecurityUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
-import jakarta.servlet.http.HttpServletRequest;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ActionLogAspect
  * 
  * @LogAction annotation'ı bulunan metodları yakalar ve activity_logs tablosuna kaydeder.
  * AOP (Aspect-Oriented Programming) kullanarak otomatik loglama sağlar.
+ *
+ * Annotation ve description şablonu metod başına bir kez okunur/parse edilir ve önbellekte tutulur.
+ * SpEL ifadeleri IMMEDIATE modda bytecode'a derlenir; derlenmiş ifade hata verirse o metod için
+ * yorumlanan (interpreted) ifadeye dönülür. Değerlendirme bağlamı paylaşılır (değişken tutmaz),
+ * çağrıya özel değerler (args, result) root nesnesi olarak verilir.
  */
 @Aspect
 @Component
@@ -34,10 +40,17 @@ public class ActionLogAspect {
     @Autowired
     private ActivityLogService activityLogService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
+    private static final TemplateParserContext TEMPLATE = new TemplateParserContext();
+
+    private final ExpressionParser compilingParser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, ActionLogAspect.class.getClassLoader())
+    );
+    private final ExpressionParser interpretingParser = new SpelExpressionParser();
+
+    // Paylaşılan bağlam: çağrılar arasında değişmez, thread-safe kullanılır
+    private final EvaluationContext evaluationContext = new StandardEvaluationContext();
 
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final Map<Method, ActionMetadata> metadataCache = new ConcurrentHashMap<>();
 
     /**
      * @LogAction annotation'ı bulunan tüm metodları yakalar
@@ -45,8 +58,8 @@ public class ActionLogAspect {
     @Around("@annotation(com.akademi.egitimtakip.annotation.LogAction)")
     public Object logAction(ProceedingJoinPoint joinPoint) throws Throwable {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        LogAction logAction = method.getAnnotation(LogAction.class);
+        ActionMetadata metadata = getMetadata(signature.getMethod());
+        LogAction logAction = metadata.logAction;
 
         Object result = null;
         boolean hasError = false;
@@ -72,7 +85,7 @@ public class ActionLogAspect {
             Long entityId = extractEntityId(logAction, joinPoint.getArgs(), result);
 
             // Açıklamayı oluştur (SpEL expression varsa değerlendir)
-            String description = evaluateDescription(logAction.description(), joinPoint.getArgs(), result);
+            String description = evaluateDescription(metadata, joinPoint.getArgs(), result);
 
             // Activity log kaydet
             activityLogService.saveActivityLog(
@@ -98,39 +111,10 @@ public class ActionLogAspect {
 
     /**
      * Mevcut kullanıcının ID'sini alır
-     * 1. SecurityContext'ten (Spring Security)
-     * 2. JWT token'dan (Authorization header)
+     * (JwtAuthenticationFilter'ın oluşturduğu principal'dan, veritabanına gitmeden)
      */
     private Long getCurrentUserId() {
-        try {
-            // Spring Security Authentication'dan al
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated()) {
-                String email = authentication.getName();
-                if (email != null && !email.equals("anonymousUser")) {
-                    // Email'i userId'ye çevirebilirsiniz
-                    // Şimdilik email'i description'a ekleyebiliriz
-                    return null; // veya kullaniciRepository.findByEmail(email).getId()
-                }
-            }
-
-            // JWT token'dan al
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                String authHeader = request.getHeader("Authorization");
-                if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                    String token = authHeader.substring(7);
-                    String email = jwtUtil.getEmailFromToken(token);
-                    // Email'den userId'yi bul
-                    // return kullaniciRepository.findByEmail(email).getId();
-                    return null; // Şimdilik null
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("getCurrentUserId hatası: " + e.getMessage());
-        }
-        return null;
+        return SecurityUtils.getCurrentUserId();
     }
 
     /**
@@ -186,39 +170,101 @@ public class ActionLogAspect {
         return null;
     }
 
+    /**
+     * Metod için annotation'ı okur ve description şablonunu parse eder (metod başına bir kez)
+     */
+    private ActionMetadata createMetadata(Method method) {
+        LogAction logAction = method.getAnnotation(LogAction.class);
+        String template = logAction.description();
+        Expression expression = null;
+        if (template.contains("#{")) {
+            try {
+                expression = compilingParser.parseExpression(template, TEMPLATE);
+            } catch (Exception e) {
+                // Parse hatası varsa şablon olduğu gibi yazılır
+                System.err.println("SpEL parse hatası (" + method.getName() + "): " + e.getMessage());
+            }
+        }
+        return new ActionMetadata(logAction, expression);
+    }
+
     /**
      * Description'ı SpEL expression ile değerlendirir
      * Örnek: "Yeni eğitim: #{result.ad}" → "Yeni eğitim: Java Eğitimi"
      * Örnek: "ID: #{args[0]}" → "ID: 123"
      */
-    private String evaluateDescription(String template, Object[] args, Object result) {
-        if (template == null || template.isEmpty()) {
-            return "";
+    String evaluateDescription(ActionMetadata metadata, Object[] args, Object result) {
+        Expression expression = metadata.expression;
+        if (expression == null) {
+            return metadata.logAction.description();
         }
 
-        // SpEL expression var mı kontrol et
-        if (!template.contains("#{")) {
-            return template;
+        ActionContext root = new ActionContext(args, result);
+        try {
+            return expression.getValue(evaluationContext, root, String.class);
+        } catch (Exception e) {
+            if (!metadata.compiled) {
+                // SpEL hatası varsa template'i olduğu gibi döndür
+                System.err.println("SpEL evaluation hatası: " + e.getMessage());
+                return metadata.logAction.description();
+            }
         }
 
+        // Derlenmiş ifade hata verdi (ör. farklı tipte sonuç): bu metod için yorumlanan ifadeye geç
         try {
-            // Evaluation context oluştur
-            StandardEvaluationContext context = new StandardEvaluationContext();
-            context.setVariable("args", args);
-            context.setVariable("result", result);
-
-            // Expression'ı parse et ve değerlendir
-            Expression expression = parser.parseExpression(template, new org.springframework.expression.common.TemplateParserContext());
-            return expression.getValue(context, String.class);
+            Expression interpreted = interpretingParser.parseExpression(metadata.logAction.description(), TEMPLATE);
+            String description = interpreted.getValue(evaluationContext, root, String.class);
+            metadata.expression = interpreted;
+            metadata.compiled = false;
+            return description;
         } catch (Exception e) {
-            // SpEL hatası varsa template'i olduğu gibi döndür
             System.err.println("SpEL evaluation hatası: " + e.getMessage());
-            return template;
+            return metadata.logAction.description();
         }
     }
-}
 
+    ActionMetadata getMetadata(Method method) {
+        return metadataCache.computeIfAbsent(method, this::createMetadata);
+    }
+
+    /**
+     * Metod başına önbellek kaydı: annotation ve parse edilmiş description
+     */
+    static final class ActionMetadata {
+        private final LogAction logAction;
+        private volatile Expression expression;
+        private volatile boolean compiled;
+
+        ActionMetadata(LogAction logAction, Expression expression) {
+            this.logAction = logAction;
+            this.expression = expression;
+            this.compiled = expression != null;
+        }
+
+        boolean isCompiled() {
+            return compiled;
+        }
+    }
 
+    /**
+     * Description şablonlarının root nesnesi: #{args[0]}, #{result.ad}
+     * (derlenmiş ifadeler erişebilsin diye public)
+     */
+    public static final class ActionContext {
+        private final Object[] args;
+        private final Object result;
 
+        public ActionContext(Object[] args, Object result) {
+            this.args = args;
+            this.result = result;
+        }
 
+        public Object[] getArgs() {
+            return args;
+        }
 
+        public Object getResult() {
+            return result;
+        }
+    }
+}
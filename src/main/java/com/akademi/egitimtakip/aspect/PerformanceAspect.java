@@ -1,6 +1,9 @@
 package com.akademi.egitimtakip.aspect;
 
-import com.akademi.egitimtakip.service.PerformanceLogService;
+import com.akademi.egitimtakip.metrics.LatencyRegistry;
+import com.akademi.egitimtakip.tracing.SpanKind;
+import com.akademi.egitimtakip.tracing.SpanNames;
+import com.akademi.egitimtakip.tracing.TraceContext;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -8,18 +11,23 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+
 /**
  * PerformanceAspect
  * 
  * @Service annotasyonlu sınıflardaki tüm public metodları yakalar.
- * 1 saniyeden uzun süren işlemleri performance_logs tablosuna kaydeder.
+ * Her çağrının süresini bellek içi LatencyRegistry histogramına yazar;
+ * veritabanına çağrı başına satır yerine periyodik özetler (performance_snapshots) yazılır.
+ *
+ * Servis ve Spring Data repository çağrıları aktif trace'e SERVICE / REPOSITORY span'ı olarak eklenir.
  */
 @Aspect
 @Component
 public class PerformanceAspect {
 
     @Autowired
-    private PerformanceLogService performanceLogService;
+    private LatencyRegistry latencyRegistry;
 
     /**
      * @Service annotasyonlu sınıflardaki tüm public metodları yakalar
@@ -35,48 +43,37 @@ public class PerformanceAspect {
             "!execution(* com.akademi.egitimtakip.service.ActivityLogService.*(..)) && " +
             "!execution(* com.akademi.egitimtakip.service.ErrorLogService.*(..))")
     public Object measureMethodExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        // Başlangıç zamanı
-        long startTime = System.currentTimeMillis();
-        
-        Object result = null;
-        String methodName = null;
-        
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        int span = TraceContext.openSpan(SpanKind.SERVICE, SpanNames.of(method));
+        long startTime = System.nanoTime();
         try {
-            // Metodu çalıştır
-            result = joinPoint.proceed();
+            return joinPoint.proceed();
         } finally {
+            TraceContext.closeSpan(span);
+            long duration = System.nanoTime() - startTime;
             try {
-                // Bitiş zamanı
-                long endTime = System.currentTimeMillis();
-                long duration = endTime - startTime;
-                
-                // Method bilgilerini al
-                MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-                String className = signature.getDeclaringType().getSimpleName();
-                String method = signature.getName();
-                methodName = className + "." + method;
-                
-                // Performans logu kaydet (sadece 1000ms üzeri)
-                // PerformanceLogService içinde kontrol var ama burada da yapabiliriz
-                if (duration > 1000) {
-                    performanceLogService.savePerformanceLog(
-                        methodName,  // endpoint alanına method adı
-                        duration,
-                        methodName   // methodName alanı
-                    );
-                }
-                
+                // Method nesnesi proxy tarafından önbellekte tutulur; isim birleştirme yapılmaz
+                latencyRegistry.record(method, duration);
             } catch (Exception e) {
-                // Loglama hatası uygulamayı etkilememeli
+                // Metrik kaydı uygulamayı etkilememeli
                 System.err.println("PerformanceAspect hatası: " + e.getMessage());
             }
         }
-        
-        return result;
     }
-}
-
-
-
-
 
+    /**
+     * Spring Data repository çağrılarını trace'e ekler (yalnızca span; histograma yazılmaz).
+     * Miras alınan metodlar (findById) için ad, proxy'nin uygulamaya ait arayüzünden alınır.
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        int span = TraceContext.openSpan(SpanKind.REPOSITORY,
+            SpanNames.ofRepository(joinPoint.getTarget().getClass(), method));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            TraceContext.closeSpan(span);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.akademi.egitimtakip.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AsyncConfig
+ *
+ * @Async metodlarının çalıştığı executor. Spring Boot'un varsayılan executor'ı sınırsız kuyruk
+ * kullanır; ani yükte bekleyen görevler (ve tuttukları nesneler) heap'i doldurabilir.
+ * Burada kuyruk sınırlıdır, doluysa görev çağıran thread'de çalışır (iş kaybolmaz, çağıran yavaşlar).
+ * Kapanışta bekleyen görevler await-termination-ms kadar beklenir.
+ *
+ * Görevler gönderildikleri thread'in MDC'siyle (traceId) çalışır; @Async içinde yazılan loglar
+ * isteğin trace id'sini taşır.
+ *
+ * Log yazımı bu executor'ı kullanmaz; log türlerinin kendi sınırlı tamponları vardır (LogIngestionPipeline).
+ *
+ * Spring MVC async istekleri (export'ların StreamingResponseBody'si) ayrı bir executor'da çalışır
+ * (mvcTaskExecutor, WebMvcConfig.configureAsyncSupport). Bir export thread'i yanıt bitene kadar tutar;
+ * @Async havuzunu paylaşsaydı 2 eşzamanlı export'tan sonrakiler kuyrukta beklerdi.
+ * MVC havuzunda çekirdek ve üst sınır aynıdır (pool-size kadar istek aynı anda çalışır),
+ * boşta kalan thread'ler kapanır; kuyruk doluysa görev yine çağıran thread'de çalışır.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${app.async.core-size:2}")
+    private int coreSize;
+
+    @Value("${app.async.max-size:4}")
+    private int maxSize;
+
+    @Value("${app.async.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${app.async.await-termination-ms:10000}")
+    private long awaitTerminationMs;
+
+    @Value("${app.mvc-async.pool-size:16}")
+    private int mvcPoolSize;
+
+    @Value("${app.mvc-async.queue-capacity:100}")
+    private int mvcQueueCapacity;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong mvcRejected = new AtomicLong();
+
+    private ThreadPoolTaskExecutor executor;
+
+    private ThreadPoolTaskExecutor mvcExecutor;
+
+    /**
+     * @EnableAsync "taskExecutor" adlı bean'i kullanır
+     */
+    @Bean(name = "taskExecutor")
+    public ThreadPoolTaskExecutor taskExecutor() {
+        executor = newExecutor("async-", coreSize, maxSize, queueCapacity, rejected);
+        return executor;
+    }
+
+    /**
+     * Spring MVC async istekleri (StreamingResponseBody, Callable) için executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mvcTaskExecutor() {
+        mvcExecutor = newExecutor("mvc-async-", mvcPoolSize, mvcPoolSize, mvcQueueCapacity, mvcRejected);
+        mvcExecutor.setAllowCoreThreadTimeOut(true);
+        return mvcExecutor;
+    }
+
+    /**
+     * Sayaçlar: queued, queueCapacity, active, poolSize, completed, rejected (çağıran thread'de çalışan)
+     */
+    public Map<String, Long> getStats() {
+        return stats(executor, queueCapacity, rejected);
+    }
+
+    /**
+     * MVC async executor'ının sayaçları (getStats ile aynı anahtarlar)
+     */
+    public Map<String, Long> getMvcStats() {
+        return stats(mvcExecutor, mvcQueueCapacity, mvcRejected);
+    }
+
+    private ThreadPoolTaskExecutor newExecutor(String threadNamePrefix, int core, int max, int capacity, AtomicLong rejectedCounter) {
+        ThreadPoolExecutor.CallerRunsPolicy callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setThreadNamePrefix(threadNamePrefix);
+        taskExecutor.setCorePoolSize(core);
+        taskExecutor.setMaxPoolSize(max);
+        taskExecutor.setQueueCapacity(capacity);
+        taskExecutor.setRejectedExecutionHandler((task, pool) -> {
+            rejectedCounter.incrementAndGet();
+            callerRuns.rejectedExecution(task, pool);
+        });
+        taskExecutor.setTaskDecorator(task -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context != null) {
+                    MDC.setContextMap(context);
+                } else {
+                    MDC.clear();
+                }
+                try {
+                    task.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        });
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        taskExecutor.setAwaitTerminationMillis(awaitTerminationMs);
+        return taskExecutor;
+    }
+
+    private static Map<String, Long> stats(ThreadPoolTaskExecutor taskExecutor, int capacity, AtomicLong rejectedCounter) {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        ThreadPoolExecutor pool = taskExecutor.getThreadPoolExecutor();
+        stats.put("queued", (long) pool.getQueue().size());
+        stats.put("queueCapacity", (long) capacity);
+        stats.put("active", (long) pool.getActiveCount());
+        stats.put("poolSize", (long) pool.getPoolSize());
+        stats.put("completed", pool.getCompletedTaskCount());
+        stats.put("rejected", rejectedCounter.get());
+        return stats;
+    }
+}
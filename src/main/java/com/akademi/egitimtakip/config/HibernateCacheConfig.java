@@ -0,0 +1,95 @@
+package com.akademi.egitimtakip.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HibernateCacheConfig
+ *
+ * Hibernate ikinci seviye önbelleğinin (JCache, Caffeine sağlayıcısı) CacheManager'ı.
+ * Her bölge burada açıkça oluşturulur; hibernate.javax.cache.missing_cache_strategy=fail olduğundan
+ * tanımsız bir bölge (@Cache eklenip buraya eklenmeyen) uygulamanın açılışında hata verir,
+ * sınırsız bir önbellek sessizce oluşmaz.
+ *
+ * - Entity ve koleksiyon bölgeleri: app.cache.entity.ttl-seconds ve max-size ile sınırlı
+ * - Sorgu sonuçları bölgesi: app.cache.query.ttl-seconds ve max-size ile sınırlı
+ * - Güncelleme zaman damgaları bölgesi: tablo başına tek kayıt tutar; süresiz ve sınırsızdır,
+ *   aksi halde eskiyen sorgu sonuçları geçerli sayılabilirdi
+ *
+ * CacheManager her uygulama context'i için ayrı sağlayıcı örneğiyle açılır (testlerdeki birden fazla
+ * context birbirinin bölgelerini görmez) ve Hibernate'e instance olarak verilir.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * @Cache ile işaretli entity ve koleksiyonların bölge adları
+     */
+    public static final List<String> ENTITY_REGIONS = List.of(
+        "kategori", "kategori.altKategoriler",
+        "paydas",
+        "egitmen",
+        "permission",
+        "role", "role.permissions",
+        "egitim.kategoriler", "egitim.egitmenler", "egitim.paydaslar"
+    );
+
+    public static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Value("${app.cache.entity.ttl-seconds:3600}")
+    private long entityTtlSeconds;
+
+    @Value("${app.cache.entity.max-size:10000}")
+    private long entityMaxSize;
+
+    @Value("${app.cache.query.ttl-seconds:600}")
+    private long queryTtlSeconds;
+
+    @Value("${app.cache.query.max-size:1000}")
+    private long queryMaxSize;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        for (String region : ENTITY_REGIONS) {
+            cacheManager.createCache(region, bounded(entityTtlSeconds, entityMaxSize));
+        }
+        cacheManager.createCache(QUERY_RESULTS_REGION, bounded(queryTtlSeconds, queryMaxSize));
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, regionConfiguration());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long ttlSeconds, long maxSize) {
+        CaffeineConfiguration<Object, Object> configuration = regionConfiguration();
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        return configuration;
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate önbelleğe zaten ayrıştırılmış (disassembled) kopyalar koyar; JCache'in serileştirerek kopyalaması gereksiz
+        configuration.setStoreByValue(false);
+        // İsabet/ıska/tahliye sayaçları (SecondLevelCacheMetrics)
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
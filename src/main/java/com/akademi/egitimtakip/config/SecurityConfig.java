@@ -1,6 +1,7 @@
 package com.akademi.egitimtakip.config;
 
 import com.akademi.egitimtakip.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -91,10 +92,14 @@ public class SecurityConfig {
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/error").permitAll()
+                // Prometheus scrape'i JWT göndermez; MetricsController token'ı, token boşsa logs.view yetkisini kontrol eder
+                .requestMatchers(HttpMethod.GET, "/metrics").permitAll()
+                // Async dispatch (StreamingResponseBody export'ları) ilk istekte zaten yetkilendirildi
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                 // Frontend log endpoint'ini geçici olarak herkese açalım, yetkilendirme @RequirePermission ile yapılacak
                 // Eğer bu endpoint için bir @RequirePermission anotasyonu varsa, bu kuralı kaldırıp anotasyona güvenmeliyiz.
-                .requestMatchers(HttpMethod.POST, "/api/logs/frontend").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/logs/frontend", "/api/logs/frontend/batch").permitAll()
 
                 // Tüm diğer istekler kimlik doğrulaması gerektirir.
                 // Detaylı yetkilendirme (@RequirePermission) aspect'i tarafından ele alınacaktır.
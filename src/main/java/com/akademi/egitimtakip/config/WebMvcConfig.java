@@ -1,16 +1,27 @@
 package com.akademi.egitimtakip.config;
 
 import com.akademi.egitimtakip.interceptor.LogInterceptor;
+import com.akademi.egitimtakip.jdbc.StatementAccountingFilter;
+import com.akademi.egitimtakip.logging.BodyCapture;
+import com.akademi.egitimtakip.logging.BodyCapturePolicy;
+import com.akademi.egitimtakip.logging.TeeRequestWrapper;
+import com.akademi.egitimtakip.logging.TeeResponseWrapper;
+import com.akademi.egitimtakip.metrics.QueryCountRegistry;
+import com.akademi.egitimtakip.tracing.TraceFilter;
+import com.akademi.egitimtakip.tracing.TraceRecorder;
 import jakarta.servlet.Filter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.filter.CommonsRequestLoggingFilter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -19,13 +30,15 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * WebMvcConfig
  * 
  * Spring MVC yapılandırması.
  * LogInterceptor'ı tüm endpoint'lere register eder.
- * ContentCachingWrapper filter'ı ekler.
+ * Body yakalama (tee), istek izleme (trace) ve SQL sayacı filter'larını ekler.
+ * Async istekleri (export stream'leri) @Async havuzundan ayrı mvcTaskExecutor'da çalıştırır.
  */
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
@@ -33,6 +46,19 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Autowired
     private LogInterceptor logInterceptor;
 
+    @Autowired
+    @Qualifier("mvcTaskExecutor")
+    private ThreadPoolTaskExecutor mvcTaskExecutor;
+
+    /**
+     * StreamingResponseBody ve Callable dönüşleri mvcTaskExecutor'da çalışır (AsyncConfig);
+     * zaman aşımı spring.mvc.async.request-timeout'tan gelir
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcTaskExecutor);
+    }
+
     /**
      * LogInterceptor'ı tüm endpoint'lere ekler
      */
@@ -45,18 +71,46 @@ public class WebMvcConfig implements WebMvcConfigurer {
                     "/swagger-ui/**",  // Swagger UI hariç
                     "/v3/api-docs/**", // OpenAPI docs hariç
                     "/static/**",      // Static kaynaklar hariç
+                    "/metrics",        // Prometheus scrape'leri hariç
                     "/favicon.ico"     // Favicon hariç
                 );
     }
 
     /**
-     * Request ve Response body'leri cache'lemek için filter
+     * İstek izleme filter'ı; güvenlik ve body yakalama dahil tüm filtreleri kapsaması için en önde çalışır.
+     * Gelen X-Trace-Id yalnızca app.tracing.trusted-sources adreslerinden kabul edilir
+     */
+    @Bean
+    public FilterRegistrationBean<TraceFilter> traceFilter(
+            TraceRecorder traceRecorder,
+            @Value("${app.tracing.trusted-sources:}") String[] trustedSources) {
+        FilterRegistrationBean<TraceFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new TraceFilter(traceRecorder, Arrays.asList(trustedSources)));
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registrationBean;
+    }
+
+    /**
+     * İstek başına SQL sayacı; güvenlik filtresindeki sorguları da sayması için trace filter'ından hemen sonra çalışır
+     */
+    @Bean
+    public FilterRegistrationBean<StatementAccountingFilter> statementAccountingFilter(QueryCountRegistry queryCountRegistry) {
+        FilterRegistrationBean<StatementAccountingFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new StatementAccountingFilter(queryCountRegistry));
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registrationBean;
+    }
+
+    /**
+     * Request ve Response body öneklerini yakalamak için filter
      * Bu sayede interceptor'da body içeriğini okuyabiliriz
      */
     @Bean
-    public FilterRegistrationBean<ContentCachingFilter> contentCachingFilter() {
+    public FilterRegistrationBean<ContentCachingFilter> contentCachingFilter(BodyCapturePolicy bodyCapturePolicy) {
         FilterRegistrationBean<ContentCachingFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new ContentCachingFilter());
+        registrationBean.setFilter(new ContentCachingFilter(bodyCapturePolicy));
         registrationBean.addUrlPatterns("/*");
         registrationBean.setOrder(1); // İlk sırada çalışmalı
         return registrationBean;
@@ -64,28 +118,43 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     /**
      * Content Caching Filter
-     * Request ve Response'u wrap eder, body'leri tekrar okunabilir yapar
+     * BodyCapturePolicy'ye göre request ve response'u tee wrapper'larla sarar:
+     * byte'lar istemciye/uygulamaya hemen iletilir, yalnızca kurala göre gereken önek
+     * havuzdan alınan tampona kopyalanır. Body'nin tamamı bellekte tutulmaz, yanıt akışı bozulmaz.
+     * Yakalama durumu BodyCapture.ATTRIBUTE ile LogInterceptor'a iletilir.
      */
     public static class ContentCachingFilter extends OncePerRequestFilter {
 
+        private final BodyCapturePolicy bodyCapturePolicy;
+
+        public ContentCachingFilter(BodyCapturePolicy bodyCapturePolicy) {
+            this.bodyCapturePolicy = bodyCapturePolicy;
+        }
+
         @Override
         protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                        FilterChain filterChain) throws ServletException, IOException {
-            // Request'i wrap et (body'yi cache'le)
-            ContentCachingRequestWrapper wrappedRequest = 
-                new ContentCachingRequestWrapper(request);
-            
-            // Response'u wrap et (body'yi cache'le)
-            ContentCachingResponseWrapper wrappedResponse = 
-                new ContentCachingResponseWrapper(response);
+            BodyCapture capture = bodyCapturePolicy.begin(request);
+            if (capture == null) {
+                // Bu istek için hiçbir kural body istemiyor; sarmalamadan devam et
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            HttpServletRequest wrappedRequest = capture.getRequestBuffer() != null
+                ? new TeeRequestWrapper(request, capture.getRequestBuffer())
+                : request;
+            HttpServletResponse wrappedResponse = capture.getResponseBuffer() != null
+                ? new TeeResponseWrapper(response, capture.getResponseBuffer(), bodyCapturePolicy::isStreaming)
+                : response;
 
+            request.setAttribute(BodyCapture.ATTRIBUTE, capture);
             try {
-                // Filter chain'i devam ettir
                 filterChain.doFilter(wrappedRequest, wrappedResponse);
             } finally {
-                // Response body'yi client'a kopyala
-                // (ContentCachingResponseWrapper body'yi tutuyor, client'a göndermemiz gerekiyor)
-                wrappedResponse.copyBodyToResponse();
+                // Async istekte yanıt başka thread'de yazılmaya devam eder; tampon havuza dönmez
+                capture.release(!request.isAsyncStarted());
+                request.removeAttribute(BodyCapture.ATTRIBUTE);
             }
         }
 
@@ -93,7 +162,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
         protected boolean shouldNotFilter(HttpServletRequest request) {
             String path = request.getRequestURI();
             // H2 console ve static kaynakları filtreden hariç tut
+            // Export endpoint'leri stream eder; response body'yi bellekte tutmak amacı bozar
             return path.startsWith("/h2-console") || 
+                   path.endsWith("/export") ||
                    path.contains("/static") ||
                    path.endsWith(".js") ||
                    path.endsWith(".css") ||
@@ -102,8 +173,3 @@ public class WebMvcConfig implements WebMvcConfigurer {
         }
     }
 }
-
-
-
-
-
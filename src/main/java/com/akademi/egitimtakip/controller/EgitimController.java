@@ -1,18 +1,25 @@
 package com.akademi.egitimtakip.controller;
 
 import com.akademi.egitimtakip.annotation.RequirePermission;
+import com.akademi.egitimtakip.dto.EgitimListDTO;
 import com.akademi.egitimtakip.dto.EgitimRequestDTO;
 import com.akademi.egitimtakip.dto.EgitimResponseDTO;
+import com.akademi.egitimtakip.export.ExportFormat;
+import com.akademi.egitimtakip.service.ActivityLogService;
 import com.akademi.egitimtakip.service.EgitimService;
+import com.akademi.egitimtakip.service.ExportService;
+import com.akademi.egitimtakip.util.SecurityUtils;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Egitim Controller
@@ -29,6 +36,12 @@ public class EgitimController {
     @Autowired
     private EgitimService egitimService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
     /**
      * GET /egitim
      * Tüm eğitimleri sayfalama ve filtreleme ile getirir
@@ -56,6 +69,56 @@ public class EgitimController {
         return ResponseEntity.ok(egitimler);
     }
 
+    /**
+     * GET /egitim/list
+     * Liste ekranı için hafif eğitim sayfası (ilişki setleri olmadan, GET /egitim ile aynı filtreler)
+     * Required Permission: education.view
+     */
+    @GetMapping("/list")
+    @RequirePermission(module = "education", action = "view", description = "View education list")
+    public ResponseEntity<Page<EgitimListDTO>> getEgitimListesi(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,desc") String sort,
+            @RequestParam(required = false) String il,
+            @RequestParam(required = false) Integer yil,
+            @RequestParam(required = false) String durum) {
+        
+        String[] sortParams = sort.split(",");
+        Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("asc") 
+                ? Sort.Direction.ASC 
+                : Sort.Direction.DESC;
+        String sortField = sortParams[0];
+        
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
+        
+        Page<EgitimListDTO> egitimler = egitimService.getEgitimListesi(pageable, il, yil, durum);
+        return ResponseEntity.ok(egitimler);
+    }
+
+    /**
+     * GET /egitim/export?format=csv|ndjson
+     * Filtrelenmiş eğitim listesinin tamamını stream ederek indirir (sayfalama yok)
+     * Required Permission: education.view
+     */
+    @GetMapping("/export")
+    @RequirePermission(module = "education", action = "view", description = "Export educations")
+    public ResponseEntity<StreamingResponseBody> exportEgitimler(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String il,
+            @RequestParam(required = false) Integer yil,
+            @RequestParam(required = false) String durum) {
+        
+        ExportFormat exportFormat = ExportFormat.from(format);
+        activityLogService.logExport(SecurityUtils.getCurrentUserId(), "EDUCATION", exportFormat.getExtension());
+
+        StreamingResponseBody body = out -> exportService.exportEgitimler(out, exportFormat, il, yil, durum);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"egitimler." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * GET /egitim/{id}
      * ID ile eğitim detayını getirir
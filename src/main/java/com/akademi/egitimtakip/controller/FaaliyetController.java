@@ -3,16 +3,22 @@ package com.akademi.egitimtakip.controller;
 import com.akademi.egitimtakip.annotation.RequirePermission;
 import com.akademi.egitimtakip.dto.FaaliyetRequestDTO;
 import com.akademi.egitimtakip.dto.FaaliyetResponseDTO;
+import com.akademi.egitimtakip.export.ExportFormat;
+import com.akademi.egitimtakip.service.ActivityLogService;
+import com.akademi.egitimtakip.service.ExportService;
 import com.akademi.egitimtakip.service.FaaliyetService;
+import com.akademi.egitimtakip.util.SecurityUtils;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Faaliyet Controller
@@ -28,6 +34,12 @@ public class FaaliyetController {
     @Autowired
     private FaaliyetService faaliyetService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
     /**
      * GET /faaliyet - Tüm faaliyetleri listele
      * Required Permission: activity.view
@@ -53,6 +65,27 @@ public class FaaliyetController {
         return ResponseEntity.ok(faaliyetler);
     }
 
+    /**
+     * GET /faaliyet/export?format=csv|ndjson - Faaliyetleri stream ederek indir
+     * Required Permission: activity.view
+     */
+    @GetMapping("/export")
+    @RequirePermission(module = "activity", action = "view", description = "Export activities")
+    public ResponseEntity<StreamingResponseBody> exportFaaliyetler(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long projeId,
+            @RequestParam(required = false) String turu) {
+        
+        ExportFormat exportFormat = ExportFormat.from(format);
+        activityLogService.logExport(SecurityUtils.getCurrentUserId(), "ACTIVITY", exportFormat.getExtension());
+
+        StreamingResponseBody body = out -> exportService.exportFaaliyetler(out, exportFormat, projeId, turu);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"faaliyetler." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * GET /faaliyet/{id} - ID ile faaliyet getir
      * Required Permission: activity.view
@@ -1,18 +1,53 @@
 package com.akademi.egitimtakip.controller;
 
 import com.akademi.egitimtakip.annotation.RequirePermission;
+import com.akademi.egitimtakip.config.AsyncConfig;
+import com.akademi.egitimtakip.dto.CacheRegionStatsDTO;
+import com.akademi.egitimtakip.dto.CursorPageResponse;
+import com.akademi.egitimtakip.dto.ErrorGroupDTO;
+import com.akademi.egitimtakip.dto.FrontendEventDTO;
+import com.akademi.egitimtakip.dto.QueryStatsDTO;
+import com.akademi.egitimtakip.dto.SamplingConfigDTO;
+import com.akademi.egitimtakip.dto.SlowQueryDTO;
+import com.akademi.egitimtakip.dto.TraceDTO;
+import com.akademi.egitimtakip.dto.TrafficPointDTO;
+import com.akademi.egitimtakip.dto.TrafficStatsDTO;
 import com.akademi.egitimtakip.entity.*;
+import com.akademi.egitimtakip.jdbc.SlowQueryLog;
+import com.akademi.egitimtakip.logging.ApiLogBodyMigrator;
+import com.akademi.egitimtakip.logging.ApiLogBodyStore;
+import com.akademi.egitimtakip.logging.ApiLogSampler;
+import com.akademi.egitimtakip.logging.ErrorGroupAggregator;
+import com.akademi.egitimtakip.logging.FrontendEventCoalescer;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import com.akademi.egitimtakip.logging.LogRetentionEngine;
+import com.akademi.egitimtakip.logging.LogSearchIndex;
+import com.akademi.egitimtakip.logging.LogTailHub;
+import com.akademi.egitimtakip.metrics.LatencyRegistry;
+import com.akademi.egitimtakip.metrics.LatencySnapshot;
+import com.akademi.egitimtakip.metrics.QueryCountRegistry;
+import com.akademi.egitimtakip.metrics.SecondLevelCacheMetrics;
+import com.akademi.egitimtakip.metrics.TrafficRollupRegistry;
+import com.akademi.egitimtakip.metrics.TrafficRollupStore;
 import com.akademi.egitimtakip.service.*;
+import com.akademi.egitimtakip.tracing.TraceRecorder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -21,6 +56,7 @@ import java.util.Map;
  * Admin paneli için log görüntüleme REST API.
  * Permission-based authorization: logs module
  * Pagination ve filtreleme desteği sağlar.
+ * Her log türü için offset sayfalamanın yanında /cursor ile keyset sayfalama sunar.
  */
 @RestController
 @RequestMapping("/api/logs")
@@ -42,6 +78,66 @@ public class LogController {
     @Autowired
     private FrontendLogService frontendLogService;
 
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private LatencyRegistry latencyRegistry;
+
+    @Autowired
+    private LogRetentionEngine logRetentionEngine;
+
+    @Autowired
+    private FrontendEventCoalescer frontendEventCoalescer;
+
+    @Autowired
+    private ApiLogBodyStore apiLogBodyStore;
+
+    @Autowired
+    private ApiLogBodyMigrator apiLogBodyMigrator;
+
+    @Autowired
+    private ApiLogSampler apiLogSampler;
+
+    @Autowired
+    private ErrorGroupAggregator errorGroupAggregator;
+
+    @Autowired
+    private TrafficStatsService trafficStatsService;
+
+    @Autowired
+    private TrafficRollupRegistry trafficRollupRegistry;
+
+    @Autowired
+    private TrafficRollupStore trafficRollupStore;
+
+    @Autowired
+    private LogTailHub logTailHub;
+
+    @Autowired
+    private LogSearchIndex logSearchIndex;
+
+    @Autowired
+    private AsyncConfig asyncConfig;
+
+    @Autowired
+    private TraceService traceService;
+
+    @Autowired
+    private TraceRecorder traceRecorder;
+
+    @Autowired
+    private QueryCountRegistry queryCountRegistry;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private SecondLevelCacheMetrics secondLevelCacheMetrics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * GET /api/logs/api - API Loglarını getirir
      * Required Permission: logs.view
@@ -103,16 +199,54 @@ public class LogController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @RequestParam(required = false) String exceptionType,
-            @RequestParam(required = false) String endpoint) {
+            @RequestParam(required = false) String endpoint,
+            @RequestParam(required = false) String fingerprint) {
         
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<ErrorLog> logs = errorLogService.getLogsByFilters(
-            userId, startDate, endDate, exceptionType, endpoint, pageable
+            userId, startDate, endDate, exceptionType, endpoint, fingerprint, pageable
         );
         
         return ResponseEntity.ok(logs);
     }
 
+    /**
+     * GET /api/logs/errors/groups - Hataları parmak izine göre gruplanmış getirir
+     * sort: lastSeen (varsayılan) veya count. Bir grubun tekrarları için /api/logs/errors?fingerprint=...
+     * Required Permission: logs.view
+     */
+    @GetMapping("/errors/groups")
+    @RequirePermission(module = "logs", action = "view", description = "View error groups")
+    public ResponseEntity<Page<ErrorGroupDTO>> getErrorGroups(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String exceptionType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "lastSeen") String sort) {
+
+        if (!"lastSeen".equals(sort) && !"count".equals(sort)) {
+            throw new IllegalArgumentException("sort lastSeen veya count olmalıdır: " + sort);
+        }
+        Sort order = "count".equals(sort)
+            ? Sort.by(Sort.Direction.DESC, "occurrenceCount").and(Sort.by(Sort.Direction.DESC, "lastSeen"))
+            : Sort.by(Sort.Direction.DESC, "lastSeen");
+        return ResponseEntity.ok(errorLogService.getGroups(exceptionType, since, PageRequest.of(page, size, order)));
+    }
+
+    /**
+     * GET /api/logs/errors/groups/{id} - Tek bir hata grubunu örnek stack trace ile getirir
+     * Required Permission: logs.view
+     */
+    @GetMapping("/errors/groups/{id}")
+    @RequirePermission(module = "logs", action = "view", description = "View error group detail")
+    public ResponseEntity<ErrorGroup> getErrorGroup(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(errorLogService.getGroup(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
     /**
      * GET /api/logs/performance - Performance Loglarını getirir
      * Required Permission: logs.view
@@ -135,6 +269,36 @@ public class LogController {
         return ResponseEntity.ok(logs);
     }
 
+    /**
+     * GET /api/logs/performance/histograms - Servis metotlarının anlık gecikme dağılımı
+     * (kayan pencere içindeki p50/p90/p99/p999/max, mikrosaniye; p99'a göre yavaştan hızlıya)
+     * Required Permission: logs.view
+     */
+    @GetMapping("/performance/histograms")
+    @RequirePermission(module = "logs", action = "view", description = "View performance logs")
+    public ResponseEntity<List<LatencySnapshot>> getPerformanceHistograms() {
+        return ResponseEntity.ok(latencyRegistry.getSnapshots());
+    }
+
+    /**
+     * GET /api/logs/performance/snapshots - Periyodik gecikme özetlerini getirir
+     * Required Permission: logs.view
+     */
+    @GetMapping("/performance/snapshots")
+    @RequirePermission(module = "logs", action = "view", description = "View performance logs")
+    public ResponseEntity<Page<PerformanceSnapshot>> getPerformanceSnapshots(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String methodName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        return ResponseEntity.ok(performanceLogService.getSnapshotsByFilters(
+            methodName, startDate, endDate, pageable
+        ));
+    }
+
     /**
      * GET /api/logs/frontend - Frontend Loglarını getirir
      * Required Permission: logs.view
@@ -158,6 +322,308 @@ public class LogController {
         return ResponseEntity.ok(logs);
     }
 
+    /**
+     * GET /api/logs/api/cursor - API Loglarını keyset (cursor) sayfalama ile getirir
+     * Toplam sayı hesaplanmaz; yanıttaki nextCursor ile sonraki dilim istenir.
+     * Required Permission: logs.view
+     */
+    @GetMapping("/api/cursor")
+    @RequirePermission(module = "logs", action = "view", description = "View API logs")
+    public ResponseEntity<CursorPageResponse<ApiLog>> getApiLogsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Integer statusCode,
+            @RequestParam(required = false) String endpoint,
+            @RequestParam(required = false) Long minDuration) {
+
+        return ResponseEntity.ok(apiLogService.getLogsByFiltersAfter(
+            userId, startDate, endDate, statusCode, endpoint, minDuration, cursor, size
+        ));
+    }
+
+    /**
+     * GET /api/logs/api/{id} - Tek bir API logunu request/response body'leriyle getirir
+     * Liste endpoint'leri body döndürmez; body'ler yalnızca burada açılır.
+     * Required Permission: logs.view
+     */
+    @GetMapping("/api/{id}")
+    @RequirePermission(module = "logs", action = "view", description = "View API log detail")
+    public ResponseEntity<ApiLog> getApiLogDetail(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(apiLogService.getLogDetail(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    /**
+     * GET /api/logs/activity/cursor - Activity Loglarını keyset (cursor) sayfalama ile getirir
+     * Required Permission: logs.view
+     */
+    @GetMapping("/activity/cursor")
+    @RequirePermission(module = "logs", action = "view", description = "View activity logs")
+    public ResponseEntity<CursorPageResponse<ActivityLog>> getActivityLogsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) Long entityId) {
+
+        return ResponseEntity.ok(activityLogService.getLogsByFiltersAfter(
+            userId, startDate, endDate, entityType, action, entityId, cursor, size
+        ));
+    }
+
+    /**
+     * GET /api/logs/errors/cursor - Error Loglarını keyset (cursor) sayfalama ile getirir
+     * Required Permission: logs.view
+     */
+    @GetMapping("/errors/cursor")
+    @RequirePermission(module = "logs", action = "view", description = "View error logs")
+    public ResponseEntity<CursorPageResponse<ErrorLog>> getErrorLogsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String exceptionType,
+            @RequestParam(required = false) String endpoint,
+            @RequestParam(required = false) String fingerprint) {
+
+        return ResponseEntity.ok(errorLogService.getLogsByFiltersAfter(
+            userId, startDate, endDate, exceptionType, endpoint, fingerprint, cursor, size
+        ));
+    }
+
+    /**
+     * GET /api/logs/performance/cursor - Performance Loglarını keyset (cursor) sayfalama ile getirir
+     * Cursor modunda sıralama zamana göredir (en yeni en üstte).
+     * Required Permission: logs.view
+     */
+    @GetMapping("/performance/cursor")
+    @RequirePermission(module = "logs", action = "view", description = "View performance logs")
+    public ResponseEntity<CursorPageResponse<PerformanceLog>> getPerformanceLogsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long minDuration,
+            @RequestParam(required = false) String endpoint) {
+
+        return ResponseEntity.ok(performanceLogService.getLogsByFiltersAfter(
+            startDate, endDate, minDuration, endpoint, cursor, size
+        ));
+    }
+
+    /**
+     * GET /api/logs/frontend/cursor - Frontend Loglarını keyset (cursor) sayfalama ile getirir
+     * Required Permission: logs.view
+     */
+    @GetMapping("/frontend/cursor")
+    @RequirePermission(module = "logs", action = "view", description = "View frontend logs")
+    public ResponseEntity<CursorPageResponse<FrontendLog>> getFrontendLogsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String page) {
+
+        return ResponseEntity.ok(frontendLogService.getLogsByFiltersAfter(
+            userId, startDate, endDate, action, page, cursor, size
+        ));
+    }
+
+    /**
+     * GET /api/logs/traces/{traceId} - Saklanan bir isteğin span ağacını getirir
+     * Yalnızca hatalı veya yavaş (app.tracing.slow-threshold-ms) istekler saklanır; trace id yanıtın X-Trace-Id header'ındadır.
+     * Required Permission: logs.view
+     */
+    @GetMapping("/traces/{traceId}")
+    @RequirePermission(module = "logs", action = "view", description = "View request traces")
+    public ResponseEntity<TraceDTO> getTrace(@PathVariable String traceId) {
+        try {
+            return ResponseEntity.ok(traceService.getTrace(traceId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    /**
+     * GET /api/logs/queries - Endpoint başına istek içi SQL özetini getirir
+     * (ortalama/maksimum ifade sayısı, veritabanı süresi, satır sayısı, N+1 şüpheli istekler)
+     * Query Parameters:
+     * - sort: statements (varsayılan), dbTime veya nPlusOne; büyükten küçüğe
+     * Required Permission: logs.view
+     */
+    @GetMapping("/queries")
+    @RequirePermission(module = "logs", action = "view", description = "View SQL statement stats")
+    public ResponseEntity<List<QueryStatsDTO>> getQueryStats(
+            @RequestParam(defaultValue = QueryCountRegistry.SORT_STATEMENTS) String sort) {
+        return ResponseEntity.ok(queryCountRegistry.getReport(sort));
+    }
+
+    /**
+     * GET /api/logs/queries/slow - app.sql-accounting.slow-query-ms'i aşan son SQL ifadelerini getirir
+     * (H2'de EXPLAIN planı ile), en yenisi başta
+     * Required Permission: logs.view
+     */
+    @GetMapping("/queries/slow")
+    @RequirePermission(module = "logs", action = "view", description = "View SQL statement stats")
+    public ResponseEntity<List<SlowQueryDTO>> getSlowQueries() {
+        return ResponseEntity.ok(slowQueryLog.getRecent());
+    }
+
+    /**
+     * GET /api/logs/cache - Hibernate ikinci seviye önbelleğinin bölge başına sayaçlarını getirir
+     * (hits, misses, puts, evictions, size, hitRatio)
+     * Required Permission: logs.view
+     */
+    @GetMapping("/cache")
+    @RequirePermission(module = "logs", action = "view", description = "View second-level cache stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(secondLevelCacheMetrics.getRegions());
+    }
+
+    /**
+     * GET /api/logs/pipeline/stats - Log yazma hattı sayaçlarını getirir
+     * (log türü başına enqueued, flushed, dropped, failed, batches, queued, capacity, callerRuns, activeWriters;
+     * frontend-coalescer: received, written, bypassed, pending;
+     * api-body-store: received, deduplicated, stored, originalBytes, storedBytes, loaded;
+     * api-body-migration: running, migratedRows, chunks, lastId;
+     * error-groups: received, groupsCreated, groupsUpdated, flushes, failedFlushes, pending;
+     * traffic-rollup: recorded, overflow, activeCells, flushedRows, failedFlushes;
+     * traffic-rollup-store: mergedRows, downsampledHours, downsampledDays, rowsRead;
+     * log-tail: subscribers, published, delivered, dropped, disconnected;
+     * log-search-index: kolon başına değer sayısı, trigrams, postingBytes, readyFields, disabledFields,
+     * caughtUpRows, indexedQueries, fallbackQueries;
+     * async-executor, mvc-async-executor: queued, queueCapacity, active, poolSize, completed, rejected;
+     * tracing: traced, keptSlow, keptError, discarded, droppedSpans;
+     * sql-accounting: recorded, statements, nPlusOneRequests, endpoints;
+     * slow-queries: slowStatements, explained, explainFailures, retained;
+     * second-level-cache: regions, hits, misses, puts, evictions, size)
+     * Required Permission: logs.view
+     */
+    @GetMapping("/pipeline/stats")
+    @RequirePermission(module = "logs", action = "view", description = "View log pipeline stats")
+    public ResponseEntity<Map<String, Map<String, Long>>> getPipelineStats() {
+        Map<String, Map<String, Long>> stats = logIngestionPipeline.getStats();
+        stats.put("frontend-coalescer", frontendEventCoalescer.getStats());
+        stats.put("api-body-store", apiLogBodyStore.getStats());
+        stats.put("api-body-migration", apiLogBodyMigrator.getStats());
+        stats.put("error-groups", errorGroupAggregator.getStats());
+        stats.put("traffic-rollup", trafficRollupRegistry.getStats());
+        stats.put("traffic-rollup-store", trafficRollupStore.getStats());
+        stats.put("log-tail", logTailHub.getStats());
+        stats.put("log-search-index", logSearchIndex.getStats());
+        stats.put("async-executor", asyncConfig.getStats());
+        stats.put("mvc-async-executor", asyncConfig.getMvcStats());
+        stats.put("tracing", traceRecorder.getStats());
+        stats.put("sql-accounting", queryCountRegistry.getStats());
+        stats.put("slow-queries", slowQueryLog.getStats());
+        stats.put("second-level-cache", secondLevelCacheMetrics.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * GET /api/logs/sampling - API log örnekleme ayarlarını getirir
+     * Required Permission: logs.view
+     */
+    @GetMapping("/sampling")
+    @RequirePermission(module = "logs", action = "view", description = "View API log sampling config")
+    public ResponseEntity<SamplingConfigDTO> getSamplingConfig() {
+        return ResponseEntity.ok(apiLogSampler.getConfig());
+    }
+
+    /**
+     * PUT /api/logs/sampling - API log örnekleme ayarlarını yeniden başlatmadan değiştirir
+     * Boş bırakılan alanlar korunur; geçersiz kural 400 döner.
+     * Required Permission: logs.manage
+     */
+    @PutMapping("/sampling")
+    @RequirePermission(module = "logs", action = "manage", description = "Update API log sampling config")
+    public ResponseEntity<SamplingConfigDTO> updateSamplingConfig(@RequestBody SamplingConfigDTO config) {
+        return ResponseEntity.ok(apiLogSampler.update(config));
+    }
+
+    /**
+     * GET /api/logs/sampling/stats - Örnekleme kararları ve endpoint başına toplamlar
+     * (loglanmayan istekler dahil: requests, errors, logged, meanMs, maxMs)
+     * Required Permission: logs.view
+     */
+    @GetMapping("/sampling/stats")
+    @RequirePermission(module = "logs", action = "view", description = "View API log sampling stats")
+    public ResponseEntity<Map<String, Object>> getSamplingStats() {
+        return ResponseEntity.ok(apiLogSampler.getStats());
+    }
+
+    /**
+     * GET /api/logs/traffic/summary - Endpoint başına trafik özeti (istek/hata sayısı, süre, p50/p90/p99)
+     * Yalnızca traffic_rollups okunur; from/to verilmezse son 24 saat.
+     * Required Permission: logs.view
+     */
+    @GetMapping("/traffic/summary")
+    @RequirePermission(module = "logs", action = "view", description = "View traffic statistics")
+    public ResponseEntity<List<TrafficStatsDTO>> getTrafficSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) String endpoint) {
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(24);
+        return ResponseEntity.ok(trafficStatsService.getSummary(start, end, method, endpoint));
+    }
+
+    /**
+     * GET /api/logs/traffic/series - Trafik zaman serisi (step: MINUTE, HOUR, DAY; verilmezse aralığa göre)
+     * Yalnızca traffic_rollups okunur; from/to verilmezse son 24 saat.
+     * Required Permission: logs.view
+     */
+    @GetMapping("/traffic/series")
+    @RequirePermission(module = "logs", action = "view", description = "View traffic statistics")
+    public ResponseEntity<List<TrafficPointDTO>> getTrafficSeries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String step,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) String endpoint) {
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(24);
+        return ResponseEntity.ok(trafficStatsService.getSeries(start, end, step, method, endpoint));
+    }
+
+    /**
+     * GET /api/logs/stream - Canlı log akışı (Server-Sent Events)
+     * Kayıtlar yazma hattından doğrudan gelir, veritabanı sorgulanmaz. Olay adı log türüdür;
+     * yavaş istemciye "dropped" olayıyla atılan kayıt sayısı bildirilir.
+     * Required Permission: logs.view
+     *
+     * @param types Virgülle ayrılmış log türleri: api, activity, error, performance, frontend (boşsa hepsi)
+     * @return 503 eşzamanlı abone sınırı doluysa
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequirePermission(module = "logs", action = "view", description = "Stream live logs")
+    public ResponseEntity<SseEmitter> streamLogs(
+            @RequestParam(required = false) String types,
+            @RequestParam(required = false) String endpoint,
+            @RequestParam(required = false) Long userId) {
+
+        SseEmitter emitter = logTailHub.subscribe(types, endpoint, userId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+
     /**
      * POST /api/logs/frontend - Frontend'ten log kaydeder
      * No permission required - frontend logging endpoint
@@ -173,15 +639,57 @@ public class LogController {
         return ResponseEntity.ok("Log kaydedildi");
     }
 
+    /**
+     * POST /api/logs/frontend/batch - Frontend olaylarını toplu kaydeder
+     * Aynı olaylar birleştirme penceresinde tek satıra indirilir ve toplu yazılır.
+     * No permission required - frontend logging endpoint
+     */
+    @PostMapping(value = "/frontend/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Integer>> logFrontendEvents(@RequestBody List<FrontendEventDTO> events) {
+        int accepted = frontendLogService.saveFrontendEvents(events);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("accepted", accepted));
+    }
+
+    /**
+     * POST /api/logs/frontend/batch (text/plain) - navigator.sendBeacon ile gönderilen olaylar
+     * sendBeacon CORS preflight yapamadığı için JSON gövde text/plain olarak gelir.
+     */
+    @PostMapping(value = "/frontend/batch", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Map<String, Integer>> logFrontendEventsBeacon(@RequestBody String body) {
+        List<FrontendEventDTO> events;
+        try {
+            events = objectMapper.readValue(body, new TypeReference<List<FrontendEventDTO>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Geçersiz olay listesi: " + e.getOriginalMessage());
+        }
+        return logFrontendEvents(events);
+    }
+
     /**
      * DELETE /api/logs/clear - Eski logları temizle
+     * Temizlik arka planda, id aralıkları halinde çalışır; ilerleme /api/logs/retention/status ile izlenir.
+     * daysOld verilirse tüm log türlerine uygulanır, verilmezse tür bazlı saklama süreleri kullanılır.
      * Required Permission: logs.manage
+     *
+     * @return 202 (başlatıldı) veya 409 (zaten çalışan bir temizlik var) ve güncel durum
      */
     @DeleteMapping("/clear")
     @RequirePermission(module = "logs", action = "manage", description = "Clear old logs")
-    public ResponseEntity<String> clearOldLogs(
-            @RequestParam(required = false, defaultValue = "30") int daysOld) {
-        // Log temizleme işlemi - opsiyonel
-        return ResponseEntity.ok("Log temizleme işlemi tamamlandı");
+    public ResponseEntity<Map<String, Object>> clearOldLogs(
+            @RequestParam(required = false) Integer daysOld) {
+        boolean started = logRetentionEngine.trigger(daysOld);
+        return ResponseEntity
+            .status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+            .body(logRetentionEngine.getStatus());
+    }
+
+    /**
+     * GET /api/logs/retention/status - Log temizleme ilerlemesi ve silinen kayıt sayaçları
+     * Required Permission: logs.view
+     */
+    @GetMapping("/retention/status")
+    @RequirePermission(module = "logs", action = "view", description = "View log retention status")
+    public ResponseEntity<Map<String, Object>> getRetentionStatus() {
+        return ResponseEntity.ok(logRetentionEngine.getStatus());
     }
 }
@@ -0,0 +1,74 @@
+package com.akademi.egitimtakip.controller;
+
+import com.akademi.egitimtakip.metrics.PrometheusExporter;
+import com.akademi.egitimtakip.metrics.PrometheusWriter;
+import com.akademi.egitimtakip.service.PermissionCheckService;
+import com.akademi.egitimtakip.util.SecurityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Metrics Controller
+ *
+ * Prometheus scrape endpoint'i. app.metrics.prometheus.token ayarlıysa JWT gerektirmez
+ * (Prometheus sabit bir token gönderir), "Authorization: Bearer <token>" zorunludur.
+ * Token boşsa endpoint kapalı başlar: logs.view yetkili bir kullanıcının JWT'si gerekir
+ * (yoksa 401, yetki yoksa 403).
+ */
+@RestController
+public class MetricsController {
+
+    @Autowired
+    private PrometheusExporter prometheusExporter;
+
+    @Autowired
+    private PermissionCheckService permissionCheckService;
+
+    @Value("${app.metrics.prometheus.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.metrics.prometheus.token:}")
+    private String token;
+
+    /**
+     * GET /metrics - HTTP, bağlantı havuzu, Hibernate, executor, log tamponu ve JVM metrikleri
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<String> metrics(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!enabled) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        if (token.isEmpty()) {
+            // Scrape token'ı yok: kullanıcı JWT'si ve logs.view gerekir
+            if (SecurityUtils.getCurrentPrincipal() == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            permissionCheckService.checkPermission("logs", "view");
+        } else if (!tokenMatches(authorization)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, PrometheusWriter.CONTENT_TYPE)
+            .body(prometheusExporter.scrape());
+    }
+
+    private boolean tokenMatches(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+        // Sabit zamanlı karşılaştırma
+        return MessageDigest.isEqual(
+            authorization.substring(7).getBytes(StandardCharsets.UTF_8),
+            token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,7 +3,9 @@ package com.akademi.egitimtakip.controller;
 import com.akademi.egitimtakip.annotation.RequirePermission;
 import com.akademi.egitimtakip.dto.OdemeRequestDTO;
 import com.akademi.egitimtakip.dto.OdemeResponseDTO;
+import com.akademi.egitimtakip.export.ExportFormat;
 import com.akademi.egitimtakip.service.ActivityLogService;
+import com.akademi.egitimtakip.service.ExportService;
 import com.akademi.egitimtakip.service.OdemeService;
 import com.akademi.egitimtakip.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,9 +19,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
@@ -40,6 +44,9 @@ public class OdemeController {
 
     @Autowired
     private OdemeService odemeService;
+
+    @Autowired
+    private ExportService exportService;
     
     @Autowired
     private ActivityLogService activityLogService;
@@ -83,6 +90,40 @@ public class OdemeController {
         return ResponseEntity.ok(odemeler);
     }
 
+    /**
+     * GET /odeme/export - Ödemeleri CSV / NDJSON olarak indir
+     * Required Permission: payment.view
+     */
+    @GetMapping("/export")
+    @RequirePermission(module = "payment", action = "view", description = "Export payments")
+    @Operation(summary = "Ödemeleri export et", description = "Filtrelenmiş ödeme listesinin tamamını CSV veya NDJSON olarak stream eder")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Başarılı"),
+        @ApiResponse(responseCode = "400", description = "Desteklenmeyen format")
+    })
+    public ResponseEntity<StreamingResponseBody> exportOdemeler(
+            @Parameter(description = "Çıktı formatı (csv, ndjson)") 
+            @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Eğitim ID filtresi") 
+            @RequestParam(required = false) Long egitimId,
+            @Parameter(description = "Durum filtresi (Ödendi, Bekliyor, İptal)") 
+            @RequestParam(required = false) String durum,
+            @Parameter(description = "Sorumlu ID filtresi") 
+            @RequestParam(required = false) Long sorumluId,
+            @Parameter(description = "Ödeme kaynağı filtresi") 
+            @RequestParam(required = false) String odemeKaynagi) {
+        
+        ExportFormat exportFormat = ExportFormat.from(format);
+        activityLogService.logExport(SecurityUtils.getCurrentUserId(), "PAYMENT", exportFormat.getExtension());
+
+        StreamingResponseBody body = out -> exportService.exportOdemeler(
+            out, exportFormat, egitimId, durum, sorumluId, odemeKaynagi);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"odemeler." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * GET /odeme/{id} - Ödeme detayı getir
      * Required Permission: payment.view
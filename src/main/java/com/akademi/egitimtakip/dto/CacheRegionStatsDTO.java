@@ -0,0 +1,28 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cache Region Stats DTO
+ *
+ * İkinci seviye önbellek bölgesi başına sayaçlar (GET /api/logs/cache).
+ * hits/misses/puts Hibernate Statistics'ten, evictions (boyut veya TTL nedeniyle atılan kayıtlar)
+ * ve size Caffeine'den okunur. Sayaçlar uygulama açılışından beri birikir.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+
+    private String region;
+    private Long hits;
+    private Long misses;
+    private Long puts;
+    private Long evictions;
+    private Long size;
+    private Double hitRatio;
+}
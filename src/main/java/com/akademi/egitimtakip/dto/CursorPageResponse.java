@@ -0,0 +1,58 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor Page Response
+ * 
+ * Keyset (cursor) sayfalama sonucu. Toplam kayıt sayısı hesaplanmaz;
+ * sonraki dilim için nextCursor kullanılır.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    /**
+     * Tek dilimde istenebilecek en fazla kayıt
+     */
+    public static final int MAX_SIZE = 500;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    /**
+     * Dilim boyutunu doğrular (1..MAX_SIZE)
+     * 
+     * @throws IllegalArgumentException size aralık dışındaysa
+     */
+    public static void checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size 1 ile " + MAX_SIZE + " arasında olmalı: " + size);
+        }
+    }
+
+    /**
+     * size + 1 satır olarak okunmuş sonuçtan dilim oluşturur.
+     * Fazladan gelen satır, bir sonraki dilimin var olduğunu gösterir.
+     */
+    public static <T> CursorPageResponse<T> of(List<T> rows, int size,
+                                               Function<T, LocalDateTime> createdAt,
+                                               Function<T, Long> id) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            nextCursor = new LogCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return new CursorPageResponse<>(content, size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,34 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Egitim List DTO
+ * 
+ * Liste ekranı için hafif eğitim görünümü (GET /egitim/list).
+ * Sadece tablo kolonlarını taşır; ilişki setleri yüklenmez,
+ * kayıtlar tek bir projeksiyon sorgusuyla okunur.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EgitimListDTO {
+
+    private Long id;
+    private String ad;
+    private String egitimKodu;
+    private String programId;
+    private String seviye;
+    private LocalDate baslangicTarihi;
+    private LocalDate bitisTarihi;
+    private Integer egitimSaati;
+    private String durum;
+    private Long projeId;
+    private String projeIsim;
+}
@@ -0,0 +1,32 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Error Group DTO
+ *
+ * Gruplanmış hata görünümü (GET /api/logs/errors/groups).
+ * Örnek stack trace taşımaz; o yalnızca grup detayında (GET /api/logs/errors/groups/{id}) döner.
+ * Kayıtlar tek bir projeksiyon sorgusuyla okunur.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorGroupDTO {
+
+    private Long id;
+    private String fingerprint;
+    private String exceptionType;
+    private String messageTemplate;
+    private String topFrame;
+    private String sampleMessage;
+    private Long occurrenceCount;
+    private LocalDateTime firstSeen;
+    private LocalDateTime lastSeen;
+}
@@ -0,0 +1,29 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Frontend Event DTO
+ * 
+ * POST /api/logs/frontend/batch ile toplu gönderilen tek bir kullanıcı aksiyonu.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FrontendEventDTO {
+
+    private Long userId;
+
+    /**
+     * BUTTON_CLICK, FORM_SUBMIT, PAGE_VIEW, vb.
+     */
+    private String action;
+
+    private String page;
+
+    private String details;
+}
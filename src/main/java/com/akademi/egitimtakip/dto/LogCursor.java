@@ -0,0 +1,54 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Log Cursor
+ * 
+ * Log listelerinde keyset (cursor) sayfalama için konum bilgisi.
+ * (createdAt, id) ikilisini taşır; client'a opak bir Base64 string olarak verilir.
+ */
+@Getter
+@AllArgsConstructor
+public class LogCursor {
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    /**
+     * Cursor'ı client'a gönderilecek opak string'e çevirir
+     */
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Client'tan gelen cursor string'ini çözer
+     * 
+     * @param cursor Opak cursor (null veya boş ise ilk sayfa)
+     * @return LogCursor veya null (ilk sayfa)
+     * @throws IllegalArgumentException cursor geçersizse
+     */
+    public static LogCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new LogCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.valueOf(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Geçersiz cursor: " + cursor);
+        }
+    }
+}
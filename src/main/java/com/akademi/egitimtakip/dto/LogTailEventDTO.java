@@ -0,0 +1,37 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Log Tail Event DTO
+ *
+ * Canlı log akışındaki tek kayıt (GET /api/logs/stream). Tüm log türleri aynı alanlarla gönderilir;
+ * türe uymayan alanlar null'dır. Body'ler ve stack trace gönderilmez.
+ *
+ * - api: method, endpoint, statusCode, durationMs
+ * - activity: method (action), endpoint (entityType/entityId), summary (açıklama)
+ * - error: endpoint, summary (exceptionType: mesaj), fingerprint
+ * - performance: endpoint (methodName), durationMs
+ * - frontend: method (action), endpoint (page), summary (details)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogTailEventDTO {
+
+    private String type;
+    private LocalDateTime createdAt;
+    private Long userId;
+    private String method;
+    private String endpoint;
+    private Integer statusCode;
+    private Long durationMs;
+    private String summary;
+    private String fingerprint;
+}
@@ -0,0 +1,33 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Query Stats DTO
+ *
+ * Endpoint başına istek içi SQL özeti (GET /api/logs/queries), uygulama açıldığından beri.
+ * suspectedNPlusOne: aynı ifade şeklini repeat-threshold veya daha fazla kez çalıştıran istek sayısı.
+ * worstRepeatedShape / worstRepeatCount: endpoint'te görülen en yüksek tekrar ve ifadesi.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryStatsDTO {
+
+    private String method;
+    private String endpoint;
+    private Long requests;
+    private Double avgStatements;
+    private Long maxStatements;
+    private Double avgDbTimeMs;
+    private Long maxDbTimeMs;
+    private Double avgRows;
+    private Long suspectedNPlusOne;
+    private Long slowStatements;
+    private Integer worstRepeatCount;
+    private String worstRepeatedShape;
+}
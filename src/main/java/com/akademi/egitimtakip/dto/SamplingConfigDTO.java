@@ -0,0 +1,34 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sampling Config DTO
+ *
+ * API log örnekleme ayarları (GET/PUT /api/logs/sampling).
+ * PUT'ta boş bırakılan alanlar değiştirilmez.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SamplingConfigDTO {
+
+    /**
+     * ';' ile ayrılmış kurallar: METHOD PATH_PATTERN SAMPLE_RATE MAX_PER_SECOND
+     */
+    private String rules;
+
+    /**
+     * true ise hata yanıtları (status >= 400) her zaman loglanır
+     */
+    private Boolean keepErrors;
+
+    /**
+     * Bu süreyi (ms) aşan istekler her zaman loglanır (0 = kapalı)
+     */
+    private Long slowThresholdMs;
+}
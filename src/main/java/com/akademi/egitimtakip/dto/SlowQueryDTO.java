@@ -0,0 +1,30 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Slow Query DTO
+ *
+ * Eşiği (app.sql-accounting.slow-query-ms) aşan bir SQL ifadesi (GET /api/logs/queries/slow).
+ * plan: H2 EXPLAIN çıktısı; aynı ifade için son explain-interval-ms içinde alındıysa veya
+ * veritabanı H2 değilse null.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDTO {
+
+    private String sql;
+    private Long durationMs;
+    private String method;
+    private String endpoint;
+    private String traceId;
+    private String plan;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trace DTO
+ *
+ * Saklanan bir isteğin özeti ve span ağacı (GET /api/logs/traces/{traceId}).
+ * reason: SLOW veya ERROR. Aynı id, isteğin api/error/activity log satırlarının trace_id kolonunda da bulunur.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceDTO {
+
+    private String traceId;
+    private String httpMethod;
+    private String endpoint;
+    private Integer statusCode;
+    private Long durationMs;
+    private String reason;
+    private Integer spanCount;
+    private Integer droppedSpans;
+    private LocalDateTime createdAt;
+    private List<TraceSpanDTO> spans = new ArrayList<>();
+}
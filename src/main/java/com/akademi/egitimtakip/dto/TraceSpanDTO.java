@@ -0,0 +1,29 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trace Span DTO
+ *
+ * Span ağacının bir düğümü (GET /api/logs/traces/{traceId}).
+ * startOffsetUs isteğin başından itibaren mikro saniyedir; durationUs span kapanmadıysa null.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceSpanDTO {
+
+    private Integer index;
+    private String kind;
+    private String name;
+    private Long startOffsetUs;
+    private Long durationUs;
+    private List<TraceSpanDTO> children = new ArrayList<>();
+}
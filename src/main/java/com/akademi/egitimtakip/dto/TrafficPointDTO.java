@@ -0,0 +1,29 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Traffic Point DTO
+ *
+ * Trafik zaman serisinin tek bir adımı (GET /api/logs/traffic/series).
+ * Süreler milisaniyedir.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrafficPointDTO {
+
+    private LocalDateTime bucketStart;
+    private long requestCount;
+    private long errorCount;
+    private long meanMs;
+    private long p50Ms;
+    private long p99Ms;
+    private long maxMs;
+}
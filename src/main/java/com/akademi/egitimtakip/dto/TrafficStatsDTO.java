@@ -0,0 +1,37 @@
+package com.akademi.egitimtakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * Traffic Stats DTO
+ *
+ * Bir endpoint'in zaman aralığı boyunca trafik özeti (GET /api/logs/traffic/summary).
+ * traffic_rollups satırlarından hesaplanır; süreler milisaniyedir, yüzdelikler ~%6 hassasiyetlidir.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrafficStatsDTO {
+
+    private String method;
+    private String endpoint;
+    private long requestCount;
+    private long errorCount;
+    private long meanMs;
+    private long minMs;
+    private long maxMs;
+    private long p50Ms;
+    private long p90Ms;
+    private long p99Ms;
+
+    /**
+     * Durum sınıfı başına istek sayısı (2xx, 4xx, ...)
+     */
+    private Map<String, Long> statusCounts;
+}
@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
  * Hangi kullanıcı, hangi entity üzerinde ne yaptı gibi bilgileri tutar.
  */
 @Entity
-@Table(name = "activity_logs")
+@Table(name = "activity_logs", indexes = {
+    @Index(name = "idx_activity_logs_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_activity_logs_trace_id", columnList = "trace_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,6 +45,12 @@ public class ActivityLog {
     @Column(name = "description", length = 1000)
     private String description;
 
+    /**
+     * İsteğin trace id'si (request_traces / trace_spans; yalnızca yavaş/hatalı istekler saklanır)
+     */
+    @Column(name = "trace_id", length = 64)
+    private String traceId;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
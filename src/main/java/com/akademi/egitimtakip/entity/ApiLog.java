@@ -1,5 +1,6 @@
 package com.akademi.egitimtakip.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -14,9 +15,23 @@ import java.time.LocalDateTime;
  * 
  * API endpoint kullanım loglarını tutar.
  * Her HTTP isteği için endpoint, method, durum kodu, süre vb. bilgileri saklar.
+ *
+ * Request/response body'leri api_log_bodies tablosunda sıkıştırılmış ve tekilleştirilmiş
+ * olarak durur; bu tablo yalnızca hash'lerini tutar. requestBody/responseBody alanları
+ * kalıcı değildir: yazarken LogIngestionPipeline'a body'yi taşır, okurken yalnızca
+ * tek bir logun detayı açıldığında (ApiLogService.getLogDetail) doldurulur.
  */
 @Entity
-@Table(name = "api_logs")
+@Table(name = "api_logs", indexes = {
+    @Index(name = "idx_api_logs_created_at", columnList = "created_at"),
+    @Index(name = "idx_api_logs_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_api_logs_status_created", columnList = "status_code, created_at"),
+    @Index(name = "idx_api_logs_duration", columnList = "duration_ms"),
+    @Index(name = "idx_api_logs_request_body_hash", columnList = "request_body_hash"),
+    @Index(name = "idx_api_logs_response_body_hash", columnList = "response_body_hash"),
+    @Index(name = "idx_api_logs_endpoint_created", columnList = "endpoint, created_at"),
+    @Index(name = "idx_api_logs_trace_id", columnList = "trace_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,18 +54,63 @@ public class ApiLog {
     @Column(name = "status_code")
     private Integer statusCode;
 
-    @Column(name = "request_body", columnDefinition = "TEXT")
+    @Column(name = "request_body_hash", length = 64)
+    private String requestBodyHash;
+
+    @Column(name = "response_body_hash", length = 64)
+    private String responseBodyHash;
+
+    @Transient
     private String requestBody;
 
-    @Column(name = "response_body", columnDefinition = "TEXT")
+    @Transient
     private String responseBody;
 
+    /**
+     * V9 öncesi satırların sıkıştırılmamış body'leri.
+     * ApiLogBodyMigrator bunları arka planda api_log_bodies'e taşır ve boşaltır.
+     */
+    @JsonIgnore
+    @Column(name = "request_body", columnDefinition = "TEXT")
+    private String legacyRequestBody;
+
+    @JsonIgnore
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String legacyResponseBody;
+
     @Column(name = "duration_ms")
     private Long durationMs;
 
     @Column(name = "ip", length = 45)
     private String ip;
 
+    /**
+     * İsteğin trace id'si (request_traces / trace_spans; yalnızca yavaş/hatalı istekler saklanır)
+     */
+    @Column(name = "trace_id", length = 64)
+    private String traceId;
+
+    /**
+     * İstekte çalışan SQL ifadesi sayısı (StatementAccounting; batch bir ifade sayılır)
+     */
+    @Column(name = "sql_count")
+    private Integer sqlCount;
+
+    @Column(name = "sql_time_ms")
+    private Long sqlTimeMs;
+
+    /**
+     * Okunan + etkilenen satır sayısı
+     */
+    @Column(name = "sql_rows")
+    private Long sqlRows;
+
+    /**
+     * Aynı ifade şeklinin istek içindeki en yüksek tekrar sayısı (N+1 göstergesi)
+     */
+    @Column(name = "sql_max_repeat")
+    private Integer sqlMaxRepeat;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
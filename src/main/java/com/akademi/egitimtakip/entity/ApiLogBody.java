@@ -0,0 +1,64 @@
+package com.akademi.egitimtakip.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ApiLogBody Entity
+ *
+ * api_logs kayıtlarının request/response body'leri. Her farklı body içeriği
+ * SHA-256 hash'i ile bir kez, sıkıştırılmış olarak saklanır; api_logs satırları
+ * body'ye request_body_hash / response_body_hash ile referans verir.
+ * Yazma ve okuma ApiLogBodyStore üzerinden JDBC ile yapılır.
+ */
+@Entity
+@Table(name = "api_log_bodies", indexes = {
+    @Index(name = "ux_api_log_bodies_hash", columnList = "hash", unique = true),
+    @Index(name = "idx_api_log_bodies_last_used_id", columnList = "last_used_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiLogBody {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * UTF-8 body'nin SHA-256 hash'i (hex)
+     */
+    @Column(name = "hash", length = 64, nullable = false)
+    private String hash;
+
+    /**
+     * İçerik kodlaması: deflate veya plain (sıkıştırma kazanç sağlamıyorsa)
+     */
+    @Column(name = "codec", length = 10, nullable = false)
+    private String codec;
+
+    /**
+     * Sıkıştırılmamış body'nin byte uzunluğu
+     */
+    @Column(name = "original_length", nullable = false)
+    private Integer originalLength;
+
+    @Column(name = "content", columnDefinition = "VARBINARY(65536)", nullable = false)
+    private byte[] content;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Body'nin bir log tarafından en son kullanıldığı zaman (tekrar kullanımda yenilenir).
+     * Saklama süresi bu alana göre uygulanır.
+     */
+    @Column(name = "last_used_at", nullable = false)
+    private LocalDateTime lastUsedAt;
+}
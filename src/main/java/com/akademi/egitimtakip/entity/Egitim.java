@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -59,6 +62,10 @@ public class Egitim {
     private String durum; // Örn: "Planlandı", "Devam Ediyor", "Tamamlandı", "İptal"
 
     // Many-to-many relationship with Kategori
+    // @BatchSize: liste sayfalarında set, sayfadaki tüm eğitimler için tek sorguda yüklenir (N+1 yerine)
+    // @Cache: referans verisi setleri (kategori, eğitmen, paydaş) id listesi olarak önbellekte; elemanlar entity bölgelerinden gelir
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "egitim.kategoriler")
     @ManyToMany
     @JoinTable(
         name = "egitim_kategori",
@@ -68,6 +75,8 @@ public class Egitim {
     private Set<Kategori> kategoriler = new HashSet<>();
 
     // Many-to-many relationship with Egitmen
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "egitim.egitmenler")
     @ManyToMany
     @JoinTable(
         name = "egitim_egitmen",
@@ -77,6 +86,7 @@ public class Egitim {
     private Set<Egitmen> egitmenler = new HashSet<>();
 
     // Many-to-many relationship with Sorumlu
+    @BatchSize(size = 100)
     @ManyToMany
     @JoinTable(
         name = "egitim_sorumlu",
@@ -86,6 +96,8 @@ public class Egitim {
     private Set<Sorumlu> sorumlular = new HashSet<>();
 
     // Many-to-many relationship with Paydas
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "egitim.paydaslar")
     @ManyToMany
     @JoinTable(
         name = "egitim_paydas",
@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -16,6 +19,9 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "egitmen")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "egitmen")
+@BatchSize(size = 100)
 @Getter
 @Setter
 @NoArgsConstructor
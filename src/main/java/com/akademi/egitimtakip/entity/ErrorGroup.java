@@ -0,0 +1,73 @@
+package com.akademi.egitimtakip.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ErrorGroup Entity
+ *
+ * Aynı parmak izine (exception türü + mesaj şablonu + uygulama frame'leri) sahip hataların
+ * toplamı. Her grup için bir örnek stack trace saklanır; tekil tekrarlar error_logs'ta
+ * fingerprint ile gruba bağlanan hafif satırlardır.
+ * Sayaçlar ErrorGroupAggregator tarafından bellekte toplanıp periyodik olarak JDBC ile yazılır.
+ */
+@Entity
+@Table(name = "error_groups", indexes = {
+    @Index(name = "ux_error_groups_fingerprint", columnList = "fingerprint", unique = true),
+    @Index(name = "idx_error_groups_last_seen", columnList = "last_seen"),
+    @Index(name = "idx_error_groups_created_id", columnList = "created_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorGroup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Parmak izi (SHA-256, hex)
+     */
+    @Column(name = "fingerprint", length = 64, nullable = false)
+    private String fingerprint;
+
+    @Column(name = "exception_type", length = 255)
+    private String exceptionType;
+
+    /**
+     * Normalleştirilmiş mesaj ("Eğitim bulunamadı: #")
+     */
+    @Column(name = "message_template", length = 500)
+    private String messageTemplate;
+
+    /**
+     * Parmak izine giren ilk uygulama frame'i (sınıf.metot)
+     */
+    @Column(name = "top_frame", length = 500)
+    private String topFrame;
+
+    @Column(name = "sample_message", columnDefinition = "TEXT")
+    private String sampleMessage;
+
+    @Column(name = "sample_stacktrace", columnDefinition = "TEXT")
+    private String sampleStacktrace;
+
+    @Column(name = "occurrence_count", nullable = false)
+    private Long occurrenceCount;
+
+    @Column(name = "first_seen", nullable = false)
+    private LocalDateTime firstSeen;
+
+    @Column(name = "last_seen", nullable = false)
+    private LocalDateTime lastSeen;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -14,9 +14,18 @@ import java.time.LocalDateTime;
  * 
  * Uygulama içinde oluşan exception ve hataları kaydeder.
  * Hata ayıklama ve izleme için kullanılır.
+ *
+ * Yeni kayıtlar hafif tekrar satırlarıdır: fingerprint ile error_groups'taki gruba bağlanır,
+ * stack trace yalnızca grupta (örnek olarak) saklanır. Eski kayıtlarda stacktrace dolu, fingerprint boştur.
  */
 @Entity
-@Table(name = "error_logs")
+@Table(name = "error_logs", indexes = {
+    @Index(name = "idx_error_logs_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_error_logs_fingerprint", columnList = "fingerprint"),
+    @Index(name = "idx_error_logs_endpoint_created", columnList = "endpoint, created_at"),
+    @Index(name = "idx_error_logs_exception_type_created", columnList = "exception_type, created_at"),
+    @Index(name = "idx_error_logs_trace_id", columnList = "trace_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,6 +51,18 @@ public class ErrorLog {
     @Column(name = "stacktrace", columnDefinition = "TEXT")
     private String stacktrace;
 
+    /**
+     * error_groups.fingerprint
+     */
+    @Column(name = "fingerprint", length = 64)
+    private String fingerprint;
+
+    /**
+     * İsteğin trace id'si (request_traces / trace_spans; yalnızca yavaş/hatalı istekler saklanır)
+     */
+    @Column(name = "trace_id", length = 64)
+    private String traceId;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
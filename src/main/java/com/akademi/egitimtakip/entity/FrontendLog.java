@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
  * Kullanıcı davranışlarını analiz etmek için kullanılır.
  */
 @Entity
-@Table(name = "frontend_logs")
+@Table(name = "frontend_logs", indexes = {
+    @Index(name = "idx_frontend_logs_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_frontend_logs_page_created", columnList = "page, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,6 +42,12 @@ public class FrontendLog {
     @Column(name = "details", columnDefinition = "TEXT")
     private String details;
 
+    /**
+     * Birleştirme penceresinde aynı kullanıcı/aksiyon/sayfa/detay ile gelen olay sayısı
+     */
+    @Column(name = "event_count", nullable = false)
+    private Integer eventCount = 1;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -14,9 +17,13 @@ import java.util.Set;
  * 
  * Eğitim kategorilerini temsil eder. Bir kategori birden fazla eğitime atanabilir (many-to-many).
  * Ayrıca kendi içinde hiyerarşik yapıya sahiptir (parent-child).
+ * Nadiren değişen referans verisidir; ikinci seviye önbellekte (kategori, kategori.altKategoriler) tutulur.
  */
 @Entity
 @Table(name = "kategori")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "kategori")
+@BatchSize(size = 100)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,6 +46,8 @@ public class Kategori {
     private Kategori ustKategori;
 
     // Self-referencing relationship for sub-categories
+    // Inverse taraf: alt kategorinin ustKategori'si değişince hibernate.cache.auto_evict_collection_cache bu seti düşürür
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "kategori.altKategoriler")
     @OneToMany(mappedBy = "ustKategori", cascade = CascadeType.ALL)
     private Set<Kategori> altKategoriler = new HashSet<>();
 
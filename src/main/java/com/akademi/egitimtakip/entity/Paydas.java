@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -17,6 +20,9 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "paydas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "paydas")
+@BatchSize(size = 100)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -44,11 +50,13 @@ public class Paydas {
 
     // Many-to-many relationship with Egitim
     // Join table will be created automatically: egitim_paydas
+    @BatchSize(size = 100)
     @ManyToMany(mappedBy = "paydaslar")
     private Set<Egitim> egitimler = new HashSet<>();
 
     // One-to-many relationship with Proje
     // Bir paydaş birden fazla projede yer alabilir (Proje tarafında paydas_id FK var)
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "paydas", cascade = CascadeType.ALL)
     private Set<Proje> projeler = new HashSet<>();
 }
@@ -16,7 +16,9 @@ import java.time.LocalDateTime;
  * Performans optimizasyonu için kullanılır.
  */
 @Entity
-@Table(name = "performance_logs")
+@Table(name = "performance_logs", indexes = {
+    @Index(name = "idx_performance_logs_created_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,64 @@
+package com.akademi.egitimtakip.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * PerformanceSnapshot Entity
+ *
+ * Servis metotlarının gecikme dağılımının periyodik özetleri.
+ * LatencyRegistry her snapshot aralığında, çağrılan her metot için bir satır yazar
+ * (çağrı başına satır yerine). Süreler mikrosaniye cinsindendir.
+ */
+@Entity
+@Table(name = "performance_snapshots", indexes = {
+    @Index(name = "idx_performance_snapshots_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_performance_snapshots_method_created", columnList = "method_name, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "method_name", length = 255, nullable = false)
+    private String methodName;
+
+    @Column(name = "window_seconds", nullable = false)
+    private Long windowSeconds;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount;
+
+    @Column(name = "mean_us", nullable = false)
+    private Long meanMicros;
+
+    @Column(name = "p50_us", nullable = false)
+    private Long p50Micros;
+
+    @Column(name = "p90_us", nullable = false)
+    private Long p90Micros;
+
+    @Column(name = "p99_us", nullable = false)
+    private Long p99Micros;
+
+    @Column(name = "p999_us", nullable = false)
+    private Long p999Micros;
+
+    @Column(name = "max_us", nullable = false)
+    private Long maxMicros;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
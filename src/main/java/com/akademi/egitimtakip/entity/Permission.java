@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -14,6 +17,7 @@ import java.time.LocalDateTime;
  * 
  * Represents a specific permission in the system.
  * Permissions are defined by a module (e.g., education, payment) and an action (e.g., view, create, update, delete).
+ * Cached in the second-level cache (permission region); Role.permissions sets resolve their elements from it.
  */
 @Entity
 @Table(name = "permissions", 
@@ -26,6 +30,9 @@ import java.time.LocalDateTime;
         @UniqueConstraint(name = "unique_module_action", columnNames = {"module", "action"})
     }
 )
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "permission")
+@BatchSize(size = 100)
 @Getter
 @Setter
 @NoArgsConstructor
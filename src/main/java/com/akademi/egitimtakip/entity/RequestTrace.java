@@ -0,0 +1,74 @@
+package com.akademi.egitimtakip.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RequestTrace Entity
+ *
+ * Yavaş veya hatalı biten bir isteğin trace özeti. Span ağacı trace_spans'ta durur.
+ * Tüm istekler izlenir ama yalnızca istek bittiğinde yavaş/hatalı çıkanlar saklanır
+ * (tail-based sampling, TraceRecorder). api_logs, error_logs ve activity_logs satırları
+ * aynı trace_id'yi taşır.
+ */
+@Entity
+@Table(name = "request_traces", indexes = {
+    @Index(name = "idx_request_traces_trace_id", columnList = "trace_id"),
+    @Index(name = "idx_request_traces_created_id", columnList = "created_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestTrace {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "trace_id", length = 64, nullable = false)
+    private String traceId;
+
+    @Column(name = "http_method", length = 10)
+    private String httpMethod;
+
+    @Column(name = "endpoint", length = 500)
+    private String endpoint;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    /**
+     * Saklanma nedeni: SLOW, ERROR
+     */
+    @Column(name = "reason", length = 10)
+    private String reason;
+
+    @Column(name = "span_count")
+    private Integer spanCount;
+
+    /**
+     * Span kapasitesi (app.tracing.max-spans) dolduğu için kaydedilmeyen span sayısı
+     */
+    @Column(name = "dropped_spans")
+    private Integer droppedSpans;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Yazılacak span'lar (LogIngestionPipeline trace_spans'a yazar; kalıcı değildir)
+     */
+    @Transient
+    private List<TraceSpan> spans = new ArrayList<>();
+}
@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,11 +20,14 @@ import java.util.Set;
  * 
  * Represents a user role in the system (e.g., ADMIN, STAFF, READONLY).
  * Roles have associated permissions that define what actions they can perform.
+ * The role and its permission set are cached in the second-level cache (role, role.permissions).
  */
 @Entity
 @Table(name = "roles", indexes = {
     @Index(name = "idx_roles_name", columnList = "name")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -47,6 +53,8 @@ public class Role {
     private LocalDateTime updatedAt;
 
     // Many-to-Many relationship with Permission
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role.permissions")
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
         name = "role_permissions",
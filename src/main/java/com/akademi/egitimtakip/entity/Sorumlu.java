@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -44,6 +45,7 @@ public class Sorumlu {
 
     // ElementCollection: Birden fazla ünvan için
     // Ünvanlar: Müfredat Sorumlusu, Operasyon Sorumlusu, Proje Sorumlusu, TGTD, Medya Sorumlusu
+    @BatchSize(size = 100)
     @ElementCollection
     @CollectionTable(name = "sorumlu_unvanlar", joinColumns = @JoinColumn(name = "sorumlu_id"))
     @Column(name = "unvan", length = 100)
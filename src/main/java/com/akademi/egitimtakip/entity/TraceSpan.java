@@ -0,0 +1,61 @@
+package com.akademi.egitimtakip.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * TraceSpan Entity
+ *
+ * Saklanan bir trace'in tek span'ı. Ağaç, span_index / parent_index ile kurulur
+ * (kök span'ın parent_index'i -1). Zamanlar isteğin başlangıcına göre mikro saniyedir.
+ */
+@Entity
+@Table(name = "trace_spans", indexes = {
+    @Index(name = "idx_trace_spans_trace_span", columnList = "trace_id, span_index"),
+    @Index(name = "idx_trace_spans_created_id", columnList = "created_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceSpan {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "trace_id", length = 64, nullable = false)
+    private String traceId;
+
+    @Column(name = "span_index", nullable = false)
+    private Integer spanIndex;
+
+    @Column(name = "parent_index", nullable = false)
+    private Integer parentIndex;
+
+    /**
+     * HTTP, CONTROLLER, SERVICE, REPOSITORY, SQL
+     */
+    @Column(name = "kind", length = 20, nullable = false)
+    private String kind;
+
+    @Column(name = "name", length = 1000)
+    private String name;
+
+    @Column(name = "start_offset_us", nullable = false)
+    private Long startOffsetUs;
+
+    /**
+     * Süre (µs); istek bittiğinde kapanmamış span için null
+     */
+    @Column(name = "duration_us")
+    private Long durationUs;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
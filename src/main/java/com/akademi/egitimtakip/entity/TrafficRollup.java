@@ -0,0 +1,82 @@
+package com.akademi.egitimtakip.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * TrafficRollup Entity
+ *
+ * HTTP trafiğinin zaman kovası başına özeti: (tier, bucket_start, method, endpoint, status_class)
+ * anahtarı için istek/hata sayısı, süre toplamı/min/max ve birleştirilebilir gecikme sketch'i.
+ * tier MINUTE, HOUR veya DAY'dir; dakikalık satırlar TrafficRollupRegistry'den yazılır,
+ * saatlik ve günlük satırlar TrafficRollupStore tarafından alt katmandan üretilir.
+ * Yazma ve okuma JDBC ile yapılır; created_at kovanın başlangıcıdır (saklama süresi için).
+ */
+@Entity
+@Table(name = "traffic_rollups", indexes = {
+    @Index(name = "ux_traffic_rollups_key", columnList = "tier, bucket_start, method, endpoint, status_class", unique = true),
+    @Index(name = "idx_traffic_rollups_created_id", columnList = "created_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrafficRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * MINUTE, HOUR veya DAY
+     */
+    @Column(name = "tier", length = 10, nullable = false)
+    private String tier;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "method", length = 10, nullable = false)
+    private String method;
+
+    /**
+     * Eşleşen handler pattern'i (/egitim/{id})
+     */
+    @Column(name = "endpoint", length = 500, nullable = false)
+    private String endpoint;
+
+    /**
+     * 2xx, 3xx, 4xx, 5xx
+     */
+    @Column(name = "status_class", length = 5, nullable = false)
+    private String statusClass;
+
+    @Column(name = "request_count", nullable = false)
+    private Long requestCount;
+
+    @Column(name = "error_count", nullable = false)
+    private Long errorCount;
+
+    @Column(name = "duration_sum_ms", nullable = false)
+    private Long durationSumMs;
+
+    @Column(name = "duration_min_ms", nullable = false)
+    private Long durationMinMs;
+
+    @Column(name = "duration_max_ms", nullable = false)
+    private Long durationMaxMs;
+
+    /**
+     * LatencySketch.encode() çıktısı
+     */
+    @Column(name = "latency_sketch", columnDefinition = "TEXT")
+    private String latencySketch;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -2,7 +2,7 @@ package com.akademi.egitimtakip.exception;
 
 import com.akademi.egitimtakip.dto.ErrorResponse;
 import com.akademi.egitimtakip.service.ErrorLogService;
-import com.akademi.egitimtakip.util.JwtUtil;
+import com.akademi.egitimtakip.util.SecurityUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -33,9 +33,6 @@ public class GlobalExceptionHandler {
     @Autowired
     private ErrorLogService errorLogService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     /**
      * Runtime Exception'ları yakalar
      */
@@ -298,22 +295,11 @@ public class GlobalExceptionHandler {
     // Helper methods
 
     /**
-     * Mevcut kullanıcının ID'sini alır (JWT token'dan)
+     * Mevcut kullanıcının ID'sini alır
+     * (JwtAuthenticationFilter'ın oluşturduğu principal'dan, veritabanına gitmeden)
      */
     private Long getCurrentUserId(HttpServletRequest request) {
-        try {
-            String authHeader = request.getHeader("Authorization");
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                String token = authHeader.substring(7);
-                String email = jwtUtil.getEmailFromToken(token);
-                // Email'den userId'yi bulmak için KullaniciRepository kullanılabilir
-                // Şimdilik null dönüyoruz
-                return null;
-            }
-        } catch (Exception e) {
-            // Token yoksa veya geçersizse
-        }
-        return null;
+        return SecurityUtils.getCurrentUserId();
     }
 
     /**
@@ -0,0 +1,45 @@
+package com.akademi.egitimtakip.export;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ExportFormat
+ *
+ * Toplu export endpoint'lerinin desteklediği çıktı formatları.
+ */
+@Getter
+public enum ExportFormat {
+
+    /**
+     * Başlık satırı + virgülle ayrılmış değerler (RFC 4180)
+     */
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+
+    /**
+     * Satır başına bir JSON nesnesi (newline-delimited JSON)
+     */
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Query parametresinden formatı çözer (büyük/küçük harf duyarsız)
+     */
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Desteklenmeyen export formatı: " + value + " (csv veya ndjson olmalı)");
+    }
+}
@@ -0,0 +1,101 @@
+package com.akademi.egitimtakip.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * ExportWriter
+ *
+ * Export satırlarını doğrudan response stream'ine CSV veya NDJSON olarak yazar.
+ * Satırlar bellekte biriktirilmez; her chunk sonunda flush() ile istemciye gönderilir.
+ * Liste değerleri (kategoriler, egitmenler, ...) CSV'de "; " ile birleştirilir,
+ * NDJSON'da JSON dizisi olarak yazılır.
+ */
+public class ExportWriter {
+
+    private static final String LIST_SEPARATOR = "; ";
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final List<String> columns;
+    private final ObjectMapper objectMapper;
+    private long rowCount;
+
+    public ExportWriter(OutputStream out, ExportFormat format, List<String> columns, ObjectMapper objectMapper) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.format = format;
+        this.columns = columns;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * CSV başlık satırını yazar ve ilk byte'ı hemen istemciye gönderir
+     */
+    public void start() {
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(columns.stream().map(ExportWriter::csvValue).collect(Collectors.joining(",")));
+                writer.write("\r\n");
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Tek satır yazar. Anahtarlar kolon adlarıdır, sıra kolon listesine göre korunur.
+     */
+    public void writeRow(Map<String, Object> row) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(columns.stream()
+                    .map(column -> csvValue(row.get(column)))
+                    .collect(Collectors.joining(",")));
+                writer.write("\r\n");
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write("\n");
+            }
+            rowCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Collection<?> values
+            ? values.stream().map(String::valueOf).collect(Collectors.joining(LIST_SEPARATOR))
+            : value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -1,52 +1,62 @@
 package com.akademi.egitimtakip.interceptor;
 
+import com.akademi.egitimtakip.jdbc.StatementAccounting;
+import com.akademi.egitimtakip.logging.ApiLogSampler;
+import com.akademi.egitimtakip.logging.BodyCapture;
+import com.akademi.egitimtakip.metrics.HttpServerMetrics;
+import com.akademi.egitimtakip.metrics.TrafficRollupRegistry;
 import com.akademi.egitimtakip.service.ApiLogService;
-import com.akademi.egitimtakip.util.JwtUtil;
+import com.akademi.egitimtakip.tracing.SpanKind;
+import com.akademi.egitimtakip.tracing.SpanNames;
+import com.akademi.egitimtakip.tracing.TraceContext;
+import com.akademi.egitimtakip.util.SecurityUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
-
-import java.nio.charset.StandardCharsets;
+import org.springframework.web.servlet.HandlerMapping;
 
 /**
  * LogInterceptor
  * 
- * Tüm HTTP isteklerini ve yanıtlarını yakalar, api_logs tablosuna kaydeder.
- * Request/Response body'leri ContentCachingWrapper ile yakalanır.
+ * Tüm HTTP isteklerini ve yanıtlarını yakalar, ApiLogSampler'ın seçtiklerini api_logs tablosuna kaydeder.
+ * Her istek (örneklemeden bağımsız) TrafficRollupRegistry'nin dakikalık kovalarına ve
+ * HttpServerMetrics'in Prometheus sayaçlarına da eklenir.
+ * Request/Response body önekleri ContentCachingFilter'ın tee wrapper'larıyla,
+ * BodyCapturePolicy kurallarına göre yakalanır.
+ * Controller metodu aktif trace'e CONTROLLER span'ı olarak eklenir.
+ * İsteğin o ana kadarki SQL özeti (StatementAccounting) api_logs satırına eklenir.
  */
 @Component
 public class LogInterceptor implements HandlerInterceptor {
 
     private static final String START_TIME_ATTRIBUTE = "startTime";
-    private static final String USER_ID_ATTRIBUTE = "userId";
+    private static final String CONTROLLER_SPAN_ATTRIBUTE = "traceControllerSpan";
 
     @Autowired
     private ApiLogService apiLogService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private ApiLogSampler apiLogSampler;
+
+    @Autowired
+    private TrafficRollupRegistry trafficRollupRegistry;
+
+    @Autowired
+    private HttpServerMetrics httpServerMetrics;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         // Başlangıç zamanını kaydet
         request.setAttribute(START_TIME_ATTRIBUTE, System.currentTimeMillis());
 
-        // JWT token'dan kullanıcı ID'sini al (opsiyonel)
-        try {
-            String authHeader = request.getHeader("Authorization");
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                String token = authHeader.substring(7);
-                String email = jwtUtil.getEmailFromToken(token);
-                // Email'den userId bulmak için gerekirse UserRepository kullanılabilir
-                // Şimdilik sadece token'ın varlığını kontrol ediyoruz
-                request.setAttribute(USER_ID_ATTRIBUTE, email); // veya userId
+        if (handler instanceof HandlerMethod handlerMethod) {
+            int span = TraceContext.openSpan(SpanKind.CONTROLLER, SpanNames.of(handlerMethod.getMethod()));
+            if (span >= 0) {
+                request.setAttribute(CONTROLLER_SPAN_ATTRIBUTE, span);
             }
-        } catch (Exception e) {
-            // Token yoksa veya geçersizse, userId null olacak
         }
 
         return true; // İsteğin devam etmesine izin ver
@@ -55,48 +65,55 @@ public class LogInterceptor implements HandlerInterceptor {
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, 
                                 Object handler, Exception ex) {
+        Object span = request.getAttribute(CONTROLLER_SPAN_ATTRIBUTE);
+        if (span != null) {
+            TraceContext.closeSpan((Integer) span);
+        }
+
         try {
             // Süre hesaplama
             Long startTime = (Long) request.getAttribute(START_TIME_ATTRIBUTE);
             long duration = startTime != null ? System.currentTimeMillis() - startTime : 0L;
 
-            // Kullanıcı ID (varsa)
-            String userEmail = (String) request.getAttribute(USER_ID_ATTRIBUTE);
-            Long userId = null; // Email'den userId'ye çevirebilirsiniz
-
             // Request bilgileri
             String endpoint = request.getRequestURI();
             String httpMethod = request.getMethod();
             Integer statusCode = response.getStatus();
-            String ip = getClientIp(request);
 
-            // Request body (ContentCachingRequestWrapper kullanılmışsa)
-            String requestBody = null;
-            if (request instanceof ContentCachingRequestWrapper) {
-                ContentCachingRequestWrapper wrapper = (ContentCachingRequestWrapper) request;
-                byte[] buf = wrapper.getContentAsByteArray();
-                if (buf.length > 0) {
-                    requestBody = new String(buf, 0, Math.min(buf.length, 5000), StandardCharsets.UTF_8);
-                }
+            // Loglama işleminden hariç tutulacak endpoint'ler
+            if (!shouldLog(endpoint)) {
+                return;
             }
 
-            // Response body (ContentCachingResponseWrapper kullanılmışsa)
-            String responseBody = null;
-            if (response instanceof ContentCachingResponseWrapper) {
-                ContentCachingResponseWrapper wrapper = (ContentCachingResponseWrapper) response;
-                byte[] buf = wrapper.getContentAsByteArray();
-                if (buf.length > 0) {
-                    responseBody = new String(buf, 0, Math.min(buf.length, 5000), StandardCharsets.UTF_8);
-                }
+            // Yakalanmamış exception ile biten istek hata sayılır
+            int effectiveStatus = ex != null && statusCode < 400 ? 500 : statusCode;
+            String pattern = endpointPattern(request, endpoint);
+            trafficRollupRegistry.record(httpMethod, pattern, effectiveStatus, duration);
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            httpServerMetrics.record(httpMethod, route != null ? route.toString() : null, effectiveStatus, duration);
+
+            // Örnekleme: loglanmayan istekler de ApiLogSampler sayaçlarına eklenir
+            if (!apiLogSampler.shouldLog(httpMethod, endpoint, pattern, effectiveStatus, duration)) {
+                return;
             }
 
-            // Loglama işleminden hariç tutulacak endpoint'ler
-            if (shouldLog(endpoint)) {
-                // Asenkron olarak log kaydet
-                apiLogService.saveApiLog(userId, endpoint, httpMethod, statusCode, 
-                    requestBody, responseBody, duration, ip);
+            // Kullanıcı ID (varsa, JwtAuthenticationFilter'ın oluşturduğu principal'dan)
+            Long userId = SecurityUtils.getCurrentUserId();
+            String ip = getClientIp(request);
+
+            // Request/Response body (BodyCapturePolicy kuralına göre, durum koduna uyan önek)
+            String requestBody = null;
+            String responseBody = null;
+            BodyCapture capture = BodyCapture.from(request);
+            if (capture != null) {
+                requestBody = capture.getRequestBody(statusCode);
+                responseBody = capture.getResponseBody(statusCode);
             }
 
+            // Asenkron olarak log kaydet
+            apiLogService.saveApiLog(userId, endpoint, httpMethod, statusCode,
+                requestBody, responseBody, duration, ip, StatementAccounting.current());
+
         } catch (Exception e) {
             // Loglama hatası uygulamayı etkilememeli
             System.err.println("LogInterceptor hatası: " + e.getMessage());
@@ -119,6 +136,14 @@ public class LogInterceptor implements HandlerInterceptor {
                !endpoint.endsWith(".jpg");
     }
 
+    /**
+     * Eşleşen handler pattern'i (/egitim/{id}); handler bulunamadıysa path
+     */
+    private String endpointPattern(HttpServletRequest request, String endpoint) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : endpoint;
+    }
+
     /**
      * Client IP adresini alır (proxy arkasındaysa X-Forwarded-For header'ını kontrol eder)
      */
@@ -0,0 +1,128 @@
+package com.akademi.egitimtakip.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RequestStatementStats
+ *
+ * Bir isteğin çalıştırdığı SQL ifadelerinin özeti: ifade sayısı, toplam veritabanı süresi,
+ * okunan + etkilenen satır sayısı ve aynı ifade şeklinin istek içinde en çok kaç kez tekrarlandığı (N+1).
+ * Batch bir ifade sayılır (tek round trip).
+ *
+ * Thread başına bir örnek oluşturulur ve her istekte sıfırlanarak yeniden kullanılır (StatementAccounting).
+ * Yalnızca sahibi olan thread yazar; thread-safe değildir.
+ */
+public final class RequestStatementStats {
+
+    /**
+     * İstek başına sayılan en fazla farklı ifade şekli; fazlası yalnızca toplamlara eklenir
+     */
+    static final int MAX_SHAPES = 256;
+
+    private final Map<String, int[]> shapeCounts = new HashMap<>();
+
+    private String method;
+    private String endpoint;
+    private int statements;
+    private long dbTimeNanos;
+    private long rows;
+    private int slowStatements;
+    private int maxRepeat;
+    private String maxRepeatShape;
+    private boolean active;
+
+    void reset(String method, String endpoint) {
+        shapeCounts.clear();
+        this.method = method;
+        this.endpoint = endpoint;
+        this.statements = 0;
+        this.dbTimeNanos = 0;
+        this.rows = 0;
+        this.slowStatements = 0;
+        this.maxRepeat = 0;
+        this.maxRepeatShape = null;
+        this.active = true;
+    }
+
+    void record(String shape, long elapsedNanos, long affectedRows) {
+        statements++;
+        dbTimeNanos += elapsedNanos;
+        rows += affectedRows;
+
+        int[] count = shapeCounts.get(shape);
+        if (count == null) {
+            if (shapeCounts.size() >= MAX_SHAPES) {
+                return;
+            }
+            count = new int[1];
+            shapeCounts.put(shape, count);
+        }
+        if (++count[0] > maxRepeat) {
+            maxRepeat = count[0];
+            maxRepeatShape = shape;
+        }
+    }
+
+    void addRow() {
+        rows++;
+    }
+
+    void markSlow() {
+        slowStatements++;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    void deactivate() {
+        active = false;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    public long getDbTimeMs() {
+        return dbTimeNanos / 1_000_000;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getSlowStatements() {
+        return slowStatements;
+    }
+
+    public int getDistinctShapes() {
+        return shapeCounts.size();
+    }
+
+    /**
+     * Aynı ifade şeklinin bu istekteki en yüksek tekrar sayısı
+     */
+    public int getMaxRepeat() {
+        return maxRepeat;
+    }
+
+    /**
+     * En çok tekrarlanan ifade şekli (ifade yoksa null)
+     */
+    public String getMaxRepeatShape() {
+        return maxRepeatShape;
+    }
+}
@@ -0,0 +1,165 @@
+package com.akademi.egitimtakip.jdbc;
+
+import com.akademi.egitimtakip.dto.SlowQueryDTO;
+import com.akademi.egitimtakip.tracing.TraceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SlowQueryLog
+ *
+ * slow-query-ms'i aşan istek içi SQL ifadelerinin son history-size kaydını bellekte tutar.
+ * Veritabanı H2 ise ifadenin planı aynı bağlantıda EXPLAIN ile alınır. Parametreler (ve düz Statement
+ * şeklinde ? ile değiştirilmiş literal'ler) NULL verilir; H2 planı parametre değerlerine göre değişmez.
+ * Aynı ifade explain-interval-ms içinde bir kez explain edilir, yavaş bir sorgu her istekte
+ * ikinci bir sorguya dönüşmez.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final int MAX_EXPLAINED_SHAPES = 1000;
+
+    @Value("${app.sql-accounting.slow-query-ms:500}")
+    private long slowQueryMs;
+
+    @Value("${app.sql-accounting.explain:true}")
+    private boolean explain;
+
+    @Value("${app.sql-accounting.explain-interval-ms:60000}")
+    private long explainIntervalMs;
+
+    @Value("${app.sql-accounting.history-size:100}")
+    private int historySize;
+
+    private final Deque<SlowQueryDTO> history = new ArrayDeque<>();
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private volatile Boolean h2;
+
+    private final AtomicLong slowStatements = new AtomicLong();
+    private final AtomicLong explained = new AtomicLong();
+    private final AtomicLong explainFailures = new AtomicLong();
+
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= slowQueryMs * 1_000_000;
+    }
+
+    /**
+     * Yavaş ifadeyi kaydeder
+     *
+     * @param connection İfadenin çalıştığı (sarmalanmamış) bağlantı
+     * @param shape İfade şekli (StatementShape)
+     */
+    void record(Connection connection, RequestStatementStats stats, String shape, long elapsedNanos) {
+        slowStatements.incrementAndGet();
+        stats.markSlow();
+
+        String plan = null;
+        if (explain && shouldExplain(shape) && isH2(connection)) {
+            plan = explain(connection, shape);
+        }
+
+        SlowQueryDTO entry = new SlowQueryDTO(
+            truncate(shape, MAX_SQL_LENGTH), elapsedNanos / 1_000_000, stats.getMethod(), stats.getEndpoint(),
+            TraceContext.currentTraceId(), plan, LocalDateTime.now());
+        synchronized (history) {
+            history.addFirst(entry);
+            while (history.size() > historySize) {
+                history.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Son yavaş ifadeler, en yenisi başta
+     */
+    public List<SlowQueryDTO> getRecent() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    /**
+     * Sayaçlar: slowStatements, explained, explainFailures, retained
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("slowStatements", slowStatements.get());
+        stats.put("explained", explained.get());
+        stats.put("explainFailures", explainFailures.get());
+        synchronized (history) {
+            stats.put("retained", (long) history.size());
+        }
+        return stats;
+    }
+
+    private boolean shouldExplain(String shape) {
+        long now = System.currentTimeMillis();
+        if (lastExplained.size() >= MAX_EXPLAINED_SHAPES) {
+            lastExplained.clear();
+        }
+        Long previous = lastExplained.get(shape);
+        if (previous != null && now - previous < explainIntervalMs) {
+            return false;
+        }
+        lastExplained.put(shape, now);
+        return true;
+    }
+
+    private boolean isH2(Connection connection) {
+        Boolean known = h2;
+        if (known == null) {
+            try {
+                known = "H2".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                known = false;
+            }
+            h2 = known;
+        }
+        return known;
+    }
+
+    private String explain(Connection connection, String sql) {
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                ps.setNull(i, Types.NULL);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (plan.length() > 0) {
+                        plan.append('\n');
+                    }
+                    plan.append(rs.getString(1));
+                }
+            }
+            explained.incrementAndGet();
+            return truncate(plan.toString(), 4000);
+        } catch (SQLException e) {
+            explainFailures.incrementAndGet();
+            return "EXPLAIN alınamadı: " + e.getMessage();
+        }
+    }
+
+    private static String truncate(String str, int maxLength) {
+        if (str == null) return null;
+        if (str.length() <= maxLength) return str;
+        return str.substring(0, maxLength);
+    }
+}
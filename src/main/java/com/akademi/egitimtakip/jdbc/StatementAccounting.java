@@ -0,0 +1,43 @@
+package com.akademi.egitimtakip.jdbc;
+
+/**
+ * StatementAccounting
+ *
+ * İstek thread'indeki aktif SQL sayacına statik erişim. StatementAccountingFilter isteğin başında
+ * begin, sonunda end çağırır; StatementAccountingDataSource ifadeleri current() üzerine yazar.
+ * Aktif sayaç yoksa (arka plan thread'leri, log yazıcıları) bağlantılar sarmalanmaz.
+ */
+public final class StatementAccounting {
+
+    private static final ThreadLocal<RequestStatementStats> CURRENT =
+        ThreadLocal.withInitial(RequestStatementStats::new);
+
+    private StatementAccounting() {
+    }
+
+    /**
+     * Thread'in sayacını sıfırlayıp isteğe bağlar
+     */
+    public static RequestStatementStats begin(String method, String endpoint) {
+        RequestStatementStats stats = CURRENT.get();
+        stats.reset(method, endpoint);
+        return stats;
+    }
+
+    /**
+     * Sayacı bırakır; dönen özet aynı thread'de bir sonraki begin'e kadar okunabilir
+     */
+    public static RequestStatementStats end() {
+        RequestStatementStats stats = CURRENT.get();
+        stats.deactivate();
+        return stats;
+    }
+
+    /**
+     * Mevcut isteğin sayacı (aktif istek yoksa null)
+     */
+    public static RequestStatementStats current() {
+        RequestStatementStats stats = CURRENT.get();
+        return stats.isActive() ? stats : null;
+    }
+}
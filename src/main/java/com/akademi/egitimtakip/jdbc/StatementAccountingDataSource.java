@@ -0,0 +1,234 @@
+package com.akademi.egitimtakip.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * StatementAccountingDataSource
+ *
+ * Uygulamanın DataSource'unu sarar ve istek thread'inde çalışan her SQL ifadesini
+ * (Hibernate ve JdbcTemplate) aktif RequestStatementStats'a yazar: ifade şekli, süre,
+ * etkilenen satırlar (executeUpdate/executeBatch) ve okunan satırlar (ResultSet.next).
+ * Eşiği aşan ifadeler SlowQueryLog'a bırakılır.
+ *
+ * Aktif istek yoksa (log yazıcıları, zamanlanmış işler) bağlantı olduğu gibi döner; sarmalama maliyeti yoktur.
+ * StatementAccountingPostProcessor tarafından kurulur.
+ */
+public class StatementAccountingDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader CLASS_LOADER = StatementAccountingDataSource.class.getClassLoader();
+    private static final Class<?>[] CONNECTION_TYPES = {Connection.class};
+    private static final Class<?>[] STATEMENT_TYPES = {Statement.class};
+    private static final Class<?>[] PREPARED_STATEMENT_TYPES = {PreparedStatement.class};
+    private static final Class<?>[] CALLABLE_STATEMENT_TYPES = {CallableStatement.class};
+    private static final Class<?>[] RESULT_SET_TYPES = {ResultSet.class};
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLogProvider;
+    private volatile SlowQueryLog slowQueryLog;
+
+    public StatementAccountingDataSource(DataSource targetDataSource, ObjectProvider<SlowQueryLog> slowQueryLogProvider) {
+        super(targetDataSource);
+        this.slowQueryLogProvider = slowQueryLogProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        if (StatementAccounting.current() == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(CLASS_LOADER, CONNECTION_TYPES, new ConnectionHandler(connection));
+    }
+
+    private SlowQueryLog slowQueryLog() {
+        SlowQueryLog log = slowQueryLog;
+        if (log == null) {
+            log = slowQueryLogProvider.getIfAvailable();
+            slowQueryLog = log;
+        }
+        return log;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Oluşturulan ifadeleri sarar; diğer çağrılar bağlantıya iletilir
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(connection, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return Proxy.newProxyInstance(CLASS_LOADER, PREPARED_STATEMENT_TYPES,
+                        new StatementHandler(connection, (Statement) result, (String) args[0]));
+                case "prepareCall":
+                    return Proxy.newProxyInstance(CLASS_LOADER, CALLABLE_STATEMENT_TYPES,
+                        new StatementHandler(connection, (Statement) result, (String) args[0]));
+                case "createStatement":
+                    return Proxy.newProxyInstance(CLASS_LOADER, STATEMENT_TYPES,
+                        new StatementHandler(connection, (Statement) result, null));
+                default:
+                    return result;
+            }
+        }
+    }
+
+    /**
+     * execute* çağrılarını ölçer, dönen ResultSet'leri satır sayımı için sarar
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final Statement statement;
+
+        /**
+         * PreparedStatement SQL'i; düz Statement için null (SQL execute argümanından alınır)
+         */
+        private final String preparedSql;
+        private String batchSql;
+
+        private StatementHandler(Connection connection, Statement statement, String preparedSql) {
+            this.connection = connection;
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "executeQuery":
+                case "execute":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "executeBatch":
+                case "executeLargeBatch":
+                    return execute(name, method, args);
+                case "addBatch":
+                    if (preparedSql == null && args != null && batchSql == null) {
+                        batchSql = (String) args[0];
+                    }
+                    return invokeTarget(statement, method, args);
+                case "getResultSet":
+                    return wrapResultSet((ResultSet) invokeTarget(statement, method, args));
+                default:
+                    return invokeTarget(statement, method, args);
+            }
+        }
+
+        private Object execute(String name, Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            Object result = null;
+            try {
+                result = invokeTarget(statement, method, args);
+                return "executeQuery".equals(name) ? wrapResultSet((ResultSet) result) : result;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                RequestStatementStats stats = StatementAccounting.current();
+                if (stats != null) {
+                    String sql = preparedSql;
+                    if (sql == null) {
+                        sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : batchSql;
+                    }
+                    String shape = StatementShape.of(sql, preparedSql != null);
+                    stats.record(shape, elapsed, affectedRows(result));
+                    if (name.endsWith("Batch")) {
+                        batchSql = null;
+                    }
+                    SlowQueryLog log = slowQueryLog();
+                    if (log != null && log.isSlow(elapsed)) {
+                        log.record(connection, stats, shape, elapsed);
+                    }
+                }
+            }
+        }
+
+        private Object wrapResultSet(ResultSet resultSet) {
+            if (resultSet == null) {
+                return null;
+            }
+            return Proxy.newProxyInstance(CLASS_LOADER, RESULT_SET_TYPES, new ResultSetHandler(resultSet));
+        }
+    }
+
+    /**
+     * Okunan satırları (next() == true) sayar
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+
+        private ResultSetHandler(ResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(resultSet, method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                RequestStatementStats stats = StatementAccounting.current();
+                if (stats != null) {
+                    stats.addRow();
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * executeUpdate / executeBatch dönüşünden etkilenen satır sayısı (sorgular için 0)
+     */
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,71 @@
+package com.akademi.egitimtakip.jdbc;
+
+import com.akademi.egitimtakip.metrics.QueryCountRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * StatementAccountingFilter
+ *
+ * İsteğin SQL sayacını başlatır ve bitirir; güvenlik filtresindeki kullanıcı sorguları dahil
+ * tüm ifadelerin sayılması için TraceFilter'dan hemen sonra çalışır (WebMvcConfig).
+ * İstek bitince özet QueryCountRegistry'ye endpoint pattern'i ile eklenir.
+ * LogInterceptor aynı özeti api_logs satırına yazar.
+ *
+ * Async başlatan isteklerin (export) async thread'de çalışan sorguları sayılmaz.
+ */
+public class StatementAccountingFilter extends OncePerRequestFilter {
+
+    private final QueryCountRegistry queryCountRegistry;
+
+    public StatementAccountingFilter(QueryCountRegistry queryCountRegistry) {
+        this.queryCountRegistry = queryCountRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!queryCountRegistry.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        StatementAccounting.begin(request.getMethod(), request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatementStats stats = StatementAccounting.end();
+            try {
+                queryCountRegistry.record(request.getMethod(), endpointPattern(request), stats);
+            } catch (Exception e) {
+                // Sayaç hatası isteği etkilememeli
+                System.err.println("SQL sayacı kaydedilemedi: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/h2-console") ||
+               path.contains("/static") ||
+               path.endsWith(".js") ||
+               path.endsWith(".css") ||
+               path.endsWith(".png") ||
+               path.endsWith(".jpg");
+    }
+
+    /**
+     * Eşleşen handler pattern'i (/egitim/{id}); handler bulunamadıysa path
+     */
+    private String endpointPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+}
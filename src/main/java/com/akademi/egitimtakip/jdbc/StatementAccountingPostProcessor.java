@@ -0,0 +1,47 @@
+package com.akademi.egitimtakip.jdbc;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * StatementAccountingPostProcessor
+ *
+ * Spring Boot'un oluşturduğu DataSource'u StatementAccountingDataSource ile sarar.
+ * Hibernate, JdbcTemplate ve Flyway aynı sarmalanmış DataSource'u kullanır.
+ * app.sql-accounting.enabled=false ise DataSource olduğu gibi bırakılır.
+ *
+ * SlowQueryLog ilk yavaş ifadede çözülür; BeanPostProcessor diğer bean'leri erken oluşturmaz.
+ */
+@Component
+public class StatementAccountingPostProcessor implements BeanPostProcessor, BeanFactoryAware, EnvironmentAware {
+
+    private BeanFactory beanFactory;
+    private Environment environment;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof DataSource dataSource
+                && !(bean instanceof StatementAccountingDataSource)
+                && environment.getProperty("app.sql-accounting.enabled", Boolean.class, true)) {
+            return new StatementAccountingDataSource(dataSource, beanFactory.getBeanProvider(SlowQueryLog.class));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,78 @@
+package com.akademi.egitimtakip.jdbc;
+
+/**
+ * StatementShape
+ *
+ * Aynı sorgunun farklı parametrelerle çalışmalarını tek bir "şekil" altında toplar.
+ * PreparedStatement SQL'i zaten parametresizdir (?), olduğu gibi kullanılır ve string'i
+ * Hibernate'in önbelleğindeki nesnedir; ek nesne oluşturulmaz. Literal içeren düz Statement
+ * SQL'inde sayı ve string literal'leri ? ile değiştirilir, boşluklar tekleştirilir.
+ */
+public final class StatementShape {
+
+    private StatementShape() {
+    }
+
+    public static String of(String sql, boolean prepared) {
+        if (sql == null) {
+            return "?";
+        }
+        return prepared ? sql : normalize(sql);
+    }
+
+    static String normalize(String sql) {
+        StringBuilder shape = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                // String literal ('' kaçışı dahil)
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                shape.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierPart(shape)) {
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                shape.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (shape.length() > 0) {
+                    shape.append(' ');
+                }
+            } else {
+                shape.append(c);
+                i++;
+            }
+        }
+        int end = shape.length();
+        if (end > 0 && shape.charAt(end - 1) == ' ') {
+            shape.setLength(end - 1);
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Rakam bir tanımlayıcının parçası mı (t1_0, col2)
+     */
+    private static boolean isIdentifierPart(StringBuilder shape) {
+        if (shape.length() == 0) {
+            return false;
+        }
+        char previous = shape.charAt(shape.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '?';
+    }
+}
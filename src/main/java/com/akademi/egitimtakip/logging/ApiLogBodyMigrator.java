@@ -0,0 +1,200 @@
+package com.akademi.egitimtakip.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ApiLogBodyMigrator
+ *
+ * V9 öncesi api_logs satırlarındaki düz request_body / response_body değerlerini
+ * ApiLogBodyStore'a (sıkıştırılmış, tekil) taşır ve eski kolonları boşaltır.
+ *
+ * Uygulama açıldıktan sonra arka planda, id sırasıyla chunk'lar halinde çalışır;
+ * her chunk kendi kısa transaction'ında güncellenir ve chunk'lar arasında beklenir.
+ * Taşınacak satır kalmadığında durur; yeni satırlar zaten yalnızca hash ile yazılır.
+ */
+@Component
+public class ApiLogBodyMigrator {
+
+    private static final String SELECT_CHUNK =
+        "SELECT id, request_body, response_body FROM api_logs " +
+        "WHERE id > ? AND (request_body IS NOT NULL OR response_body IS NOT NULL) " +
+        "ORDER BY id FETCH FIRST ? ROWS ONLY";
+
+    private static final String UPDATE_ROW =
+        "UPDATE api_logs SET request_body_hash = ?, response_body_hash = ?, " +
+        "request_body = NULL, response_body = NULL WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApiLogBodyStore apiLogBodyStore;
+
+    @Value("${app.logging.api-body.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.logging.api-body.migration.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.logging.api-body.migration.pause-ms:200}")
+    private long pauseMs;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong migratedRows = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private volatile long lastId;
+    private volatile boolean stopping;
+
+    private TransactionTemplate chunkTransaction;
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "api-log-body-migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        executor.shutdownNow();
+    }
+
+    /**
+     * Uygulama hazır olduğunda taşımayı arka planda başlatır
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            executor.execute(() -> {
+                try {
+                    long migrated = migrate();
+                    if (migrated > 0) {
+                        System.out.println(String.format(
+                            "📦 API log body taşıma tamamlandı: %d satır api_log_bodies'e taşındı", migrated));
+                    }
+                } catch (Exception e) {
+                    System.err.println("API log body taşıma hatası: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Taşınmamış tüm satırları çağıran thread'de taşır (aynı anda tek taşıma çalışır)
+     *
+     * @return Bu çalıştırmada taşınan satır sayısı
+     */
+    public synchronized long migrate() {
+        running.set(true);
+        long migrated = 0;
+        try {
+            lastId = 0;
+            while (!stopping) {
+                List<LegacyRow> rows = jdbcTemplate.query(SELECT_CHUNK,
+                    (rs, rowNum) -> new LegacyRow(rs.getLong(1), rs.getString(2), rs.getString(3)),
+                    lastId, chunkSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                List<String> bodies = new ArrayList<>(rows.size() * 2);
+                for (LegacyRow row : rows) {
+                    bodies.add(row.requestBody);
+                    bodies.add(row.responseBody);
+                }
+                // Body'ler satırlar güncellenmeden önce commit edilir
+                List<String> hashes = apiLogBodyStore.storeAll(bodies);
+
+                List<Object[]> updates = new ArrayList<>(rows.size());
+                for (int i = 0; i < rows.size(); i++) {
+                    updates.add(new Object[] {hashes.get(i * 2), hashes.get(i * 2 + 1), rows.get(i).id});
+                }
+                chunkTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_ROW, updates));
+
+                migrated += rows.size();
+                migratedRows.addAndGet(rows.size());
+                chunks.incrementAndGet();
+                lastId = rows.get(rows.size() - 1).id;
+
+                if (rows.size() < chunkSize || !pause()) {
+                    break;
+                }
+            }
+            return migrated;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Sayaçlar: running (0/1), migratedRows, chunks, lastId
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("running", running.get() ? 1L : 0L);
+        stats.put("migratedRows", migratedRows.get());
+        stats.put("chunks", chunks.get());
+        stats.put("lastId", lastId);
+        return stats;
+    }
+
+    /**
+     * Chunk'lar arası bekleme; thread kesilirse false döner
+     */
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Taşınacak eski satırın id'si ve düz body'leri
+     */
+    private static final class LegacyRow {
+        private final long id;
+        private final String requestBody;
+        private final String responseBody;
+
+        private LegacyRow(long id, String requestBody, String responseBody) {
+            this.id = id;
+            this.requestBody = requestBody;
+            this.responseBody = responseBody;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.akademi.egitimtakip.logging;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * ApiLogBodyStore
+ *
+ * api_logs request/response body'lerini api_log_bodies tablosunda saklar.
+ *
+ * - Her body UTF-8 byte'larının SHA-256 hash'i ile anahtarlanır; aynı içerik yalnızca bir kez yazılır.
+ * - İçerik Deflater ile sıkıştırılır; sıkıştırma kazanç sağlamıyorsa (kısa body'ler) düz saklanır.
+ * - Son görülen hash'ler bellekte tutulur; tekrar eden body'ler için veritabanına hiç gidilmez.
+ * - Tekrar kullanılan body'nin last_used_at'i en fazla touch-interval'da bir yenilenir. LogRetentionEngine
+ *   body'leri last_used_at'e göre ve getPurgeGraceCutoff() payıyla siler; böylece yeni bir logun kullandığı
+ *   body, log satırı commit edilmeden önce silinmez.
+ * - Body'ler kendi transaction'larında, onlara referans veren api_logs satırlarından önce commit edilir.
+ * - Açma (inflate) yalnızca load() ile, tek bir logun detayı istendiğinde yapılır.
+ *
+ * LogIngestionPipeline (yeni loglar) ve ApiLogBodyMigrator (eski satırlar) tarafından kullanılır.
+ */
+@Component
+public class ApiLogBodyStore {
+
+    static final String CODEC_DEFLATE = "deflate";
+    static final String CODEC_PLAIN = "plain";
+
+    private static final int IN_CLAUSE_SIZE = 200;
+
+    private static final String BODY_INSERT =
+        "INSERT INTO api_log_bodies (hash, codec, original_length, content, created_at, last_used_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.logging.api-body.known-hash-cache-size:20000}")
+    private int knownHashCacheSize;
+
+    @Value("${app.logging.api-body.compression-level:6}")
+    private int compressionLevel;
+
+    @Value("${app.logging.api-body.touch-interval-seconds:600}")
+    private long touchIntervalSeconds;
+
+    private TransactionTemplate bodyTransaction;
+
+    /**
+     * hash → last_used_at'in bu süreçte en son yenilendiği an (epoch ms)
+     */
+    private Map<String, Long> knownHashes;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong originalBytes = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong loaded = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        bodyTransaction = new TransactionTemplate(transactionManager);
+        bodyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        int cacheSize = knownHashCacheSize;
+        knownHashes = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Body'leri saklar ve her biri için hash döndürür (aynı sırayla; null body için null)
+     *
+     * Eşzamanlı yazıcılar (pipeline ve migrator) aynı hash'i iki kez eklemesin diye senkronizedir.
+     */
+    public synchronized List<String> storeAll(List<String> bodies) {
+        List<String> hashes = new ArrayList<>(bodies.size());
+        Map<String, byte[]> pending = new LinkedHashMap<>();
+        long touchedAfter = System.currentTimeMillis() - touchIntervalSeconds * 1000;
+
+        for (String body : bodies) {
+            if (body == null) {
+                hashes.add(null);
+                continue;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            String hash = hash(bytes);
+            hashes.add(hash);
+            received.incrementAndGet();
+
+            // last_used_at'i yakın zamanda yenilenmiş hash'ler için veritabanına gidilmez;
+            // eskiyenler tablodaki satırı yenilemek (veya silinmişse yeniden yazmak) için insertMissing'e gider
+            Long touchedAt = knownHashes.get(hash);
+            if (pending.containsKey(hash) || (touchedAt != null && touchedAt > touchedAfter)) {
+                deduplicated.incrementAndGet();
+            } else {
+                pending.put(hash, bytes);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            insertMissing(pending);
+        }
+        return hashes;
+    }
+
+    /**
+     * Hash'e ait body'yi açarak döndürür (yoksa null)
+     */
+    public String load(String hash) {
+        if (hash == null) {
+            return null;
+        }
+        try {
+            String body = jdbcTemplate.queryForObject(
+                "SELECT codec, original_length, content FROM api_log_bodies WHERE hash = ?",
+                (rs, rowNum) -> decode(rs.getString(1), rs.getInt(2), rs.getBytes(3)),
+                hash);
+            loaded.incrementAndGet();
+            return body;
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * LogRetentionEngine bu andan sonra kullanılmış body'leri silmemelidir.
+     * Önbellekten karşılanan bir kullanım last_used_at'i en fazla touch-interval kadar geride bırakır;
+     * bir touch-interval daha, referans veren api_logs satırının commit edilmesi için paydır.
+     */
+    public LocalDateTime getPurgeGraceCutoff() {
+        return LocalDateTime.now().minusSeconds(2 * touchIntervalSeconds);
+    }
+
+    /**
+     * Bellekteki hash önbelleğini boşaltır. Referanssız body'ler silindikten sonra çağrılır;
+     * böylece silinmiş bir body'ye yeni log'lar yeniden yazmadan referans vermez.
+     */
+    public synchronized void forgetKnownHashes() {
+        knownHashes.clear();
+    }
+
+    /**
+     * Sayaçlar: received, deduplicated, stored, originalBytes, storedBytes, loaded
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("received", received.get());
+        stats.put("deduplicated", deduplicated.get());
+        stats.put("stored", stored.get());
+        stats.put("originalBytes", originalBytes.get());
+        stats.put("storedBytes", storedBytes.get());
+        stats.put("loaded", loaded.get());
+        return stats;
+    }
+
+    // Storage
+
+    private void insertMissing(Map<String, byte[]> pending) {
+        long touchedAt = System.currentTimeMillis();
+        Timestamp now = new Timestamp(touchedAt);
+        List<String> hashes = new ArrayList<>(pending.keySet());
+        bodyTransaction.executeWithoutResult(status -> {
+            touchExisting(pending, now);
+            if (!pending.isEmpty()) {
+                insertBodies(pending, now);
+            }
+        });
+        hashes.forEach(hash -> knownHashes.put(hash, touchedAt));
+    }
+
+    /**
+     * Tabloda zaten bulunan hash'lerin (yeniden başlatma, önbellekten düşen veya eskiyen hash'ler)
+     * last_used_at'ini yeniler ve onları pending'den çıkarır.
+     * Önce UPDATE yapıldığı için SELECT'te görülen her satır yenilenmiş olur; temizlik onu artık silmez.
+     */
+    private void touchExisting(Map<String, byte[]> pending, Timestamp now) {
+        List<String> candidates = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < candidates.size(); from += IN_CLAUSE_SIZE) {
+            List<String> chunk = candidates.subList(from, Math.min(from + IN_CLAUSE_SIZE, candidates.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(now);
+            args.addAll(chunk);
+            jdbcTemplate.update(
+                "UPDATE api_log_bodies SET last_used_at = ? WHERE hash IN (" + placeholders + ")", args.toArray());
+            List<String> existing = jdbcTemplate.queryForList(
+                "SELECT hash FROM api_log_bodies WHERE hash IN (" + placeholders + ")",
+                String.class, chunk.toArray());
+            for (String hash : existing) {
+                pending.remove(hash);
+                deduplicated.incrementAndGet();
+            }
+        }
+    }
+
+    private void insertBodies(Map<String, byte[]> pending, Timestamp now) {
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        long original = 0;
+        long compressed = 0;
+        for (Map.Entry<String, byte[]> entry : pending.entrySet()) {
+            byte[] bytes = entry.getValue();
+            byte[] deflated = deflate(bytes);
+            boolean useDeflate = deflated.length < bytes.length;
+            byte[] content = useDeflate ? deflated : bytes;
+            rows.add(new Object[] {
+                entry.getKey(), useDeflate ? CODEC_DEFLATE : CODEC_PLAIN, bytes.length, content, now, now
+            });
+            original += bytes.length;
+            compressed += content.length;
+        }
+
+        jdbcTemplate.batchUpdate(BODY_INSERT, rows);
+        stored.addAndGet(rows.size());
+        originalBytes.addAndGet(original);
+        storedBytes.addAndGet(compressed);
+    }
+
+    // Encoding
+
+    static String hash(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    private byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 2));
+            byte[] chunk = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static String decode(String codec, int originalLength, byte[] content) {
+        if (!CODEC_DEFLATE.equals(codec)) {
+            return new String(content, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(content);
+            byte[] bytes = new byte[originalLength];
+            int length = 0;
+            while (length < originalLength && !inflater.finished()) {
+                int read = inflater.inflate(bytes, length, originalLength - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Bozuk api log body içeriği: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
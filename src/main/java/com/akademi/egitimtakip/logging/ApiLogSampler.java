@@ -0,0 +1,313 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.dto.SamplingConfigDTO;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ApiLogSampler
+ *
+ * LogInterceptor'ın her istek için api_logs satırı yazıp yazmayacağına karar verir.
+ * Kurallar app.logging.sampling.rules ile ';' ayrılmış olarak verilir, her kural:
+ *
+ *   METHOD PATH_PATTERN SAMPLE_RATE MAX_PER_SECOND
+ *
+ * - METHOD: GET, POST, ... veya * (hepsi)
+ * - PATH_PATTERN: Ant pattern (/egitim/**)
+ * - SAMPLE_RATE: 0.0 - 1.0 arası head sampling oranı (0 = hiç, 1 = hepsi)
+ * - MAX_PER_SECOND: endpoint başına saniyede en fazla yazılacak log (token bucket, 0 = sınırsız)
+ *
+ * Karar sırası: hata yanıtları (keep-errors) ve yavaş istekler (slow-threshold-ms) her zaman
+ * loglanır; diğerleri method + path'e uyan ilk kuralın oranıyla örneklenir ve endpoint'in
+ * token bucket'ından izin alabilirse loglanır. Endpoint, Spring'in eşleşen pattern'idir
+ * (/egitim/{id}); böylece id'li path'ler ayrı kova açmaz.
+ *
+ * Loglanmayan istekler de endpoint başına bellek içi sayaçlara (istek, hata, süre) eklenir;
+ * toplamlar örneklemeden etkilenmez. Ayarlar PUT /api/logs/sampling ile yeniden başlatmadan
+ * değiştirilebilir (yeniden başlatınca application.properties değerleri geçerli olur).
+ */
+@Component
+public class ApiLogSampler {
+
+    static final String OTHER_ENDPOINTS = "(diğer)";
+
+    @Value("${app.logging.sampling.rules:* /** 1.0 0}")
+    private String rulesSpec;
+
+    @Value("${app.logging.sampling.keep-errors:true}")
+    private boolean keepErrors;
+
+    @Value("${app.logging.sampling.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
+
+    @Value("${app.logging.sampling.max-endpoints:1000}")
+    private int maxEndpoints;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, EndpointCounters> endpoints = new ConcurrentHashMap<>();
+
+    private final AtomicLong keptErrors = new AtomicLong();
+    private final AtomicLong keptSlow = new AtomicLong();
+    private final AtomicLong sampled = new AtomicLong();
+    private final AtomicLong droppedBySampling = new AtomicLong();
+    private final AtomicLong droppedByCap = new AtomicLong();
+
+    private volatile SamplingConfig config;
+
+    @PostConstruct
+    public void init() {
+        config = new SamplingConfig(rulesSpec, parseRules(rulesSpec), keepErrors, slowThresholdMs);
+    }
+
+    /**
+     * İsteği sayaçlara ekler ve loglanıp loglanmayacağına karar verir
+     *
+     * @param method HTTP metodu
+     * @param path İstek path'i (kural eşleştirme için)
+     * @param endpoint Eşleşen handler pattern'i (yoksa path); sayaç ve kova anahtarı
+     * @param status HTTP durum kodu
+     * @param durationMs İstek süresi
+     * @return api_logs satırı yazılmalıysa true
+     */
+    public boolean shouldLog(String method, String path, String endpoint, int status, long durationMs) {
+        SamplingConfig current = config;
+        String key = method + " " + endpoint;
+        EndpointCounters counters = counters(key);
+        counters.record(status, durationMs);
+
+        boolean log = decide(current, key, method, path, status, durationMs);
+        if (log) {
+            counters.logged.increment();
+        }
+        return log;
+    }
+
+    /**
+     * Geçerli ayarlar
+     */
+    public SamplingConfigDTO getConfig() {
+        SamplingConfig current = config;
+        return new SamplingConfigDTO(current.rulesSpec, current.keepErrors, current.slowThresholdMs);
+    }
+
+    /**
+     * Ayarları yeniden başlatmadan değiştirir; boş alanlar korunur.
+     * Kurallar önce doğrulanır, sonra tek seferde değiştirilir (token bucket'lar sıfırlanır).
+     *
+     * @throws IllegalArgumentException Kural veya eşik geçersizse
+     */
+    public SamplingConfigDTO update(SamplingConfigDTO update) {
+        SamplingConfig current = config;
+        String spec = update.getRules() != null ? update.getRules() : current.rulesSpec;
+        boolean errors = update.getKeepErrors() != null ? update.getKeepErrors() : current.keepErrors;
+        long slow = update.getSlowThresholdMs() != null ? update.getSlowThresholdMs() : current.slowThresholdMs;
+        if (slow < 0) {
+            throw new IllegalArgumentException("slowThresholdMs negatif olamaz: " + slow);
+        }
+
+        config = new SamplingConfig(spec, parseRules(spec), errors, slow);
+        System.out.println(String.format(
+            "🎚️  API log örnekleme ayarları güncellendi: keepErrors=%s, slowThresholdMs=%d, kurallar=%s",
+            errors, slow, spec));
+        return getConfig();
+    }
+
+    /**
+     * Karar sayaçları ve endpoint başına toplamlar (istek sayısına göre azalan)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Long> decisions = new LinkedHashMap<>();
+        decisions.put("keptErrors", keptErrors.get());
+        decisions.put("keptSlow", keptSlow.get());
+        decisions.put("sampled", sampled.get());
+        decisions.put("droppedBySampling", droppedBySampling.get());
+        decisions.put("droppedByCap", droppedByCap.get());
+        stats.put("decisions", decisions);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        endpoints.forEach((key, counters) -> rows.add(counters.toMap(key)));
+        rows.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("requests")).reversed());
+        stats.put("endpoints", rows);
+        return stats;
+    }
+
+    // Decision
+
+    private boolean decide(SamplingConfig current, String key, String method, String path,
+                           int status, long durationMs) {
+        if (current.keepErrors && status >= 400) {
+            keptErrors.incrementAndGet();
+            return true;
+        }
+        if (current.slowThresholdMs > 0 && durationMs >= current.slowThresholdMs) {
+            keptSlow.incrementAndGet();
+            return true;
+        }
+
+        Rule rule = current.match(method, path, pathMatcher);
+        if (rule == null || !headSample(rule.sampleRate)) {
+            droppedBySampling.incrementAndGet();
+            return false;
+        }
+        if (rule.maxPerSecond > 0 && !current.bucket(key, rule.maxPerSecond, maxEndpoints).tryAcquire()) {
+            droppedByCap.incrementAndGet();
+            return false;
+        }
+        sampled.incrementAndGet();
+        return true;
+    }
+
+    private static boolean headSample(double rate) {
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private EndpointCounters counters(String key) {
+        EndpointCounters counters = endpoints.get(key);
+        if (counters != null) {
+            return counters;
+        }
+        // Sayaç sayısı sınırlı; sınırdan sonra gelen endpoint'ler tek satırda toplanır
+        String bounded = endpoints.size() < maxEndpoints ? key : OTHER_ENDPOINTS;
+        return endpoints.computeIfAbsent(bounded, k -> new EndpointCounters());
+    }
+
+    // Rule parsing
+
+    static List<Rule> parseRules(String spec) {
+        List<Rule> parsed = new ArrayList<>();
+        if (spec == null) {
+            return parsed;
+        }
+        for (String entry : spec.split(";")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException(
+                    "Geçersiz örnekleme kuralı (METHOD PATH SAMPLE_RATE MAX_PER_SECOND): " + trimmed);
+            }
+            double rate;
+            int maxPerSecond;
+            try {
+                rate = Double.parseDouble(parts[2]);
+                maxPerSecond = Integer.parseInt(parts[3]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Geçersiz sayı: " + trimmed);
+            }
+            if (rate < 0.0 || rate > 1.0 || maxPerSecond < 0) {
+                throw new IllegalArgumentException(
+                    "SAMPLE_RATE 0-1 arasında, MAX_PER_SECOND 0 veya pozitif olmalıdır: " + trimmed);
+            }
+            parsed.add(new Rule(
+                "*".equals(parts[0]) ? null : parts[0].toUpperCase(Locale.ROOT),
+                parts[1], rate, maxPerSecond));
+        }
+        return parsed;
+    }
+
+    /**
+     * Tek bir örnekleme kuralı
+     */
+    static final class Rule {
+        final String method;
+        final String pattern;
+        final double sampleRate;
+        final int maxPerSecond;
+
+        Rule(String method, String pattern, double sampleRate, int maxPerSecond) {
+            this.method = method;
+            this.pattern = pattern;
+            this.sampleRate = sampleRate;
+            this.maxPerSecond = maxPerSecond;
+        }
+
+        boolean matches(String requestMethod, String path, AntPathMatcher pathMatcher) {
+            return (method == null || method.equalsIgnoreCase(requestMethod))
+                && pathMatcher.match(pattern, path);
+        }
+    }
+
+    /**
+     * Değiştirilemez ayar anlık görüntüsü; kovalar ayarla birlikte yenilenir
+     */
+    private static final class SamplingConfig {
+        private final String rulesSpec;
+        private final List<Rule> rules;
+        private final boolean keepErrors;
+        private final long slowThresholdMs;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        private SamplingConfig(String rulesSpec, List<Rule> rules, boolean keepErrors, long slowThresholdMs) {
+            this.rulesSpec = rulesSpec;
+            this.rules = rules;
+            this.keepErrors = keepErrors;
+            this.slowThresholdMs = slowThresholdMs;
+        }
+
+        private Rule match(String method, String path, AntPathMatcher pathMatcher) {
+            for (Rule rule : rules) {
+                if (rule.matches(method, path, pathMatcher)) {
+                    return rule;
+                }
+            }
+            return null;
+        }
+
+        private TokenBucket bucket(String key, int maxPerSecond, int maxBuckets) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            String bounded = buckets.size() < maxBuckets ? key : OTHER_ENDPOINTS;
+            return buckets.computeIfAbsent(bounded, k -> new TokenBucket(maxPerSecond));
+        }
+    }
+
+    /**
+     * Endpoint başına toplamlar (örneklemeden bağımsız)
+     */
+    private static final class EndpointCounters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder logged = new LongAdder();
+        private final LongAdder totalDurationMs = new LongAdder();
+        private final AtomicLong maxDurationMs = new AtomicLong();
+
+        private void record(int status, long durationMs) {
+            requests.increment();
+            if (status >= 400) {
+                errors.increment();
+            }
+            totalDurationMs.add(durationMs);
+            maxDurationMs.accumulateAndGet(durationMs, Math::max);
+        }
+
+        private Map<String, Object> toMap(String key) {
+            long count = requests.sum();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", key);
+            row.put("requests", count);
+            row.put("errors", errors.sum());
+            row.put("logged", logged.sum());
+            row.put("meanMs", count > 0 ? totalDurationMs.sum() / count : 0L);
+            row.put("maxMs", maxDurationMs.get());
+            return row;
+        }
+    }
+}
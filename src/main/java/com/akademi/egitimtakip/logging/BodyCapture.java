@@ -0,0 +1,88 @@
+package com.akademi.egitimtakip.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * BodyCapture
+ *
+ * Tek bir isteğin body yakalama durumu. ContentCachingFilter tarafından request
+ * attribute'una konur, LogInterceptor yanıt durum koduna göre loglanacak kısmı buradan alır.
+ */
+public class BodyCapture {
+
+    public static final String ATTRIBUTE = BodyCapture.class.getName();
+
+    private final List<BodyCapturePolicy.Rule> candidates;
+    private final CaptureBuffer requestBuffer;
+    private final CaptureBuffer responseBuffer;
+
+    BodyCapture(List<BodyCapturePolicy.Rule> candidates, CaptureBuffer requestBuffer, CaptureBuffer responseBuffer) {
+        this.candidates = candidates;
+        this.requestBuffer = requestBuffer;
+        this.responseBuffer = responseBuffer;
+    }
+
+    /**
+     * İsteğe bağlı yakalama durumunu döndürür (yoksa null)
+     */
+    public static BodyCapture from(HttpServletRequest request) {
+        Object capture = request.getAttribute(ATTRIBUTE);
+        return capture instanceof BodyCapture ? (BodyCapture) capture : null;
+    }
+
+    /**
+     * Durum koduna uyan kurala göre request body öneki (UTF-8; yakalanmadıysa null)
+     */
+    public String getRequestBody(int status) {
+        BodyCapturePolicy.Rule rule = resolve(status);
+        if (rule == null || requestBuffer == null) {
+            return null;
+        }
+        return requestBuffer.toString(StandardCharsets.UTF_8, rule.requestBytes);
+    }
+
+    /**
+     * Durum koduna uyan kurala göre response body öneki (UTF-8; yakalanmadıysa null)
+     * JSON yanıtlar charset belirtmeden UTF-8 yazılır; servlet varsayılanı (ISO-8859-1) kullanılmaz.
+     */
+    public String getResponseBody(int status) {
+        BodyCapturePolicy.Rule rule = resolve(status);
+        if (rule == null || responseBuffer == null) {
+            return null;
+        }
+        return responseBuffer.toString(StandardCharsets.UTF_8, rule.responseBytes);
+    }
+
+    public CaptureBuffer getRequestBuffer() {
+        return requestBuffer;
+    }
+
+    public CaptureBuffer getResponseBuffer() {
+        return responseBuffer;
+    }
+
+    /**
+     * Tamponları bırakır. Async istekte yanıt başka thread'de yazılmaya devam edebileceği için
+     * tamponlar havuza dönmez (reusable=false).
+     */
+    public void release(boolean reusable) {
+        if (requestBuffer != null) {
+            requestBuffer.release(reusable);
+        }
+        if (responseBuffer != null) {
+            responseBuffer.release(reusable);
+        }
+    }
+
+    private BodyCapturePolicy.Rule resolve(int status) {
+        for (BodyCapturePolicy.Rule rule : candidates) {
+            if (rule.matchesStatus(status)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+}
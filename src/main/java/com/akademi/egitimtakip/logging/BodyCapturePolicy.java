@@ -0,0 +1,197 @@
+package com.akademi.egitimtakip.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * BodyCapturePolicy
+ *
+ * api_logs için request/response body'lerinin hangi isteklerde ve ne kadar yakalanacağına karar verir.
+ * Kurallar app.logging.capture.rules ile ';' ayrılmış olarak verilir, her kural:
+ *
+ *   METHOD PATH_PATTERN STATUS REQUEST_BYTES RESPONSE_BYTES
+ *
+ * - METHOD: GET, POST, ... veya * (hepsi)
+ * - PATH_PATTERN: Ant pattern (/egitim/**)
+ * - STATUS: *, 2xx, 3xx, 4xx, 5xx veya error (4xx ve 5xx; yalnızca hata durumunda yakala)
+ * - REQUEST_BYTES / RESPONSE_BYTES: loglanacak en fazla byte (0 = yakalama)
+ *
+ * Durum kodu yanıt bitince belli olur; bu yüzden istek başında method + path'e uyan kurallardan
+ * (STATUS=* olan ilk kurala kadar) en büyük byte sayısı kadar önek kopyalanır, istek bitince
+ * durum koduna uyan ilk kural loglanacak kısmı belirler. Hiçbir aday byte istemiyorsa istek sarmalanmaz.
+ */
+@Component
+public class BodyCapturePolicy {
+
+    @Value("${app.logging.capture.rules:* /** * 5000 5000}")
+    private String rulesSpec;
+
+    @Value("${app.logging.capture.max-bytes:8192}")
+    private int maxBytes;
+
+    @Value("${app.logging.capture.pool-size:64}")
+    private int poolSize;
+
+    @Value("${app.logging.capture.streaming-content-types:text/event-stream,application/x-ndjson,application/octet-stream}")
+    private String[] streamingContentTypeSpec;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<MediaType> streamingContentTypes = new ArrayList<>();
+    private List<Rule> rules;
+    private CaptureBufferPool bufferPool;
+
+    @PostConstruct
+    public void init() {
+        rules = parseRules(rulesSpec, maxBytes);
+        bufferPool = new CaptureBufferPool(maxBytes, poolSize);
+        for (String type : streamingContentTypeSpec) {
+            streamingContentTypes.add(MediaType.parseMediaType(type.trim()));
+        }
+    }
+
+    /**
+     * İstek başında yakalamayı başlatır
+     *
+     * @return Yakalama durumu veya bu istekte hiçbir body yakalanmayacaksa null
+     */
+    public BodyCapture begin(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        List<Rule> candidates = new ArrayList<>(2);
+        int requestBytes = 0;
+        int responseBytes = 0;
+        for (Rule rule : rules) {
+            if (!rule.matches(method, path, pathMatcher)) {
+                continue;
+            }
+            candidates.add(rule);
+            requestBytes = Math.max(requestBytes, rule.requestBytes);
+            responseBytes = Math.max(responseBytes, rule.responseBytes);
+            if (rule.statusClass == null) {
+                break; // her durum koduna uyan kural; sonrakiler hiç seçilmez
+            }
+        }
+
+        if (requestBytes == 0 && responseBytes == 0) {
+            return null;
+        }
+        return new BodyCapture(
+            candidates,
+            requestBytes > 0 ? new CaptureBuffer(bufferPool, requestBytes) : null,
+            responseBytes > 0 ? new CaptureBuffer(bufferPool, responseBytes) : null
+        );
+    }
+
+    /**
+     * Yanıt streaming (SSE, NDJSON, binary) ise true; bu yanıtlar hiç kopyalanmaz
+     */
+    public boolean isStreaming(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return streamingContentTypes.stream().anyMatch(type -> type.includes(mediaType));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public CaptureBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    // Rule parsing
+
+    static List<Rule> parseRules(String spec, int maxBytes) {
+        List<Rule> parsed = new ArrayList<>();
+        if (spec == null) {
+            return parsed;
+        }
+        for (String entry : spec.split(";")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+");
+            if (parts.length != 5) {
+                throw new IllegalArgumentException(
+                    "Geçersiz body capture kuralı (METHOD PATH STATUS REQUEST_BYTES RESPONSE_BYTES): " + trimmed);
+            }
+            parsed.add(new Rule(
+                "*".equals(parts[0]) ? null : parts[0].toUpperCase(Locale.ROOT),
+                parts[1],
+                parseStatus(parts[2], trimmed),
+                Math.min(parseBytes(parts[3], trimmed), maxBytes),
+                Math.min(parseBytes(parts[4], trimmed), maxBytes)
+            ));
+        }
+        return parsed;
+    }
+
+    private static String parseStatus(String status, String rule) {
+        String value = status.toLowerCase(Locale.ROOT);
+        if ("*".equals(value)) {
+            return null;
+        }
+        if (value.equals("error") || value.matches("[1-5]xx")) {
+            return value;
+        }
+        throw new IllegalArgumentException("Geçersiz durum sınıfı '" + status + "': " + rule);
+    }
+
+    private static int parseBytes(String bytes, String rule) {
+        try {
+            int value = Integer.parseInt(bytes);
+            if (value < 0) {
+                throw new NumberFormatException();
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz byte sayısı '" + bytes + "': " + rule);
+        }
+    }
+
+    /**
+     * Tek bir yakalama kuralı
+     */
+    static final class Rule {
+        final String method;
+        final String pattern;
+        final String statusClass;
+        final int requestBytes;
+        final int responseBytes;
+
+        Rule(String method, String pattern, String statusClass, int requestBytes, int responseBytes) {
+            this.method = method;
+            this.pattern = pattern;
+            this.statusClass = statusClass;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+        }
+
+        boolean matches(String requestMethod, String path, AntPathMatcher pathMatcher) {
+            return (method == null || method.equalsIgnoreCase(requestMethod))
+                && pathMatcher.match(pattern, path);
+        }
+
+        boolean matchesStatus(int status) {
+            if (statusClass == null) {
+                return true;
+            }
+            if (statusClass.equals("error")) {
+                return status >= 400;
+            }
+            return status / 100 == statusClass.charAt(0) - '0';
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.akademi.egitimtakip.logging;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CaptureBuffer
+ * 
+ * Tee stream'lerin kopyaladığı body önekini tutar.
+ * En fazla limit byte saklanır; sonrası kopyalanmaz.
+ * Dizi ilk yazımda havuzdan alınır (body'siz isteklerde hiç alınmaz).
+ * Writer ile yazılan karakterler yanıt charset'inden bağımsız olarak UTF-8 kodlanıp doğrudan diziye yazılır
+ * (BodyCapture UTF-8 okur); kodlayıcı ve karakter tamponu buffer başına bir kez oluşturulur,
+ * yazım başına String / byte[] ayrılmaz. Sığmayan ilk karakterde kopyalama durur (yarım karakter yazılmaz).
+ */
+public class CaptureBuffer {
+
+    private final CaptureBufferPool pool;
+    private final int limit;
+
+    private static final int CHAR_CHUNK = 256;
+
+    private byte[] data;
+    private int length;
+    private volatile boolean closed;
+
+    private CharsetEncoder encoder;
+    private CharBuffer chars;
+    private ByteBuffer bytes;
+
+    public CaptureBuffer(CaptureBufferPool pool, int limit) {
+        this.pool = pool;
+        this.limit = Math.min(limit, pool.getBufferSize());
+    }
+
+    public void write(int b) {
+        if (closed || length >= limit) {
+            return;
+        }
+        ensureData();
+        data[length++] = (byte) b;
+    }
+
+    public void write(byte[] b, int off, int len) {
+        if (closed || length >= limit || len <= 0) {
+            return;
+        }
+        ensureData();
+        int copy = Math.min(len, limit - length);
+        System.arraycopy(b, off, data, length, copy);
+        length += copy;
+    }
+
+    public void writeChar(int c) {
+        if (!isCapturing()) {
+            return;
+        }
+        ensureEncoder();
+        chars.put((char) c);
+        encodeChars();
+    }
+
+    public void writeChars(char[] c, int off, int len) {
+        for (int i = 0; i < len && isCapturing(); ) {
+            ensureEncoder();
+            int n = Math.min(chars.remaining(), len - i);
+            chars.put(c, off + i, n);
+            i += n;
+            encodeChars();
+        }
+    }
+
+    public void writeChars(String s, int off, int len) {
+        for (int i = 0; i < len && isCapturing(); ) {
+            ensureEncoder();
+            int n = Math.min(chars.remaining(), len - i);
+            chars.put(s, off + i, off + i + n);
+            i += n;
+            encodeChars();
+        }
+    }
+
+    /**
+     * Karakter tamponundakileri UTF-8 olarak dizinin boş kısmına kodlar.
+     * Tamamlanmamış surrogate çifti sonraki yazıma kadar tamponda kalır.
+     */
+    private void encodeChars() {
+        ensureData();
+        if (bytes == null) {
+            bytes = ByteBuffer.wrap(data);
+        }
+        bytes.limit(limit).position(length);
+        chars.flip();
+        CoderResult result = encoder.encode(chars, bytes, false);
+        length = bytes.position();
+        chars.compact();
+        if (result.isOverflow()) {
+            // Sonraki karakter sığmıyor; daha kısa olanları yazmak metni bozardı
+            closed = true;
+        }
+    }
+
+    private void ensureEncoder() {
+        if (encoder == null) {
+            encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            chars = CharBuffer.allocate(CHAR_CHUNK);
+        }
+    }
+
+    /**
+     * Kopyalanan önekin ilk maxBytes byte'ını metne çevirir (boşsa null)
+     */
+    public String toString(Charset charset, int maxBytes) {
+        int size = Math.min(length, maxBytes);
+        if (data == null || size <= 0) {
+            return null;
+        }
+        return new String(data, 0, size, charset);
+    }
+
+    /**
+     * Kopyalamayı durdurur (ör. streaming yanıt algılandığında)
+     */
+    public void stop() {
+        closed = true;
+    }
+
+    /**
+     * Kopyalamayı kapatır ve diziyi havuza geri verir.
+     * reusable=false ise dizi havuza dönmez (hâlâ yazabilecek bir async thread olabilir).
+     */
+    public void release(boolean reusable) {
+        closed = true;
+        if (!reusable) {
+            return;
+        }
+        byte[] released = data;
+        data = null;
+        bytes = null;
+        length = 0;
+        pool.release(released);
+    }
+
+    private void ensureData() {
+        if (data == null) {
+            data = pool.acquire();
+        }
+    }
+
+    /**
+     * Daha fazla byte kopyalanabilir mi (dolu veya durdurulmuşsa false)
+     */
+    public boolean isCapturing() {
+        return !closed && length < limit;
+    }
+}
@@ -0,0 +1,41 @@
+package com.akademi.egitimtakip.logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * CaptureBufferPool
+ * 
+ * Request/response body önekleri için sabit boyutlu byte dizisi havuzu.
+ * Her istekte yeni tampon ayırmak yerine dizi havuzdan alınır ve istek bitince geri verilir.
+ * Havuz boşsa yeni dizi ayrılır; havuz doluysa geri verilen dizi çöpe bırakılır.
+ */
+public class CaptureBufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> pool;
+
+    public CaptureBufferPool(int bufferSize, int poolSize) {
+        this.bufferSize = bufferSize;
+        this.pool = new ArrayBlockingQueue<>(Math.max(poolSize, 1));
+    }
+
+    public byte[] acquire() {
+        byte[] buffer = pool.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    public void release(byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            pool.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getAvailable() {
+        return pool.size();
+    }
+}
@@ -0,0 +1,124 @@
+package com.akademi.egitimtakip.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ErrorFingerprint
+ *
+ * Aynı hatanın tekrarlarını tek gruba indirmek için kararlı bir parmak izi üretir:
+ *
+ *   SHA-256(exception türü + mesaj şablonu + ilk N uygulama frame'i)
+ *
+ * - Mesaj şablonu: sayılar '#', tırnak içindeki değerler, UUID'ler ve uzun hex değerler '?' olur
+ *   ("Eğitim bulunamadı: 42" → "Eğitim bulunamadı: #").
+ * - Frame'ler sınıf.metot olarak alınır; satır numaraları, proxy ($$) sınıfları ve lambda
+ *   sıra numaraları dahil edilmez, böylece yeni bir sürüm parmak izini değiştirmez.
+ *   Uygulama paketinde frame yoksa (framework hataları) ilk N frame kullanılır.
+ */
+public final class ErrorFingerprint {
+
+    private static final Pattern QUOTED = Pattern.compile("'[^']*'|\"[^\"]*\"");
+    private static final Pattern UUID = Pattern.compile(
+        "\\b[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\\b");
+    private static final Pattern HEX = Pattern.compile("@[0-9a-fA-F]+\\b|\\b0x[0-9a-fA-F]+\\b|\\b[0-9a-fA-F]{16,}\\b");
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+    private static final Pattern LAMBDA_SUFFIX = Pattern.compile("\\$\\d+$");
+    private static final Pattern TRACE_FRAME = Pattern.compile("^\\s*at\\s+(?:[\\w.]+/)*([\\w$.]+)\\.([\\w$<>]+)\\(");
+
+    private static final int MAX_TEMPLATE_LENGTH = 500;
+
+    private ErrorFingerprint() {
+    }
+
+    /**
+     * Parmak izi (SHA-256, hex)
+     *
+     * @param exceptionType Exception sınıf adı
+     * @param messageTemplate messageTemplate(...) ile normalleştirilmiş mesaj
+     * @param frames frames(...) ile seçilmiş frame'ler
+     */
+    public static String of(String exceptionType, String messageTemplate, List<String> frames) {
+        StringBuilder key = new StringBuilder()
+            .append(exceptionType).append('\n')
+            .append(messageTemplate != null ? messageTemplate : "").append('\n');
+        for (String frame : frames) {
+            key.append(frame).append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    /**
+     * Mesajdaki değişken kısımları sabit işaretlerle değiştirir
+     */
+    public static String messageTemplate(String message) {
+        if (message == null) {
+            return null;
+        }
+        String template = QUOTED.matcher(message).replaceAll("?");
+        template = UUID.matcher(template).replaceAll("?");
+        template = HEX.matcher(template).replaceAll(match -> match.group().startsWith("@") ? "@?" : "?");
+        template = NUMBER.matcher(template).replaceAll("#");
+        return template.length() <= MAX_TEMPLATE_LENGTH ? template : template.substring(0, MAX_TEMPLATE_LENGTH);
+    }
+
+    /**
+     * Exception'ın ilk limit uygulama frame'i
+     */
+    public static List<String> frames(StackTraceElement[] trace, String appPackage, int limit) {
+        List<String> all = new ArrayList<>();
+        for (StackTraceElement element : trace) {
+            all.add(element.getClassName() + "." + element.getMethodName());
+        }
+        return select(all, appPackage, limit);
+    }
+
+    /**
+     * Metin stack trace'ten (printStackTrace çıktısı) ilk limit uygulama frame'i.
+     * Yalnızca en dıştaki exception'ın frame'leri ("Caused by" öncesi) kullanılır.
+     */
+    public static List<String> frames(String stacktrace, String appPackage, int limit) {
+        List<String> all = new ArrayList<>();
+        if (stacktrace != null) {
+            for (String line : stacktrace.split("\\R")) {
+                if (line.startsWith("Caused by:")) {
+                    break;
+                }
+                Matcher matcher = TRACE_FRAME.matcher(line);
+                if (matcher.find()) {
+                    all.add(matcher.group(1) + "." + matcher.group(2));
+                }
+            }
+        }
+        return select(all, appPackage, limit);
+    }
+
+    private static List<String> select(List<String> all, String appPackage, int limit) {
+        List<String> selected = new ArrayList<>();
+        for (String frame : all) {
+            if (selected.size() >= limit) {
+                break;
+            }
+            if (frame.startsWith(appPackage) && !frame.contains("$$")) {
+                selected.add(LAMBDA_SUFFIX.matcher(frame).replaceAll(""));
+            }
+        }
+        if (selected.isEmpty()) {
+            for (String frame : all.subList(0, Math.min(limit, all.size()))) {
+                selected.add(LAMBDA_SUFFIX.matcher(frame).replaceAll(""));
+            }
+        }
+        return selected;
+    }
+}
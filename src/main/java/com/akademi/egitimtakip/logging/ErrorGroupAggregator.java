@@ -0,0 +1,293 @@
+package com.akademi.egitimtakip.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ErrorGroupAggregator
+ *
+ * Hataları parmak izine (ErrorFingerprint) göre gruplar ve error_groups sayaçlarını günceller.
+ *
+ * - Her hata yalnızca bellekteki grup sayacına eklenir; sayaçlar periyodik olarak
+ *   (app.logging.error-groups.flush-interval-ms) tek transaction'da JDBC batch ile yazılır.
+ * - Stack trace yalnızca veritabanında henüz bulunmayan bir grup için metne çevrilir ve
+ *   grubun örneği olarak saklanır; tekrarlar için stack trace hiç üretilmez.
+ * - Bekleyen farklı grup sayısı maxPending'e ulaşırsa sayaçlar beklemeden yazılır (bellek sınırlı kalır).
+ * - Yazma başarısız olursa sayaçlar kaybolmaz, bir sonraki turda yeniden denenir.
+ *
+ * Gruplanmış görünüm bu yüzden en fazla bir tur gecikmelidir.
+ */
+@Component
+public class ErrorGroupAggregator {
+
+    private static final String GROUP_UPDATE =
+        "UPDATE error_groups SET occurrence_count = occurrence_count + ?, " +
+        "first_seen = LEAST(first_seen, ?), last_seen = GREATEST(last_seen, ?), " +
+        "sample_message = COALESCE(sample_message, ?), sample_stacktrace = COALESCE(sample_stacktrace, ?) " +
+        "WHERE fingerprint = ?";
+
+    private static final String GROUP_INSERT =
+        "INSERT INTO error_groups (fingerprint, exception_type, message_template, top_frame, sample_message, " +
+        "sample_stacktrace, occurrence_count, first_seen, last_seen, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.logging.error-groups.app-package:com.akademi}")
+    private String appPackage;
+
+    @Value("${app.logging.error-groups.frames:5}")
+    private int frames;
+
+    @Value("${app.logging.error-groups.max-pending:1000}")
+    private int maxPending;
+
+    @Value("${app.logging.error-groups.known-cache-size:10000}")
+    private int knownCacheSize;
+
+    private final ConcurrentHashMap<String, PendingGroup> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong groupsCreated = new AtomicLong();
+    private final AtomicLong groupsUpdated = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    private TransactionTemplate groupTransaction;
+    private Set<String> knownFingerprints;
+
+    @PostConstruct
+    public void init() {
+        groupTransaction = new TransactionTemplate(transactionManager);
+        groupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        int cacheSize = knownCacheSize;
+        knownFingerprints = Collections.synchronizedSet(Collections.newSetFromMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > cacheSize;
+                }
+            }));
+    }
+
+    /**
+     * Exception'ı grubuna ekler
+     *
+     * @return Grubun parmak izi (error_logs.fingerprint)
+     */
+    public String record(Throwable exception) {
+        List<String> topFrames = ErrorFingerprint.frames(exception.getStackTrace(), appPackage, frames);
+        return record(exception.getClass().getName(), exception.getMessage(), topFrames,
+            () -> stackTrace(exception), LocalDateTime.now());
+    }
+
+    /**
+     * Metin olarak verilen hatayı grubuna ekler
+     *
+     * @return Grubun parmak izi (error_logs.fingerprint)
+     */
+    public String record(String exceptionType, String message, String stacktrace) {
+        List<String> topFrames = ErrorFingerprint.frames(stacktrace, appPackage, frames);
+        return record(exceptionType, message, topFrames, () -> stacktrace, LocalDateTime.now());
+    }
+
+    /**
+     * Bekleyen sayaçları error_groups'a yazar
+     */
+    @Scheduled(
+        initialDelayString = "${app.logging.error-groups.flush-interval-ms:5000}",
+        fixedDelayString = "${app.logging.error-groups.flush-interval-ms:5000}"
+    )
+    public synchronized void flush() {
+        Map<String, PendingGroup> batch = new LinkedHashMap<>();
+        for (String fingerprint : pending.keySet()) {
+            PendingGroup group = pending.remove(fingerprint);
+            if (group != null) {
+                batch.put(fingerprint, group);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            groupTransaction.executeWithoutResult(status -> write(batch));
+            knownFingerprints.addAll(batch.keySet());
+            flushes.incrementAndGet();
+        } catch (Exception e) {
+            // Sayaçlar bir sonraki tura geri bırakılır
+            failedFlushes.incrementAndGet();
+            batch.forEach((fingerprint, group) -> pending.merge(fingerprint, group, PendingGroup::merge));
+            System.err.println("Hata grupları yazılamadı: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    /**
+     * Bellekteki parmak izi önbelleğini boşaltır. Tekrarı kalmayan gruplar silindikten sonra çağrılır;
+     * böylece yeniden oluşan grup örnek stack trace'iyle birlikte yazılır.
+     */
+    public void forgetKnownFingerprints() {
+        knownFingerprints.clear();
+    }
+
+    /**
+     * Sayaçlar: received (gelen hata), groupsCreated, groupsUpdated, flushes, failedFlushes, pending
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("received", received.get());
+        stats.put("groupsCreated", groupsCreated.get());
+        stats.put("groupsUpdated", groupsUpdated.get());
+        stats.put("flushes", flushes.get());
+        stats.put("failedFlushes", failedFlushes.get());
+        stats.put("pending", (long) pending.size());
+        return stats;
+    }
+
+    // Aggregation
+
+    private String record(String exceptionType, String message, List<String> topFrames,
+                          Supplier<String> stacktrace, LocalDateTime time) {
+        received.incrementAndGet();
+        String template = ErrorFingerprint.messageTemplate(message);
+        String fingerprint = ErrorFingerprint.of(exceptionType, template, topFrames);
+
+        // Örnek yalnızca tabloda olmayan yeni bir grup için üretilir
+        boolean needsSample = !pending.containsKey(fingerprint) && !knownFingerprints.contains(fingerprint);
+        PendingGroup group = new PendingGroup(
+            exceptionType, template, topFrames.isEmpty() ? null : topFrames.get(0), time,
+            needsSample ? truncate(message, 2000) : null,
+            needsSample ? truncate(stacktrace.get(), 10000) : null);
+
+        if (pending.size() >= maxPending && !pending.containsKey(fingerprint)) {
+            flush();
+        }
+        // merge, aynı anahtar için flush() içindeki remove ile atomiktir; sayım kaybolmaz
+        pending.merge(fingerprint, group, PendingGroup::merge);
+        return fingerprint;
+    }
+
+    private void write(Map<String, PendingGroup> batch) {
+        List<String> fingerprints = new ArrayList<>(batch.keySet());
+        int[] updated = jdbcTemplate.batchUpdate(GROUP_UPDATE, fingerprints, fingerprints.size(), (ps, fingerprint) -> {
+            PendingGroup group = batch.get(fingerprint);
+            ps.setLong(1, group.count);
+            ps.setTimestamp(2, Timestamp.valueOf(group.firstSeen));
+            ps.setTimestamp(3, Timestamp.valueOf(group.lastSeen));
+            ps.setString(4, group.sampleMessage);
+            ps.setString(5, group.sampleStacktrace);
+            ps.setString(6, fingerprint);
+        })[0];
+
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(fingerprints.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(GROUP_INSERT, missing, missing.size(), (ps, fingerprint) -> {
+                PendingGroup group = batch.get(fingerprint);
+                ps.setString(1, fingerprint);
+                ps.setString(2, group.exceptionType);
+                ps.setString(3, group.messageTemplate);
+                ps.setString(4, group.topFrame);
+                ps.setString(5, group.sampleMessage);
+                ps.setString(6, group.sampleStacktrace);
+                ps.setLong(7, group.count);
+                ps.setTimestamp(8, Timestamp.valueOf(group.firstSeen));
+                ps.setTimestamp(9, Timestamp.valueOf(group.lastSeen));
+                ps.setTimestamp(10, now);
+            });
+        }
+        groupsCreated.addAndGet(missing.size());
+        groupsUpdated.addAndGet(fingerprints.size() - missing.size());
+    }
+
+    // Helpers
+
+    private static String stackTrace(Throwable exception) {
+        StringWriter sw = new StringWriter();
+        exception.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    private static String truncate(String str, int maxLength) {
+        if (str == null) return null;
+        if (str.length() <= maxLength) return str;
+        return str.substring(0, maxLength) + "... [truncated]";
+    }
+
+    /**
+     * Bir turdaki grup sayaçları (yalnızca merge/remove kilidi altında değişir)
+     */
+    private static final class PendingGroup {
+        private final String exceptionType;
+        private final String messageTemplate;
+        private final String topFrame;
+        private String sampleMessage;
+        private String sampleStacktrace;
+        private long count = 1;
+        private LocalDateTime firstSeen;
+        private LocalDateTime lastSeen;
+
+        private PendingGroup(String exceptionType, String messageTemplate, String topFrame, LocalDateTime time,
+                             String sampleMessage, String sampleStacktrace) {
+            this.exceptionType = exceptionType;
+            this.messageTemplate = messageTemplate;
+            this.topFrame = topFrame;
+            this.firstSeen = time;
+            this.lastSeen = time;
+            this.sampleMessage = sampleMessage;
+            this.sampleStacktrace = sampleStacktrace;
+        }
+
+        private PendingGroup merge(PendingGroup added) {
+            count += added.count;
+            if (added.firstSeen.isBefore(firstSeen)) {
+                firstSeen = added.firstSeen;
+            }
+            if (added.lastSeen.isAfter(lastSeen)) {
+                lastSeen = added.lastSeen;
+            }
+            if (sampleStacktrace == null) {
+                sampleMessage = added.sampleMessage;
+                sampleStacktrace = added.sampleStacktrace;
+            }
+            return this;
+        }
+    }
+}
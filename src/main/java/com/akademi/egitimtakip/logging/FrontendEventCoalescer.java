@@ -0,0 +1,160 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.entity.FrontendLog;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FrontendEventCoalescer
+ *
+ * Frontend olaylarını kısa bir pencere boyunca bellekte birleştirir.
+ * Aynı kullanıcı, aksiyon, sayfa ve detayla gelen olaylar tek satıra indirilir
+ * (event_count = olay sayısı, created_at = ilk olayın zamanı). Pencere sonunda
+ * birleştirilmiş satırlar LogIngestionPipeline'a bırakılır ve JDBC batch insert ile yazılır.
+ *
+ * Bekleyen farklı olay sayısı maxPending'i aşarsa yeni olaylar birleştirilmeden
+ * doğrudan yazma hattına gönderilir (bellek sınırlı kalır).
+ */
+@Component
+public class FrontendEventCoalescer {
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Value("${app.logging.frontend.max-pending:10000}")
+    private int maxPending;
+
+    private final ConcurrentHashMap<EventKey, PendingEvent> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+
+    /**
+     * Bir olayı birleştirme penceresine ekler
+     */
+    public void add(Long userId, String action, String page, String details) {
+        received.incrementAndGet();
+        EventKey key = new EventKey(userId, truncate(action, 255), truncate(page, 255), details);
+        LocalDateTime time = LocalDateTime.now();
+
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            bypassed.incrementAndGet();
+            submit(key, new PendingEvent(time));
+            return;
+        }
+
+        // merge, aynı anahtar için flush() içindeki remove ile atomiktir; sayım kaybolmaz
+        pending.merge(key, new PendingEvent(time), (existing, added) -> {
+            existing.count++;
+            return existing;
+        });
+    }
+
+    /**
+     * Pencereyi kapatır: bekleyen olayları yazma hattına bırakır
+     */
+    @Scheduled(
+        initialDelayString = "${app.logging.frontend.coalesce-window-ms:5000}",
+        fixedDelayString = "${app.logging.frontend.coalesce-window-ms:5000}"
+    )
+    public void flush() {
+        for (EventKey key : pending.keySet()) {
+            PendingEvent event = pending.remove(key);
+            if (event != null) {
+                submit(key, event);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    /**
+     * Sayaçlar: received (gelen olay), written (yazılan satır), bypassed (birleştirilmeden yazılan), pending
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("received", received.get());
+        stats.put("written", written.get());
+        stats.put("bypassed", bypassed.get());
+        stats.put("pending", (long) pending.size());
+        return stats;
+    }
+
+    private void submit(EventKey key, PendingEvent event) {
+        FrontendLog log = new FrontendLog();
+        log.setUserId(key.userId);
+        log.setAction(key.action);
+        log.setPage(key.page);
+        log.setDetails(key.details);
+        log.setEventCount(event.count);
+        log.setCreatedAt(event.firstSeen);
+        logIngestionPipeline.submit(log);
+        written.incrementAndGet();
+    }
+
+    private static String truncate(String str, int maxLength) {
+        if (str == null) return null;
+        if (str.length() <= maxLength) return str;
+        return str.substring(0, maxLength);
+    }
+
+    /**
+     * Birleştirme anahtarı
+     */
+    private static final class EventKey {
+        private final Long userId;
+        private final String action;
+        private final String page;
+        private final String details;
+        private final int hash;
+
+        private EventKey(Long userId, String action, String page, String details) {
+            this.userId = userId;
+            this.action = action;
+            this.page = page;
+            this.details = details;
+            this.hash = Objects.hash(userId, action, page, details);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EventKey other)) return false;
+            return Objects.equals(userId, other.userId)
+                && Objects.equals(action, other.action)
+                && Objects.equals(page, other.page)
+                && Objects.equals(details, other.details);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Pencere içindeki birleştirilmiş olay (yalnızca merge/remove kilidi altında değişir)
+     */
+    private static final class PendingEvent {
+        private final LocalDateTime firstSeen;
+        private int count = 1;
+
+        private PendingEvent(LocalDateTime firstSeen) {
+            this.firstSeen = firstSeen;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.akademi.egitimtakip.logging;
+
+/**
+ * LogDropPolicy
+ * 
+ * Log tamponu dolduğunda yeni kayıtlara ne yapılacağını belirler.
+ */
+public enum LogDropPolicy {
+
+    /**
+     * Yeni gelen kayıt atılır (istek thread'i hiç beklemez)
+     */
+    DROP_NEWEST,
+
+    /**
+     * Kuyruktaki en eski kayıt atılır, yeni kayıt eklenir
+     */
+    DROP_OLDEST,
+
+    /**
+     * İstek thread'i en fazla block-timeout-ms kadar bekler, yer açılmazsa kayıt atılır
+     */
+    BLOCK,
+
+    /**
+     * Kayıt atılmaz; istek thread'i kaydı kendisi hemen yazar (denetim logları için)
+     */
+    CALLER_RUNS
+}
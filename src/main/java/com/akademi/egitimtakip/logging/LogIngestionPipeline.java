@@ -0,0 +1,434 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.entity.ActivityLog;
+import com.akademi.egitimtakip.entity.ApiLog;
+import com.akademi.egitimtakip.entity.ErrorLog;
+import com.akademi.egitimtakip.entity.FrontendLog;
+import com.akademi.egitimtakip.entity.PerformanceLog;
+import com.akademi.egitimtakip.entity.PerformanceSnapshot;
+import com.akademi.egitimtakip.entity.RequestTrace;
+import com.akademi.egitimtakip.entity.TraceSpan;
+import com.akademi.egitimtakip.tracing.TraceContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * LogIngestionPipeline
+ *
+ * API, activity, error, performance ve frontend logları için write-behind yazma hattı.
+ * Her log türünün kendi sınırlı tamponu ve yazıcı thread'i vardır; kayıtlar
+ * JDBC batch insert ile, flush başına tek transaction'da yazılır.
+ * API log body'leri yazıcı thread'de ApiLogBodyStore'a (sıkıştırılmış, tekil) bırakılır;
+ * api_logs satırına yalnızca hash'leri yazılır.
+ * Aranan kolonların değerleri (endpoint, exception türü, sayfa) INSERT'ten önce LogSearchIndex'e eklenir.
+ * Böylece log yazımı istek başına bir INSERT + commit yerine toplu yapılır
+ * ve iş trafiğiyle bağlantı havuzu için yarışmaz.
+ *
+ * Tamponlar sınırlıdır; ani trafik artışında bekleyen kayıtlar (ve body'leri) heap'i doldurmaz.
+ * Telemetri tamponları (api, error, performance, frontend) dolunca drop-policy uygulanır;
+ * denetim kaydı olan activity logları audit-drop-policy ile (varsayılan CALLER_RUNS) hiç atılmaz.
+ * Yazımlar her zaman kendi transaction'ında (REQUIRES_NEW) yapılır: CALLER_RUNS ile istek thread'inde
+ * yazılan denetim kaydı çağıranın transaction'ı geri alınsa da kalır, log INSERT'ünün hatası da
+ * çağıranın transaction'ını rollback-only işaretlemez.
+ * Kapanışta tamponlar en fazla shutdown-timeout-ms boyunca boşaltılır.
+ *
+ * Log servisleri (ApiLogService, ActivityLogService, ErrorLogService,
+ * PerformanceLogService), LatencyRegistry (performance snapshot'ları) ve
+ * FrontendEventCoalescer (birleştirilmiş frontend olayları) kayıtları buraya bırakır.
+ * Snapshot'lar dışındaki kayıtlar tampona bırakılırken LogTailHub'a (canlı akış) da yayınlanır;
+ * tampon dolup kayıt atılsa bile canlı akışta görünür.
+ *
+ * API, activity ve error kayıtlarına bırakıldıkları thread'in trace id'si (TraceContext) yazılır;
+ * error kaydı aktif trace'i hatalı olarak işaretler. Saklanan trace'ler (TraceRecorder)
+ * span'larıyla birlikte "trace" tamponundan tek transaction'da yazılır.
+ */
+@Component
+public class LogIngestionPipeline {
+
+    private static final String API_LOG_INSERT =
+        "INSERT INTO api_logs (user_id, endpoint, http_method, status_code, request_body_hash, " +
+        "response_body_hash, duration_ms, ip, trace_id, sql_count, sql_time_ms, sql_rows, sql_max_repeat, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ACTIVITY_LOG_INSERT =
+        "INSERT INTO activity_logs (user_id, action, entity_type, entity_id, description, trace_id, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ERROR_LOG_INSERT =
+        "INSERT INTO error_logs (user_id, endpoint, exception_type, message, stacktrace, fingerprint, trace_id, " +
+        "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String PERFORMANCE_LOG_INSERT =
+        "INSERT INTO performance_logs (endpoint, duration_ms, method_name, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String PERFORMANCE_SNAPSHOT_INSERT =
+        "INSERT INTO performance_snapshots (method_name, window_seconds, sample_count, mean_us, p50_us, " +
+        "p90_us, p99_us, p999_us, max_us, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FRONTEND_LOG_INSERT =
+        "INSERT INTO frontend_logs (user_id, action, page, details, event_count, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String REQUEST_TRACE_INSERT =
+        "INSERT INTO request_traces (trace_id, http_method, endpoint, status_code, duration_ms, reason, " +
+        "span_count, dropped_spans, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String TRACE_SPAN_INSERT =
+        "INSERT INTO trace_spans (trace_id, span_index, parent_index, kind, name, start_offset_us, " +
+        "duration_us, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApiLogBodyStore apiLogBodyStore;
+
+    @Autowired
+    private LogTailHub logTailHub;
+
+    @Autowired
+    private LogSearchIndex logSearchIndex;
+
+    @Value("${app.logging.pipeline.capacity:10000}")
+    private int capacity;
+
+    @Value("${app.logging.pipeline.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.logging.pipeline.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${app.logging.pipeline.drop-policy:DROP_OLDEST}")
+    private LogDropPolicy dropPolicy;
+
+    @Value("${app.logging.pipeline.audit-drop-policy:CALLER_RUNS}")
+    private LogDropPolicy auditDropPolicy;
+
+    @Value("${app.logging.pipeline.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${app.logging.pipeline.block-timeout-ms:50}")
+    private long blockTimeoutMs;
+
+    private TransactionTemplate transactionTemplate;
+    private LogWriteBuffer<ApiLog> apiLogs;
+    private LogWriteBuffer<ActivityLog> activityLogs;
+    private LogWriteBuffer<ErrorLog> errorLogs;
+    private LogWriteBuffer<PerformanceLog> performanceLogs;
+    private LogWriteBuffer<PerformanceSnapshot> performanceSnapshots;
+    private LogWriteBuffer<FrontendLog> frontendLogs;
+    private LogWriteBuffer<RequestTrace> requestTraces;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        apiLogs = buffer("api", dropPolicy, this::writeApiLogs);
+        activityLogs = buffer("activity", auditDropPolicy, this::writeActivityLogs);
+        errorLogs = buffer("error", dropPolicy, this::writeErrorLogs);
+        performanceLogs = buffer("performance", dropPolicy, this::writePerformanceLogs);
+        performanceSnapshots = buffer("performance-snapshot", dropPolicy, this::writePerformanceSnapshots);
+        frontendLogs = buffer("frontend", dropPolicy, this::writeFrontendLogs);
+        requestTraces = buffer("trace", dropPolicy, this::writeRequestTraces);
+
+        allBuffers().forEach(LogWriteBuffer::start);
+    }
+
+    /**
+     * Tamponları shutdown-timeout-ms içinde boşaltır; yetişmeyen kayıt sayısı konsola yazılır
+     */
+    @PreDestroy
+    public void stop() {
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        for (LogWriteBuffer<?> buffer : allBuffers()) {
+            int remaining = buffer.stop(deadline - System.currentTimeMillis());
+            if (remaining > 0) {
+                System.err.println(String.format(
+                    "%s log tamponu kapanışta boşaltılamadı, %d kayıt yazılmadı", buffer.getName(), remaining
+                ));
+            }
+        }
+    }
+
+    public boolean submit(ApiLog log) {
+        if (log.getTraceId() == null) {
+            log.setTraceId(TraceContext.currentTraceId());
+        }
+        boolean accepted = apiLogs.offer(stamp(log, log.getCreatedAt(), log::setCreatedAt));
+        logTailHub.publish(log);
+        return accepted;
+    }
+
+    public boolean submit(ActivityLog log) {
+        if (log.getTraceId() == null) {
+            log.setTraceId(TraceContext.currentTraceId());
+        }
+        boolean accepted = activityLogs.offer(stamp(log, log.getCreatedAt(), log::setCreatedAt));
+        logTailHub.publish(log);
+        return accepted;
+    }
+
+    public boolean submit(ErrorLog log) {
+        if (log.getTraceId() == null) {
+            log.setTraceId(TraceContext.currentTraceId());
+        }
+        TraceContext.markFailed();
+        boolean accepted = errorLogs.offer(stamp(log, log.getCreatedAt(), log::setCreatedAt));
+        logTailHub.publish(log);
+        return accepted;
+    }
+
+    public boolean submit(PerformanceLog log) {
+        boolean accepted = performanceLogs.offer(stamp(log, log.getCreatedAt(), log::setCreatedAt));
+        logTailHub.publish(log);
+        return accepted;
+    }
+
+    public boolean submit(PerformanceSnapshot snapshot) {
+        return performanceSnapshots.offer(stamp(snapshot, snapshot.getCreatedAt(), snapshot::setCreatedAt));
+    }
+
+    public boolean submit(FrontendLog log) {
+        boolean accepted = frontendLogs.offer(stamp(log, log.getCreatedAt(), log::setCreatedAt));
+        logTailHub.publish(log);
+        return accepted;
+    }
+
+    /**
+     * Saklanan trace (span'larıyla); canlı akışa yayınlanmaz
+     */
+    public boolean submit(RequestTrace trace) {
+        return requestTraces.offer(stamp(trace, trace.getCreatedAt(), trace::setCreatedAt));
+    }
+
+    /**
+     * Tüm tamponlarda bekleyen kayıtları hemen yazar (kapanış ve testler için)
+     */
+    public void flushAll() {
+        allBuffers().forEach(LogWriteBuffer::flushNow);
+    }
+
+    /**
+     * Log türü başına sayaçlar (enqueued, flushed, dropped, failed, batches, queued, capacity,
+     * callerRuns, activeWriters)
+     */
+    public Map<String, Map<String, Long>> getStats() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        for (LogWriteBuffer<?> buffer : allBuffers()) {
+            Map<String, Long> counters = new LinkedHashMap<>();
+            counters.put("enqueued", buffer.getEnqueued());
+            counters.put("flushed", buffer.getFlushed());
+            counters.put("dropped", buffer.getDropped());
+            counters.put("failed", buffer.getFailed());
+            counters.put("batches", buffer.getBatches());
+            counters.put("queued", (long) buffer.getQueued());
+            counters.put("capacity", (long) buffer.getCapacity());
+            counters.put("callerRuns", buffer.getCallerRuns());
+            counters.put("activeWriters", (long) buffer.getActiveWriters());
+            stats.put(buffer.getName(), counters);
+        }
+        return stats;
+    }
+
+    private <T> LogWriteBuffer<T> buffer(String name, LogDropPolicy policy, Consumer<List<T>> writer) {
+        return new LogWriteBuffer<>(name, capacity, batchSize, flushIntervalMs, policy, blockTimeoutMs, writer);
+    }
+
+    private List<LogWriteBuffer<?>> allBuffers() {
+        return List.of(apiLogs, activityLogs, errorLogs, performanceLogs, performanceSnapshots, frontendLogs,
+            requestTraces);
+    }
+
+    /**
+     * Kayıt zamanı kuyruğa girdiği an olarak sabitlenir (yazım gecikmesinden bağımsız)
+     */
+    private static <T> T stamp(T log, LocalDateTime createdAt, Consumer<LocalDateTime> setter) {
+        if (createdAt == null) {
+            setter.accept(LocalDateTime.now());
+        }
+        return log;
+    }
+
+    // Batch writers
+
+    private void writeApiLogs(List<ApiLog> batch) {
+        // Body'ler önce (kendi transaction'larında) saklanır, satırlar hash ile referans verir
+        List<String> bodies = new ArrayList<>(batch.size() * 2);
+        for (ApiLog log : batch) {
+            bodies.add(log.getRequestBody());
+            bodies.add(log.getResponseBody());
+        }
+        List<String> hashes = apiLogBodyStore.storeAll(bodies);
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).setRequestBodyHash(hashes.get(i * 2));
+            batch.get(i).setResponseBodyHash(hashes.get(i * 2 + 1));
+            logSearchIndex.add(LogSearchIndex.Field.API_ENDPOINT, batch.get(i).getEndpoint());
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(API_LOG_INSERT, batch, batch.size(), (ps, log) -> {
+                setLong(ps, 1, log.getUserId());
+                ps.setString(2, log.getEndpoint());
+                ps.setString(3, log.getHttpMethod());
+                setInteger(ps, 4, log.getStatusCode());
+                ps.setString(5, log.getRequestBodyHash());
+                ps.setString(6, log.getResponseBodyHash());
+                setLong(ps, 7, log.getDurationMs());
+                ps.setString(8, log.getIp());
+                ps.setString(9, log.getTraceId());
+                setInteger(ps, 10, log.getSqlCount());
+                setLong(ps, 11, log.getSqlTimeMs());
+                setLong(ps, 12, log.getSqlRows());
+                setInteger(ps, 13, log.getSqlMaxRepeat());
+                ps.setTimestamp(14, Timestamp.valueOf(log.getCreatedAt()));
+            })
+        );
+    }
+
+    private void writeActivityLogs(List<ActivityLog> batch) {
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(ACTIVITY_LOG_INSERT, batch, batch.size(), (ps, log) -> {
+                setLong(ps, 1, log.getUserId());
+                ps.setString(2, log.getAction());
+                ps.setString(3, log.getEntityType());
+                setLong(ps, 4, log.getEntityId());
+                ps.setString(5, log.getDescription());
+                ps.setString(6, log.getTraceId());
+                ps.setTimestamp(7, Timestamp.valueOf(log.getCreatedAt()));
+            })
+        );
+    }
+
+    private void writeErrorLogs(List<ErrorLog> batch) {
+        for (ErrorLog log : batch) {
+            logSearchIndex.add(LogSearchIndex.Field.ERROR_ENDPOINT, log.getEndpoint());
+            logSearchIndex.add(LogSearchIndex.Field.ERROR_EXCEPTION_TYPE, log.getExceptionType());
+        }
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(ERROR_LOG_INSERT, batch, batch.size(), (ps, log) -> {
+                setLong(ps, 1, log.getUserId());
+                ps.setString(2, log.getEndpoint());
+                ps.setString(3, log.getExceptionType());
+                ps.setString(4, log.getMessage());
+                ps.setString(5, log.getStacktrace());
+                ps.setString(6, log.getFingerprint());
+                ps.setString(7, log.getTraceId());
+                ps.setTimestamp(8, Timestamp.valueOf(log.getCreatedAt()));
+            })
+        );
+    }
+
+    private void writePerformanceLogs(List<PerformanceLog> batch) {
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(PERFORMANCE_LOG_INSERT, batch, batch.size(), (ps, log) -> {
+                ps.setString(1, log.getEndpoint());
+                setLong(ps, 2, log.getDurationMs());
+                ps.setString(3, log.getMethodName());
+                ps.setTimestamp(4, Timestamp.valueOf(log.getCreatedAt()));
+            })
+        );
+    }
+
+    private void writePerformanceSnapshots(List<PerformanceSnapshot> batch) {
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(PERFORMANCE_SNAPSHOT_INSERT, batch, batch.size(), (ps, snapshot) -> {
+                ps.setString(1, snapshot.getMethodName());
+                setLong(ps, 2, snapshot.getWindowSeconds());
+                setLong(ps, 3, snapshot.getSampleCount());
+                setLong(ps, 4, snapshot.getMeanMicros());
+                setLong(ps, 5, snapshot.getP50Micros());
+                setLong(ps, 6, snapshot.getP90Micros());
+                setLong(ps, 7, snapshot.getP99Micros());
+                setLong(ps, 8, snapshot.getP999Micros());
+                setLong(ps, 9, snapshot.getMaxMicros());
+                ps.setTimestamp(10, Timestamp.valueOf(snapshot.getCreatedAt()));
+            })
+        );
+    }
+
+    private void writeFrontendLogs(List<FrontendLog> batch) {
+        for (FrontendLog log : batch) {
+            logSearchIndex.add(LogSearchIndex.Field.FRONTEND_PAGE, log.getPage());
+        }
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(FRONTEND_LOG_INSERT, batch, batch.size(), (ps, log) -> {
+                setLong(ps, 1, log.getUserId());
+                ps.setString(2, log.getAction());
+                ps.setString(3, log.getPage());
+                ps.setString(4, log.getDetails());
+                ps.setInt(5, log.getEventCount() != null ? log.getEventCount() : 1);
+                ps.setTimestamp(6, Timestamp.valueOf(log.getCreatedAt()));
+            })
+        );
+    }
+
+    private void writeRequestTraces(List<RequestTrace> batch) {
+        List<TraceSpan> spans = new ArrayList<>();
+        for (RequestTrace trace : batch) {
+            spans.addAll(trace.getSpans());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(REQUEST_TRACE_INSERT, batch, batch.size(), (ps, trace) -> {
+                ps.setString(1, trace.getTraceId());
+                ps.setString(2, trace.getHttpMethod());
+                ps.setString(3, trace.getEndpoint());
+                setInteger(ps, 4, trace.getStatusCode());
+                setLong(ps, 5, trace.getDurationMs());
+                ps.setString(6, trace.getReason());
+                setInteger(ps, 7, trace.getSpanCount());
+                setInteger(ps, 8, trace.getDroppedSpans());
+                ps.setTimestamp(9, Timestamp.valueOf(trace.getCreatedAt()));
+            });
+            if (!spans.isEmpty()) {
+                jdbcTemplate.batchUpdate(TRACE_SPAN_INSERT, spans, spans.size(), (ps, span) -> {
+                    ps.setString(1, span.getTraceId());
+                    setInteger(ps, 2, span.getSpanIndex());
+                    setInteger(ps, 3, span.getParentIndex());
+                    ps.setString(4, span.getKind());
+                    ps.setString(5, span.getName());
+                    setLong(ps, 6, span.getStartOffsetUs());
+                    setLong(ps, 7, span.getDurationUs());
+                    ps.setTimestamp(8, Timestamp.valueOf(span.getCreatedAt()));
+                });
+            }
+        });
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.akademi.egitimtakip.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LogRetentionEngine
+ *
+ * Log tablolarındaki süresi dolmuş kayıtları siler. Her log türünün kendi saklama süresi vardır.
+ *
+ * - Silme küme tabanlıdır: satırlar belleğe yüklenmez, id aralıkları (chunk) halinde
+ *   DELETE ... WHERE id BETWEEN ? AND ? AND created_at < ? çalıştırılır.
+ * - Her chunk kendi kısa transaction'ında commit edilir; chunk'lar arasında beklenir,
+ *   böylece temizlik iş trafiğini uzun süreli kilitlerle bekletmez.
+ * - Heap kullanımı tablo boyutundan bağımsızdır (yalnızca id sınırları tutulur).
+ * - api_log_bodies satırları yaşlarına ek olarak hiçbir api_logs satırı referans vermiyorsa silinir
+ *   (aynı body yeni loglarda da kullanılıyor olabilir). Yaş created_at'e değil last_used_at'e göredir ve
+ *   kesim en fazla ApiLogBodyStore.getPurgeGraceCutoff() olur: yeni bir logun tekrar kullandığı body,
+ *   log satırı henüz commit edilmemişken silinmez.
+ * - error_groups satırları da yaşlarına ek olarak error_logs'ta tekrarı kalmamışsa silinir.
+ *
+ * Zamanlanmış olarak (app.logging.retention.cron) ve DELETE /api/logs/clear ile çalışır;
+ * aynı anda tek bir temizlik çalışabilir. İlerleme ve silinen satır sayaçları getStatus() ile okunur.
+ */
+@Component
+public class LogRetentionEngine {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApiLogBodyStore apiLogBodyStore;
+
+    @Autowired
+    private ErrorGroupAggregator errorGroupAggregator;
+
+    @Value("${app.logging.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.logging.retention.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.logging.retention.pause-ms:100}")
+    private long pauseMs;
+
+    @Value("${app.logging.retention.api-days:30}")
+    private int apiDays;
+
+    @Value("${app.logging.retention.activity-days:180}")
+    private int activityDays;
+
+    @Value("${app.logging.retention.error-days:90}")
+    private int errorDays;
+
+    @Value("${app.logging.retention.performance-days:30}")
+    private int performanceDays;
+
+    @Value("${app.logging.retention.performance-snapshot-days:30}")
+    private int performanceSnapshotDays;
+
+    @Value("${app.logging.retention.frontend-days:30}")
+    private int frontendDays;
+
+    @Value("${app.logging.retention.trace-days:14}")
+    private int traceDays;
+
+    @Value("${app.logging.retention.traffic-minute-days:3}")
+    private int trafficMinuteDays;
+
+    @Value("${app.logging.retention.traffic-hour-days:90}")
+    private int trafficHourDays;
+
+    @Value("${app.logging.retention.traffic-day-days:730}")
+    private int trafficDayDays;
+
+    private final Map<String, RetentionTarget> targets = new LinkedHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+    private volatile LocalDateTime lastStartedAt;
+    private volatile LocalDateTime lastFinishedAt;
+
+    private TransactionTemplate chunkTransaction;
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        // Her chunk, çağıran bir transaction içinde olsa bile ayrı commit edilir
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        target("api", "api_logs", apiDays);
+        target("activity", "activity_logs", activityDays);
+        target("error", "error_logs", errorDays);
+        target("performance", "performance_logs", performanceDays);
+        target("performance-snapshot", "performance_snapshots", performanceSnapshotDays);
+        target("frontend", "frontend_logs", frontendDays);
+        target("trace", "request_traces", traceDays);
+        target("trace-span", "trace_spans", traceDays);
+        // api_logs'tan sonra: referansı kalmayan body'ler
+        targets.put("api-body", new RetentionTarget("api-body", "api_log_bodies", "last_used_at", apiDays,
+            " AND NOT EXISTS (SELECT 1 FROM api_logs a WHERE a.request_body_hash = api_log_bodies.hash)" +
+            " AND NOT EXISTS (SELECT 1 FROM api_logs a WHERE a.response_body_hash = api_log_bodies.hash)", true));
+        // error_logs'tan sonra: tekrarı kalmayan hata grupları
+        targets.put("error-group", new RetentionTarget("error-group", "error_groups", "created_at", errorDays,
+            " AND NOT EXISTS (SELECT 1 FROM error_logs e WHERE e.fingerprint = error_groups.fingerprint)", true));
+        // traffic_rollups: katman başına ayrı saklama süresi (created_at = kova başlangıcı).
+        // Rollup'lar log değil özet olduğundan /api/logs/clear'daki gün değeri bunlara uygulanmaz.
+        targets.put("traffic-minute", new RetentionTarget("traffic-minute", "traffic_rollups", "created_at", trafficMinuteDays,
+            " AND tier = 'MINUTE'", false));
+        targets.put("traffic-hour", new RetentionTarget("traffic-hour", "traffic_rollups", "created_at", trafficHourDays,
+            " AND tier = 'HOUR'", false));
+        targets.put("traffic-day", new RetentionTarget("traffic-day", "traffic_rollups", "created_at", trafficDayDays,
+            " AND tier = 'DAY'", false));
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        executor.shutdownNow();
+    }
+
+    /**
+     * Zamanlanmış temizlik (varsayılan: her gece 03:30)
+     */
+    @Scheduled(cron = "${app.logging.retention.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            trigger(null);
+        }
+    }
+
+    /**
+     * Temizliği arka planda başlatır
+     *
+     * @param daysOverride Tüm log türleri için saklama süresi (gün); null ise tür bazlı ayarlar kullanılır
+     *                     (trafik rollup katmanları her zaman kendi sürelerini kullanır)
+     * @return Başlatıldıysa true, zaten çalışan bir temizlik varsa false
+     */
+    public boolean trigger(Integer daysOverride) {
+        validateDays(daysOverride);
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    purgeAll(daysOverride);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Temizliği çağıran thread'de çalıştırır
+     *
+     * @return Log türü başına silinen satır sayısı; başka bir temizlik çalışıyorsa boş map
+     */
+    public Map<String, Long> runNow(Integer daysOverride) {
+        validateDays(daysOverride);
+        if (!running.compareAndSet(false, true)) {
+            return Map.of();
+        }
+        try {
+            return purgeAll(daysOverride);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Tek bir log türünde belirtilen tarihten eski kayıtları siler (çağıran thread'de)
+     *
+     * @param type Log türü (api, activity, error, performance, performance-snapshot, frontend, api-body, error-group,
+     *             traffic-minute, traffic-hour, traffic-day)
+     * @return Silinen satır sayısı
+     */
+    public long purge(String type, LocalDateTime before) {
+        RetentionTarget target = targets.get(type);
+        if (target == null) {
+            throw new IllegalArgumentException("Bilinmeyen log türü: " + type);
+        }
+        return purge(target, before);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Temizlik durumu: çalışıyor mu, son çalışma zamanları ve log türü başına
+     * saklama süresi, ilerleme (currentId / maxId) ve silinen satır sayaçları
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("lastStartedAt", lastStartedAt);
+        status.put("lastFinishedAt", lastFinishedAt);
+        status.put("chunkSize", chunkSize);
+        status.put("pauseMs", pauseMs);
+
+        Map<String, Map<String, Object>> tables = new LinkedHashMap<>();
+        for (RetentionTarget target : targets.values()) {
+            Map<String, Object> counters = new LinkedHashMap<>();
+            counters.put("retentionDays", target.retentionDays);
+            counters.put("cutoff", target.cutoff);
+            counters.put("currentId", target.currentId);
+            counters.put("maxId", target.maxId);
+            counters.put("chunks", target.chunks.get());
+            counters.put("removedLastRun", target.removedLastRun.get());
+            counters.put("removedTotal", target.removedTotal.get());
+            tables.put(target.name, counters);
+        }
+        status.put("tables", tables);
+        return status;
+    }
+
+    // Purge
+
+    private Map<String, Long> purgeAll(Integer daysOverride) {
+        lastStartedAt = LocalDateTime.now();
+        Map<String, Long> removed = new LinkedHashMap<>();
+        for (RetentionTarget target : targets.values()) {
+            if (stopping) {
+                break;
+            }
+            int days = daysOverride != null && target.overridable ? daysOverride : target.retentionDays;
+            try {
+                removed.put(target.name, purge(target, LocalDateTime.now().minusDays(days)));
+            } catch (Exception e) {
+                // Bir tablodaki hata diğer tabloların temizliğini engellememeli
+                System.err.println("Log temizleme hatası (" + target.table + "): " + e.getMessage());
+            }
+        }
+        lastFinishedAt = LocalDateTime.now();
+
+        long total = removed.values().stream().mapToLong(Long::longValue).sum();
+        System.out.println(String.format("🗑️  Log temizleme tamamlandı: %d kayıt silindi %s", total, removed));
+        return removed;
+    }
+
+    private long purge(RetentionTarget target, LocalDateTime before) {
+        if ("api_log_bodies".equals(target.table) && before.isAfter(apiLogBodyStore.getPurgeGraceCutoff())) {
+            // Önbellekten tekrar kullanılan body'nin last_used_at'i bir süre geride kalabilir
+            before = apiLogBodyStore.getPurgeGraceCutoff();
+        }
+        Timestamp cutoff = Timestamp.valueOf(before);
+        target.cutoff = before;
+        target.chunks.set(0);
+        target.removedLastRun.set(0);
+
+        Long maxId = jdbcTemplate.queryForObject(
+            "SELECT MAX(id) FROM " + target.table + " WHERE " + target.ageColumn + " < ?", Long.class, cutoff);
+        Long nextId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + target.table, Long.class);
+        target.maxId = maxId;
+
+        String deleteSql = "DELETE FROM " + target.table + " WHERE id BETWEEN ? AND ? AND " + target.ageColumn + " < ?"
+            + target.condition;
+        String nextIdSql = "SELECT MIN(id) FROM " + target.table + " WHERE id > ?";
+
+        long removed = 0;
+        while (maxId != null && nextId != null && nextId <= maxId && !stopping) {
+            long low = nextId;
+            long high = Math.min(low + chunkSize - 1, maxId);
+            target.currentId = low;
+
+            Integer deleted = chunkTransaction.execute(status ->
+                jdbcTemplate.update(deleteSql, low, high, cutoff));
+            removed += deleted != null ? deleted : 0;
+            target.chunks.incrementAndGet();
+            target.removedLastRun.set(removed);
+            target.removedTotal.addAndGet(deleted != null ? deleted : 0);
+
+            // Kalan (yeni) satırlar ve id boşlukları atlanır
+            nextId = jdbcTemplate.queryForObject(nextIdSql, Long.class, high);
+            if (nextId != null && nextId <= maxId && !pause()) {
+                break;
+            }
+        }
+        target.currentId = null;
+        if (removed > 0 && "api_log_bodies".equals(target.table)) {
+            // Silinen body'lerin hash'leri önbellekte kalırsa yeni loglar olmayan body'ye referans verir
+            apiLogBodyStore.forgetKnownHashes();
+        }
+        if (removed > 0 && "error_groups".equals(target.table)) {
+            // Silinen grup yeniden oluşursa örnek stack trace'iyle yazılsın
+            errorGroupAggregator.forgetKnownFingerprints();
+        }
+        return removed;
+    }
+
+    /**
+     * Chunk'lar arası bekleme; thread kesilirse false döner
+     */
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void target(String name, String table, int retentionDays) {
+        targets.put(name, new RetentionTarget(name, table, "created_at", retentionDays, "", true));
+    }
+
+    private static void validateDays(Integer days) {
+        if (days != null && days < 1) {
+            throw new IllegalArgumentException("Saklama süresi en az 1 gün olmalıdır: " + days);
+        }
+    }
+
+    /**
+     * Tek bir log tablosunun saklama ayarı ve sayaçları
+     */
+    private static final class RetentionTarget {
+        private final String name;
+        private final String table;
+        private final String ageColumn;
+        private final int retentionDays;
+        private final String condition;
+        private final boolean overridable;
+        private final AtomicLong chunks = new AtomicLong();
+        private final AtomicLong removedLastRun = new AtomicLong();
+        private final AtomicLong removedTotal = new AtomicLong();
+        private volatile LocalDateTime cutoff;
+        private volatile Long currentId;
+        private volatile Long maxId;
+
+        private RetentionTarget(String name, String table, String ageColumn, int retentionDays, String condition,
+                                boolean overridable) {
+            this.name = name;
+            this.table = table;
+            this.ageColumn = ageColumn;
+            this.retentionDays = retentionDays;
+            this.condition = condition;
+            this.overridable = overridable;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.akademi.egitimtakip.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LogSearchIndex
+ *
+ * Log filtrelerindeki "contains" aramaları için alt dize indeksi. LIKE '%x%' hiçbir indeksi
+ * kullanamaz ve tüm tabloyu tarar; burada aranan metin önce bellekteki TrigramIndex ile
+ * kolonun eşleşen farklı değerlerine çözülür, satırlar ardından kolon indeksiyle
+ * (kolon IN (...)) okunur. Endpoint, sayfa ve exception türü gibi kolonlarda farklı değer sayısı
+ * satır sayısından çok küçük olduğu için indeks tablo büyüdükçe büyümez.
+ *
+ * - Sözlük uygulama açılınca arka planda SELECT DISTINCT ile kurulur. Kurulum bitene kadar filtreler LIKE ile çalışır.
+ * - LogIngestionPipeline her batch'i yazmadan önce değerleri add() ile sözlüğe ekler; pipeline'dan
+ *   yazılan bir log, id'si veya commit sırası ne olursa olsun flush edildiği anda aramada bulunur.
+ * - Pipeline dışından (LogService, başka bir instance) yazılan satırlar için arama yolunda veritabanına
+ *   gidilmez: catchUp() catch-up-interval-ms'te bir indekslenen en büyük id'den sonraki satırları
+ *   (son rescan-rows satırla birlikte, geç commit edilenler için) okur; resync() resync-interval-ms'te
+ *   bir tüm farklı değerleri yeniden ekler. Bu satırlar aramada en fazla bu aralıklar kadar gecikmeyle görünür.
+ * - Bir catch-up başarısız olursa kolon, sonraki başarılı taramaya kadar LIKE ile aranır (eksik sonuç dönülmez).
+ * - Bir kolonun farklı değer sayısı max-values'u aşarsa o kolon için indeks kapatılır (LIKE'a dönülür).
+ * - Eşleşen değer sayısı max-matches'i aşan aramalar da LIKE ile yapılır (çok uzun IN listesi yerine).
+ * - Silinen loglara ait değerler sözlükte kalır; IN listesine satırı olmayan bir değer eklemek zararsızdır.
+ */
+@Component
+public class LogSearchIndex {
+
+    /**
+     * İndekslenen kolonlar
+     */
+    public enum Field {
+        API_ENDPOINT("api_logs", "endpoint"),
+        ERROR_ENDPOINT("error_logs", "endpoint"),
+        ERROR_EXCEPTION_TYPE("error_logs", "exception_type"),
+        FRONTEND_PAGE("frontend_logs", "page");
+
+        private final String table;
+        private final String column;
+
+        Field(String table, String column) {
+            this.table = table;
+            this.column = column;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+    }
+
+    /**
+     * Bir kolonun sözlüğü ve sözlüğe alınmış en büyük satır id'si
+     */
+    private static final class ColumnIndex {
+        private final TrigramIndex index = new TrigramIndex();
+        private long highWater;
+        // Kurulum sürerken pipeline değerleri eklenir ama aramada kullanılmaz
+        private volatile boolean ready;
+        // Son catch-up başarısız oldu; sözlükte eksik değer olabilir
+        private volatile boolean stale;
+    }
+
+    /**
+     * Bir istek için bir kez çözülmüş "contains" filtresi.
+     *
+     * Aynı Specification hem sayfa hem count sorgusunda uygulanır; değer listesi burada sabitlendiği
+     * için iki sorgu aynı IN listesini (veya ikisi de LIKE'ı) kullanır.
+     */
+    public static final class ContainsFilter {
+        private final String needle;
+        private final boolean ignoreCase;
+        private final List<String> values;
+
+        private ContainsFilter(String needle, boolean ignoreCase, List<String> values) {
+            this.needle = needle;
+            this.ignoreCase = ignoreCase;
+            this.values = values;
+        }
+
+        /**
+         * Kolon IN (eşleşen değerler); indeks kullanılamadıysa LIKE
+         *
+         * @param path Filtrelenen kolon
+         */
+        public Predicate toPredicate(CriteriaBuilder cb, Expression<String> path) {
+            if (values == null) {
+                return ignoreCase
+                    ? cb.like(cb.lower(path), "%" + needle.toLowerCase(Locale.ROOT) + "%")
+                    : cb.like(path, "%" + needle + "%");
+            }
+            return values.isEmpty() ? cb.disjunction() : path.in(values);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.logging.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.logging.search.max-values:200000}")
+    private int maxValues;
+
+    @Value("${app.logging.search.max-matches:1000}")
+    private int maxMatches;
+
+    @Value("${app.logging.search.rescan-rows:2000}")
+    private long rescanRows;
+
+    // Kurulmakta olan ve hazır kolonlar; aramada yalnızca ready ve stale olmayanlar kullanılır
+    private final Map<Field, ColumnIndex> indexes = new ConcurrentHashMap<>();
+
+    private final AtomicLong indexedQueries = new AtomicLong();
+    private final AtomicLong fallbackQueries = new AtomicLong();
+    private final AtomicLong caughtUpRows = new AtomicLong();
+    private final AtomicLong pipelineValues = new AtomicLong();
+    private final AtomicLong failedCatchUps = new AtomicLong();
+    private final AtomicLong disabledFields = new AtomicLong();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Uygulama hazır olduğunda sözlükleri arka planda kurar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            executor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    System.err.println("Log arama indeksi kurulamadı: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Tüm kolonların sözlüğünü veritabanından yeniden kurar (çağıran thread'de)
+     */
+    public synchronized void rebuild() {
+        for (Field field : Field.values()) {
+            // Tarama sürerken pipeline'ın eklediği değerler kaybolmasın diye kolon önce kaydedilir
+            ColumnIndex column = new ColumnIndex();
+            indexes.put(field, column);
+            column.highWater = maxId(field);
+            if (addDistinct(field, column)) {
+                column.ready = true;
+            }
+        }
+        System.out.println(String.format("🔎 Log arama indeksi hazır: %s", getStats()));
+    }
+
+    /**
+     * Aranan metni içeren kolon değerlerini döner
+     *
+     * @return Eşleşen değerler; indeks hazır değilse, son catch-up başarısızsa veya eşleşme max-matches'i aşarsa
+     *         null (LIKE kullanılmalı)
+     */
+    public List<String> resolve(Field field, String needle, boolean ignoreCase) {
+        ColumnIndex column = indexes.get(field);
+        List<String> values = column != null && column.ready && !column.stale
+            ? column.index.search(needle, ignoreCase, maxMatches)
+            : null;
+        (values != null ? indexedQueries : fallbackQueries).incrementAndGet();
+        return values;
+    }
+
+    /**
+     * Aranan metni bir kez çözer; dönen filtre aynı isteğin sayfa ve count sorgularında kullanılır
+     *
+     * @param ignoreCase Büyük/küçük harf duyarsız
+     */
+    public ContainsFilter filter(Field field, String needle, boolean ignoreCase) {
+        return new ContainsFilter(needle, ignoreCase, resolve(field, needle, ignoreCase));
+    }
+
+    /**
+     * Pipeline'ın yazdığı bir değeri sözlüğe ekler (kurulmakta olan kolon dahil)
+     */
+    public void add(Field field, String value) {
+        ColumnIndex column = indexes.get(field);
+        if (column == null || value == null) {
+            return;
+        }
+        column.index.add(value);
+        pipelineValues.incrementAndGet();
+        if (column.index.size() > maxValues) {
+            disable(field, column);
+        }
+    }
+
+    /**
+     * Pipeline dışından yazılan satırlar için güvenlik ağı: indekslenen en büyük id'den sonraki
+     * (ve geç commit edilmiş olabilecek son rescan-rows) satırların değerlerini sözlüğe ekler
+     */
+    @Scheduled(
+        initialDelayString = "${app.logging.search.catch-up-interval-ms:5000}",
+        fixedDelayString = "${app.logging.search.catch-up-interval-ms:5000}"
+    )
+    public synchronized void catchUp() {
+        for (Field field : Field.values()) {
+            ColumnIndex column = indexes.get(field);
+            if (column == null || !column.ready) {
+                continue;
+            }
+            try {
+                long to = maxId(field);
+                // highWater'ın altındaki id'ler de önceki okumadan sonra commit edilmiş olabilir
+                long from = Math.max(0L, column.highWater - rescanRows);
+                jdbcTemplate.query(
+                    "SELECT DISTINCT " + field.getColumn() + " FROM " + field.getTable() +
+                        " WHERE id > ? AND id <= ? AND " + field.getColumn() + " IS NOT NULL",
+                    rs -> {
+                        column.index.add(rs.getString(1));
+                    },
+                    from, to);
+                if (to > column.highWater) {
+                    caughtUpRows.addAndGet(to - column.highWater);
+                    column.highWater = to;
+                }
+                if (column.index.size() > maxValues) {
+                    disable(field, column);
+                } else {
+                    column.stale = false;
+                }
+            } catch (Exception e) {
+                markStale(field, column, e);
+            }
+        }
+    }
+
+    /**
+     * Tüm farklı değerleri sözlüğü boşaltmadan yeniden ekler; rescan-rows penceresinden daha
+     * geç commit edilen satırları da yakalar
+     */
+    @Scheduled(
+        initialDelayString = "${app.logging.search.resync-interval-ms:600000}",
+        fixedDelayString = "${app.logging.search.resync-interval-ms:600000}"
+    )
+    public synchronized void resync() {
+        for (Field field : Field.values()) {
+            ColumnIndex column = indexes.get(field);
+            if (column == null || !column.ready) {
+                continue;
+            }
+            try {
+                addDistinct(field, column);
+            } catch (Exception e) {
+                markStale(field, column, e);
+            }
+        }
+    }
+
+    /**
+     * Sayaçlar: kolon başına farklı değer sayısı (<tablo>.<kolon>), trigrams, postingBytes,
+     * readyFields, disabledFields, pipelineValues, caughtUpRows, failedCatchUps, indexedQueries, fallbackQueries
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        long trigrams = 0;
+        long postingBytes = 0;
+        Map<Field, ColumnIndex> snapshot = new EnumMap<>(Field.class);
+        snapshot.putAll(indexes);
+        for (Map.Entry<Field, ColumnIndex> entry : snapshot.entrySet()) {
+            TrigramIndex index = entry.getValue().index;
+            stats.put(entry.getKey().getTable() + "." + entry.getKey().getColumn(), (long) index.size());
+            trigrams += index.trigramCount();
+            postingBytes += index.postingBytes();
+        }
+        stats.put("trigrams", trigrams);
+        stats.put("postingBytes", postingBytes);
+        stats.put("readyFields", snapshot.values().stream().filter(c -> c.ready && !c.stale).count());
+        stats.put("disabledFields", disabledFields.get());
+        stats.put("pipelineValues", pipelineValues.get());
+        stats.put("caughtUpRows", caughtUpRows.get());
+        stats.put("failedCatchUps", failedCatchUps.get());
+        stats.put("indexedQueries", indexedQueries.get());
+        stats.put("fallbackQueries", fallbackQueries.get());
+        return stats;
+    }
+
+    // Helpers
+
+    /**
+     * Kolonun tüm farklı değerlerini sözlüğe ekler
+     *
+     * @return Kolon hâlâ indeksliyse true (değer sayısı max-values'u aştıysa false)
+     */
+    private boolean addDistinct(Field field, ColumnIndex column) {
+        boolean[] overflow = {false};
+        jdbcTemplate.query(
+            "SELECT DISTINCT " + field.getColumn() + " FROM " + field.getTable() +
+                " WHERE " + field.getColumn() + " IS NOT NULL",
+            rs -> {
+                if (!overflow[0]) {
+                    column.index.add(rs.getString(1));
+                    overflow[0] = column.index.size() > maxValues;
+                }
+            });
+        if (overflow[0]) {
+            disable(field, column);
+            return false;
+        }
+        return true;
+    }
+
+    private void markStale(Field field, ColumnIndex column, Exception e) {
+        column.stale = true;
+        failedCatchUps.incrementAndGet();
+        System.err.println(String.format(
+            "Log arama indeksi güncellenemedi, %s.%s LIKE ile aranacak: %s",
+            field.getTable(), field.getColumn(), e.getMessage()));
+    }
+
+    private long maxId(Field field) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + field.getTable(), Long.class);
+        return max != null ? max : 0L;
+    }
+
+    private void disable(Field field, ColumnIndex column) {
+        if (!indexes.remove(field, column)) {
+            return;
+        }
+        disabledFields.incrementAndGet();
+        System.err.println(String.format(
+            "Log arama indeksi kapatıldı: %s.%s %d'den fazla farklı değer içeriyor",
+            field.getTable(), field.getColumn(), maxValues));
+    }
+}
@@ -0,0 +1,374 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.dto.LogTailEventDTO;
+import com.akademi.egitimtakip.entity.ActivityLog;
+import com.akademi.egitimtakip.entity.ApiLog;
+import com.akademi.egitimtakip.entity.ErrorLog;
+import com.akademi.egitimtakip.entity.FrontendLog;
+import com.akademi.egitimtakip.entity.PerformanceLog;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LogTailHub
+ *
+ * Canlı log akışı (Server-Sent Events). LogIngestionPipeline her kaydı tampona bırakırken
+ * buraya da yayınlar; kayıtlar veritabanına hiç uğramadan abonelere iletilir.
+ *
+ * - Abone yoksa publish() tek bir boş liste kontrolüdür.
+ * - Filtreler (log türü, endpoint, kullanıcı) yayın sırasında sunucuda uygulanır.
+ * - Her abonenin sınırlı (buffer-size) kendi kuyruğu ve gönderici thread'i vardır; istek thread'i
+ *   hiçbir zaman istemciye yazmaz. Takılan bir tarayıcı yalnızca kendi thread'ini bekletir.
+ * - Kuyruk dolduğunda slow-consumer politikası uygulanır: DROP_OLDEST en eski kaydı atar ve
+ *   istemciye "dropped" olayıyla kaç kayıt kaçırdığını bildirir; DISCONNECT bağlantıyı kapatır.
+ */
+@Component
+public class LogTailHub {
+
+    /**
+     * Akışa verilebilen log türleri (performance snapshot'ları hariç)
+     */
+    public static final List<String> TYPES = List.of("api", "activity", "error", "performance", "frontend");
+
+    /**
+     * Metin alanlarının akışta gönderilen en fazla uzunluğu
+     */
+    private static final int MAX_SUMMARY_LENGTH = 500;
+
+    /**
+     * Gönderici thread'in bir turda yazdığı en fazla kayıt
+     */
+    private static final int SEND_BATCH = 100;
+
+    /**
+     * Abone kuyruğu dolduğunda ne yapılacağı
+     */
+    public enum SlowConsumerPolicy {
+
+        /**
+         * En eski kayıt atılır, istemciye atılan kayıt sayısı bildirilir
+         */
+        DROP_OLDEST,
+
+        /**
+         * Bağlantı kapatılır (istemci yeniden bağlanabilir)
+         */
+        DISCONNECT
+    }
+
+    @Value("${app.logging.tail.buffer-size:500}")
+    private int bufferSize;
+
+    @Value("${app.logging.tail.max-subscribers:20}")
+    private int maxSubscribers;
+
+    @Value("${app.logging.tail.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.logging.tail.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${app.logging.tail.slow-consumer:DROP_OLDEST}")
+    private SlowConsumerPolicy slowConsumerPolicy;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong disconnected = new AtomicLong();
+
+    /**
+     * Yeni bir SSE aboneliği açar
+     *
+     * @param types Virgülle ayrılmış log türleri (boşsa hepsi)
+     * @param endpoint Endpoint'te aranacak metin (null ise hepsi)
+     * @param userId Kullanıcı filtresi (null ise hepsi)
+     * @return Emitter; abone sınırı doluysa null
+     * @throws IllegalArgumentException Bilinmeyen log türü verilirse
+     */
+    public SseEmitter subscribe(String types, String endpoint, Long userId) {
+        Set<String> typeSet = parseTypes(types);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = subscribe(typeSet, endpoint, userId, new EmitterSink(emitter));
+        if (subscriber == null) {
+            return null;
+        }
+        emitter.onCompletion(subscriber::close);
+        // Zaman aşımı (kopan istemci dahil) burada tamamlanmazsa hata olarak error_logs'a düşer
+        emitter.onTimeout(() -> {
+            subscriber.close();
+            emitter.complete();
+        });
+        emitter.onError(e -> subscriber.close());
+        return emitter;
+    }
+
+    synchronized Subscriber subscribe(Set<String> types, String endpoint, Long userId, EventSink sink) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        Subscriber subscriber = new Subscriber(nextId.incrementAndGet(), types,
+            endpoint != null && !endpoint.isBlank() ? endpoint : null, userId, sink);
+        subscribers.add(subscriber);
+        subscriber.start();
+        return subscriber;
+    }
+
+    public void publish(ApiLog log) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatch(new LogTailEventDTO("api", log.getCreatedAt(), log.getUserId(), log.getHttpMethod(),
+            log.getEndpoint(), log.getStatusCode(), log.getDurationMs(), null, null));
+    }
+
+    public void publish(ActivityLog log) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String entity = log.getEntityId() != null ? log.getEntityType() + "#" + log.getEntityId() : log.getEntityType();
+        dispatch(new LogTailEventDTO("activity", log.getCreatedAt(), log.getUserId(), log.getAction(),
+            entity, null, null, truncate(log.getDescription()), null));
+    }
+
+    public void publish(ErrorLog log) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatch(new LogTailEventDTO("error", log.getCreatedAt(), log.getUserId(), null, log.getEndpoint(),
+            null, null, truncate(log.getExceptionType() + ": " + log.getMessage()), log.getFingerprint()));
+    }
+
+    public void publish(PerformanceLog log) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatch(new LogTailEventDTO("performance", log.getCreatedAt(), null, null, log.getMethodName(),
+            null, log.getDurationMs(), null, null));
+    }
+
+    public void publish(FrontendLog log) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatch(new LogTailEventDTO("frontend", log.getCreatedAt(), log.getUserId(), log.getAction(),
+            log.getPage(), null, null, truncate(log.getDetails()), null));
+    }
+
+    /**
+     * Sayaçlar: subscribers, published, delivered, dropped, disconnected
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("subscribers", (long) subscribers.size());
+        stats.put("published", published.get());
+        stats.put("delivered", delivered.get());
+        stats.put("dropped", dropped.get());
+        stats.put("disconnected", disconnected.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        subscribers.forEach(Subscriber::close);
+    }
+
+    // Helpers
+
+    private void dispatch(LogTailEventDTO event) {
+        published.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private static Set<String> parseTypes(String types) {
+        if (types == null || types.isBlank()) {
+            return new LinkedHashSet<>(TYPES);
+        }
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String type : types.split(",")) {
+            String normalized = type.trim().toLowerCase(Locale.ROOT);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            if (!TYPES.contains(normalized)) {
+                throw new IllegalArgumentException("Geçersiz log türü: " + type.trim() + " (" + String.join(", ", TYPES) + ")");
+            }
+            parsed.add(normalized);
+        }
+        return parsed.isEmpty() ? new LinkedHashSet<>(TYPES) : parsed;
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_SUMMARY_LENGTH ? value.substring(0, MAX_SUMMARY_LENGTH) : value;
+    }
+
+    /**
+     * Bir abonenin olaylarını yazdığı hedef (SSE bağlantısı; testlerde sahte hedef)
+     */
+    interface EventSink {
+
+        void send(String name, Object data) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void close();
+    }
+
+    private static final class EmitterSink implements EventSink {
+
+        private final SseEmitter emitter;
+
+        private EmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(String name, Object data) throws IOException {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("ping"));
+        }
+
+        @Override
+        public void close() {
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                // Bağlantı zaten kapanmış
+            }
+        }
+    }
+
+    /**
+     * Tek bir abone: filtre, sınırlı kuyruk ve gönderici thread
+     */
+    final class Subscriber {
+
+        private final long id;
+        private final Set<String> types;
+        private final String endpoint;
+        private final Long userId;
+        private final EventSink sink;
+        private final BlockingQueue<LogTailEventDTO> queue;
+        private final AtomicLong unreportedDrops = new AtomicLong();
+        private volatile boolean closed;
+        private Thread sender;
+
+        private Subscriber(long id, Set<String> types, String endpoint, Long userId, EventSink sink) {
+            this.id = id;
+            this.types = types;
+            this.endpoint = endpoint;
+            this.userId = userId;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean matches(LogTailEventDTO event) {
+            return types.contains(event.getType())
+                && (endpoint == null || (event.getEndpoint() != null && event.getEndpoint().contains(endpoint)))
+                && (userId == null || userId.equals(event.getUserId()));
+        }
+
+        /**
+         * Yayın thread'inde çalışır; hiçbir zaman beklemez
+         */
+        void offer(LogTailEventDTO event) {
+            if (queue.offer(event)) {
+                return;
+            }
+            if (slowConsumerPolicy == SlowConsumerPolicy.DISCONNECT) {
+                disconnected.incrementAndGet();
+                close();
+                return;
+            }
+            if (queue.poll() != null) {
+                dropped.incrementAndGet();
+                unreportedDrops.incrementAndGet();
+            }
+            queue.offer(event);
+        }
+
+        int queued() {
+            return queue.size();
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            if (sender != null) {
+                sender.interrupt();
+            }
+        }
+
+        private void start() {
+            sender = new Thread(this::run, "log-tail-" + id);
+            sender.setDaemon(true);
+            sender.start();
+        }
+
+        private void run() {
+            List<LogTailEventDTO> batch = new ArrayList<>(SEND_BATCH);
+            try {
+                sink.send("connected", Map.of("types", types));
+                while (!closed) {
+                    LogTailEventDTO first = queue.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                    long lost = unreportedDrops.getAndSet(0);
+                    if (lost > 0) {
+                        sink.send("dropped", Map.of("dropped", lost));
+                    }
+                    if (first == null) {
+                        if (lost == 0) {
+                            sink.heartbeat();
+                        }
+                        continue;
+                    }
+                    batch.clear();
+                    batch.add(first);
+                    queue.drainTo(batch, SEND_BATCH - 1);
+                    for (LogTailEventDTO event : batch) {
+                        sink.send(event.getType(), event);
+                    }
+                    delivered.addAndGet(batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // İstemci bağlantıyı kapattı veya yazma zaman aşımına uğradı
+            } finally {
+                closed = true;
+                subscribers.remove(this);
+                sink.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.akademi.egitimtakip.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * LogWriteBuffer
+ * 
+ * Tek bir log türü için sınırlı (bounded) yazma tamponu.
+ * İstek thread'leri kayıtları kuyruğa bırakır; tek bir yazıcı thread kuyruğu
+ * batchSize kayıtta bir veya flushIntervalMs dolduğunda toplu olarak boşaltır.
+ * Kuyruk dolduğunda LogDropPolicy uygulanır; bekleyen kayıt sayısı (ve tuttukları bellek)
+ * hiçbir zaman capacity'yi aşmaz.
+ *
+ * @param <T> Log kaydı tipi
+ */
+public class LogWriteBuffer<T> {
+
+    private final String name;
+    private final int capacity;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final LogDropPolicy dropPolicy;
+    private final long blockTimeoutMs;
+    private final Consumer<List<T>> writer;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicInteger activeWriters = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public LogWriteBuffer(String name, int capacity, int batchSize, long flushIntervalMs,
+                          LogDropPolicy dropPolicy, long blockTimeoutMs, Consumer<List<T>> writer) {
+        this.name = name;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.dropPolicy = dropPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.writer = writer;
+    }
+
+    /**
+     * Yazıcı thread'i başlatır
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriter, "log-writer-" + name);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Yazıcı thread'i durdurur; kuyrukta kalan kayıtlar son kez yazılır
+     * @return timeoutMs içinde yazılamayıp kuyrukta kalan kayıt sayısı
+     */
+    public synchronized int stop(long timeoutMs) {
+        running = false;
+        if (writerThread == null) {
+            return queue.size();
+        }
+        try {
+            writerThread.join(Math.max(1, timeoutMs));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+        return queue.size();
+    }
+
+    /**
+     * Kaydı kuyruğa bırakır
+     * @return Kayıt kabul edildiyse (CALLER_RUNS'ta: yazıldıysa) true, atıldıysa veya yazılamadıysa false
+     */
+    public boolean offer(T record) {
+        if (record == null) {
+            return false;
+        }
+
+        boolean accepted = queue.offer(record);
+        if (!accepted) {
+            switch (dropPolicy) {
+                case DROP_OLDEST -> {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                    accepted = queue.offer(record);
+                }
+                case BLOCK -> {
+                    try {
+                        accepted = queue.offer(record, blockTimeoutMs, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                case CALLER_RUNS -> {
+                    callerRuns.incrementAndGet();
+                    return write(List.of(record));
+                }
+                default -> { }
+            }
+        }
+
+        if (accepted) {
+            enqueued.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    /**
+     * Kuyrukta bekleyen tüm kayıtları çağıran thread'de hemen yazar
+     */
+    public void flushNow() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void runWriter() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // batchSize dolana veya flush süresi geçene kadar topla
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                // Kesildiyse elde ve kuyrukta kalanı yazıp çık
+                write(batch);
+                batch.clear();
+                flushNow();
+                running = false;
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * @return Batch yazıldıysa true, yazıcı hata verdiyse false (kayıtlar failed'a sayılır)
+     */
+    private boolean write(List<T> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        activeWriters.incrementAndGet();
+        try {
+            writer.accept(batch);
+            flushed.addAndGet(batch.size());
+            batches.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            // Loglama hatası uygulamayı etkilememeli
+            failed.addAndGet(batch.size());
+            System.err.println(String.format(
+                "%s log batch'i yazılamadı (%d kayıt): %s", name, batch.size(), e.getMessage()
+            ));
+            return false;
+        } finally {
+            activeWriters.decrementAndGet();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getEnqueued() {
+        return enqueued.get();
+    }
+
+    public long getFlushed() {
+        return flushed.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * CALLER_RUNS ile istek thread'inde yazılan kayıt sayısı
+     */
+    public long getCallerRuns() {
+        return callerRuns.get();
+    }
+
+    /**
+     * Şu an batch yazan thread sayısı (yazıcı thread + CALLER_RUNS istek thread'leri)
+     */
+    public int getActiveWriters() {
+        return activeWriters.get();
+    }
+}
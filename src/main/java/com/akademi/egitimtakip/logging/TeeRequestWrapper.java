@@ -0,0 +1,95 @@
+package com.akademi.egitimtakip.logging;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TeeRequestWrapper
+ * 
+ * Request body okunurken okunan byte'ların ilk N'ini CaptureBuffer'a kopyalar.
+ * ContentCachingRequestWrapper'dan farkı: body'nin tamamı bellekte tutulmaz.
+ */
+public class TeeRequestWrapper extends HttpServletRequestWrapper {
+
+    private final CaptureBuffer capture;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public TeeRequestWrapper(HttpServletRequest request, CaptureBuffer capture) {
+        super(request);
+        this.capture = capture;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new TeeInputStream(super.getInputStream(), capture);
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), getCharset()));
+        }
+        return reader;
+    }
+
+    private Charset getCharset() {
+        String encoding = getCharacterEncoding();
+        return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
+
+    private static final class TeeInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final CaptureBuffer capture;
+
+        private TeeInputStream(ServletInputStream delegate, CaptureBuffer capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                capture.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            if (count > 0) {
+                capture.write(b, off, count);
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.akademi.egitimtakip.logging;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.function.Predicate;
+
+/**
+ * TeeResponseWrapper
+ * 
+ * Yanıt byte'larını hemen istemciye iletir, yalnızca ilk N byte'ı CaptureBuffer'a kopyalar.
+ * ContentCachingResponseWrapper'ın aksine body bellekte biriktirilmez, yanıt akışı bozulmaz.
+ * İlk yazımda içerik tipi streaming ise (SSE, NDJSON, ...) kopyalama tamamen kapatılır.
+ * Writer yolunda karakterler yanıtın charset'iyle değil UTF-8 ile kopyalanır (CaptureBuffer.writeChars).
+ */
+public class TeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private final CaptureBuffer capture;
+    private final Predicate<String> streamingContentType;
+    private boolean firstWrite = true;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public TeeResponseWrapper(HttpServletResponse response, CaptureBuffer capture,
+                              Predicate<String> streamingContentType) {
+        super(response);
+        this.capture = capture;
+        this.streamingContentType = streamingContentType;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new TeePrintWriter(super.getWriter());
+        }
+        return writer;
+    }
+
+    /**
+     * İlk yazımda streaming yanıtları yakalamadan çıkarır
+     */
+    private void beforeWrite() {
+        if (firstWrite) {
+            firstWrite = false;
+            if (streamingContentType.test(getContentType())) {
+                capture.stop();
+            }
+        }
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            beforeWrite();
+            delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            beforeWrite();
+            delegate.write(b, off, len);
+            capture.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    private final class TeePrintWriter extends PrintWriter {
+
+        private TeePrintWriter(PrintWriter delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(int c) {
+            beforeWrite();
+            super.write(c);
+            capture.writeChar(c);
+        }
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            beforeWrite();
+            super.write(buf, off, len);
+            capture.writeChars(buf, off, len);
+        }
+
+        @Override
+        public void write(String s, int off, int len) {
+            beforeWrite();
+            super.write(s, off, len);
+            capture.writeChars(s, off, len);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.akademi.egitimtakip.logging;
+
+/**
+ * TokenBucket
+ *
+ * Saniyede en fazla ratePerSecond izin veren basit token bucket.
+ * Kova kapasitesi bir saniyelik izin kadardır; boşken gelen istekler reddedilir (beklemez).
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double ratePerSecond;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = Math.max(1.0, ratePerSecond);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Bir token almaya çalışır
+     * @return Token alındıysa true
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        double refill = (now - lastRefillNanos) * ratePerSecond / NANOS_PER_SECOND;
+        if (refill > 0) {
+            tokens = Math.min(capacity, tokens + refill);
+            lastRefillNanos = now;
+        }
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,256 @@
+package com.akademi.egitimtakip.logging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * TrigramIndex
+ *
+ * Bir kolonun farklı (distinct) değerleri üzerinde trigram ters indeksi.
+ * Her değere eklenme sırasıyla bir id verilir; her trigram için id'ler artan sırada
+ * delta + varint kodlanmış bir byte dizisinde (posting listesi) tutulur.
+ *
+ * Alt dize araması aranan metnin trigramlarının posting listelerini (en kısadan başlayarak)
+ * kesiştirir, adayları gerçek contains kontrolüyle doğrular. Trigramlar küçük harfe çevrilmiş
+ * değerden çıkarılır; büyük/küçük harf duyarlı arama da aynı indeksle yapılır, doğrulamada ayrılır.
+ * 3 karakterden kısa aramalar değer sözlüğünü baştan sona tarar (tablo yerine sözlük).
+ *
+ * Thread-safe'tir: eklemeler yazma, aramalar okuma kilidi altında yapılır.
+ */
+public class TrigramIndex {
+
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long postingBytes;
+
+    /**
+     * Değeri sözlüğe ekler (zaten varsa bir şey yapmaz)
+     *
+     * @return Değer yeni eklendiyse true
+     */
+    public boolean add(String value) {
+        if (value == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            if (ids.containsKey(value)) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (ids.containsKey(value)) {
+                return false;
+            }
+            int id = values.size();
+            values.add(value);
+            ids.put(value, id);
+            for (long trigram : trigrams(value.toLowerCase(Locale.ROOT))) {
+                PostingList list = postings.computeIfAbsent(trigram, t -> new PostingList());
+                postingBytes -= list.bytes();
+                list.append(id);
+                postingBytes += list.bytes();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aranan metni içeren değerleri döner
+     *
+     * @param needle Aranan metin
+     * @param ignoreCase Büyük/küçük harf duyarsız (lower(x) LIKE lower('%needle%') ile aynı)
+     * @param limit En fazla eşleşme; aşılırsa null döner
+     * @return Eşleşen değerler (eklenme sırasıyla) veya limit aşıldıysa null
+     */
+    public List<String> search(String needle, boolean ignoreCase, int limit) {
+        String lowerNeedle = needle.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            List<String> matches = new ArrayList<>();
+            if (lowerNeedle.length() < 3) {
+                for (String value : values) {
+                    if (matches(value, needle, lowerNeedle, ignoreCase) && !addLimited(matches, value, limit)) {
+                        return null;
+                    }
+                }
+                return matches;
+            }
+
+            for (int id : candidates(lowerNeedle)) {
+                String value = values.get(id);
+                if (matches(value, needle, lowerNeedle, ignoreCase) && !addLimited(matches, value, limit)) {
+                    return null;
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sözlükteki farklı değer sayısı
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return values.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Farklı trigram sayısı
+     */
+    public int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posting listelerinin kodlanmış toplam boyutu (byte)
+     */
+    public long postingBytes() {
+        lock.readLock().lock();
+        try {
+            return postingBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helpers
+
+    /**
+     * Aranan metnin tüm trigramlarını içeren değer id'leri (artan sırada)
+     */
+    private int[] candidates(String lowerNeedle) {
+        List<PostingList> lists = new ArrayList<>();
+        for (long trigram : trigrams(lowerNeedle)) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::count));
+
+        int[] result = lists.get(0).decode();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i).decode());
+        }
+        return result;
+    }
+
+    private static Set<Long> trigrams(String lower) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            trigrams.add(((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static boolean matches(String value, String needle, String lowerNeedle, boolean ignoreCase) {
+        return ignoreCase ? value.toLowerCase(Locale.ROOT).contains(lowerNeedle) : value.contains(needle);
+    }
+
+    private static boolean addLimited(List<String> matches, String value, int limit) {
+        if (matches.size() >= limit) {
+            return false;
+        }
+        matches.add(value);
+        return true;
+    }
+
+    /**
+     * Artan id'lerin delta + varint kodlanmış listesi (yalnızca sona ekleme)
+     */
+    private static final class PostingList {
+        private byte[] data = new byte[4];
+        private int length;
+        private int count;
+        private int last;
+
+        private void append(int id) {
+            int delta = id - last;
+            last = id;
+            count++;
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+            }
+            while ((delta & ~0x7F) != 0) {
+                data[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            data[length++] = (byte) delta;
+        }
+
+        private int[] decode() {
+            int[] ids = new int[count];
+            int position = 0;
+            int current = 0;
+            for (int i = 0; i < count; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                current += delta;
+                ids[i] = current;
+            }
+            return ids;
+        }
+
+        private int count() {
+            return count;
+        }
+
+        private int bytes() {
+            return data.length;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.akademi.egitimtakip.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConnectionPoolMetrics
+ *
+ * HikariCP havuzlarına MetricsTrackerFactory olarak bağlanır (DataSource bean'i başlatılmadan,
+ * havuz açılmadan önce) ve Prometheus için havuz başına şunları tutar:
+ * bağlantı bekleme süresi (acquire), kullanım süresi, bağlantı açma süresi, zaman aşımları
+ * ve PoolStats üzerinden active/idle/pending/max anlık değerleri.
+ *
+ * Hikari tracker'ı her bağlantı alımında çağırır; kayıtlar LongAdder'a yazılır, kilit alınmaz.
+ * Başka bir tracker zaten ayarlanmışsa havuza dokunulmaz.
+ */
+@Component
+public class ConnectionPoolMetrics implements BeanPostProcessor, MetricsTrackerFactory {
+
+    private final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null
+                && hikari.getMetricRegistry() == null) {
+            hikari.setMetricsTrackerFactory(this);
+        }
+        return bean;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolMetrics metrics = new PoolMetrics(poolStats);
+        pools.put(poolName, metrics);
+        return metrics;
+    }
+
+    /**
+     * hikaricp_* ailelerini yazar
+     */
+    public void write(PrometheusWriter writer) {
+        writer.family("hikaricp_connections_active", PrometheusWriter.GAUGE, "Connections in use");
+        pools.forEach((pool, metrics) -> writer.sample("hikaricp_connections_active", labels(pool),
+            metrics.stats.getActiveConnections()));
+        writer.family("hikaricp_connections_idle", PrometheusWriter.GAUGE, "Idle connections");
+        pools.forEach((pool, metrics) -> writer.sample("hikaricp_connections_idle", labels(pool),
+            metrics.stats.getIdleConnections()));
+        writer.family("hikaricp_connections_pending", PrometheusWriter.GAUGE, "Threads waiting for a connection");
+        pools.forEach((pool, metrics) -> writer.sample("hikaricp_connections_pending", labels(pool),
+            metrics.stats.getPendingThreads()));
+        writer.family("hikaricp_connections_max", PrometheusWriter.GAUGE, "Maximum pool size");
+        pools.forEach((pool, metrics) -> writer.sample("hikaricp_connections_max", labels(pool),
+            metrics.stats.getMaxConnections()));
+
+        writer.family("hikaricp_connections_acquire_seconds", PrometheusWriter.SUMMARY,
+            "Time spent waiting for a connection from the pool");
+        pools.forEach((pool, metrics) -> {
+            writer.sample("hikaricp_connections_acquire_seconds_count", labels(pool), metrics.acquireCount.sum());
+            writer.sample("hikaricp_connections_acquire_seconds_sum", labels(pool),
+                metrics.acquireNanos.sum() / 1_000_000_000.0);
+        });
+        writer.family("hikaricp_connections_acquire_max_seconds", PrometheusWriter.GAUGE,
+            "Longest connection wait since startup");
+        pools.forEach((pool, metrics) -> writer.sample("hikaricp_connections_acquire_max_seconds", labels(pool),
+            metrics.maxAcquireNanos.get() / 1_000_000_000.0));
+        writer.family("hikaricp_connections_usage_seconds", PrometheusWriter.SUMMARY,
+            "Time a connection was borrowed from the pool");
+        pools.forEach((pool, metrics) -> {
+            writer.sample("hikaricp_connections_usage_seconds_count", labels(pool), metrics.usageCount.sum());
+            writer.sample("hikaricp_connections_usage_seconds_sum", labels(pool), metrics.usageMillis.sum() / 1000.0);
+        });
+        writer.family("hikaricp_connections_creation_seconds", PrometheusWriter.SUMMARY,
+            "Time spent opening physical connections");
+        pools.forEach((pool, metrics) -> {
+            writer.sample("hikaricp_connections_creation_seconds_count", labels(pool), metrics.createdCount.sum());
+            writer.sample("hikaricp_connections_creation_seconds_sum", labels(pool),
+                metrics.createdMillis.sum() / 1000.0);
+        });
+        writer.family("hikaricp_connections_timeout_total", PrometheusWriter.COUNTER,
+            "Connection requests that timed out");
+        pools.forEach((pool, metrics) -> writer.sample("hikaricp_connections_timeout_total", labels(pool),
+            metrics.timeouts.sum()));
+    }
+
+    private static String[] labels(String pool) {
+        return new String[]{"pool", pool};
+    }
+
+    private static final class PoolMetrics implements IMetricsTracker {
+        private final PoolStats stats;
+        private final LongAdder acquireCount = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final AtomicLong maxAcquireNanos = new AtomicLong();
+        private final LongAdder usageCount = new LongAdder();
+        private final LongAdder usageMillis = new LongAdder();
+        private final LongAdder createdCount = new LongAdder();
+        private final LongAdder createdMillis = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        private PoolMetrics(PoolStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireCount.increment();
+            acquireNanos.add(elapsedAcquiredNanos);
+            // Çoğu alım mevcut maksimumun altındadır; CAS yalnızca yeni maksimumda yapılır
+            if (elapsedAcquiredNanos > maxAcquireNanos.get()) {
+                maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+            }
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageCount.increment();
+            usageMillis.add(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            createdCount.increment();
+            createdMillis.add(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+    }
+}
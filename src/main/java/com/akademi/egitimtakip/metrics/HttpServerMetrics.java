@@ -0,0 +1,131 @@
+package com.akademi.egitimtakip.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HttpServerMetrics
+ *
+ * LogInterceptor'ın her isteği için method + route template (/egitim/{id}) başına
+ * Prometheus sayaçları: durum kodu başına istek sayısı ve süre histogramı.
+ *
+ * Kayıt yolu kilitsizdir: route araması iki seviyeli ConcurrentHashMap (method → route),
+ * sayaçlar LongAdder; scrape yalnızca sayaçları okur, istek thread'leriyle yarışmaz.
+ * Handler'a eşleşmeyen istekler (404 taramaları) tek UNMATCHED route'unda, max-routes'u aşan
+ * route'lar OTHER'da toplanır; etiket sayısı sınırlı kalır.
+ */
+@Component
+public class HttpServerMetrics {
+
+    public static final String UNMATCHED = "UNMATCHED";
+    public static final String OTHER = "OTHER";
+
+    /**
+     * Histogram üst sınırları (ms); son kova +Inf
+     */
+    private static final long[] BUCKET_BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+
+    @Value("${app.metrics.http.max-routes:500}")
+    private int maxRoutes;
+
+    private final Map<String, Map<String, RouteMetrics>> byMethod = new ConcurrentHashMap<>();
+    private final LongAdder routeCount = new LongAdder();
+
+    /**
+     * Bir isteği kaydeder
+     *
+     * @param route Eşleşen handler pattern'i; handler yoksa null
+     */
+    public void record(String method, String route, int status, long durationMs) {
+        routeMetrics(method, route != null ? route : UNMATCHED).record(status, durationMs);
+    }
+
+    /**
+     * http_server_requests_total ve http_server_request_duration_seconds ailelerini yazar
+     */
+    public void write(PrometheusWriter writer) {
+        writer.family("http_server_requests_total", PrometheusWriter.COUNTER,
+            "HTTP requests by method, route template and status code");
+        byMethod.forEach((method, routes) -> routes.forEach((route, metrics) -> {
+            for (int i = 0; i < metrics.byStatus.length(); i++) {
+                LongAdder count = metrics.byStatus.get(i);
+                if (count != null) {
+                    writer.sample("http_server_requests_total",
+                        new String[]{"method", method, "route", route, "status", Integer.toString(MIN_STATUS + i)},
+                        count.sum());
+                }
+            }
+        }));
+
+        writer.family("http_server_request_duration_seconds", PrometheusWriter.HISTOGRAM,
+            "HTTP request duration by method and route template");
+        byMethod.forEach((method, routes) -> routes.forEach((route, metrics) -> {
+            String[] labels = {"method", method, "route", route};
+            // +Inf ve _count kovaların toplamından hesaplanır; eşzamanlı kayıtta da tutarlı kalır
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+                cumulative += metrics.buckets[i].sum();
+                writer.sample("http_server_request_duration_seconds_bucket", labels,
+                    "le", PrometheusWriter.format(BUCKET_BOUNDS_MS[i] / 1000.0), cumulative);
+            }
+            cumulative += metrics.buckets[BUCKET_BOUNDS_MS.length].sum();
+            writer.sample("http_server_request_duration_seconds_bucket", labels, "le", "+Inf", cumulative);
+            writer.sample("http_server_request_duration_seconds_sum", labels, metrics.sumMs.sum() / 1000.0);
+            writer.sample("http_server_request_duration_seconds_count", labels, cumulative);
+        }));
+    }
+
+    private RouteMetrics routeMetrics(String method, String route) {
+        Map<String, RouteMetrics> routes = byMethod.get(method);
+        if (routes == null) {
+            routes = byMethod.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+        }
+        RouteMetrics metrics = routes.get(route);
+        if (metrics == null) {
+            String bounded = routeCount.sum() < maxRoutes ? route : OTHER;
+            metrics = routes.computeIfAbsent(bounded, r -> {
+                routeCount.increment();
+                return new RouteMetrics();
+            });
+        }
+        return metrics;
+    }
+
+    private static final class RouteMetrics {
+        private final AtomicReferenceArray<LongAdder> byStatus = new AtomicReferenceArray<>(MAX_STATUS - MIN_STATUS + 1);
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+        private final LongAdder sumMs = new LongAdder();
+
+        private RouteMetrics() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(int status, long durationMs) {
+            int index = Math.min(Math.max(status, MIN_STATUS), MAX_STATUS) - MIN_STATUS;
+            LongAdder count = byStatus.get(index);
+            if (count == null) {
+                byStatus.compareAndSet(index, null, new LongAdder());
+                count = byStatus.get(index);
+            }
+            count.increment();
+
+            long duration = Math.max(durationMs, 0);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && duration > BUCKET_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            sumMs.add(duration);
+        }
+    }
+}
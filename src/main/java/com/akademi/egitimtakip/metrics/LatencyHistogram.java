@@ -0,0 +1,180 @@
+package com.akademi.egitimtakip.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram
+ *
+ * Tek bir metot için kilitsiz (lock-free), kayan pencereli gecikme histogramı.
+ *
+ * - Değerler nanosaniye cinsinden log-lineer kovalara yazılır (HdrHistogram benzeri):
+ *   her ikinin kuvveti aralığı 16 alt kovaya bölünür, göreli hata en fazla ~%6'dır.
+ * - Pencere, slotCount adet zaman dilimine (slot) bölünür. Her slotun kendi kova sayaçları
+ *   vardır; süresi dolan slot, yeni dönemin ilk kaydında sıfırlanıp yeniden kullanılır.
+ * - record() yalnızca atomik sayaç işlemleri yapar, nesne oluşturmaz; bu sayede her
+ *   servis çağrısında açık kalabilir. Slot devri sınırında birkaç örnek kaybolabilir.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Ayrıştırılan en büyük değer 2^38 ns (~4.5 dk); daha uzun süreler son kovaya yazılır
+     */
+    static final int MAX_EXPONENT = 38;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final String name;
+    private final long slotNanos;
+    private final int slotCount;
+
+    private final AtomicLongArray counts;
+    private final AtomicLongArray slotEpochs;
+    private final AtomicLongArray slotSums;
+    private final AtomicLongArray slotMaxes;
+    private final LongAdder totalCount = new LongAdder();
+
+    public LatencyHistogram(String name, long slotNanos, int slotCount) {
+        this.name = name;
+        this.slotNanos = slotNanos;
+        this.slotCount = slotCount;
+        this.counts = new AtomicLongArray(slotCount * BUCKET_COUNT);
+        this.slotEpochs = new AtomicLongArray(slotCount);
+        this.slotSums = new AtomicLongArray(slotCount);
+        this.slotMaxes = new AtomicLongArray(slotCount);
+        for (int slot = 0; slot < slotCount; slot++) {
+            slotEpochs.set(slot, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Bir gecikme değeri kaydeder (System.nanoTime() farkı)
+     */
+    public void record(long durationNanos) {
+        record(durationNanos, System.nanoTime());
+    }
+
+    void record(long durationNanos, long nowNanos) {
+        long value = Math.max(durationNanos, 0);
+        long epoch = Math.floorDiv(nowNanos, slotNanos);
+        int slot = Math.floorMod(epoch, slotCount);
+
+        long slotEpoch = slotEpochs.get(slot);
+        if (slotEpoch != epoch) {
+            rotate(slot, slotEpoch, epoch);
+        }
+
+        counts.incrementAndGet(slot * BUCKET_COUNT + bucketIndex(value));
+        slotSums.addAndGet(slot, value);
+        slotMaxes.accumulateAndGet(slot, value, Math::max);
+        totalCount.increment();
+    }
+
+    /**
+     * Süresi dolmuş slotu yeni döneme devreder; CAS'ı kazanan thread sayaçları sıfırlar
+     */
+    private void rotate(int slot, long seenEpoch, long epoch) {
+        if (seenEpoch < epoch && slotEpochs.compareAndSet(slot, seenEpoch, epoch)) {
+            int base = slot * BUCKET_COUNT;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts.set(base + i, 0);
+            }
+            slotSums.set(slot, 0);
+            slotMaxes.set(slot, 0);
+        }
+    }
+
+    /**
+     * Son pencere (slotCount * slotNanos) içindeki dağılımın özetini döndürür
+     */
+    public LatencySnapshot snapshot() {
+        return snapshot(System.nanoTime());
+    }
+
+    LatencySnapshot snapshot(long nowNanos) {
+        long epoch = Math.floorDiv(nowNanos, slotNanos);
+        long[] merged = new long[BUCKET_COUNT];
+        long count = 0;
+        long sum = 0;
+        long max = 0;
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            long slotEpoch = slotEpochs.get(slot);
+            if (slotEpoch <= epoch - slotCount || slotEpoch > epoch) {
+                continue; // pencere dışında kalmış (veya hiç kullanılmamış) slot
+            }
+            int base = slot * BUCKET_COUNT;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long bucket = counts.get(base + i);
+                merged[i] += bucket;
+                count += bucket;
+            }
+            sum += slotSums.get(slot);
+            max = Math.max(max, slotMaxes.get(slot));
+        }
+
+        long windowSeconds = slotNanos * slotCount / 1_000_000_000L;
+        return new LatencySnapshot(
+            name,
+            windowSeconds,
+            count,
+            totalCount.sum(),
+            count > 0 ? toMicros(sum / count) : 0,
+            toMicros(valueAtPercentile(merged, count, 50.0, max)),
+            toMicros(valueAtPercentile(merged, count, 90.0, max)),
+            toMicros(valueAtPercentile(merged, count, 99.0, max)),
+            toMicros(valueAtPercentile(merged, count, 99.9, max)),
+            toMicros(max)
+        );
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Bucket helpers
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        int index = (shift + 1) * SUB_BUCKETS + subBucket;
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Kovadaki en büyük değer (yüzdelikler bu değerle, yani yukarı yuvarlanarak raporlanır)
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    private static long valueAtPercentile(long[] buckets, long count, double percentile, long max) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static long toMicros(long nanos) {
+        return nanos / 1_000;
+    }
+}
@@ -0,0 +1,113 @@
+package com.akademi.egitimtakip.metrics;
+
+import com.akademi.egitimtakip.entity.PerformanceSnapshot;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LatencyRegistry
+ *
+ * Metot başına LatencyHistogram tutan bellek içi metrik kaydı.
+ * PerformanceAspect her servis çağrısının süresini buraya yazar; kayıt yolu
+ * (Method → histogram araması + atomik sayaçlar) nesne oluşturmaz.
+ *
+ * - GET /api/logs/performance/histograms anlık pencere özetlerini döndürür.
+ * - Her snapshot aralığında, pencerede çağrısı olan her metot için
+ *   performance_snapshots tablosuna bir özet satırı yazılır.
+ */
+@Component
+public class LatencyRegistry {
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Value("${app.metrics.latency.window-seconds:60}")
+    private long windowSeconds;
+
+    @Value("${app.metrics.latency.slots:6}")
+    private int slots;
+
+    private long slotNanos;
+
+    // Aynı isimli (overload) metotlar tek histogramı paylaşır
+    private final ConcurrentHashMap<Method, LatencyHistogram> byMethod = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> byName = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        slotNanos = TimeUnit.SECONDS.toNanos(windowSeconds) / slots;
+    }
+
+    /**
+     * Bir metot çağrısının süresini kaydeder (sıcak yol: nesne oluşturmaz)
+     */
+    public void record(Method method, long durationNanos) {
+        LatencyHistogram histogram = byMethod.get(method);
+        if (histogram == null) {
+            histogram = byMethod.computeIfAbsent(method,
+                m -> histogram(m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+        }
+        histogram.record(durationNanos);
+    }
+
+    /**
+     * İsimle histogram döndürür, yoksa oluşturur
+     */
+    public LatencyHistogram histogram(String name) {
+        return byName.computeIfAbsent(name, n -> new LatencyHistogram(n, slotNanos, slots));
+    }
+
+    /**
+     * Pencerede çağrısı olan metotların özetleri, p99'a göre yavaştan hızlıya
+     */
+    public List<LatencySnapshot> getSnapshots() {
+        List<LatencySnapshot> snapshots = new ArrayList<>();
+        for (LatencyHistogram histogram : byName.values()) {
+            LatencySnapshot snapshot = histogram.snapshot();
+            if (snapshot.getCount() > 0) {
+                snapshots.add(snapshot);
+            }
+        }
+        snapshots.sort(Comparator.comparingLong(LatencySnapshot::getP99Micros).reversed());
+        return snapshots;
+    }
+
+    /**
+     * Periyodik snapshot: metot başına bir özet satırı (çağrı başına satır yerine)
+     */
+    @Scheduled(
+        initialDelayString = "${app.metrics.latency.snapshot-interval-ms:60000}",
+        fixedDelayString = "${app.metrics.latency.snapshot-interval-ms:60000}"
+    )
+    public void writeSnapshots() {
+        try {
+            for (LatencySnapshot snapshot : getSnapshots()) {
+                PerformanceSnapshot row = new PerformanceSnapshot();
+                row.setMethodName(snapshot.getName());
+                row.setWindowSeconds(snapshot.getWindowSeconds());
+                row.setSampleCount(snapshot.getCount());
+                row.setMeanMicros(snapshot.getMeanMicros());
+                row.setP50Micros(snapshot.getP50Micros());
+                row.setP90Micros(snapshot.getP90Micros());
+                row.setP99Micros(snapshot.getP99Micros());
+                row.setP999Micros(snapshot.getP999Micros());
+                row.setMaxMicros(snapshot.getMaxMicros());
+                logIngestionPipeline.submit(row);
+            }
+        } catch (Exception e) {
+            // Metrik yazımı uygulamayı etkilememeli
+            System.err.println("Performance snapshot yazılamadı: " + e.getMessage());
+        }
+    }
+}
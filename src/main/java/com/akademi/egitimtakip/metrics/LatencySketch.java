@@ -0,0 +1,116 @@
+package com.akademi.egitimtakip.metrics;
+
+import java.util.Arrays;
+
+/**
+ * LatencySketch
+ *
+ * Birleştirilebilir (mergeable) gecikme dağılımı. LatencyHistogram ile aynı log-lineer kovaları
+ * kullanır (göreli hata en fazla ~%6); değerler milisaniye cinsindendir.
+ *
+ * İki sketch'in birleşimi kova sayaçlarının toplamıdır; bu sayede dakikalık rollup'lar
+ * saatlik/günlük rollup'lara ve bir sorgunun tüm zaman aralığına kayıpsız toplanır, yüzdelikler
+ * ham satırlara dönmeden hesaplanır. Veritabanında "kova:sayı,kova:sayı" olarak saklanır
+ * (yalnızca dolu kovalar). Thread-safe değildir.
+ */
+public final class LatencySketch {
+
+    private long[] counts = new long[0];
+    private long count;
+
+    /**
+     * Bir değer kaydeder
+     */
+    public void record(long valueMs) {
+        add(LatencyHistogram.bucketIndex(Math.max(valueMs, 0)), 1);
+    }
+
+    /**
+     * Kovaya sayı ekler
+     */
+    public void add(int bucket, long bucketCount) {
+        if (bucketCount <= 0) {
+            return;
+        }
+        if (bucket >= counts.length) {
+            counts = Arrays.copyOf(counts, bucket + 1);
+        }
+        counts[bucket] += bucketCount;
+        count += bucketCount;
+    }
+
+    /**
+     * Diğer sketch'in sayaçlarını bu sketch'e ekler
+     */
+    public LatencySketch merge(LatencySketch other) {
+        for (int i = 0; i < other.counts.length; i++) {
+            add(i, other.counts[i]);
+        }
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Yüzdelik değeri (kovanın üst sınırı, max ile sınırlanır)
+     *
+     * @param percentile 0-100
+     * @param max Gözlenen en büyük değer
+     */
+    public long valueAtPercentile(double percentile, long max) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Saklama biçimi: "kova:sayı" çiftleri, virgülle ayrılmış
+     */
+    public String encode() {
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                if (encoded.length() > 0) {
+                    encoded.append(',');
+                }
+                encoded.append(i).append(':').append(counts[i]);
+            }
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * encode() çıktısından sketch oluşturur
+     *
+     * @throws IllegalArgumentException Biçim geçersizse
+     */
+    public static LatencySketch decode(String encoded) {
+        LatencySketch sketch = new LatencySketch();
+        if (encoded == null || encoded.isEmpty()) {
+            return sketch;
+        }
+        for (String pair : encoded.split(",")) {
+            int separator = pair.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Geçersiz sketch: " + encoded);
+            }
+            int bucket = Integer.parseInt(pair.substring(0, separator));
+            if (bucket < 0 || bucket >= LatencyHistogram.BUCKET_COUNT) {
+                throw new IllegalArgumentException("Geçersiz sketch kovası: " + bucket);
+            }
+            sketch.add(bucket, Long.parseLong(pair.substring(separator + 1)));
+        }
+        return sketch;
+    }
+}
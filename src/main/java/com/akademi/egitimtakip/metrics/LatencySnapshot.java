@@ -0,0 +1,35 @@
+package com.akademi.egitimtakip.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * LatencySnapshot
+ *
+ * Bir metodun kayan pencere içindeki gecikme özeti.
+ * Süreler mikrosaniye cinsindendir.
+ */
+@Getter
+@AllArgsConstructor
+public class LatencySnapshot {
+
+    private final String name;
+    private final long windowSeconds;
+
+    /**
+     * Pencere içindeki çağrı sayısı
+     */
+    private final long count;
+
+    /**
+     * Uygulama açıldığından beri toplam çağrı sayısı
+     */
+    private final long totalCount;
+
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p90Micros;
+    private final long p99Micros;
+    private final long p999Micros;
+    private final long maxMicros;
+}
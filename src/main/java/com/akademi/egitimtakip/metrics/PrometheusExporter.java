@@ -0,0 +1,184 @@
+package com.akademi.egitimtakip.metrics;
+
+import com.akademi.egitimtakip.config.AsyncConfig;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PrometheusExporter
+ *
+ * GET /metrics çıktısını (Prometheus metin biçimi) oluşturur:
+ * - HTTP: route template başına istek sayısı ve süre histogramı (HttpServerMetrics)
+ * - Bağlantı havuzu: HikariCP active/idle/pending, bekleme süresi (ConnectionPoolMetrics)
+ * - Hibernate Statistics: sorgular, entity yükleme/yazma, ikinci seviye önbellek isabetleri
+ * - İkinci seviye önbellek bölgeleri: isabet/ıska, yazma, tahliye, kayıt sayısı (SecondLevelCacheMetrics)
+ * - @Async executor ve log yazma tamponları: kuyruk derinlikleri, sayaçlar
+ * - JVM: heap/non-heap, GC sayısı ve süresi, thread sayıları
+ *
+ * Tüm değerler scrape anında mevcut sayaçlardan okunur; istek yolunda ek iş yapılmaz.
+ */
+@Component
+public class PrometheusExporter {
+
+    /**
+     * LogIngestionPipeline.getStats() anahtarı, metrik adı, tür, açıklama
+     */
+    private static final List<String[]> LOG_BUFFER_METRICS = List.of(
+        new String[]{"enqueued", "egitim_log_buffer_enqueued_total", PrometheusWriter.COUNTER, "Log records accepted into the write buffer"},
+        new String[]{"flushed", "egitim_log_buffer_flushed_total", PrometheusWriter.COUNTER, "Log records written to the database"},
+        new String[]{"dropped", "egitim_log_buffer_dropped_total", PrometheusWriter.COUNTER, "Log records dropped by the buffer drop policy"},
+        new String[]{"failed", "egitim_log_buffer_failed_total", PrometheusWriter.COUNTER, "Log records whose batch write failed"},
+        new String[]{"batches", "egitim_log_buffer_batches_total", PrometheusWriter.COUNTER, "Batch writes"},
+        new String[]{"callerRuns", "egitim_log_buffer_caller_runs_total", PrometheusWriter.COUNTER, "Batches written on the submitting thread"},
+        new String[]{"queued", "egitim_log_buffer_queued", PrometheusWriter.GAUGE, "Log records waiting in the buffer"},
+        new String[]{"capacity", "egitim_log_buffer_capacity", PrometheusWriter.GAUGE, "Buffer capacity"},
+        new String[]{"activeWriters", "egitim_log_buffer_active_writers", PrometheusWriter.GAUGE, "Batch writes in progress"}
+    );
+
+    @Autowired
+    private HttpServerMetrics httpServerMetrics;
+
+    @Autowired
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCacheMetrics secondLevelCacheMetrics;
+
+    @Autowired
+    private AsyncConfig asyncConfig;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    /**
+     * Tüm metrikleri Prometheus metin biçiminde döndürür
+     */
+    public String scrape() {
+        PrometheusWriter writer = new PrometheusWriter();
+        httpServerMetrics.write(writer);
+        connectionPoolMetrics.write(writer);
+        writeHibernate(writer);
+        secondLevelCacheMetrics.write(writer);
+        writeAsyncExecutor(writer);
+        writeLogBuffers(writer);
+        writeJvm(writer);
+        return writer.toString();
+    }
+
+    private void writeHibernate(PrometheusWriter writer) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        writer.family("hibernate_statistics_enabled", PrometheusWriter.GAUGE,
+            "1 if hibernate.generate_statistics is on; the hibernate_* counters stay 0 otherwise");
+        writer.sample("hibernate_statistics_enabled", statistics.isStatisticsEnabled() ? 1 : 0);
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+
+        writer.family("hibernate_sessions_opened_total", PrometheusWriter.COUNTER, "Sessions opened");
+        writer.sample("hibernate_sessions_opened_total", statistics.getSessionOpenCount());
+        writer.family("hibernate_transactions_total", PrometheusWriter.COUNTER, "Transactions completed");
+        writer.sample("hibernate_transactions_total", statistics.getTransactionCount());
+        writer.family("hibernate_flushes_total", PrometheusWriter.COUNTER, "Session flushes");
+        writer.sample("hibernate_flushes_total", statistics.getFlushCount());
+        writer.family("hibernate_statements_prepared_total", PrometheusWriter.COUNTER, "JDBC statements prepared by Hibernate");
+        writer.sample("hibernate_statements_prepared_total", statistics.getPrepareStatementCount());
+        writer.family("hibernate_query_executions_total", PrometheusWriter.COUNTER, "HQL/criteria/native queries executed");
+        writer.sample("hibernate_query_executions_total", statistics.getQueryExecutionCount());
+        writer.family("hibernate_query_execution_max_seconds", PrometheusWriter.GAUGE, "Slowest query execution since startup");
+        writer.sample("hibernate_query_execution_max_seconds", statistics.getQueryExecutionMaxTime() / 1000.0);
+
+        writer.family("hibernate_entity_operations_total", PrometheusWriter.COUNTER, "Entity loads, fetches and writes");
+        writer.sample("hibernate_entity_operations_total", new String[]{"operation", "load"}, statistics.getEntityLoadCount());
+        writer.sample("hibernate_entity_operations_total", new String[]{"operation", "fetch"}, statistics.getEntityFetchCount());
+        writer.sample("hibernate_entity_operations_total", new String[]{"operation", "insert"}, statistics.getEntityInsertCount());
+        writer.sample("hibernate_entity_operations_total", new String[]{"operation", "update"}, statistics.getEntityUpdateCount());
+        writer.sample("hibernate_entity_operations_total", new String[]{"operation", "delete"}, statistics.getEntityDeleteCount());
+        writer.family("hibernate_collection_operations_total", PrometheusWriter.COUNTER, "Collection loads and fetches");
+        writer.sample("hibernate_collection_operations_total", new String[]{"operation", "load"}, statistics.getCollectionLoadCount());
+        writer.sample("hibernate_collection_operations_total", new String[]{"operation", "fetch"}, statistics.getCollectionFetchCount());
+
+        writer.family("hibernate_second_level_cache_requests_total", PrometheusWriter.COUNTER, "Second-level cache lookups");
+        writer.sample("hibernate_second_level_cache_requests_total", new String[]{"result", "hit"},
+            statistics.getSecondLevelCacheHitCount());
+        writer.sample("hibernate_second_level_cache_requests_total", new String[]{"result", "miss"},
+            statistics.getSecondLevelCacheMissCount());
+        writer.family("hibernate_second_level_cache_puts_total", PrometheusWriter.COUNTER, "Second-level cache puts");
+        writer.sample("hibernate_second_level_cache_puts_total", statistics.getSecondLevelCachePutCount());
+        writer.family("hibernate_query_cache_requests_total", PrometheusWriter.COUNTER, "Query cache lookups");
+        writer.sample("hibernate_query_cache_requests_total", new String[]{"result", "hit"}, statistics.getQueryCacheHitCount());
+        writer.sample("hibernate_query_cache_requests_total", new String[]{"result", "miss"}, statistics.getQueryCacheMissCount());
+    }
+
+    private void writeAsyncExecutor(PrometheusWriter writer) {
+        Map<String, Long> stats = asyncConfig.getStats();
+        writer.family("egitim_async_executor_queued", PrometheusWriter.GAUGE, "Tasks waiting in the @Async executor queue");
+        writer.sample("egitim_async_executor_queued", stats.get("queued"));
+        writer.family("egitim_async_executor_queue_capacity", PrometheusWriter.GAUGE, "@Async executor queue capacity");
+        writer.sample("egitim_async_executor_queue_capacity", stats.get("queueCapacity"));
+        writer.family("egitim_async_executor_active", PrometheusWriter.GAUGE, "Threads running @Async tasks");
+        writer.sample("egitim_async_executor_active", stats.get("active"));
+        writer.family("egitim_async_executor_pool_size", PrometheusWriter.GAUGE, "@Async executor threads");
+        writer.sample("egitim_async_executor_pool_size", stats.get("poolSize"));
+        writer.family("egitim_async_executor_completed_total", PrometheusWriter.COUNTER, "@Async tasks completed");
+        writer.sample("egitim_async_executor_completed_total", stats.get("completed"));
+        writer.family("egitim_async_executor_rejected_total", PrometheusWriter.COUNTER, "@Async tasks rejected");
+        writer.sample("egitim_async_executor_rejected_total", stats.get("rejected"));
+    }
+
+    private void writeLogBuffers(PrometheusWriter writer) {
+        Map<String, Map<String, Long>> stats = logIngestionPipeline.getStats();
+        for (String[] metric : LOG_BUFFER_METRICS) {
+            writer.family(metric[1], metric[2], metric[3]);
+            stats.forEach((buffer, counters) ->
+                writer.sample(metric[1], new String[]{"buffer", buffer}, counters.getOrDefault(metric[0], 0L)));
+        }
+    }
+
+    private void writeJvm(PrometheusWriter writer) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        String[] heapLabels = {"area", "heap"};
+        String[] nonHeapLabels = {"area", "nonheap"};
+        writer.family("jvm_memory_used_bytes", PrometheusWriter.GAUGE, "Used memory");
+        writer.sample("jvm_memory_used_bytes", heapLabels, heap.getUsed());
+        writer.sample("jvm_memory_used_bytes", nonHeapLabels, nonHeap.getUsed());
+        writer.family("jvm_memory_committed_bytes", PrometheusWriter.GAUGE, "Committed memory");
+        writer.sample("jvm_memory_committed_bytes", heapLabels, heap.getCommitted());
+        writer.sample("jvm_memory_committed_bytes", nonHeapLabels, nonHeap.getCommitted());
+        writer.family("jvm_memory_max_bytes", PrometheusWriter.GAUGE, "Maximum memory (-1 if undefined)");
+        writer.sample("jvm_memory_max_bytes", heapLabels, heap.getMax());
+        writer.sample("jvm_memory_max_bytes", nonHeapLabels, nonHeap.getMax());
+
+        writer.family("jvm_gc_collection_seconds", PrometheusWriter.SUMMARY, "Garbage collections and time spent");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String[] labels = {"gc", gc.getName()};
+            writer.sample("jvm_gc_collection_seconds_count", labels, Math.max(gc.getCollectionCount(), 0));
+            writer.sample("jvm_gc_collection_seconds_sum", labels, Math.max(gc.getCollectionTime(), 0) / 1000.0);
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        writer.family("jvm_threads_current", PrometheusWriter.GAUGE, "Live threads");
+        writer.sample("jvm_threads_current", threads.getThreadCount());
+        writer.family("jvm_threads_daemon", PrometheusWriter.GAUGE, "Live daemon threads");
+        writer.sample("jvm_threads_daemon", threads.getDaemonThreadCount());
+        writer.family("jvm_threads_peak", PrometheusWriter.GAUGE, "Peak live threads since startup");
+        writer.sample("jvm_threads_peak", threads.getPeakThreadCount());
+
+        writer.family("process_uptime_seconds", PrometheusWriter.GAUGE, "JVM uptime");
+        writer.sample("process_uptime_seconds", ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.akademi.egitimtakip.metrics;
+
+/**
+ * PrometheusWriter
+ *
+ * Prometheus metin biçimini (text exposition format 0.0.4) bir StringBuilder'a yazar.
+ * Bir metrik ailesinin tüm satırları family() çağrısından sonra, arka arkaya yazılmalıdır.
+ * Etiketler ad/değer çiftleri olarak verilir; değerlerdeki \, " ve satır sonları kaçışlanır.
+ * Thread-safe değildir; her scrape kendi yazıcısını oluşturur.
+ */
+public final class PrometheusWriter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    public static final String COUNTER = "counter";
+    public static final String GAUGE = "gauge";
+    public static final String HISTOGRAM = "histogram";
+    public static final String SUMMARY = "summary";
+
+    private static final String[] NO_LABELS = new String[0];
+
+    private final StringBuilder out = new StringBuilder(16 * 1024);
+
+    /**
+     * # HELP ve # TYPE satırları
+     */
+    public PrometheusWriter family(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    public PrometheusWriter sample(String name, long value) {
+        return sample(name, NO_LABELS, value);
+    }
+
+    public PrometheusWriter sample(String name, double value) {
+        return sample(name, NO_LABELS, value);
+    }
+
+    /**
+     * @param labels Ad/değer çiftleri: {"method", "GET", "route", "/egitim"}
+     */
+    public PrometheusWriter sample(String name, String[] labels, long value) {
+        appendName(name, labels);
+        out.append(value).append('\n');
+        return this;
+    }
+
+    public PrometheusWriter sample(String name, String[] labels, double value) {
+        appendName(name, labels);
+        out.append(format(value)).append('\n');
+        return this;
+    }
+
+    /**
+     * Etiketlere bir etiket daha ekleyerek yazar (histogram kovalarının le etiketi)
+     */
+    public PrometheusWriter sample(String name, String[] labels, String extraLabel, String extraValue, long value) {
+        String[] all = new String[labels.length + 2];
+        System.arraycopy(labels, 0, all, 0, labels.length);
+        all[labels.length] = extraLabel;
+        all[labels.length + 1] = extraValue;
+        return sample(name, all, value);
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    /**
+     * Saniye cinsinden histogram sınırı / değer: 0.005, 1.0, +Inf
+     */
+    public static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private void appendName(String name, String[] labels) {
+        out.append(name);
+        if (labels.length > 0) {
+            out.append('{');
+            for (int i = 0; i + 1 < labels.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labels[i]).append("=\"");
+                appendEscaped(labels[i + 1]);
+                out.append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ');
+    }
+
+    private void appendEscaped(String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.akademi.egitimtakip.metrics;
+
+import com.akademi.egitimtakip.dto.QueryStatsDTO;
+import com.akademi.egitimtakip.jdbc.RequestStatementStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * QueryCountRegistry
+ *
+ * Her isteğin SQL özetini (StatementAccountingFilter) method + endpoint pattern'i başına bellekte toplar:
+ * istek başına ifade sayısı, veritabanı süresi, satır sayısı ve N+1 şüpheli istekler.
+ * Bir endpoint'te ilk kez N+1 görüldüğünde konsola uyarı yazılır.
+ *
+ * Endpoint sayısı max-endpoints ile sınırlıdır; fazlası tek bir "diğer" satırında toplanır.
+ */
+@Component
+public class QueryCountRegistry {
+
+    public static final String SORT_STATEMENTS = "statements";
+    public static final String SORT_DB_TIME = "dbTime";
+    public static final String SORT_N_PLUS_ONE = "nPlusOne";
+
+    private static final String OTHER_ENDPOINTS = "*";
+    private static final int MAX_SHAPE_LENGTH = 2000;
+
+    @Value("${app.sql-accounting.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql-accounting.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${app.sql-accounting.max-endpoints:1000}")
+    private int maxEndpoints;
+
+    private final Map<EndpointKey, EndpointQueries> endpoints = new ConcurrentHashMap<>();
+
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong nPlusOneRequests = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    /**
+     * Biten isteğin SQL özetini ekler
+     *
+     * @param endpoint Eşleşen handler pattern'i (/egitim/{id})
+     */
+    public void record(String method, String endpoint, RequestStatementStats stats) {
+        recorded.incrementAndGet();
+        statements.addAndGet(stats.getStatements());
+        boolean nPlusOne = stats.getMaxRepeat() >= repeatThreshold;
+        if (nPlusOne) {
+            nPlusOneRequests.incrementAndGet();
+        }
+
+        EndpointKey key = new EndpointKey(method, endpoint);
+        EndpointQueries queries = endpoints.get(key);
+        if (queries == null) {
+            EndpointKey bounded = endpoints.size() < maxEndpoints ? key : new EndpointKey(OTHER_ENDPOINTS, OTHER_ENDPOINTS);
+            queries = endpoints.computeIfAbsent(bounded, k -> new EndpointQueries());
+        }
+        queries.record(stats, nPlusOne);
+        if (nPlusOne && queries.warned.compareAndSet(false, true)) {
+            System.out.println(String.format(
+                "⚠️  N+1 şüphesi: %s %s - aynı sorgu %d kez çalıştı: %s",
+                method, endpoint, stats.getMaxRepeat(), truncate(stats.getMaxRepeatShape(), 300)
+            ));
+        }
+    }
+
+    /**
+     * Endpoint raporu
+     *
+     * @param sort statements (ortalama ifade sayısı), dbTime (ortalama veritabanı süresi) veya nPlusOne
+     */
+    public List<QueryStatsDTO> getReport(String sort) {
+        Comparator<QueryStatsDTO> order;
+        if (SORT_STATEMENTS.equals(sort)) {
+            order = Comparator.comparing(QueryStatsDTO::getAvgStatements);
+        } else if (SORT_DB_TIME.equals(sort)) {
+            order = Comparator.comparing(QueryStatsDTO::getAvgDbTimeMs);
+        } else if (SORT_N_PLUS_ONE.equals(sort)) {
+            order = Comparator.comparing(QueryStatsDTO::getSuspectedNPlusOne)
+                .thenComparing(QueryStatsDTO::getWorstRepeatCount);
+        } else {
+            throw new IllegalArgumentException("sort statements, dbTime veya nPlusOne olmalıdır: " + sort);
+        }
+
+        List<QueryStatsDTO> rows = new ArrayList<>();
+        endpoints.forEach((key, queries) -> rows.add(queries.toDTO(key)));
+        rows.sort(order.reversed());
+        return rows;
+    }
+
+    /**
+     * Sayaçlar: recorded (istek), statements, nPlusOneRequests, endpoints
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("recorded", recorded.get());
+        stats.put("statements", statements.get());
+        stats.put("nPlusOneRequests", nPlusOneRequests.get());
+        stats.put("endpoints", (long) endpoints.size());
+        return stats;
+    }
+
+    private static String truncate(String str, int maxLength) {
+        if (str == null) return null;
+        if (str.length() <= maxLength) return str;
+        return str.substring(0, maxLength);
+    }
+
+    private static final class EndpointKey {
+        private final String method;
+        private final String endpoint;
+        private final int hash;
+
+        private EndpointKey(String method, String endpoint) {
+            this.method = method;
+            this.endpoint = endpoint;
+            this.hash = 31 * method.hashCode() + endpoint.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EndpointKey other)) return false;
+            return method.equals(other.method) && endpoint.equals(other.endpoint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class EndpointQueries {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder dbTimeNanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nPlusOneRequests = new LongAdder();
+        private final LongAdder slowStatements = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final AtomicLong maxDbTimeNanos = new AtomicLong();
+        private final AtomicBoolean warned = new AtomicBoolean();
+        private volatile int worstRepeatCount;
+        private String worstRepeatedShape;
+
+        private void record(RequestStatementStats stats, boolean nPlusOne) {
+            requests.increment();
+            statements.add(stats.getStatements());
+            dbTimeNanos.add(stats.getDbTimeNanos());
+            rows.add(stats.getRows());
+            slowStatements.add(stats.getSlowStatements());
+            if (nPlusOne) {
+                nPlusOneRequests.increment();
+            }
+            maxStatements.accumulateAndGet(stats.getStatements(), Math::max);
+            maxDbTimeNanos.accumulateAndGet(stats.getDbTimeNanos(), Math::max);
+
+            if (stats.getMaxRepeat() > worstRepeatCount) {
+                synchronized (this) {
+                    if (stats.getMaxRepeat() > worstRepeatCount) {
+                        worstRepeatCount = stats.getMaxRepeat();
+                        worstRepeatedShape = truncate(stats.getMaxRepeatShape(), MAX_SHAPE_LENGTH);
+                    }
+                }
+            }
+        }
+
+        private synchronized QueryStatsDTO toDTO(EndpointKey key) {
+            long count = requests.sum();
+            double divisor = Math.max(count, 1);
+            return new QueryStatsDTO(
+                key.method,
+                key.endpoint,
+                count,
+                statements.sum() / divisor,
+                maxStatements.get(),
+                dbTimeNanos.sum() / 1_000_000.0 / divisor,
+                maxDbTimeNanos.get() / 1_000_000,
+                rows.sum() / divisor,
+                nPlusOneRequests.sum(),
+                slowStatements.sum(),
+                worstRepeatCount,
+                worstRepeatedShape
+            );
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.akademi.egitimtakip.metrics;
+
+import com.akademi.egitimtakip.config.HibernateCacheConfig;
+import com.akademi.egitimtakip.dto.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SecondLevelCacheMetrics
+ *
+ * Hibernate ikinci seviye önbelleğinin bölge başına sayaçları:
+ * isabet, ıska ve yazma sayıları Hibernate Statistics'ten (hibernate.generate_statistics),
+ * tahliye sayısı ve kayıt sayısı Caffeine'in kendi istatistiklerinden okunur.
+ * Güncelleme zaman damgaları bölgesinin isabet/ıskası sorgu önbelleği geçerlilik kontrolleridir.
+ *
+ * Tüm değerler okuma anında hesaplanır; önbellek erişim yoluna ek iş eklenmez.
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Bölge başına sayaçlar, HibernateCacheConfig'teki sırayla
+     */
+    public List<CacheRegionStatsDTO> getRegions() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatsDTO> regions = new ArrayList<>();
+        for (String region : regionNames()) {
+            long hits;
+            long misses;
+            long puts;
+            if (HibernateCacheConfig.UPDATE_TIMESTAMPS_REGION.equals(region)) {
+                hits = statistics.getUpdateTimestampsCacheHitCount();
+                misses = statistics.getUpdateTimestampsCacheMissCount();
+                puts = statistics.getUpdateTimestampsCachePutCount();
+            } else {
+                CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+                hits = regionStatistics != null ? regionStatistics.getHitCount() : 0;
+                misses = regionStatistics != null ? regionStatistics.getMissCount() : 0;
+                puts = regionStatistics != null ? regionStatistics.getPutCount() : 0;
+            }
+            com.github.benmanes.caffeine.cache.Cache<?, ?> cache = nativeCache(region);
+            long evictions = cache != null ? cache.stats().evictionCount() : 0;
+            long size = cache != null ? cache.estimatedSize() : 0;
+            Double hitRatio = hits + misses > 0 ? (double) hits / (hits + misses) : null;
+            regions.add(new CacheRegionStatsDTO(region, hits, misses, puts, evictions, size, hitRatio));
+        }
+        return regions;
+    }
+
+    /**
+     * Toplam sayaçlar: regions, hits, misses, puts, evictions, size
+     * (zaman damgası bölgesi hariç; onun kontrolleri her sorgu önbelleği isabetinde yapılır)
+     */
+    public Map<String, Long> getStats() {
+        long hits = 0;
+        long misses = 0;
+        long puts = 0;
+        long evictions = 0;
+        long size = 0;
+        List<CacheRegionStatsDTO> regions = getRegions();
+        for (CacheRegionStatsDTO region : regions) {
+            if (HibernateCacheConfig.UPDATE_TIMESTAMPS_REGION.equals(region.getRegion())) {
+                continue;
+            }
+            hits += region.getHits();
+            misses += region.getMisses();
+            puts += region.getPuts();
+            evictions += region.getEvictions();
+            size += region.getSize();
+        }
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("regions", (long) regions.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("puts", puts);
+        stats.put("evictions", evictions);
+        stats.put("size", size);
+        return stats;
+    }
+
+    /**
+     * hibernate_cache_region_* ailelerini yazar
+     */
+    public void write(PrometheusWriter writer) {
+        List<CacheRegionStatsDTO> regions = getRegions();
+        writer.family("hibernate_cache_region_requests_total", PrometheusWriter.COUNTER,
+            "Second-level cache lookups by region");
+        for (CacheRegionStatsDTO region : regions) {
+            writer.sample("hibernate_cache_region_requests_total",
+                new String[]{"region", region.getRegion(), "result", "hit"}, region.getHits());
+            writer.sample("hibernate_cache_region_requests_total",
+                new String[]{"region", region.getRegion(), "result", "miss"}, region.getMisses());
+        }
+        writer.family("hibernate_cache_region_puts_total", PrometheusWriter.COUNTER, "Second-level cache puts by region");
+        regions.forEach(region -> writer.sample("hibernate_cache_region_puts_total",
+            new String[]{"region", region.getRegion()}, region.getPuts()));
+        writer.family("hibernate_cache_region_evictions_total", PrometheusWriter.COUNTER,
+            "Entries evicted by size bound or TTL");
+        regions.forEach(region -> writer.sample("hibernate_cache_region_evictions_total",
+            new String[]{"region", region.getRegion()}, region.getEvictions()));
+        writer.family("hibernate_cache_region_size", PrometheusWriter.GAUGE, "Entries in the region");
+        regions.forEach(region -> writer.sample("hibernate_cache_region_size",
+            new String[]{"region", region.getRegion()}, region.getSize()));
+    }
+
+    private List<String> regionNames() {
+        List<String> names = new ArrayList<>(HibernateCacheConfig.ENTITY_REGIONS);
+        names.add(HibernateCacheConfig.QUERY_RESULTS_REGION);
+        names.add(HibernateCacheConfig.UPDATE_TIMESTAMPS_REGION);
+        return names;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache(String region) {
+        if (hibernateCacheManager.isClosed()) {
+            return null;
+        }
+        Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+        return cache != null ? cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class) : null;
+    }
+}
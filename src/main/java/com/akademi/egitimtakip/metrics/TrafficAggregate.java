@@ -0,0 +1,120 @@
+package com.akademi.egitimtakip.metrics;
+
+import java.time.LocalDateTime;
+
+/**
+ * TrafficAggregate
+ *
+ * Bir zaman kovasında (bucketStart) tek bir (method, endpoint, durum sınıfı) anahtarının
+ * toplamları: istek ve hata sayısı, süre toplamı/min/max ve gecikme sketch'i.
+ * İki toplam merge() ile kayıpsız birleştirilir; dakikalık satırlar saatliğe, saatlikler günlüğe
+ * ve sorgu aralığının tamamına bu şekilde toplanır. Thread-safe değildir.
+ */
+public final class TrafficAggregate {
+
+    private final LocalDateTime bucketStart;
+    private final String method;
+    private final String endpoint;
+    private final String statusClass;
+
+    private long requestCount;
+    private long errorCount;
+    private long durationSumMs;
+    private long durationMinMs = Long.MAX_VALUE;
+    private long durationMaxMs;
+    private final LatencySketch sketch;
+
+    public TrafficAggregate(LocalDateTime bucketStart, String method, String endpoint, String statusClass) {
+        this(bucketStart, method, endpoint, statusClass, 0, 0, 0, Long.MAX_VALUE, 0, new LatencySketch());
+    }
+
+    public TrafficAggregate(LocalDateTime bucketStart, String method, String endpoint, String statusClass,
+                            long requestCount, long errorCount, long durationSumMs,
+                            long durationMinMs, long durationMaxMs, LatencySketch sketch) {
+        this.bucketStart = bucketStart;
+        this.method = method;
+        this.endpoint = endpoint;
+        this.statusClass = statusClass;
+        this.requestCount = requestCount;
+        this.errorCount = errorCount;
+        this.durationSumMs = durationSumMs;
+        this.durationMinMs = durationMinMs;
+        this.durationMaxMs = durationMaxMs;
+        this.sketch = sketch;
+    }
+
+    /**
+     * Aynı anahtarın başka bir kovaya taşınmış boş kopyası (downsampling için)
+     */
+    public TrafficAggregate emptyCopy(LocalDateTime newBucketStart) {
+        return new TrafficAggregate(newBucketStart, method, endpoint, statusClass);
+    }
+
+    /**
+     * Diğer toplamı bu toplama ekler (anahtar kontrol edilmez)
+     */
+    public TrafficAggregate merge(TrafficAggregate other) {
+        requestCount += other.requestCount;
+        errorCount += other.errorCount;
+        durationSumMs += other.durationSumMs;
+        durationMinMs = Math.min(durationMinMs, other.durationMinMs);
+        durationMaxMs = Math.max(durationMaxMs, other.durationMaxMs);
+        sketch.merge(other.sketch);
+        return this;
+    }
+
+    /**
+     * Kova içindeki anahtar: method + endpoint + durum sınıfı
+     */
+    public String key() {
+        return method + " " + endpoint + " " + statusClass;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getStatusClass() {
+        return statusClass;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getDurationSumMs() {
+        return durationSumMs;
+    }
+
+    public long getDurationMinMs() {
+        return requestCount > 0 ? durationMinMs : 0;
+    }
+
+    public long getDurationMaxMs() {
+        return durationMaxMs;
+    }
+
+    public LatencySketch getSketch() {
+        return sketch;
+    }
+
+    public long getMeanMs() {
+        return requestCount > 0 ? durationSumMs / requestCount : 0;
+    }
+
+    public long percentile(double percentile) {
+        return sketch.valueAtPercentile(percentile, durationMaxMs);
+    }
+}
@@ -0,0 +1,207 @@
+package com.akademi.egitimtakip.metrics;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TrafficRollupRegistry
+ *
+ * HTTP isteklerini dakikalık kovalarda bellekte toplar. LogInterceptor her isteği
+ * (örneklemeden bağımsız) buraya yazar; anahtar (dakika, method, endpoint pattern'i, durum sınıfı)'dır.
+ *
+ * - record() yalnızca atomik sayaç işlemleri yapar (LatencyHistogram gibi), satır oluşturmaz.
+ * - Kapanmış dakikalar flush-interval-ms'de bir TrafficRollupStore'a MINUTE katmanı olarak yazılır;
+ *   dakika devri sınırında birkaç örnek kaybolabilir.
+ * - Dakika başına anahtar sayısı max-keys-per-minute ile sınırlıdır; sınırdan sonra gelen
+ *   endpoint'ler tek satırda ("(diğer)") toplanır.
+ * - Yazma başarısız olursa toplamlar bir sonraki turda yeniden denenir.
+ */
+@Component
+public class TrafficRollupRegistry {
+
+    static final String OTHER_ENDPOINTS = "(diğer)";
+
+    @Autowired
+    private TrafficRollupStore trafficRollupStore;
+
+    @Value("${app.metrics.rollup.max-keys-per-minute:2000}")
+    private int maxKeysPerMinute;
+
+    private final ConcurrentHashMap<CellKey, Cell> cells = new ConcurrentHashMap<>();
+    private final List<TrafficAggregate> retry = new ArrayList<>();
+
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong overflow = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    /**
+     * Bir isteği geçerli dakikanın kovasına ekler
+     *
+     * @param method HTTP metodu
+     * @param endpoint Eşleşen handler pattern'i (/egitim/{id})
+     * @param status HTTP durum kodu (>= 400 hata sayılır)
+     * @param durationMs İstek süresi
+     */
+    public void record(String method, String endpoint, int status, long durationMs) {
+        record(method, endpoint, status, durationMs, LocalDateTime.now());
+    }
+
+    void record(String method, String endpoint, int status, long durationMs, LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        String statusClass = (status / 100) + "xx";
+        CellKey key = new CellKey(minute, method, endpoint, statusClass);
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            if (cells.size() >= maxKeysPerMinute) {
+                overflow.incrementAndGet();
+                key = new CellKey(minute, method, OTHER_ENDPOINTS, statusClass);
+            }
+            cell = cells.computeIfAbsent(key, k -> new Cell());
+        }
+        cell.record(status, durationMs);
+        recorded.incrementAndGet();
+    }
+
+    /**
+     * Kapanmış dakikaları yazar
+     */
+    @Scheduled(
+        initialDelayString = "${app.metrics.rollup.flush-interval-ms:15000}",
+        fixedDelayString = "${app.metrics.rollup.flush-interval-ms:15000}"
+    )
+    public void flush() {
+        flush(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+    }
+
+    /**
+     * Geçerli dakika dahil tüm kovaları yazar (kapanışta ve testlerde)
+     */
+    @PreDestroy
+    public void flushAll() {
+        flush(null);
+    }
+
+    /**
+     * Sayaçlar: recorded (istek), overflow ((diğer)'e düşen), activeCells, flushedRows, failedFlushes
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("recorded", recorded.get());
+        stats.put("overflow", overflow.get());
+        stats.put("activeCells", (long) cells.size());
+        stats.put("flushedRows", flushedRows.get());
+        stats.put("failedFlushes", failedFlushes.get());
+        return stats;
+    }
+
+    private synchronized void flush(LocalDateTime before) {
+        List<TrafficAggregate> batch = new ArrayList<>(retry);
+        retry.clear();
+        for (CellKey key : cells.keySet()) {
+            if (before == null || key.minute.isBefore(before)) {
+                Cell cell = cells.remove(key);
+                if (cell != null) {
+                    batch.add(cell.toAggregate(key));
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            trafficRollupStore.merge(TrafficRollupStore.Tier.MINUTE, batch);
+            flushedRows.addAndGet(batch.size());
+        } catch (Exception e) {
+            failedFlushes.incrementAndGet();
+            // Veritabanı uzun süre yazılamazsa bellek sınırlı kalsın
+            if (batch.size() <= maxKeysPerMinute * 10) {
+                retry.addAll(batch);
+            }
+            System.err.println("Trafik rollup'ları yazılamadı: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Dakika + method + endpoint + durum sınıfı
+     */
+    private static final class CellKey {
+        private final LocalDateTime minute;
+        private final String method;
+        private final String endpoint;
+        private final String statusClass;
+        private final int hash;
+
+        private CellKey(LocalDateTime minute, String method, String endpoint, String statusClass) {
+            this.minute = minute;
+            this.method = method;
+            this.endpoint = endpoint;
+            this.statusClass = statusClass;
+            this.hash = Objects.hash(minute, method, endpoint, statusClass);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CellKey other)) return false;
+            return minute.equals(other.minute)
+                && Objects.equals(method, other.method)
+                && Objects.equals(endpoint, other.endpoint)
+                && statusClass.equals(other.statusClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Bir dakikalık kovanın kilitsiz sayaçları
+     */
+    private static final class Cell {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder durationSum = new LongAdder();
+        private final AtomicLong durationMin = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong durationMax = new AtomicLong();
+        private final AtomicLongArray sketch = new AtomicLongArray(LatencyHistogram.BUCKET_COUNT);
+
+        private void record(int status, long durationMs) {
+            long value = Math.max(durationMs, 0);
+            requests.increment();
+            if (status >= 400) {
+                errors.increment();
+            }
+            durationSum.add(value);
+            durationMin.accumulateAndGet(value, Math::min);
+            durationMax.accumulateAndGet(value, Math::max);
+            sketch.incrementAndGet(LatencyHistogram.bucketIndex(value));
+        }
+
+        private TrafficAggregate toAggregate(CellKey key) {
+            LatencySketch latency = new LatencySketch();
+            for (int i = 0; i < sketch.length(); i++) {
+                latency.add(i, sketch.get(i));
+            }
+            return new TrafficAggregate(key.minute, key.method, key.endpoint, key.statusClass,
+                requests.sum(), errors.sum(), durationSum.sum(), durationMin.get(), durationMax.get(), latency);
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.akademi.egitimtakip.metrics;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TrafficRollupStore
+ *
+ * traffic_rollups tablosunun JDBC erişimi, katmanlar arası downsampling ve aralık sorguları.
+ *
+ * - MINUTE satırları TrafficRollupRegistry'den merge() ile yazılır (aynı kova tekrar gelirse toplanır).
+ * - Kapanmış her saat, o saatin MINUTE satırlarından yeniden hesaplanır (HOUR), kapanmış her gün
+ *   HOUR satırlarından (DAY). Hesaplama kovayı sil + yaz şeklindedir; en son yazılan kova her turda
+ *   yeniden hesaplanır, böylece geç gelen dakikalar da saatliğe yansır.
+ * - load(from, to) aralığı kapsayan en kaba katmanları birleştirir: tamamlanmış günler DAY'den,
+ *   kenarlardaki tamamlanmış saatler HOUR'dan, kalan dakikalar MINUTE'tan okunur. Maliyet
+ *   istek sayısına değil kova sayısına bağlıdır.
+ */
+@Component
+public class TrafficRollupStore {
+
+    /**
+     * Rollup katmanı (ince → kaba)
+     */
+    public enum Tier {
+        MINUTE(ChronoUnit.MINUTES),
+        HOUR(ChronoUnit.HOURS),
+        DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Tier(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public LocalDateTime floor(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+
+        public LocalDateTime ceil(LocalDateTime time) {
+            LocalDateTime floor = floor(time);
+            return floor.equals(time) ? floor : floor.plus(1, unit);
+        }
+
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plus(1, unit);
+        }
+
+        public ChronoUnit getUnit() {
+            return unit;
+        }
+    }
+
+    private static final int IN_CLAUSE_SIZE = 100;
+
+    private static final String COLUMNS =
+        "id, bucket_start, method, endpoint, status_class, request_count, error_count, " +
+        "duration_sum_ms, duration_min_ms, duration_max_ms, latency_sketch";
+
+    private static final String ROLLUP_INSERT =
+        "INSERT INTO traffic_rollups (tier, bucket_start, method, endpoint, status_class, request_count, " +
+        "error_count, duration_sum_ms, duration_min_ms, duration_max_ms, latency_sketch, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ROLLUP_UPDATE =
+        "UPDATE traffic_rollups SET request_count = ?, error_count = ?, duration_sum_ms = ?, " +
+        "duration_min_ms = ?, duration_max_ms = ?, latency_sketch = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Dakikalık satırların yazılması için beklenen süre; saat bu kadar süre geçmeden kapanmış sayılmaz
+     */
+    @Value("${app.metrics.rollup.settle-ms:120000}")
+    private long settleMs;
+
+    private TransactionTemplate rollupTransaction;
+
+    // Katman başına: bu zamandan önceki kovalar hesaplandı (dışlayıcı)
+    private final Map<Tier, LocalDateTime> completedUntil = new ConcurrentHashMap<>();
+
+    private final AtomicLong mergedRows = new AtomicLong();
+    private final AtomicLong downsampledHours = new AtomicLong();
+    private final AtomicLong downsampledDays = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        rollupTransaction = new TransactionTemplate(transactionManager);
+        rollupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Toplamları katmana ekler; aynı kova ve anahtarda satır varsa üzerine toplanır
+     */
+    public void merge(Tier tier, Collection<TrafficAggregate> aggregates) {
+        if (aggregates.isEmpty()) {
+            return;
+        }
+        Map<LocalDateTime, Map<String, TrafficAggregate>> byBucket = new LinkedHashMap<>();
+        for (TrafficAggregate aggregate : aggregates) {
+            byBucket.computeIfAbsent(aggregate.getBucketStart(), b -> new LinkedHashMap<>())
+                .merge(aggregate.key(), aggregate, TrafficAggregate::merge);
+        }
+
+        rollupTransaction.executeWithoutResult(status -> {
+            List<Object[]> updates = new ArrayList<>();
+            List<TrafficAggregate> inserts = new ArrayList<>();
+            Map<String, Long> ids = new LinkedHashMap<>();
+            for (TrafficAggregate existing : loadBuckets(tier, new ArrayList<>(byBucket.keySet()), ids)) {
+                TrafficAggregate added = byBucket.get(existing.getBucketStart()).remove(existing.key());
+                if (added != null) {
+                    existing.merge(added);
+                    updates.add(new Object[] {
+                        existing.getRequestCount(), existing.getErrorCount(), existing.getDurationSumMs(),
+                        existing.getDurationMinMs(), existing.getDurationMaxMs(), existing.getSketch().encode(),
+                        ids.get(existing.getBucketStart() + " " + existing.key())
+                    });
+                }
+            }
+            byBucket.values().forEach(remaining -> inserts.addAll(remaining.values()));
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(ROLLUP_UPDATE, updates);
+            }
+            insert(tier, inserts);
+        });
+        mergedRows.addAndGet(aggregates.size());
+    }
+
+    /**
+     * Aralıktaki trafiği kapsayan rollup satırları (en kaba uygun katmanlardan)
+     *
+     * @param coarsest Kullanılabilecek en kaba katman (zaman serisinde adım)
+     * @param method HTTP metodu (null ise hepsi)
+     * @param endpoint Endpoint pattern'i (null ise hepsi)
+     */
+    public List<TrafficAggregate> load(LocalDateTime from, LocalDateTime to, Tier coarsest,
+                                       String method, String endpoint) {
+        List<TrafficAggregate> rows = new ArrayList<>();
+        cover(from, to, coarsest, method, endpoint, rows);
+        rowsRead.addAndGet(rows.size());
+        return rows;
+    }
+
+    /**
+     * Kapanmış saatleri ve günleri alt katmandan üretir
+     */
+    @Scheduled(
+        initialDelayString = "${app.metrics.rollup.downsample-interval-ms:300000}",
+        fixedDelayString = "${app.metrics.rollup.downsample-interval-ms:300000}"
+    )
+    public void scheduledDownsample() {
+        try {
+            downsample(LocalDateTime.now());
+        } catch (Exception e) {
+            // Metrik yazımı uygulamayı etkilememeli
+            System.err.println("Trafik rollup downsampling hatası: " + e.getMessage());
+        }
+    }
+
+    /**
+     * now anına göre kapanmış HOUR ve DAY kovalarını hesaplar
+     */
+    public synchronized void downsample(LocalDateTime now) {
+        LocalDateTime hourLimit = Tier.HOUR.floor(now.minus(settleMs, ChronoUnit.MILLIS));
+        downsampledHours.addAndGet(rollUp(Tier.HOUR, Tier.MINUTE, hourLimit));
+        LocalDateTime hoursDone = completedUntil.get(Tier.HOUR);
+        if (hoursDone != null) {
+            downsampledDays.addAndGet(rollUp(Tier.DAY, Tier.HOUR, Tier.DAY.floor(hoursDone)));
+        }
+    }
+
+    /**
+     * Katman ilerlemesini unutur; bir sonraki downsampling ve sorgu tabloya göre başlar
+     * (geçmiş tarihli verilerle çalışan testler için)
+     */
+    synchronized void resetProgress() {
+        completedUntil.clear();
+    }
+
+    /**
+     * Sayaçlar: mergedRows, downsampledHours, downsampledDays, rowsRead (sorgularda okunan satır)
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("mergedRows", mergedRows.get());
+        stats.put("downsampledHours", downsampledHours.get());
+        stats.put("downsampledDays", downsampledDays.get());
+        stats.put("rowsRead", rowsRead.get());
+        return stats;
+    }
+
+    // Downsampling
+
+    private int rollUp(Tier target, Tier source, LocalDateTime limit) {
+        LocalDateTime start = rollUpStart(target, source);
+        if (start == null) {
+            completedUntil.putIfAbsent(target, limit);
+            return 0;
+        }
+        int buckets = 0;
+        for (LocalDateTime bucket = start; bucket.isBefore(limit); bucket = target.next(bucket)) {
+            LocalDateTime current = bucket;
+            Map<String, TrafficAggregate> merged = new LinkedHashMap<>();
+            for (TrafficAggregate row : select(source, current, target.next(current), null, null)) {
+                merged.computeIfAbsent(row.key(), k -> row.emptyCopy(current)).merge(row);
+            }
+            replace(target, bucket, merged.values());
+            buckets++;
+        }
+        if (completedUntil.get(target) == null || limit.isAfter(completedUntil.get(target))) {
+            completedUntil.put(target, limit);
+        }
+        return buckets;
+    }
+
+    /**
+     * Hesaplamanın başlayacağı kova: son yazılan hedef kovası (yeniden hesaplanır),
+     * hiç yoksa kaynak katmanın ilk kovası
+     */
+    private LocalDateTime rollUpStart(Tier target, Tier source) {
+        LocalDateTime lastWritten = maxBucket(target);
+        LocalDateTime done = completedUntil.get(target);
+        if (lastWritten != null) {
+            // Boş geçen kovaları her turda yeniden taramamak için
+            LocalDateTime recompute = done != null ? target.floor(done.minus(1, target.getUnit())) : lastWritten;
+            return recompute.isAfter(lastWritten) ? recompute : lastWritten;
+        }
+        if (done != null) {
+            return target.floor(done.minus(1, target.getUnit()));
+        }
+        LocalDateTime firstSource = jdbcTemplate.queryForObject(
+            "SELECT MIN(bucket_start) FROM traffic_rollups WHERE tier = ?", LocalDateTime.class, source.name());
+        return firstSource != null ? target.floor(firstSource) : null;
+    }
+
+    private void replace(Tier tier, LocalDateTime bucketStart, Collection<TrafficAggregate> aggregates) {
+        rollupTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM traffic_rollups WHERE tier = ? AND bucket_start = ?",
+                tier.name(), Timestamp.valueOf(bucketStart));
+            insert(tier, new ArrayList<>(aggregates));
+        });
+    }
+
+    // Reads
+
+    private void cover(LocalDateTime from, LocalDateTime to, Tier tier, String method, String endpoint,
+                       List<TrafficAggregate> rows) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        if (tier == Tier.MINUTE) {
+            rows.addAll(select(Tier.MINUTE, Tier.MINUTE.floor(from), to, method, endpoint));
+            return;
+        }
+        Tier finer = Tier.values()[tier.ordinal() - 1];
+        LocalDateTime done = completedUntil(tier);
+        LocalDateTime start = tier.ceil(from);
+        LocalDateTime end = tier.floor(to);
+        if (done != null && done.isBefore(end)) {
+            end = done;
+        }
+        if (done == null || !start.isBefore(end)) {
+            cover(from, to, finer, method, endpoint, rows);
+            return;
+        }
+        rows.addAll(select(tier, start, end, method, endpoint));
+        cover(from, start, finer, method, endpoint, rows);
+        cover(end, to, finer, method, endpoint, rows);
+    }
+
+    /**
+     * Katmanın tamamlandığı an; bu süreçte downsampling çalışmadıysa son yazılan kovanın sonu
+     */
+    private LocalDateTime completedUntil(Tier tier) {
+        LocalDateTime done = completedUntil.get(tier);
+        if (done != null) {
+            return done;
+        }
+        LocalDateTime lastWritten = maxBucket(tier);
+        return lastWritten != null ? tier.next(lastWritten) : null;
+    }
+
+    private LocalDateTime maxBucket(Tier tier) {
+        return jdbcTemplate.queryForObject(
+            "SELECT MAX(bucket_start) FROM traffic_rollups WHERE tier = ?", LocalDateTime.class, tier.name());
+    }
+
+    private List<TrafficAggregate> select(Tier tier, LocalDateTime from, LocalDateTime to,
+                                          String method, String endpoint) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS +
+            " FROM traffic_rollups WHERE tier = ? AND bucket_start >= ? AND bucket_start < ?");
+        List<Object> args = new ArrayList<>(List.of(tier.name(), Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        if (method != null) {
+            sql.append(" AND method = ?");
+            args.add(method);
+        }
+        if (endpoint != null) {
+            sql.append(" AND endpoint = ?");
+            args.add(endpoint);
+        }
+        return jdbcTemplate.query(sql.toString(), rowMapper(null), args.toArray());
+    }
+
+    private List<TrafficAggregate> loadBuckets(Tier tier, List<LocalDateTime> buckets, Map<String, Long> ids) {
+        List<TrafficAggregate> rows = new ArrayList<>();
+        for (int from = 0; from < buckets.size(); from += IN_CLAUSE_SIZE) {
+            List<LocalDateTime> chunk = buckets.subList(from, Math.min(from + IN_CLAUSE_SIZE, buckets.size()));
+            List<Object> args = new ArrayList<>();
+            args.add(tier.name());
+            chunk.forEach(bucket -> args.add(Timestamp.valueOf(bucket)));
+            rows.addAll(jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM traffic_rollups WHERE tier = ? AND bucket_start IN (" +
+                    String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                rowMapper(ids), args.toArray()));
+        }
+        return rows;
+    }
+
+    private void insert(Tier tier, List<TrafficAggregate> aggregates) {
+        if (aggregates.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ROLLUP_INSERT, aggregates, aggregates.size(), (ps, row) -> {
+            Timestamp bucketStart = Timestamp.valueOf(row.getBucketStart());
+            ps.setString(1, tier.name());
+            ps.setTimestamp(2, bucketStart);
+            ps.setString(3, row.getMethod());
+            ps.setString(4, row.getEndpoint());
+            ps.setString(5, row.getStatusClass());
+            ps.setLong(6, row.getRequestCount());
+            ps.setLong(7, row.getErrorCount());
+            ps.setLong(8, row.getDurationSumMs());
+            ps.setLong(9, row.getDurationMinMs());
+            ps.setLong(10, row.getDurationMaxMs());
+            ps.setString(11, row.getSketch().encode());
+            ps.setTimestamp(12, bucketStart);
+        });
+    }
+
+    private static RowMapper<TrafficAggregate> rowMapper(Map<String, Long> ids) {
+        return (rs, rowNum) -> {
+            TrafficAggregate row = new TrafficAggregate(
+                rs.getTimestamp("bucket_start").toLocalDateTime(),
+                rs.getString("method"),
+                rs.getString("endpoint"),
+                rs.getString("status_class"),
+                rs.getLong("request_count"),
+                rs.getLong("error_count"),
+                rs.getLong("duration_sum_ms"),
+                rs.getLong("duration_min_ms"),
+                rs.getLong("duration_max_ms"),
+                LatencySketch.decode(rs.getString("latency_sketch")));
+            if (ids != null) {
+                ids.put(row.getBucketStart() + " " + row.key(), rs.getLong("id"));
+            }
+            return row;
+        };
+    }
+}
@@ -13,7 +13,7 @@ import java.util.List;
  * Kullanıcı aktivite loglarına erişim sağlar.
  */
 @Repository
-public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
+public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long>, KeysetLogRepository<ActivityLog> {
     
     /**
      * Belirli bir kullanıcının aktivite loglarını getirir
@@ -5,15 +5,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * ApiLog Repository
  * 
  * API log kayıtlarına erişim sağlar.
+ * Specification desteği ile dinamik filtreleme veritabanında yapılır.
  */
 @Repository
-public interface ApiLogRepository extends JpaRepository<ApiLog, Long> {
+public interface ApiLogRepository extends JpaRepository<ApiLog, Long>, KeysetLogRepository<ApiLog> {
     
     /**
      * Belirli bir kullanıcının API loglarını getirir
@@ -24,6 +26,11 @@ public interface ApiLogRepository extends JpaRepository<ApiLog, Long> {
      * Belirli bir endpoint'in loglarını getirir
      */
     List<ApiLog> findByEndpointContainingIgnoreCase(String endpoint);
+
+    /**
+     * Endpoint'i verilen değerlerden biri olan loglar (LogSearchIndex ile çözülmüş contains araması)
+     */
+    List<ApiLog> findByEndpointIn(Collection<String> endpoints);
     
     /**
      * Belirli bir tarih aralığındaki logları getirir
@@ -40,8 +47,3 @@ public interface ApiLogRepository extends JpaRepository<ApiLog, Long> {
      */
     List<ApiLog> findByDurationMsGreaterThan(Long durationMs);
 }
-
-
-
-
-
@@ -1,11 +1,14 @@
 package com.akademi.egitimtakip.repository;
 
 import com.akademi.egitimtakip.entity.Egitim;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,12 +18,34 @@ import java.util.List;
  * Specification desteği ile dinamik filtreleme yapılabilir.
  */
 @Repository
-public interface EgitimRepository extends JpaRepository<Egitim, Long>, JpaSpecificationExecutor<Egitim> {
+public interface EgitimRepository extends JpaRepository<Egitim, Long>, JpaSpecificationExecutor<Egitim>,
+        EgitimRepositoryCustom {
     
     List<Egitim> findByAdContainingIgnoreCase(String ad);
     
     List<Egitim> findByDurum(String durum);
     
     List<Egitim> findByBaslangicTarihiBetween(LocalDate baslangic, LocalDate bitis);
-}
 
+    /**
+     * İki aşamalı liste sorgusunun ikinci aşaması: sayfadaki eğitimler projeleriyle birlikte.
+     * İlişki setleri @BatchSize ile, erişildiklerinde tüm sayfa için toplu yüklenir.
+     */
+    @EntityGraph(attributePaths = "proje")
+    @Query("SELECT e FROM Egitim e WHERE e.id IN :ids")
+    List<Egitim> findAllWithProjeByIdIn(Collection<Long> ids);
+
+    // Export için ilişki adları: verilen eğitim id'leri için tek sorguda (egitimId, ad) çiftleri
+
+    @Query("SELECT e.id, k.ad FROM Egitim e JOIN e.kategoriler k WHERE e.id IN :ids ORDER BY k.ad")
+    List<Object[]> findKategoriAdlariByEgitimIds(Collection<Long> ids);
+
+    @Query("SELECT e.id, CONCAT(m.ad, ' ', m.soyad) FROM Egitim e JOIN e.egitmenler m WHERE e.id IN :ids ORDER BY m.ad, m.soyad")
+    List<Object[]> findEgitmenAdlariByEgitimIds(Collection<Long> ids);
+
+    @Query("SELECT e.id, CONCAT(s.ad, ' ', s.soyad) FROM Egitim e JOIN e.sorumlular s WHERE e.id IN :ids ORDER BY s.ad, s.soyad")
+    List<Object[]> findSorumluAdlariByEgitimIds(Collection<Long> ids);
+
+    @Query("SELECT e.id, p.ad FROM Egitim e JOIN e.paydaslar p WHERE e.id IN :ids ORDER BY p.ad")
+    List<Object[]> findPaydasAdlariByEgitimIds(Collection<Long> ids);
+}
@@ -0,0 +1,26 @@
+package com.akademi.egitimtakip.repository;
+
+import com.akademi.egitimtakip.dto.EgitimListDTO;
+import com.akademi.egitimtakip.entity.Egitim;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Egitim Repository Custom
+ * 
+ * Specification + sayfalama ile çalışan, entity yüklemeyen liste sorguları.
+ */
+public interface EgitimRepositoryCustom {
+
+    /**
+     * Filtre ve sıralamaya uyan eğitimlerin sadece id'lerini sayfalar.
+     * İki aşamalı liste sorgusunun ilk aşamasıdır (ilişkiler ikinci aşamada toplu yüklenir).
+     */
+    Page<Long> findIdPage(Specification<Egitim> spec, Pageable pageable);
+
+    /**
+     * Liste ekranı için projeksiyon: tek sorgu (+ gerekirse count), entity yüklenmez
+     */
+    Page<EgitimListDTO> findListPage(Specification<Egitim> spec, Pageable pageable);
+}
@@ -0,0 +1,91 @@
+package com.akademi.egitimtakip.repository;
+
+import com.akademi.egitimtakip.dto.EgitimListDTO;
+import com.akademi.egitimtakip.entity.Egitim;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Egitim Repository Custom Implementation
+ * 
+ * EgitimRepositoryCustom sorgularını Criteria API ile uygular.
+ * Spring Data, "Impl" soneki sayesinde bu sınıfı EgitimRepository'ye bağlar.
+ */
+public class EgitimRepositoryImpl implements EgitimRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Long> findIdPage(Specification<Egitim> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Egitim> root = query.from(Egitim.class);
+        query.select(root.get("id"));
+        applyFilterAndSort(query, root, cb, spec, pageable);
+
+        List<Long> ids = paged(entityManager.createQuery(query), pageable).getResultList();
+        return PageableExecutionUtils.getPage(ids, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Page<EgitimListDTO> findListPage(Specification<Egitim> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EgitimListDTO> query = cb.createQuery(EgitimListDTO.class);
+        Root<Egitim> root = query.from(Egitim.class);
+        Join<Egitim, ?> proje = root.join("proje", JoinType.LEFT);
+        query.select(cb.construct(EgitimListDTO.class,
+            root.get("id"), root.get("ad"), root.get("egitimKodu"), root.get("programId"),
+            root.get("seviye"), root.get("baslangicTarihi"), root.get("bitisTarihi"),
+            root.get("egitimSaati"), root.get("durum"), proje.get("id"), proje.get("isim")));
+        applyFilterAndSort(query, root, cb, spec, pageable);
+
+        List<EgitimListDTO> content = paged(entityManager.createQuery(query), pageable).getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Egitim> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Egitim> root = query.from(Egitim.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void applyFilterAndSort(CriteriaQuery<?> query, Root<Egitim> root, CriteriaBuilder cb,
+                                           Specification<Egitim> spec, Pageable pageable) {
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+    }
+
+    private static <T> TypedQuery<T> paged(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+}
@@ -1,7 +1,12 @@
 package com.akademi.egitimtakip.repository;
 
 import com.akademi.egitimtakip.entity.Egitmen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,5 +23,18 @@ public interface EgitmenRepository extends JpaRepository<Egitmen, Long> {
     Optional<Egitmen> findByEmail(String email);
     
     List<Egitmen> findByAdContainingIgnoreCaseOrSoyadContainingIgnoreCase(String ad, String soyad);
+    
+    /**
+     * Tüm eğitmenler (sorgu önbelleğinden; egitmen yazıldığında geçersiz olur)
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<Egitmen> findAll();
+    
+    /**
+     * Sayfalı liste; sayfa ve count sorgusu sorgu önbelleğinden
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    Page<Egitmen> findAll(Pageable pageable);
 }
-
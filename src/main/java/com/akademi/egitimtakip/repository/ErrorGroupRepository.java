@@ -0,0 +1,40 @@
+package com.akademi.egitimtakip.repository;
+
+import com.akademi.egitimtakip.dto.ErrorGroupDTO;
+import com.akademi.egitimtakip.entity.ErrorGroup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * ErrorGroup Repository
+ *
+ * Gruplanmış hatalara erişim sağlar. Yazma ErrorGroupAggregator ile JDBC üzerinden yapılır.
+ */
+@Repository
+public interface ErrorGroupRepository extends JpaRepository<ErrorGroup, Long> {
+
+    /**
+     * Grupları örnek stack trace olmadan getirir
+     *
+     * @param exceptionType Exception türü (contains, null ise hepsi)
+     * @param since Bu tarihten sonra görülmüş gruplar (null ise hepsi)
+     */
+    @Query(value = "SELECT new com.akademi.egitimtakip.dto.ErrorGroupDTO(" +
+                   "g.id, g.fingerprint, g.exceptionType, g.messageTemplate, g.topFrame, g.sampleMessage, " +
+                   "g.occurrenceCount, g.firstSeen, g.lastSeen) " +
+                   "FROM ErrorGroup g " +
+                   "WHERE (:exceptionType IS NULL OR g.exceptionType LIKE CONCAT('%', :exceptionType, '%')) " +
+                   "AND (:since IS NULL OR g.lastSeen >= :since)",
+           countQuery = "SELECT COUNT(g) FROM ErrorGroup g " +
+                        "WHERE (:exceptionType IS NULL OR g.exceptionType LIKE CONCAT('%', :exceptionType, '%')) " +
+                        "AND (:since IS NULL OR g.lastSeen >= :since)")
+    Page<ErrorGroupDTO> findSummaries(@Param("exceptionType") String exceptionType,
+                                      @Param("since") LocalDateTime since,
+                                      Pageable pageable);
+}
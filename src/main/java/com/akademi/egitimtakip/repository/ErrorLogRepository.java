@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,7 +14,7 @@ import java.util.List;
  * Hata loglarına erişim sağlar.
  */
 @Repository
-public interface ErrorLogRepository extends JpaRepository<ErrorLog, Long> {
+public interface ErrorLogRepository extends JpaRepository<ErrorLog, Long>, KeysetLogRepository<ErrorLog> {
     
     /**
      * Belirli bir kullanıcının hata loglarını getirir
@@ -24,6 +25,11 @@ public interface ErrorLogRepository extends JpaRepository<ErrorLog, Long> {
      * Belirli bir endpoint'teki hataları getirir
      */
     List<ErrorLog> findByEndpointContainingIgnoreCase(String endpoint);
+
+    /**
+     * Endpoint'i verilen değerlerden biri olan hatalar (LogSearchIndex ile çözülmüş contains araması)
+     */
+    List<ErrorLog> findByEndpointIn(Collection<String> endpoints);
     
     /**
      * Belirli bir exception türüne göre hataları getirir
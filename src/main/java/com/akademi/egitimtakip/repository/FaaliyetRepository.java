@@ -3,9 +3,11 @@ package com.akademi.egitimtakip.repository;
 import com.akademi.egitimtakip.entity.Faaliyet;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -22,5 +24,8 @@ public interface FaaliyetRepository extends JpaRepository<Faaliyet, Long>, JpaSp
     List<Faaliyet> findByTarihBetween(LocalDate baslangic, LocalDate bitis);
     
     List<Faaliyet> findByTuru(String turu);
-}
 
+    // Export için sorumlu adları: verilen faaliyet id'leri için tek sorguda (faaliyetId, ad soyad) çiftleri
+    @Query("SELECT f.id, CONCAT(s.ad, ' ', s.soyad) FROM Faaliyet f JOIN f.sorumlular s WHERE f.id IN :ids ORDER BY s.ad, s.soyad")
+    List<Object[]> findSorumluAdlariByFaaliyetIds(Collection<Long> ids);
+}
@@ -4,7 +4,6 @@ import com.akademi.egitimtakip.entity.FrontendLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -16,7 +15,7 @@ import java.util.List;
  * Frontend log kayıtlarına erişim sağlar.
  */
 @Repository
-public interface FrontendLogRepository extends JpaRepository<FrontendLog, Long>, JpaSpecificationExecutor<FrontendLog> {
+public interface FrontendLogRepository extends JpaRepository<FrontendLog, Long>, KeysetLogRepository<FrontendLog> {
     
     /**
      * Belirli bir kullanıcının frontend loglarını getirir
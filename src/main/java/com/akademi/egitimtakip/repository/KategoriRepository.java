@@ -1,9 +1,15 @@
 package com.akademi.egitimtakip.repository;
 
 import com.akademi.egitimtakip.entity.Kategori;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,5 +23,18 @@ public interface KategoriRepository extends JpaRepository<Kategori, Long> {
     Optional<Kategori> findByAd(String ad);
     
     boolean existsByAd(String ad);
+    
+    /**
+     * Tüm kategoriler (sorgu önbelleğinden; kategori yazıldığında geçersiz olur)
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<Kategori> findAll();
+    
+    /**
+     * Sayfalı liste; sayfa ve count sorgusu sorgu önbelleğinden
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    Page<Kategori> findAll(Pageable pageable);
 }
-
@@ -0,0 +1,59 @@
+package com.akademi.egitimtakip.repository;
+
+import com.akademi.egitimtakip.dto.LogCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+
+/**
+ * Keyset Log Repository
+ * 
+ * Log tabloları için keyset (seek) sayfalama sağlar.
+ * OFFSET yerine (created_at, id) üzerinde "bu konumdan sonrası" koşulu kullanılır;
+ * böylece ne kadar geriye gidilirse gidilsin sorgu maliyeti sabit kalır.
+ * COUNT(*) sorgusu çalıştırılmaz.
+ * 
+ * Entity'lerin createdAt ve id alanları olmalıdır.
+ */
+@NoRepositoryBean
+public interface KeysetLogRepository<T> extends JpaSpecificationExecutor<T> {
+
+    /**
+     * Seek sıralaması: en yeni kayıt en üstte, eşit zamanlarda id ile kesinleşir
+     */
+    Sort SEEK_ORDER = Sort.by(Sort.Direction.DESC, "createdAt")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    /**
+     * Cursor'dan sonraki en fazla limit kaydı getirir
+     * 
+     * @param filter Ek filtreler (null olabilir)
+     * @param cursor Son görülen kayıt (null ise ilk dilim)
+     * @param limit Getirilecek maksimum kayıt
+     */
+    default List<T> findNextSlice(Specification<T> filter, LogCursor cursor, int limit) {
+        Specification<T> spec = Specification.where(filter).and(seekAfter(cursor));
+        return findBy(spec, query -> query.sortBy(SEEK_ORDER).limit(limit).all());
+    }
+
+    /**
+     * (created_at, id) &lt; (cursor.createdAt, cursor.id) seek koşulu
+     */
+    static <T> Specification<T> seekAfter(LogCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            return cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.and(
+                    cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                    cb.lessThan(root.get("id"), cursor.getId())
+                )
+            );
+        };
+    }
+}
@@ -1,7 +1,12 @@
 package com.akademi.egitimtakip.repository;
 
 import com.akademi.egitimtakip.entity.Paydas;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,5 +22,18 @@ public interface PaydasRepository extends JpaRepository<Paydas, Long> {
     List<Paydas> findByAdContainingIgnoreCase(String ad);
     
     List<Paydas> findByTip(String tip);
+    
+    /**
+     * Tüm paydaşlar (sorgu önbelleğinden; paydas yazıldığında geçersiz olur)
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<Paydas> findAll();
+    
+    /**
+     * Sayfalı liste; sayfa ve count sorgusu sorgu önbelleğinden
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    Page<Paydas> findAll(Pageable pageable);
 }
-
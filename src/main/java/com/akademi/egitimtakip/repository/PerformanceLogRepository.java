@@ -14,7 +14,7 @@ import java.util.List;
  * Performans loglarına erişim sağlar.
  */
 @Repository
-public interface PerformanceLogRepository extends JpaRepository<PerformanceLog, Long> {
+public interface PerformanceLogRepository extends JpaRepository<PerformanceLog, Long>, KeysetLogRepository<PerformanceLog> {
     
     /**
      * Belirli bir endpoint'in performans loglarını getirir
@@ -0,0 +1,16 @@
+package com.akademi.egitimtakip.repository;
+
+import com.akademi.egitimtakip.entity.PerformanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * PerformanceSnapshot Repository
+ * 
+ * Periyodik gecikme özetlerine (performance_snapshots) erişim sağlar.
+ */
+@Repository
+public interface PerformanceSnapshotRepository extends JpaRepository<PerformanceSnapshot, Long>,
+        JpaSpecificationExecutor<PerformanceSnapshot> {
+}
@@ -1,7 +1,10 @@
 package com.akademi.egitimtakip.repository;
 
 import com.akademi.egitimtakip.entity.Permission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -37,8 +40,9 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
     boolean existsByModuleAndAction(String module, String action);
     
     /**
-     * Find all permissions ordered by module and action
+     * Find all permissions ordered by module and action (query cache; invalidated by any permission write)
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Permission> findAllByOrderByModuleAscActionAsc();
 }
 
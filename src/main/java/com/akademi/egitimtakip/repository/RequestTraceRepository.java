@@ -0,0 +1,21 @@
+package com.akademi.egitimtakip.repository;
+
+import com.akademi.egitimtakip.entity.RequestTrace;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * RequestTrace Repository
+ *
+ * Saklanan trace özetlerine erişim sağlar. Yazma LogIngestionPipeline ile JDBC üzerinden yapılır.
+ */
+@Repository
+public interface RequestTraceRepository extends JpaRepository<RequestTrace, Long> {
+
+    /**
+     * Trace id'nin en son saklanan kaydı (istemci aynı X-Trace-Id'yi tekrar gönderebilir)
+     */
+    Optional<RequestTrace> findFirstByTraceIdOrderByIdDesc(String traceId);
+}
@@ -1,10 +1,14 @@
 package com.akademi.egitimtakip.repository;
 
 import com.akademi.egitimtakip.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,6 +20,18 @@ import java.util.Optional;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
     
+    /**
+     * Find all roles (query cache; invalidated by any role write)
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<Role> findAll();
+    
+    /**
+     * Find roles that hold the given permission (PermissionService.deletePermission)
+     */
+    List<Role> findByPermissions_Id(Long permissionId);
+    
     /**
      * Find role by name
      */
@@ -37,6 +53,16 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      */
     @Query("SELECT r FROM Role r LEFT JOIN FETCH r.permissions WHERE r.name = :name")
     Optional<Role> findByNameWithPermissions(String name);
+    
+    /**
+     * Find id and name of all roles (for RolePermissionMatrix)
+     */
+    @Query("SELECT r.id, r.name FROM Role r")
+    List<Object[]> findAllIdAndName();
+    
+    /**
+     * Find all (role id, permission module, permission action) grants (for RolePermissionMatrix)
+     */
+    @Query("SELECT r.id, p.module, p.action FROM Role r JOIN r.permissions p")
+    List<Object[]> findAllRolePermissionPairs();
 }
-
-
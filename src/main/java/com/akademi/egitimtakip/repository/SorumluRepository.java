@@ -2,6 +2,7 @@ package com.akademi.egitimtakip.repository;
 
 import com.akademi.egitimtakip.entity.Sorumlu;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,5 +23,11 @@ public interface SorumluRepository extends JpaRepository<Sorumlu, Long> {
     List<Sorumlu> findByRoleId(Long roleId);
     
     List<Sorumlu> findByRoleIsNull();
+    
+    /**
+     * Sorumlu'nun rol ID'sini, Role ve izinlerini yüklemeden getirir
+     */
+    @Query("SELECT s.role.id FROM Sorumlu s WHERE s.id = :id")
+    Long findRoleIdById(Long id);
 }
 
@@ -0,0 +1,24 @@
+package com.akademi.egitimtakip.repository;
+
+import com.akademi.egitimtakip.entity.TraceSpan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * TraceSpan Repository
+ *
+ * Trace span'larına erişim sağlar. Yazma LogIngestionPipeline ile JDBC üzerinden yapılır.
+ */
+@Repository
+public interface TraceSpanRepository extends JpaRepository<TraceSpan, Long> {
+
+    /**
+     * Bir trace kaydının span'ları (idx_trace_spans_trace_span)
+     *
+     * @param createdAt Trace kaydının created_at değeri; aynı id ile saklanmış diğer trace'lerin span'ları ayrılır
+     */
+    List<TraceSpan> findByTraceIdAndCreatedAtOrderBySpanIndex(String traceId, LocalDateTime createdAt);
+}
@@ -0,0 +1,41 @@
+package com.akademi.egitimtakip.security;
+
+import com.akademi.egitimtakip.entity.Rol;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+/**
+ * Authenticated Principal
+ * 
+ * JwtAuthenticationFilter tarafından istek başında bir kez oluşturulan ve
+ * Authentication principal'ı olarak saklanan değişmez kullanıcı özeti.
+ * SecurityUtils ve PermissionCheckService bu nesneden okur; istek boyunca
+ * kullanıcı/sorumlu/rol bilgisi için veritabanına tekrar gidilmez.
+ */
+@Getter
+@AllArgsConstructor
+public final class AuthenticatedPrincipal implements Principal, Serializable {
+
+    private final Long userId;
+    private final String email;
+    private final Long sorumluId;
+    private final Long roleId;
+    private final String roleName;
+    private final Rol legacyRol;
+
+    /**
+     * Authentication.getName() email döndürmeye devam eder
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
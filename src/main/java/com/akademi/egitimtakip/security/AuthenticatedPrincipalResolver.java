@@ -0,0 +1,57 @@
+package com.akademi.egitimtakip.security;
+
+import com.akademi.egitimtakip.entity.Kullanici;
+import com.akademi.egitimtakip.repository.KullaniciRepository;
+import com.akademi.egitimtakip.repository.SorumluRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Authenticated Principal Resolver
+ * 
+ * Token'daki email/kullanıcı adından AuthenticatedPrincipal oluşturur.
+ * İstek başına bir kez (JwtAuthenticationFilter içinde) çağrılır:
+ * kullanıcı ve sorumlu rol ID'si okunur, rol adı RolePermissionMatrix'ten gelir.
+ */
+@Component
+public class AuthenticatedPrincipalResolver {
+
+    @Autowired
+    private KullaniciRepository kullaniciRepository;
+
+    @Autowired
+    private SorumluRepository sorumluRepository;
+
+    @Autowired
+    private RolePermissionMatrix rolePermissionMatrix;
+
+    /**
+     * Kullanıcı bilgisini veritabanından okuyarak principal oluşturur
+     * @param username Email veya kullanıcı adı
+     * @return AuthenticatedPrincipal (kullanıcı bulunamazsa yalnızca email dolu)
+     */
+    public AuthenticatedPrincipal resolve(String username) {
+        Optional<Kullanici> kullaniciOpt = kullaniciRepository.findByEmail(username);
+        if (kullaniciOpt.isEmpty()) {
+            kullaniciOpt = kullaniciRepository.findByKullaniciAdi(username);
+        }
+        Kullanici kullanici = kullaniciOpt.orElse(null);
+        if (kullanici == null) {
+            return new AuthenticatedPrincipal(null, username, null, null, null, null);
+        }
+
+        Long sorumluId = kullanici.getSorumluId();
+        Long roleId = sorumluId != null ? sorumluRepository.findRoleIdById(sorumluId) : null;
+
+        return new AuthenticatedPrincipal(
+            kullanici.getId(),
+            username,
+            sorumluId,
+            roleId,
+            rolePermissionMatrix.getRoleName(roleId),
+            kullanici.getRol()
+        );
+    }
+}
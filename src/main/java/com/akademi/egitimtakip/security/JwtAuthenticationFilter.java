@@ -1,11 +1,13 @@
 package com.akademi.egitimtakip.security;
 
+import com.akademi.egitimtakip.util.JwtClaims;
 import com.akademi.egitimtakip.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,7 +23,10 @@ import java.util.Collections;
  * 
  * Her HTTP request'te JWT token'ı kontrol eder ve doğrular.
  * Token geçerliyse kullanıcıyı SecurityContext'e ekler.
+ * Principal olarak istek başına bir kez çözümlenen AuthenticatedPrincipal kullanılır.
  * H2 database ile uyumlu çalışır.
+ * Scrape token'ı ayarlıysa /metrics atlanır: Prometheus'un Bearer token'ı bir JWT değildir (MetricsController doğrular).
+ * Token boşsa /metrics de JWT ile doğrulanır.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,8 +34,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private AuthenticatedPrincipalResolver principalResolver;
+
+    @Value("${app.metrics.prometheus.token:}")
+    private String metricsToken;
+
     private static final String HEADER_PREFIX = "Bearer ";
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "/metrics".equals(request.getRequestURI()) && !metricsToken.isEmpty();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -47,26 +63,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Token'ı çıkar
             final String token = authHeader.substring(HEADER_PREFIX.length());
             
-            // Token'dan email ve rol çıkar
-            final String email = jwtUtil.getEmailFromToken(token);
-            final String rol = jwtUtil.getRolFromToken(token);
+            // Token'ı tek seferde doğrula (imza + süre), email ve rol çıkar
+            final JwtClaims claims = jwtUtil.parseToken(token);
+            final String email = claims.getEmail();
+            final String rol = claims.getRol();
 
             // Token geçerliliğini kontrol et - email ve rol null olmamalı
             if (email != null && rol != null && !rol.trim().isEmpty() 
                     && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtUtil.validateToken(token, email)) {
-                    // Authentication oluştur - rol bilgisi ile
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(
-                                    email,
-                                    null,
-                                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + rol.toUpperCase()))
-                            );
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // SecurityContext'e ekle
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+                // Kullanıcı, sorumlu ve rol bilgisini bir kez çözümle
+                AuthenticatedPrincipal principal = principalResolver.resolve(email);
+
+                // Authentication oluştur - rol bilgisi ile
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(
+                                principal,
+                                null,
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + rol.toUpperCase()))
+                        );
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                
+                // SecurityContext'e ekle
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
             // Token geçersizse işleme devam et (401 dönecek)
@@ -0,0 +1,163 @@
+package com.akademi.egitimtakip.security;
+
+import com.akademi.egitimtakip.repository.PermissionRepository;
+import com.akademi.egitimtakip.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Role Permission Matrix
+ * 
+ * In-memory, copy-on-write view of the roles / permissions / role_permissions
+ * tables (V4 schema). Every permission gets an ordinal and every role is
+ * mapped to a BitSet of the ordinals it grants, so a permission check is a
+ * hash lookup plus a bit test and never touches the database.
+ * 
+ * The matrix is loaded at startup and rebuilt whenever a
+ * RolePermissionsChangedEvent is published. The rebuilt snapshot is swapped
+ * in with a single volatile write; readers always see a complete snapshot.
+ * Rebuilds are serialized, so a rebuild that read the tables earlier can
+ * never publish over one that read them later.
+ */
+@Component
+public class RolePermissionMatrix {
+
+    private static final Logger logger = LoggerFactory.getLogger(RolePermissionMatrix.class);
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Check if role grants the given permission (module and action are case-insensitive)
+     * @param roleId Role ID
+     * @param module Module name
+     * @param action Action name
+     * @return true if role has the permission
+     */
+    public boolean hasPermission(Long roleId, String module, String action) {
+        if (roleId == null) {
+            return false;
+        }
+        Snapshot current = current();
+        BitSet granted = current.rolePermissions.get(roleId);
+        Integer ordinal = current.ordinals.get(key(module, action));
+        return granted != null && ordinal != null && granted.get(ordinal);
+    }
+
+    /**
+     * Check if role exists in the matrix
+     */
+    public boolean containsRole(Long roleId) {
+        return roleId != null && current().roleNames.containsKey(roleId);
+    }
+
+    /**
+     * Get role name
+     * @return Role name or null if role does not exist
+     */
+    public String getRoleName(Long roleId) {
+        return roleId == null ? null : current().roleNames.get(roleId);
+    }
+
+    /**
+     * Load the matrix once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Rebuild the matrix after a role/permission change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        logger.debug("Rebuilding role permission matrix: {}", event.getReason());
+        reload();
+    }
+
+    /**
+     * Read the tables and atomically swap in a new snapshot.
+     * Synchronized: reading and publishing happen under one lock, so concurrent
+     * rebuilds publish in the order they read the tables.
+     */
+    public synchronized void reload() {
+        Map<String, Integer> ordinals = new HashMap<>();
+        permissionRepository.findAllByOrderByModuleAscActionAsc()
+                .forEach(p -> ordinals.putIfAbsent(key(p.getModule(), p.getAction()), ordinals.size()));
+
+        Map<Long, String> roleNames = new HashMap<>();
+        Map<Long, BitSet> rolePermissions = new HashMap<>();
+        for (Object[] row : roleRepository.findAllIdAndName()) {
+            Long roleId = (Long) row[0];
+            roleNames.put(roleId, (String) row[1]);
+            rolePermissions.put(roleId, new BitSet(ordinals.size()));
+        }
+
+        List<Object[]> pairs = roleRepository.findAllRolePermissionPairs();
+        for (Object[] row : pairs) {
+            BitSet granted = rolePermissions.get((Long) row[0]);
+            Integer ordinal = ordinals.get(key((String) row[1], (String) row[2]));
+            if (granted != null && ordinal != null) {
+                granted.set(ordinal);
+            }
+        }
+
+        snapshot = new Snapshot(ordinals, roleNames, rolePermissions);
+        logger.info("Role permission matrix loaded: {} roles, {} permissions, {} grants",
+                roleNames.size(), ordinals.size(), pairs.size());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static String key(String module, String action) {
+        return (module + "." + action).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Immutable state of the matrix at one point in time
+     */
+    private static final class Snapshot {
+        private final Map<String, Integer> ordinals;
+        private final Map<Long, String> roleNames;
+        private final Map<Long, BitSet> rolePermissions;
+
+        private Snapshot(Map<String, Integer> ordinals, Map<Long, String> roleNames,
+                         Map<Long, BitSet> rolePermissions) {
+            this.ordinals = Collections.unmodifiableMap(ordinals);
+            this.roleNames = Collections.unmodifiableMap(roleNames);
+            this.rolePermissions = Collections.unmodifiableMap(rolePermissions);
+        }
+    }
+}
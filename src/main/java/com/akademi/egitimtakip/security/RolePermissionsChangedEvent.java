@@ -0,0 +1,21 @@
+package com.akademi.egitimtakip.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Role Permissions Changed Event
+ * 
+ * Published by RoleService and PermissionService after any change to the
+ * roles, permissions or role_permissions tables. RolePermissionMatrix
+ * rebuilds itself once the surrounding transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class RolePermissionsChangedEvent {
+
+    /**
+     * Short description of the change (for logging)
+     */
+    private final String reason;
+}
@@ -1,18 +1,23 @@
 package com.akademi.egitimtakip.service;
 
+import com.akademi.egitimtakip.dto.CursorPageResponse;
+import com.akademi.egitimtakip.dto.LogCursor;
 import com.akademi.egitimtakip.entity.ActivityLog;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import com.akademi.egitimtakip.logging.LogRetentionEngine;
 import com.akademi.egitimtakip.repository.ActivityLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * ActivityLogService
@@ -27,8 +32,14 @@ public class ActivityLogService {
     @Autowired
     private ActivityLogRepository activityLogRepository;
 
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private LogRetentionEngine logRetentionEngine;
+
     /**
-     * Activity log kaydı oluşturur (asenkron)
+     * Activity log kaydı oluşturur (write-behind)
      * 
      * @param userId Kullanıcı ID (opsiyonel, null olabilir)
      * @param action Aksiyon türü (CREATE, UPDATE, DELETE, VIEW, vb.)
@@ -36,7 +47,7 @@ public class ActivityLogService {
      * @param entityId Entity ID
      * @param description Açıklama
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void saveActivityLog(Long userId, String action, String entityType, Long entityId, String description) {
         try {
             ActivityLog log = new ActivityLog();
@@ -46,7 +57,7 @@ public class ActivityLogService {
             log.setEntityId(entityId);
             log.setDescription(truncate(description, 1000));
             
-            activityLogRepository.save(log);
+            logIngestionPipeline.submit(log);
             
             // Opsiyonel: Konsola da yazdır (development ortamında yararlı)
             System.out.println(String.format(
@@ -119,23 +130,19 @@ public class ActivityLogService {
 
     /**
      * Belirli bir tarihten eski aktiviteleri siler (temizleme)
+     * Silme LogRetentionEngine ile id aralıkları halinde, chunk başına ayrı transaction'da yapılır.
+     *
+     * @return Silinen kayıt sayısı
      */
-    public void deleteOldActivities(LocalDateTime before) {
-        List<ActivityLog> oldLogs = activityLogRepository.findByCreatedAtBetween(
-            LocalDateTime.of(2000, 1, 1, 0, 0), 
-            before
-        );
-        activityLogRepository.deleteAll(oldLogs);
-        System.out.println(String.format(
-            "🗑️  %d eski aktivite log kaydı silindi (tarih: %s öncesi)", 
-            oldLogs.size(), before
-        ));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteOldActivities(LocalDateTime before) {
+        return logRetentionEngine.purge("activity", before);
     }
 
     /**
      * Entity silme aksiyonlarını loglar
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logDelete(Long userId, String entityType, Long entityId, String entityName) {
         String description = String.format("%s silindi: %s (ID: %d)", entityType, entityName, entityId);
         saveActivityLog(userId, "DELETE", entityType, entityId, description);
@@ -144,7 +151,7 @@ public class ActivityLogService {
     /**
      * Entity oluşturma aksiyonlarını loglar
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logCreate(Long userId, String entityType, Long entityId, String entityName) {
         String description = String.format("Yeni %s oluşturuldu: %s", entityType, entityName);
         saveActivityLog(userId, "CREATE", entityType, entityId, description);
@@ -153,7 +160,7 @@ public class ActivityLogService {
     /**
      * Entity güncelleme aksiyonlarını loglar
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logUpdate(Long userId, String entityType, Long entityId, String entityName) {
         String description = String.format("%s güncellendi: %s", entityType, entityName);
         saveActivityLog(userId, "UPDATE", entityType, entityId, description);
@@ -162,7 +169,7 @@ public class ActivityLogService {
     /**
      * Entity görüntüleme aksiyonlarını loglar
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logView(Long userId, String entityType, Long entityId) {
         String description = String.format("%s görüntülendi", entityType);
         saveActivityLog(userId, "VIEW", entityType, entityId, description);
@@ -171,7 +178,7 @@ public class ActivityLogService {
     /**
      * Export aksiyonlarını loglar
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logExport(Long userId, String entityType, String format) {
         String description = String.format("%s listesi export edildi (%s formatında)", entityType, format);
         saveActivityLog(userId, "EXPORT", entityType, null, description);
@@ -181,6 +188,7 @@ public class ActivityLogService {
 
     /**
      * Filtrelere göre activity loglarını pagination ile getirir
+     * Filtreleme, sıralama ve sayfalama veritabanında yapılır.
      */
     @Transactional(readOnly = true)
     public Page<ActivityLog> getLogsByFilters(
@@ -191,28 +199,73 @@ public class ActivityLogService {
             String action,
             Long entityId,
             Pageable pageable) {
-        
-        // Tüm logları al
-        List<ActivityLog> allLogs = activityLogRepository.findAll();
-        
-        // Filtreleme
-        List<ActivityLog> filteredLogs = allLogs.stream()
-            .filter(log -> userId == null || (log.getUserId() != null && log.getUserId().equals(userId)))
-            .filter(log -> startDate == null || log.getCreatedAt().isAfter(startDate) || log.getCreatedAt().isEqual(startDate))
-            .filter(log -> endDate == null || log.getCreatedAt().isBefore(endDate) || log.getCreatedAt().isEqual(endDate))
-            .filter(log -> entityType == null || (log.getEntityType() != null && log.getEntityType().equalsIgnoreCase(entityType)))
-            .filter(log -> action == null || (log.getAction() != null && log.getAction().equalsIgnoreCase(action)))
-            .filter(log -> entityId == null || (log.getEntityId() != null && log.getEntityId().equals(entityId)))
-            .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-            .collect(Collectors.toList());
-        
-        // Pagination uygula
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredLogs.size());
-        
-        List<ActivityLog> pageContent = filteredLogs.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, filteredLogs.size());
+
+        Specification<ActivityLog> spec = buildSpecification(userId, startDate, endDate, entityType, action, entityId);
+        return activityLogRepository.findAll(spec, pageable);
+    }
+
+    /**
+     * Filtrelere göre activity loglarını keyset (cursor) sayfalama ile getirir
+     * 
+     * @param cursor Önceki dilimin nextCursor değeri (null ise ilk dilim)
+     * @param size Dilim boyutu (1..CursorPageResponse.MAX_SIZE)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ActivityLog> getLogsByFiltersAfter(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String entityType,
+            String action,
+            Long entityId,
+            String cursor,
+            int size) {
+
+        CursorPageResponse.checkSize(size);
+        Specification<ActivityLog> spec = buildSpecification(userId, startDate, endDate, entityType, action, entityId);
+        List<ActivityLog> rows = activityLogRepository.findNextSlice(spec, LogCursor.decode(cursor), size + 1);
+        return CursorPageResponse.of(rows, size, ActivityLog::getCreatedAt, ActivityLog::getId);
+    }
+
+    /**
+     * Log filtreleri için Specification oluşturur
+     */
+    private Specification<ActivityLog> buildSpecification(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String entityType,
+            String action,
+            Long entityId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("userId"), userId));
+            }
+
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+
+            if (entityType != null) {
+                predicates.add(cb.equal(cb.lower(root.get("entityType")), entityType.toLowerCase()));
+            }
+
+            if (action != null) {
+                predicates.add(cb.equal(cb.lower(root.get("action")), action.toLowerCase()));
+            }
+
+            if (entityId != null) {
+                predicates.add(cb.equal(root.get("entityId"), entityId));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
     }
 
     /**
@@ -1,18 +1,28 @@
 package com.akademi.egitimtakip.service;
 
+import com.akademi.egitimtakip.dto.CursorPageResponse;
+import com.akademi.egitimtakip.dto.LogCursor;
 import com.akademi.egitimtakip.entity.ApiLog;
+import com.akademi.egitimtakip.jdbc.RequestStatementStats;
+import com.akademi.egitimtakip.logging.ApiLogBodyStore;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import com.akademi.egitimtakip.logging.LogRetentionEngine;
+import com.akademi.egitimtakip.logging.LogSearchIndex;
 import com.akademi.egitimtakip.repository.ApiLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * ApiLogService
@@ -27,8 +37,20 @@ public class ApiLogService {
     @Autowired
     private ApiLogRepository apiLogRepository;
 
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private LogRetentionEngine logRetentionEngine;
+
+    @Autowired
+    private ApiLogBodyStore apiLogBodyStore;
+
+    @Autowired
+    private LogSearchIndex logSearchIndex;
+
     /**
-     * API log kaydı oluşturur (asenkron)
+     * API log kaydı oluşturur (write-behind)
      * 
      * @param userId Kullanıcı ID (opsiyonel, null olabilir)
      * @param endpoint Endpoint URL
@@ -39,9 +61,22 @@ public class ApiLogService {
      * @param durationMs İşlem süresi (milisaniye)
      * @param ip Client IP adresi
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void saveApiLog(Long userId, String endpoint, String httpMethod, Integer statusCode,
                           String requestBody, String responseBody, Long durationMs, String ip) {
+        saveApiLog(userId, endpoint, httpMethod, statusCode, requestBody, responseBody, durationMs, ip, null);
+    }
+
+    /**
+     * API log kaydı oluşturur; isteğin SQL özeti (ifade sayısı, veritabanı süresi, satırlar,
+     * en yüksek tekrar) da satıra yazılır
+     *
+     * @param sqlStats İsteğin SQL sayacı (StatementAccounting.current(); yoksa null)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void saveApiLog(Long userId, String endpoint, String httpMethod, Integer statusCode,
+                          String requestBody, String responseBody, Long durationMs, String ip,
+                          RequestStatementStats sqlStats) {
         try {
             ApiLog apiLog = new ApiLog();
             apiLog.setUserId(userId);
@@ -52,8 +87,14 @@ public class ApiLogService {
             apiLog.setResponseBody(truncate(responseBody, 10000));
             apiLog.setDurationMs(durationMs);
             apiLog.setIp(ip);
+            if (sqlStats != null) {
+                apiLog.setSqlCount(sqlStats.getStatements());
+                apiLog.setSqlTimeMs(sqlStats.getDbTimeMs());
+                apiLog.setSqlRows(sqlStats.getRows());
+                apiLog.setSqlMaxRepeat(sqlStats.getMaxRepeat());
+            }
             
-            apiLogRepository.save(apiLog);
+            logIngestionPipeline.submit(apiLog);
             
             // Opsiyonel: Yavaş çalışan API'leri konsola logla
             if (durationMs != null && durationMs > 1000) {
@@ -73,7 +114,11 @@ public class ApiLogService {
      */
     @Transactional(readOnly = true)
     public List<ApiLog> getLogsByEndpoint(String endpoint) {
-        return apiLogRepository.findByEndpointContainingIgnoreCase(endpoint);
+        List<String> endpoints = logSearchIndex.resolve(LogSearchIndex.Field.API_ENDPOINT, endpoint, true);
+        if (endpoints == null) {
+            return apiLogRepository.findByEndpointContainingIgnoreCase(endpoint);
+        }
+        return endpoints.isEmpty() ? List.of() : apiLogRepository.findByEndpointIn(endpoints);
     }
 
     /**
@@ -118,6 +163,7 @@ public class ApiLogService {
 
     /**
      * Filtrelere göre API loglarını pagination ile getirir
+     * Filtreleme, sıralama ve sayfalama veritabanında yapılır (index destekli).
      */
     @Transactional(readOnly = true)
     public Page<ApiLog> getLogsByFilters(
@@ -128,28 +174,61 @@ public class ApiLogService {
             String endpoint,
             Long minDuration,
             Pageable pageable) {
-        
-        // Tüm logları al
-        List<ApiLog> allLogs = apiLogRepository.findAll();
-        
-        // Filtreleme
-        List<ApiLog> filteredLogs = allLogs.stream()
-            .filter(log -> userId == null || (log.getUserId() != null && log.getUserId().equals(userId)))
-            .filter(log -> startDate == null || log.getCreatedAt().isAfter(startDate) || log.getCreatedAt().isEqual(startDate))
-            .filter(log -> endDate == null || log.getCreatedAt().isBefore(endDate) || log.getCreatedAt().isEqual(endDate))
-            .filter(log -> statusCode == null || (log.getStatusCode() != null && log.getStatusCode().equals(statusCode)))
-            .filter(log -> endpoint == null || (log.getEndpoint() != null && log.getEndpoint().contains(endpoint)))
-            .filter(log -> minDuration == null || (log.getDurationMs() != null && log.getDurationMs() >= minDuration))
-            .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt())) // En yeni en üstte
-            .collect(Collectors.toList());
-        
-        // Pagination uygula
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredLogs.size());
-        
-        List<ApiLog> pageContent = filteredLogs.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, filteredLogs.size());
+
+        Specification<ApiLog> spec = buildSpecification(userId, startDate, endDate, statusCode, endpoint, minDuration);
+
+        // Sıralama belirtilmemişse en yeni kayıtlar en üstte
+        Pageable sortedPageable = pageable.getSort().isSorted()
+            ? pageable
+            : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        return apiLogRepository.findAll(spec, sortedPageable);
+    }
+
+    /**
+     * Filtrelere göre API loglarını keyset (cursor) sayfalama ile getirir
+     * OFFSET ve COUNT(*) kullanmaz; derin sayfalarda da maliyet sabittir.
+     * 
+     * @param cursor Önceki dilimin nextCursor değeri (null ise ilk dilim)
+     * @param size Dilim boyutu (1..CursorPageResponse.MAX_SIZE)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ApiLog> getLogsByFiltersAfter(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Integer statusCode,
+            String endpoint,
+            Long minDuration,
+            String cursor,
+            int size) {
+
+        CursorPageResponse.checkSize(size);
+        Specification<ApiLog> spec = buildSpecification(userId, startDate, endDate, statusCode, endpoint, minDuration);
+        List<ApiLog> rows = apiLogRepository.findNextSlice(spec, LogCursor.decode(cursor), size + 1);
+        return CursorPageResponse.of(rows, size, ApiLog::getCreatedAt, ApiLog::getId);
+    }
+
+    /**
+     * Tek bir API logunu body'leriyle birlikte getirir
+     * Body'ler yalnızca burada api_log_bodies'ten okunup açılır; liste sorguları body taşımaz.
+     *
+     * @throws RuntimeException Log bulunamazsa
+     */
+    @Transactional(readOnly = true)
+    public ApiLog getLogDetail(Long id) {
+        ApiLog log = apiLogRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("API log bulunamadı: " + id));
+
+        // Henüz taşınmamış eski satırlar düz kolonlardan okunur
+        log.setRequestBody(log.getLegacyRequestBody() != null
+            ? log.getLegacyRequestBody()
+            : apiLogBodyStore.load(log.getRequestBodyHash()));
+        log.setResponseBody(log.getLegacyResponseBody() != null
+            ? log.getLegacyResponseBody()
+            : apiLogBodyStore.load(log.getResponseBodyHash()));
+        return log;
     }
 
     /**
@@ -160,22 +239,66 @@ public class ApiLogService {
     }
 
     /**
-     * Belirli bir tarihten eski logları siler (temizleme)
+     * Belirli bir tarihten eski API loglarını siler (temizleme)
+     * Silme LogRetentionEngine ile id aralıkları halinde, chunk başına ayrı transaction'da yapılır.
+     *
+     * @return Silinen kayıt sayısı
      */
-    public void deleteOldLogs(LocalDateTime before) {
-        List<ApiLog> oldLogs = apiLogRepository.findByCreatedAtBetween(
-            LocalDateTime.of(2000, 1, 1, 0, 0), 
-            before
-        );
-        apiLogRepository.deleteAll(oldLogs);
-        System.out.println(String.format(
-            "🗑️  %d eski API log kaydı silindi (tarih: %s öncesi)", 
-            oldLogs.size(), before
-        ));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteOldLogs(LocalDateTime before) {
+        long removed = logRetentionEngine.purge("api", before);
+        // Artık hiçbir logun referans vermediği body'ler
+        logRetentionEngine.purge("api-body", before);
+        return removed;
     }
 
     // Helper methods
 
+    /**
+     * Log filtreleri için Specification oluşturur
+     */
+    private Specification<ApiLog> buildSpecification(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Integer statusCode,
+            String endpoint,
+            Long minDuration) {
+        // Sayfa ve count sorguları aynı IN listesini kullanır
+        LogSearchIndex.ContainsFilter endpointFilter = endpoint != null && !endpoint.isEmpty()
+            ? logSearchIndex.filter(LogSearchIndex.Field.API_ENDPOINT, endpoint, false)
+            : null;
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("userId"), userId));
+            }
+
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+
+            if (statusCode != null) {
+                predicates.add(cb.equal(root.get("statusCode"), statusCode));
+            }
+
+            if (endpointFilter != null) {
+                predicates.add(endpointFilter.toPredicate(cb, root.get("endpoint")));
+            }
+
+            if (minDuration != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("durationMs"), minDuration));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
     /**
      * String'i belirli bir uzunlukta keser
      */
@@ -1,11 +1,17 @@
 package com.akademi.egitimtakip.service;
 
 import com.akademi.egitimtakip.annotation.LogAction;
+import com.akademi.egitimtakip.dto.EgitimListDTO;
 import com.akademi.egitimtakip.dto.EgitimRequestDTO;
 import com.akademi.egitimtakip.dto.EgitimResponseDTO;
 import com.akademi.egitimtakip.entity.*;
 import com.akademi.egitimtakip.mapper.EgitimMapper;
 import com.akademi.egitimtakip.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,8 +20,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Egitim Service
@@ -30,29 +41,54 @@ public class EgitimService {
     @Autowired
     private EgitimRepository egitimRepository;
 
-    @Autowired
-    private KategoriRepository kategoriRepository;
-
-    @Autowired
-    private EgitmenRepository egitmenRepository;
-
     @Autowired
     private SorumluRepository sorumluRepository;
 
-    @Autowired
-    private PaydasRepository paydasRepository;
-
     @Autowired
     private ProjeRepository projeRepository;
 
     @Autowired
     private EgitimMapper egitimMapper;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Tüm eğitimleri sayfalama ve filtreleme ile getirir
      */
     @Transactional(readOnly = true)
     public Page<EgitimResponseDTO> getAllEgitimler(Pageable pageable, String il, Integer yil, String durum) {
+        // 1. aşama: filtre + sıralama + sayfalama sadece id'ler üzerinde
+        Page<Long> ids = egitimRepository.findIdPage(filterSpecification(il, yil, durum), pageable);
+        if (ids.isEmpty()) {
+            return ids.map(id -> null);
+        }
+
+        // 2. aşama: sayfadaki eğitimler tek sorguda; ilişki setleri @BatchSize ile set başına tek sorguda
+        Map<Long, Egitim> egitimler = new HashMap<>();
+        for (Egitim egitim : egitimRepository.findAllWithProjeByIdIn(ids.getContent())) {
+            egitimler.put(egitim.getId(), egitim);
+        }
+        // İkinci seviye önbellekten gelen setler eğitim eğitim çözülür; paydaş setleri eşlemeden önce açılır ki
+        // paydaşların kendi setleri (egitimler, projeler; @BatchSize) paydaş başına değil sayfa başına yüklensin
+        for (Egitim egitim : egitimler.values()) {
+            Hibernate.initialize(egitim.getPaydaslar());
+        }
+        return ids.map(id -> egitimMapper.toResponseDTO(egitimler.get(id)));
+    }
+
+    /**
+     * Liste ekranı için hafif eğitim sayfası (ilişkiler olmadan, tek projeksiyon sorgusu)
+     */
+    @Transactional(readOnly = true)
+    public Page<EgitimListDTO> getEgitimListesi(Pageable pageable, String il, Integer yil, String durum) {
+        return egitimRepository.findListPage(filterSpecification(il, yil, durum), pageable);
+    }
+
+    /**
+     * Liste ve export endpoint'lerinin ortak filtreleri
+     */
+    public static Specification<Egitim> filterSpecification(String il, Integer yil, String durum) {
         Specification<Egitim> spec = Specification.where(null);
 
         // Durum filtresi
@@ -73,8 +109,7 @@ public class EgitimService {
         // Not: İl bilgisi şu an entity'de yok, bu filtre şimdilik çalışmayacak
         // İleride Proje entity'si eklendiğinde il bilgisi oradan alınabilir
 
-        Page<Egitim> egitimler = egitimRepository.findAll(spec, pageable);
-        return egitimler.map(egitimMapper::toResponseDTO);
+        return spec;
     }
 
     /**
@@ -145,6 +180,23 @@ public class EgitimService {
         egitimRepository.deleteById(id);
     }
 
+    /**
+     * Referans verisini (kategori, eğitmen, paydaş) id'leriyle yükler.
+     * findAllById bir sorgudur ve ikinci seviye önbelleği atlar; multiLoad önce persistence context'e
+     * ve önbelleğe bakar (CacheMode açıkça verilmezse önbellek atlanır), yalnızca eksik id'ler için tek sorgu atar.
+     * Bulunmayan id'ler atlanır (findAllById gibi).
+     */
+    private <T> Set<T> loadReferences(Class<T> type, Set<Long> ids) {
+        return entityManager.unwrap(Session.class)
+            .byMultipleIds(type)
+            .enableSessionCheck(true)
+            .with(CacheMode.NORMAL)
+            .multiLoad(new ArrayList<>(ids))
+            .stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(HashSet::new));
+    }
+
     /**
      * İlişkili entity'leri yükler ve atar
      */
@@ -152,14 +204,14 @@ public class EgitimService {
         // Kategoriler
         Set<Kategori> kategoriler = new HashSet<>();
         if (requestDTO.getKategoriIds() != null && !requestDTO.getKategoriIds().isEmpty()) {
-            kategoriler = new HashSet<>(kategoriRepository.findAllById(requestDTO.getKategoriIds()));
+            kategoriler = loadReferences(Kategori.class, requestDTO.getKategoriIds());
         }
         egitim.setKategoriler(kategoriler);
 
         // Eğitmenler
         Set<Egitmen> egitmenler = new HashSet<>();
         if (requestDTO.getEgitmenIds() != null && !requestDTO.getEgitmenIds().isEmpty()) {
-            egitmenler = new HashSet<>(egitmenRepository.findAllById(requestDTO.getEgitmenIds()));
+            egitmenler = loadReferences(Egitmen.class, requestDTO.getEgitmenIds());
         }
         egitim.setEgitmenler(egitmenler);
 
@@ -173,7 +225,7 @@ public class EgitimService {
         // Paydaşlar
         Set<Paydas> paydaslar = new HashSet<>();
         if (requestDTO.getPaydasIds() != null && !requestDTO.getPaydasIds().isEmpty()) {
-            paydaslar = new HashSet<>(paydasRepository.findAllById(requestDTO.getPaydasIds()));
+            paydaslar = loadReferences(Paydas.class, requestDTO.getPaydasIds());
         }
         egitim.setPaydaslar(paydaslar);
 
@@ -1,26 +1,36 @@
 package com.akademi.egitimtakip.service;
 
+import com.akademi.egitimtakip.dto.CursorPageResponse;
+import com.akademi.egitimtakip.dto.ErrorGroupDTO;
+import com.akademi.egitimtakip.dto.LogCursor;
+import com.akademi.egitimtakip.entity.ErrorGroup;
 import com.akademi.egitimtakip.entity.ErrorLog;
+import com.akademi.egitimtakip.logging.ErrorGroupAggregator;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import com.akademi.egitimtakip.logging.LogRetentionEngine;
+import com.akademi.egitimtakip.logging.LogSearchIndex;
+import com.akademi.egitimtakip.repository.ErrorGroupRepository;
 import com.akademi.egitimtakip.repository.ErrorLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * ErrorLogService
  * 
- * Uygulama hatalarını error_logs tablosuna kaydeder.
- * GlobalExceptionHandler tarafından kullanılır.
+ * Uygulama hatalarını kaydeder. GlobalExceptionHandler tarafından kullanılır.
+ *
+ * Her hata parmak izine göre error_groups'taki grubuna sayılır (ErrorGroupAggregator);
+ * error_logs'a yalnızca stack trace'siz, gruba fingerprint ile bağlı hafif bir tekrar satırı yazılır.
  */
 @Service
 @Transactional
@@ -29,14 +39,30 @@ public class ErrorLogService {
     @Autowired
     private ErrorLogRepository errorLogRepository;
 
+    @Autowired
+    private ErrorGroupRepository errorGroupRepository;
+
+    @Autowired
+    private ErrorGroupAggregator errorGroupAggregator;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private LogRetentionEngine logRetentionEngine;
+
+    @Autowired
+    private LogSearchIndex logSearchIndex;
+
     /**
-     * Hata kaydı oluşturur (asenkron)
+     * Hata kaydı oluşturur (write-behind)
+     * Stack trace yalnızca grubun ilk örneği olarak saklanır.
      * 
      * @param userId Kullanıcı ID (opsiyonel, null olabilir)
      * @param endpoint Hatanın oluştuğu endpoint
      * @param exception Exception nesnesi
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void saveErrorLog(Long userId, String endpoint, Exception exception) {
         try {
             ErrorLog errorLog = new ErrorLog();
@@ -44,9 +70,9 @@ public class ErrorLogService {
             errorLog.setEndpoint(truncate(endpoint, 500));
             errorLog.setExceptionType(exception.getClass().getName());
             errorLog.setMessage(truncate(exception.getMessage(), 2000));
-            errorLog.setStacktrace(truncate(getStackTrace(exception), 10000));
+            errorLog.setFingerprint(errorGroupAggregator.record(exception));
             
-            errorLogRepository.save(errorLog);
+            logIngestionPipeline.submit(errorLog);
             
             // Konsola da yazdır (development ortamında yararlı)
             System.err.println(String.format(
@@ -66,7 +92,7 @@ public class ErrorLogService {
     /**
      * Detaylı hata kaydı oluşturur
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void saveErrorLog(Long userId, String endpoint, String exceptionType, 
                             String message, String stacktrace) {
         try {
@@ -75,9 +101,9 @@ public class ErrorLogService {
             errorLog.setEndpoint(truncate(endpoint, 500));
             errorLog.setExceptionType(exceptionType);
             errorLog.setMessage(truncate(message, 2000));
-            errorLog.setStacktrace(truncate(stacktrace, 10000));
+            errorLog.setFingerprint(errorGroupAggregator.record(exceptionType, message, stacktrace));
             
-            errorLogRepository.save(errorLog);
+            logIngestionPipeline.submit(errorLog);
         } catch (Exception e) {
             System.err.println("Error log kaydedilemedi: " + e.getMessage());
         }
@@ -96,7 +122,11 @@ public class ErrorLogService {
      */
     @Transactional(readOnly = true)
     public List<ErrorLog> getErrorsByEndpoint(String endpoint) {
-        return errorLogRepository.findByEndpointContainingIgnoreCase(endpoint);
+        List<String> endpoints = logSearchIndex.resolve(LogSearchIndex.Field.ERROR_ENDPOINT, endpoint, true);
+        if (endpoints == null) {
+            return errorLogRepository.findByEndpointContainingIgnoreCase(endpoint);
+        }
+        return endpoints.isEmpty() ? List.of() : errorLogRepository.findByEndpointIn(endpoints);
     }
 
     /**
@@ -132,35 +162,44 @@ public class ErrorLogService {
 
     /**
      * Belirli bir tarihten eski hataları siler (temizleme)
+     * Silme LogRetentionEngine ile id aralıkları halinde, chunk başına ayrı transaction'da yapılır.
+     *
+     * @return Silinen kayıt sayısı
      */
-    public void deleteOldErrors(LocalDateTime before) {
-        List<ErrorLog> oldLogs = errorLogRepository.findByCreatedAtBetween(
-            LocalDateTime.of(2000, 1, 1, 0, 0), 
-            before
-        );
-        errorLogRepository.deleteAll(oldLogs);
-        System.out.println(String.format(
-            "🗑️  %d eski hata log kaydı silindi (tarih: %s öncesi)", 
-            oldLogs.size(), before
-        ));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteOldErrors(LocalDateTime before) {
+        long removed = logRetentionEngine.purge("error", before);
+        logRetentionEngine.purge("error-group", before);
+        return removed;
     }
 
-    // Helper methods
+    /**
+     * Hata gruplarını örnek stack trace olmadan getirir (gruplanmış görünüm)
+     * Sayaçlar bellekte toplanıp periyodik yazıldığından son birkaç saniyelik hatalar henüz görünmeyebilir.
+     *
+     * @param exceptionType Exception türü (contains)
+     * @param since Bu tarihten sonra görülmüş gruplar
+     */
+    @Transactional(readOnly = true)
+    public Page<ErrorGroupDTO> getGroups(String exceptionType, LocalDateTime since, Pageable pageable) {
+        String type = exceptionType != null && !exceptionType.isEmpty() ? exceptionType : null;
+        return errorGroupRepository.findSummaries(type, since, pageable);
+    }
 
     /**
-     * Exception'ın stack trace'ini String'e çevirir
+     * Tek bir hata grubunu örnek stack trace ile getirir
+     *
+     * @throws RuntimeException Grup bulunamazsa
      */
-    private String getStackTrace(Exception exception) {
-        if (exception == null) return null;
-        
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        exception.printStackTrace(pw);
-        return sw.toString();
+    @Transactional(readOnly = true)
+    public ErrorGroup getGroup(Long id) {
+        return errorGroupRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Hata grubu bulunamadı: " + id));
     }
 
     /**
      * Filtrelere göre error loglarını pagination ile getirir
+     * Filtreleme, sıralama ve sayfalama veritabanında yapılır.
      */
     @Transactional(readOnly = true)
     public Page<ErrorLog> getLogsByFilters(
@@ -169,28 +208,82 @@ public class ErrorLogService {
             LocalDateTime endDate,
             String exceptionType,
             String endpoint,
+            String fingerprint,
             Pageable pageable) {
-        
-        // Tüm logları al
-        List<ErrorLog> allLogs = errorLogRepository.findAll();
-        
-        // Filtreleme
-        List<ErrorLog> filteredLogs = allLogs.stream()
-            .filter(log -> userId == null || (log.getUserId() != null && log.getUserId().equals(userId)))
-            .filter(log -> startDate == null || log.getCreatedAt().isAfter(startDate) || log.getCreatedAt().isEqual(startDate))
-            .filter(log -> endDate == null || log.getCreatedAt().isBefore(endDate) || log.getCreatedAt().isEqual(endDate))
-            .filter(log -> exceptionType == null || (log.getExceptionType() != null && log.getExceptionType().contains(exceptionType)))
-            .filter(log -> endpoint == null || (log.getEndpoint() != null && log.getEndpoint().contains(endpoint)))
-            .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-            .collect(Collectors.toList());
-        
-        // Pagination uygula
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredLogs.size());
-        
-        List<ErrorLog> pageContent = filteredLogs.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, filteredLogs.size());
+
+        Specification<ErrorLog> spec = buildSpecification(userId, startDate, endDate, exceptionType, endpoint, fingerprint);
+        return errorLogRepository.findAll(spec, pageable);
+    }
+
+    /**
+     * Filtrelere göre error loglarını keyset (cursor) sayfalama ile getirir
+     * 
+     * @param cursor Önceki dilimin nextCursor değeri (null ise ilk dilim)
+     * @param size Dilim boyutu (1..CursorPageResponse.MAX_SIZE)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ErrorLog> getLogsByFiltersAfter(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String exceptionType,
+            String endpoint,
+            String fingerprint,
+            String cursor,
+            int size) {
+
+        CursorPageResponse.checkSize(size);
+        Specification<ErrorLog> spec = buildSpecification(userId, startDate, endDate, exceptionType, endpoint, fingerprint);
+        List<ErrorLog> rows = errorLogRepository.findNextSlice(spec, LogCursor.decode(cursor), size + 1);
+        return CursorPageResponse.of(rows, size, ErrorLog::getCreatedAt, ErrorLog::getId);
+    }
+
+    /**
+     * Log filtreleri için Specification oluşturur
+     */
+    private Specification<ErrorLog> buildSpecification(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String exceptionType,
+            String endpoint,
+            String fingerprint) {
+        // Sayfa ve count sorguları aynı IN listesini kullanır
+        LogSearchIndex.ContainsFilter exceptionTypeFilter = exceptionType != null && !exceptionType.isEmpty()
+            ? logSearchIndex.filter(LogSearchIndex.Field.ERROR_EXCEPTION_TYPE, exceptionType, false)
+            : null;
+        LogSearchIndex.ContainsFilter endpointFilter = endpoint != null && !endpoint.isEmpty()
+            ? logSearchIndex.filter(LogSearchIndex.Field.ERROR_ENDPOINT, endpoint, false)
+            : null;
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("userId"), userId));
+            }
+
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+
+            if (exceptionTypeFilter != null) {
+                predicates.add(exceptionTypeFilter.toPredicate(cb, root.get("exceptionType")));
+            }
+
+            if (endpointFilter != null) {
+                predicates.add(endpointFilter.toPredicate(cb, root.get("endpoint")));
+            }
+
+            if (fingerprint != null && !fingerprint.isEmpty()) {
+                predicates.add(cb.equal(root.get("fingerprint"), fingerprint));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
     }
 
     /**
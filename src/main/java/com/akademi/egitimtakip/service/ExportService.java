@@ -0,0 +1,283 @@
+package com.akademi.egitimtakip.service;
+
+import com.akademi.egitimtakip.entity.Egitim;
+import com.akademi.egitimtakip.entity.Faaliyet;
+import com.akademi.egitimtakip.entity.Odeme;
+import com.akademi.egitimtakip.export.ExportFormat;
+import com.akademi.egitimtakip.export.ExportWriter;
+import com.akademi.egitimtakip.repository.EgitimRepository;
+import com.akademi.egitimtakip.repository.FaaliyetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Export Service
+ *
+ * Eğitim, ödeme ve faaliyet listelerini CSV / NDJSON olarak response stream'ine yazar.
+ * Liste endpoint'leriyle aynı Specification filtrelerini kullanır.
+ *
+ * - Satırlar read-only transaction içinde JDBC fetch size ile stream edilir,
+ *   entity yerine sadece export kolonları seçilir (persistence context büyümez).
+ * - İlişki setleri (kategoriler, egitmenler, sorumlular, paydaslar) satır başına değil,
+ *   chunk başına tek IN sorgusu ile alınır.
+ * - Her chunk yazıldıktan sonra çıktı flush edilir; bellek kullanımı satır sayısından bağımsızdır.
+ */
+@Service
+public class ExportService {
+
+    private static final List<String> EGITIM_FIELDS = List.of(
+        "id", "ad", "egitimKodu", "programId", "seviye", "hedefKitle", "aciklama",
+        "baslangicTarihi", "bitisTarihi", "egitimSaati", "durum");
+
+    private static final List<String> EGITIM_COLUMNS = concat(EGITIM_FIELDS,
+        List.of("projeId", "projeIsim", "kategoriler", "egitmenler", "sorumlular", "paydaslar"));
+
+    private static final List<String> ODEME_FIELDS = List.of(
+        "id", "birimUcret", "toplamUcret", "odemeKaynagi", "durum", "operasyon",
+        "isDeleted", "createdAt", "updatedAt");
+
+    private static final List<String> ODEME_COLUMNS = concat(ODEME_FIELDS,
+        List.of("egitimId", "egitimAd", "sorumluId", "sorumlu"));
+
+    private static final List<String> FAALIYET_FIELDS = List.of("id", "tarih", "isim", "turu");
+
+    private static final List<String> FAALIYET_COLUMNS = concat(FAALIYET_FIELDS,
+        List.of("projeId", "projeIsim", "sorumlular"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EgitimRepository egitimRepository;
+
+    @Autowired
+    private FaaliyetRepository faaliyetRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${app.export.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Eğitimleri export eder (GET /egitim ile aynı filtreler)
+     *
+     * @return Yazılan satır sayısı
+     */
+    @Transactional(readOnly = true)
+    public long exportEgitimler(OutputStream out, ExportFormat format, String il, Integer yil, String durum) {
+        ExportWriter writer = new ExportWriter(out, format, EGITIM_COLUMNS, objectMapper);
+        writer.start();
+
+        Specification<Egitim> spec = EgitimService.filterSpecification(il, yil, durum);
+        try (Stream<Tuple> rows = streamRows(Egitim.class, spec, (root, cb) -> {
+            Join<Egitim, ?> proje = root.join("proje", JoinType.LEFT);
+            List<Selection<?>> selections = fieldSelections(root, EGITIM_FIELDS);
+            selections.add(proje.get("id").alias("projeId"));
+            selections.add(proje.get("isim").alias("projeIsim"));
+            return selections;
+        })) {
+            forEachChunk(rows, chunk -> {
+                List<Long> ids = ids(chunk);
+                Map<Long, List<String>> kategoriler = groupByOwner(egitimRepository.findKategoriAdlariByEgitimIds(ids));
+                Map<Long, List<String>> egitmenler = groupByOwner(egitimRepository.findEgitmenAdlariByEgitimIds(ids));
+                Map<Long, List<String>> sorumlular = groupByOwner(egitimRepository.findSorumluAdlariByEgitimIds(ids));
+                Map<Long, List<String>> paydaslar = groupByOwner(egitimRepository.findPaydasAdlariByEgitimIds(ids));
+
+                for (Tuple tuple : chunk) {
+                    Long id = tuple.get("id", Long.class);
+                    Map<String, Object> row = toRow(tuple);
+                    row.put("kategoriler", kategoriler.getOrDefault(id, List.of()));
+                    row.put("egitmenler", egitmenler.getOrDefault(id, List.of()));
+                    row.put("sorumlular", sorumlular.getOrDefault(id, List.of()));
+                    row.put("paydaslar", paydaslar.getOrDefault(id, List.of()));
+                    writer.writeRow(row);
+                }
+                writer.flush();
+            });
+        }
+
+        return writer.getRowCount();
+    }
+
+    /**
+     * Ödemeleri export eder (GET /odeme ile aynı filtreler)
+     *
+     * @return Yazılan satır sayısı
+     */
+    @Transactional(readOnly = true)
+    public long exportOdemeler(OutputStream out, ExportFormat format,
+                               Long egitimId, String durum, Long sorumluId, String odemeKaynagi) {
+        ExportWriter writer = new ExportWriter(out, format, ODEME_COLUMNS, objectMapper);
+        writer.start();
+
+        Specification<Odeme> spec = OdemeService.filterSpecification(egitimId, durum, sorumluId, odemeKaynagi);
+        try (Stream<Tuple> rows = streamRows(Odeme.class, spec, (root, cb) -> {
+            Join<Odeme, ?> egitim = root.join("egitim", JoinType.LEFT);
+            Join<Odeme, ?> sorumlu = root.join("sorumlu", JoinType.LEFT);
+            List<Selection<?>> selections = fieldSelections(root, ODEME_FIELDS);
+            selections.add(egitim.get("id").alias("egitimId"));
+            selections.add(egitim.get("ad").alias("egitimAd"));
+            selections.add(sorumlu.get("id").alias("sorumluId"));
+            selections.add(cb.concat(cb.concat(sorumlu.<String>get("ad"), " "), sorumlu.<String>get("soyad")).alias("sorumlu"));
+            return selections;
+        })) {
+            forEachChunk(rows, chunk -> {
+                for (Tuple tuple : chunk) {
+                    writer.writeRow(toRow(tuple));
+                }
+                writer.flush();
+            });
+        }
+
+        return writer.getRowCount();
+    }
+
+    /**
+     * Faaliyetleri export eder (GET /faaliyet ile aynı filtreler)
+     *
+     * @return Yazılan satır sayısı
+     */
+    @Transactional(readOnly = true)
+    public long exportFaaliyetler(OutputStream out, ExportFormat format, Long projeId, String turu) {
+        ExportWriter writer = new ExportWriter(out, format, FAALIYET_COLUMNS, objectMapper);
+        writer.start();
+
+        Specification<Faaliyet> spec = FaaliyetService.filterSpecification(projeId, turu);
+        try (Stream<Tuple> rows = streamRows(Faaliyet.class, spec, (root, cb) -> {
+            Join<Faaliyet, ?> proje = root.join("proje", JoinType.LEFT);
+            List<Selection<?>> selections = fieldSelections(root, FAALIYET_FIELDS);
+            selections.add(proje.get("id").alias("projeId"));
+            selections.add(proje.get("isim").alias("projeIsim"));
+            return selections;
+        })) {
+            forEachChunk(rows, chunk -> {
+                Map<Long, List<String>> sorumlular = groupByOwner(
+                    faaliyetRepository.findSorumluAdlariByFaaliyetIds(ids(chunk)));
+
+                for (Tuple tuple : chunk) {
+                    Map<String, Object> row = toRow(tuple);
+                    row.put("sorumlular", sorumlular.getOrDefault(tuple.get("id", Long.class), List.of()));
+                    writer.writeRow(row);
+                }
+                writer.flush();
+            });
+        }
+
+        return writer.getRowCount();
+    }
+
+    // Helper methods
+
+    /**
+     * Specification filtreleriyle, id sırasına göre sadece seçilen kolonları stream eder.
+     * Fetch size sayesinde sürücü satırları parça parça getirir (PostgreSQL'de cursor).
+     */
+    private <T> Stream<Tuple> streamRows(Class<T> type, Specification<T> spec,
+                                         BiFunction<Root<T>, CriteriaBuilder, List<Selection<?>>> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        query.multiselect(columns.apply(root, cb));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    /**
+     * Stream'i chunkSize'lık parçalara bölerek işler
+     */
+    private void forEachChunk(Stream<Tuple> rows, Consumer<List<Tuple>> chunkConsumer) {
+        List<Tuple> chunk = new ArrayList<>(chunkSize);
+        Iterator<Tuple> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() >= chunkSize) {
+                chunkConsumer.accept(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(chunk);
+        }
+    }
+
+    private static List<Selection<?>> fieldSelections(Root<?> root, List<String> fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        return selections;
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            row.put(element.getAlias(), tuple.get(element));
+        }
+        return row;
+    }
+
+    private static List<Long> ids(List<Tuple> chunk) {
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (Tuple tuple : chunk) {
+            ids.add(tuple.get("id", Long.class));
+        }
+        return ids;
+    }
+
+    /**
+     * (sahipId, ad) çiftlerini sahip id'sine göre gruplar
+     */
+    private static Map<Long, List<String>> groupByOwner(List<Object[]> pairs) {
+        Map<Long, List<String>> grouped = new HashMap<>();
+        for (Object[] pair : pairs) {
+            grouped.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        return grouped;
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        return List.copyOf(all);
+    }
+}
@@ -41,6 +41,15 @@ public class FaaliyetService {
      */
     @Transactional(readOnly = true)
     public Page<FaaliyetResponseDTO> getAllFaaliyetler(Pageable pageable, Long projeId, String turu) {
+        Specification<Faaliyet> spec = filterSpecification(projeId, turu);
+        Page<Faaliyet> faaliyetler = faaliyetRepository.findAll(spec, pageable);
+        return faaliyetler.map(faaliyetMapper::toResponseDTO);
+    }
+
+    /**
+     * Liste ve export endpoint'lerinin ortak filtreleri
+     */
+    public static Specification<Faaliyet> filterSpecification(Long projeId, String turu) {
         Specification<Faaliyet> spec = Specification.where(null);
 
         if (projeId != null) {
@@ -51,8 +60,7 @@ public class FaaliyetService {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("turu"), turu));
         }
 
-        Page<Faaliyet> faaliyetler = faaliyetRepository.findAll(spec, pageable);
-        return faaliyetler.map(faaliyetMapper::toResponseDTO);
+        return spec;
     }
 
     /**
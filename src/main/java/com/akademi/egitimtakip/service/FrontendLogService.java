@@ -1,12 +1,18 @@
 package com.akademi.egitimtakip.service;
 
+import com.akademi.egitimtakip.dto.CursorPageResponse;
+import com.akademi.egitimtakip.dto.FrontendEventDTO;
+import com.akademi.egitimtakip.dto.LogCursor;
 import com.akademi.egitimtakip.entity.FrontendLog;
+import com.akademi.egitimtakip.logging.FrontendEventCoalescer;
+import com.akademi.egitimtakip.logging.LogRetentionEngine;
+import com.akademi.egitimtakip.logging.LogSearchIndex;
 import com.akademi.egitimtakip.repository.FrontendLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,7 +25,7 @@ import java.util.List;
  * FrontendLogService
  * 
  * Frontend kullanıcı aksiyonlarını yöneten servis.
- * - Frontend loglarını kaydetme
+ * - Frontend loglarını kaydetme (tekil ve toplu; aynı olaylar birleştirilerek yazılır)
  * - Filtreleme ve sorgulama
  * - Eski logları silme
  */
@@ -29,18 +35,49 @@ public class FrontendLogService {
     @Autowired
     private FrontendLogRepository frontendLogRepository;
 
+    @Autowired
+    private LogRetentionEngine logRetentionEngine;
+
+    @Autowired
+    private FrontendEventCoalescer frontendEventCoalescer;
+
+    @Autowired
+    private LogSearchIndex logSearchIndex;
+
+    @Value("${app.logging.frontend.max-batch-size:500}")
+    private int maxBatchSize;
+
     /**
-     * Frontend log kaydeder (asenkron)
+     * Frontend log kaydeder
+     * Olay birleştirme penceresine eklenir; aynı olaylar tek satır olarak toplu yazılır.
      */
-    @Async
-    @Transactional
     public void saveFrontendLog(Long userId, String action, String page, String details) {
-        FrontendLog log = new FrontendLog();
-        log.setUserId(userId);
-        log.setAction(action);
-        log.setPage(page);
-        log.setDetails(details);
-        frontendLogRepository.save(log);
+        frontendEventCoalescer.add(userId, action, page, details);
+    }
+
+    /**
+     * Toplu gönderilen frontend olaylarını kaydeder
+     * 
+     * @return Kabul edilen olay sayısı (aksiyonu boş olanlar atlanır)
+     */
+    public int saveFrontendEvents(List<FrontendEventDTO> events) {
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        if (events.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                "Tek istekte en fazla " + maxBatchSize + " olay gönderilebilir: " + events.size());
+        }
+
+        int accepted = 0;
+        for (FrontendEventDTO event : events) {
+            if (event == null || event.getAction() == null || event.getAction().isBlank()) {
+                continue;
+            }
+            frontendEventCoalescer.add(event.getUserId(), event.getAction(), event.getPage(), event.getDetails());
+            accepted++;
+        }
+        return accepted;
     }
 
     /**
@@ -55,7 +92,46 @@ public class FrontendLogService {
             String page,
             Pageable pageable) {
 
-        Specification<FrontendLog> spec = (root, query, cb) -> {
+        Specification<FrontendLog> spec = buildSpecification(userId, startDate, endDate, action, page);
+        return frontendLogRepository.findAll(spec, pageable);
+    }
+
+    /**
+     * Filtreli frontend loglarını keyset (cursor) sayfalama ile getirir
+     * 
+     * @param cursor Önceki dilimin nextCursor değeri (null ise ilk dilim)
+     * @param size Dilim boyutu (1..CursorPageResponse.MAX_SIZE)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FrontendLog> getLogsByFiltersAfter(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String action,
+            String page,
+            String cursor,
+            int size) {
+
+        CursorPageResponse.checkSize(size);
+        Specification<FrontendLog> spec = buildSpecification(userId, startDate, endDate, action, page);
+        List<FrontendLog> rows = frontendLogRepository.findNextSlice(spec, LogCursor.decode(cursor), size + 1);
+        return CursorPageResponse.of(rows, size, FrontendLog::getCreatedAt, FrontendLog::getId);
+    }
+
+    /**
+     * Log filtreleri için Specification oluşturur
+     */
+    private Specification<FrontendLog> buildSpecification(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String action,
+            String page) {
+        // Sayfa ve count sorguları aynı IN listesini kullanır
+        LogSearchIndex.ContainsFilter pageFilter = page != null && !page.isEmpty()
+            ? logSearchIndex.filter(LogSearchIndex.Field.FRONTEND_PAGE, page, true)
+            : null;
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             if (userId != null) {
@@ -74,14 +150,12 @@ public class FrontendLogService {
                 predicates.add(cb.like(cb.lower(root.get("action")), "%" + action.toLowerCase() + "%"));
             }
 
-            if (page != null && !page.isEmpty()) {
-                predicates.add(cb.like(cb.lower(root.get("page")), "%" + page.toLowerCase() + "%"));
+            if (pageFilter != null) {
+                predicates.add(pageFilter.toPredicate(cb, root.get("page")));
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-
-        return frontendLogRepository.findAll(spec, pageable);
     }
 
     /**
@@ -94,11 +168,12 @@ public class FrontendLogService {
 
     /**
      * Belirtilen tarihten eski logları siler
+     * Silme LogRetentionEngine ile id aralıkları halinde, chunk başına ayrı transaction'da yapılır.
+     *
+     * @return Silinen kayıt sayısı
      */
-    @Transactional
-    public void deleteOldLogs(LocalDateTime beforeDate) {
-        List<FrontendLog> oldLogs = frontendLogRepository.findByCreatedAtBefore(beforeDate);
-        frontendLogRepository.deleteAll(oldLogs);
+    public long deleteOldLogs(LocalDateTime beforeDate) {
+        return logRetentionEngine.purge("frontend", beforeDate);
     }
 
     /**
@@ -55,6 +55,20 @@ public class OdemeService {
             Long sorumluId,
             String odemeKaynagi) {
         
+        Specification<Odeme> spec = filterSpecification(egitimId, durum, sorumluId, odemeKaynagi);
+        Page<Odeme> odemeler = odemeRepository.findAll(spec, pageable);
+        return odemeler.map(odemeMapper::toResponseDTO);
+    }
+
+    /**
+     * Liste ve export endpoint'lerinin ortak filtreleri
+     */
+    public static Specification<Odeme> filterSpecification(
+            Long egitimId, 
+            String durum, 
+            Long sorumluId,
+            String odemeKaynagi) {
+        
         Specification<Odeme> spec = Specification.where(null);
 
         if (egitimId != null) {
@@ -77,8 +91,7 @@ public class OdemeService {
                 cb.like(cb.lower(root.get("odemeKaynagi")), "%" + odemeKaynagi.toLowerCase() + "%"));
         }
 
-        Page<Odeme> odemeler = odemeRepository.findAll(spec, pageable);
-        return odemeler.map(odemeMapper::toResponseDTO);
+        return spec;
     }
 
     /**
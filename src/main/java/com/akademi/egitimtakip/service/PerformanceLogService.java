@@ -1,24 +1,32 @@
 package com.akademi.egitimtakip.service;
 
+import com.akademi.egitimtakip.dto.CursorPageResponse;
+import com.akademi.egitimtakip.dto.LogCursor;
 import com.akademi.egitimtakip.entity.PerformanceLog;
+import com.akademi.egitimtakip.entity.PerformanceSnapshot;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import com.akademi.egitimtakip.logging.LogRetentionEngine;
 import com.akademi.egitimtakip.repository.PerformanceLogRepository;
+import com.akademi.egitimtakip.repository.PerformanceSnapshotRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * PerformanceLogService
  * 
- * Performans loglarını yönetir.
- * PerformanceAspect tarafından kullanılır.
+ * Performans loglarını ve periyodik gecikme özetlerini (performance_snapshots) yönetir.
  */
 @Service
 @Transactional
@@ -27,15 +35,24 @@ public class PerformanceLogService {
     @Autowired
     private PerformanceLogRepository performanceLogRepository;
 
+    @Autowired
+    private PerformanceSnapshotRepository performanceSnapshotRepository;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private LogRetentionEngine logRetentionEngine;
+
     /**
-     * Performans log kaydı oluşturur (asenkron)
+     * Performans log kaydı oluşturur (write-behind)
      * Sadece 1 saniyeden uzun süren işlemler kaydedilir
      * 
      * @param endpoint Endpoint veya method adı
      * @param durationMs İşlem süresi (milisaniye)
      * @param methodName Metod adı (ClassName.methodName formatında)
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void savePerformanceLog(String endpoint, Long durationMs, String methodName) {
         try {
             // Sadece yavaş işlemleri logla (1000ms üzeri)
@@ -48,7 +65,7 @@ public class PerformanceLogService {
             log.setDurationMs(durationMs);
             log.setMethodName(truncate(methodName, 255));
             
-            performanceLogRepository.save(log);
+            logIngestionPipeline.submit(log);
             
             // Konsola da yazdır (kritik yavaş işlemleri görmek için)
             System.out.println(String.format(
@@ -120,17 +137,13 @@ public class PerformanceLogService {
 
     /**
      * Belirli bir tarihten eski performans loglarını siler (temizleme)
+     * Silme LogRetentionEngine ile id aralıkları halinde, chunk başına ayrı transaction'da yapılır.
+     *
+     * @return Silinen kayıt sayısı
      */
-    public void deleteOldLogs(LocalDateTime before) {
-        List<PerformanceLog> oldLogs = performanceLogRepository.findByCreatedAtBetween(
-            LocalDateTime.of(2000, 1, 1, 0, 0), 
-            before
-        );
-        performanceLogRepository.deleteAll(oldLogs);
-        System.out.println(String.format(
-            "🗑️  %d eski performans log kaydı silindi (tarih: %s öncesi)", 
-            oldLogs.size(), before
-        ));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteOldLogs(LocalDateTime before) {
+        return logRetentionEngine.purge("performance", before);
     }
 
     /**
@@ -169,6 +182,7 @@ public class PerformanceLogService {
 
     /**
      * Filtrelere göre performance loglarını pagination ile getirir
+     * Filtreleme, sıralama ve sayfalama veritabanında yapılır.
      */
     @Transactional(readOnly = true)
     public Page<PerformanceLog> getLogsByFilters(
@@ -177,26 +191,102 @@ public class PerformanceLogService {
             Long minDuration,
             String endpoint,
             Pageable pageable) {
-        
-        // Tüm logları al
-        List<PerformanceLog> allLogs = performanceLogRepository.findAll();
-        
-        // Filtreleme
-        List<PerformanceLog> filteredLogs = allLogs.stream()
-            .filter(log -> startDate == null || log.getCreatedAt().isAfter(startDate) || log.getCreatedAt().isEqual(startDate))
-            .filter(log -> endDate == null || log.getCreatedAt().isBefore(endDate) || log.getCreatedAt().isEqual(endDate))
-            .filter(log -> minDuration == null || (log.getDurationMs() != null && log.getDurationMs() >= minDuration))
-            .filter(log -> endpoint == null || (log.getEndpoint() != null && log.getEndpoint().contains(endpoint)))
-            .sorted((a, b) -> b.getDurationMs().compareTo(a.getDurationMs())) // En yavaş en üstte
-            .collect(Collectors.toList());
-        
-        // Pagination uygula
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredLogs.size());
-        
-        List<PerformanceLog> pageContent = filteredLogs.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, filteredLogs.size());
+
+        Specification<PerformanceLog> spec = buildSpecification(startDate, endDate, minDuration, endpoint);
+
+        // Sıralama belirtilmemişse en yavaş işlemler en üstte
+        Pageable sortedPageable = pageable.getSort().isSorted()
+            ? pageable
+            : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "durationMs"));
+
+        return performanceLogRepository.findAll(spec, sortedPageable);
+    }
+
+    /**
+     * Filtrelere göre performance loglarını keyset (cursor) sayfalama ile getirir
+     * Cursor modunda sıralama zamana göredir (en yeni en üstte).
+     * 
+     * @param cursor Önceki dilimin nextCursor değeri (null ise ilk dilim)
+     * @param size Dilim boyutu (1..CursorPageResponse.MAX_SIZE)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PerformanceLog> getLogsByFiltersAfter(
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Long minDuration,
+            String endpoint,
+            String cursor,
+            int size) {
+
+        CursorPageResponse.checkSize(size);
+        Specification<PerformanceLog> spec = buildSpecification(startDate, endDate, minDuration, endpoint);
+        List<PerformanceLog> rows = performanceLogRepository.findNextSlice(spec, LogCursor.decode(cursor), size + 1);
+        return CursorPageResponse.of(rows, size, PerformanceLog::getCreatedAt, PerformanceLog::getId);
+    }
+
+    /**
+     * Periyodik gecikme özetlerini getirir (en yeni en üstte)
+     * 
+     * @param methodName Metot adı (ClassName.methodName, kısmi eşleşme)
+     */
+    @Transactional(readOnly = true)
+    public Page<PerformanceSnapshot> getSnapshotsByFilters(
+            String methodName,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+
+        Specification<PerformanceSnapshot> spec = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (methodName != null && !methodName.isEmpty()) {
+                predicates.add(cb.like(root.get("methodName"), "%" + methodName + "%"));
+            }
+
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+
+        return performanceSnapshotRepository.findAll(spec, pageable);
+    }
+
+    /**
+     * Log filtreleri için Specification oluşturur
+     */
+    private Specification<PerformanceLog> buildSpecification(
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Long minDuration,
+            String endpoint) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+
+            if (minDuration != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("durationMs"), minDuration));
+            }
+
+            if (endpoint != null && !endpoint.isEmpty()) {
+                predicates.add(cb.like(root.get("endpoint"), "%" + endpoint + "%"));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
     }
 
     /**
@@ -1,12 +1,12 @@
 package com.akademi.egitimtakip.service;
 
-import com.akademi.egitimtakip.entity.Kullanici;
 import com.akademi.egitimtakip.entity.Permission;
 import com.akademi.egitimtakip.entity.Rol;
 import com.akademi.egitimtakip.entity.Role;
 import com.akademi.egitimtakip.exception.PermissionDeniedException;
-import com.akademi.egitimtakip.repository.KullaniciRepository;
 import com.akademi.egitimtakip.repository.RoleRepository;
+import com.akademi.egitimtakip.security.AuthenticatedPrincipal;
+import com.akademi.egitimtakip.security.RolePermissionMatrix;
 import com.akademi.egitimtakip.util.SecurityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +14,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
 
 /**
  * Permission Check Service
@@ -22,6 +21,8 @@ import java.util.Optional;
  * Provides methods to check if the current user has specific permissions.
  * ADMIN role automatically bypasses all permission checks.
  * Also supports legacy Kullanici.rol enum for backward compatibility.
+ * The user is read from the AuthenticatedPrincipal built once per request and
+ * role permissions are read from the in-memory RolePermissionMatrix.
  */
 @Service
 @Transactional(readOnly = true)
@@ -34,7 +35,7 @@ public class PermissionCheckService {
     private RoleRepository roleRepository;
 
     @Autowired
-    private KullaniciRepository kullaniciRepository;
+    private RolePermissionMatrix rolePermissionMatrix;
 
     @Autowired
     private ActivityLogService activityLogService;
@@ -50,48 +51,38 @@ public class PermissionCheckService {
      * @return true if user has permission, false otherwise
      */
     public boolean hasPermission(String module, String action) {
-        String username = SecurityUtils.getCurrentUsername();
+        AuthenticatedPrincipal principal = SecurityUtils.getCurrentPrincipal();
         
         // If not authenticated, no permission
-        if (username == null) {
+        if (principal == null) {
             logger.debug("Permission check failed: User not authenticated for {}.{}", module, action);
             return false;
         }
+        String username = principal.getEmail();
 
         // STEP 1: Check legacy Kullanici.rol enum (backward compatibility)
         // This is critical for existing users who don't have the new Role system yet
-        if (checkLegacyKullaniciRol(username, module, action)) {
+        if (checkLegacyKullaniciRol(principal.getLegacyRol(), username, module, action)) {
             return true;
         }
 
-        // STEP 2: Get current user's role from new Role system
-        Role role = SecurityUtils.getCurrentUserRole();
-        
+        // STEP 2: Check current user's role from new Role system
         // If no role assigned in new system, deny access
-        if (role == null) {
+        if (principal.getRoleId() == null) {
             logger.debug("Permission check failed: No role assigned to user '{}' for {}.{}", 
                     username, module, action);
             return false;
         }
 
         // ADMIN bypass: Allow all permissions
-        if (ADMIN_ROLE.equals(role.getName())) {
+        if (ADMIN_ROLE.equals(principal.getRoleName())) {
             logger.debug("Permission granted: ADMIN bypass for user '{}' - {}.{}", 
                     username, module, action);
             return true;
         }
 
-        // Check if role has the specific permission
-        Role roleWithPermissions = roleRepository.findByIdWithPermissions(role.getId())
-                .orElse(null);
-        
-        if (roleWithPermissions == null) {
-            logger.debug("Permission check failed: Role not found for user '{}'", username);
-            return false;
-        }
-
-        boolean hasPermission = roleWithPermissions.getPermissions().stream()
-                .anyMatch(p -> p.getModule().equals(module) && p.getAction().equals(action));
+        // Check if role has the specific permission (in-memory matrix, no database access)
+        boolean hasPermission = rolePermissionMatrix.hasPermission(principal.getRoleId(), module, action);
 
         if (hasPermission) {
             logger.debug("Permission granted: User '{}' has {}.{}", username, module, action);
@@ -107,22 +98,14 @@ public class PermissionCheckService {
      * If user has ADMIN enum role, grant all permissions.
      * If user has SORUMLU enum role, grant most permissions.
      * 
+     * @param legacyRol User's legacy Kullanici.rol (may be null)
      * @param username User's email/username
      * @param module Module name
      * @param action Action name
      * @return true if legacy role grants permission
      */
-    private boolean checkLegacyKullaniciRol(String username, String module, String action) {
+    private boolean checkLegacyKullaniciRol(Rol legacyRol, String username, String module, String action) {
         try {
-            Optional<Kullanici> kullaniciOpt = kullaniciRepository.findByEmail(username);
-            
-            if (kullaniciOpt.isEmpty()) {
-                return false;
-            }
-
-            Kullanici kullanici = kullaniciOpt.get();
-            Rol legacyRol = kullanici.getRol();
-
             if (legacyRol == null) {
                 return false;
             }
@@ -196,23 +179,13 @@ public class PermissionCheckService {
      * @return true if ADMIN role
      */
     public boolean isAdmin() {
-        String username = SecurityUtils.getCurrentUsername();
-        if (username == null) {
+        AuthenticatedPrincipal principal = SecurityUtils.getCurrentPrincipal();
+        if (principal == null) {
             return false;
         }
 
-        // Check legacy Kullanici.rol
-        try {
-            Optional<Kullanici> kullaniciOpt = kullaniciRepository.findByEmail(username);
-            if (kullaniciOpt.isPresent() && kullaniciOpt.get().getRol() == Rol.ADMIN) {
-                return true;
-            }
-        } catch (Exception e) {
-            logger.error("Error checking legacy admin status: {}", e.getMessage());
-        }
-
-        // Check new Role system
-        return SecurityUtils.isAdmin();
+        // Check legacy Kullanici.rol, then new Role system
+        return principal.getLegacyRol() == Rol.ADMIN || ADMIN_ROLE.equals(principal.getRoleName());
     }
 
     /**
@@ -275,12 +248,12 @@ public class PermissionCheckService {
      * @return Set of Permission objects or empty set
      */
     public java.util.Set<Permission> getCurrentUserPermissions() {
-        Role role = SecurityUtils.getCurrentUserRole();
-        if (role == null) {
+        AuthenticatedPrincipal principal = SecurityUtils.getCurrentPrincipal();
+        if (principal == null || principal.getRoleId() == null) {
             return java.util.Collections.emptySet();
         }
 
-        Role roleWithPermissions = roleRepository.findByIdWithPermissions(role.getId())
+        Role roleWithPermissions = roleRepository.findByIdWithPermissions(principal.getRoleId())
                 .orElse(null);
         
         if (roleWithPermissions == null) {
@@ -2,8 +2,12 @@ package com.akademi.egitimtakip.service;
 
 import com.akademi.egitimtakip.dto.PermissionDTO;
 import com.akademi.egitimtakip.entity.Permission;
+import com.akademi.egitimtakip.entity.Role;
 import com.akademi.egitimtakip.repository.PermissionRepository;
+import com.akademi.egitimtakip.repository.RoleRepository;
+import com.akademi.egitimtakip.security.RolePermissionsChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,12 @@ public class PermissionService {
     @Autowired
     private PermissionRepository permissionRepository;
 
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Get all permissions
      */
@@ -77,6 +87,7 @@ public class PermissionService {
         permission.setDescription(description);
 
         permission = permissionRepository.save(permission);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent("Permission created: " + module + "." + action));
         return toDTO(permission);
     }
 
@@ -94,12 +105,17 @@ public class PermissionService {
 
     /**
      * Delete permission
+     * The permission is removed from its roles through Hibernate first (not only by the ON DELETE CASCADE
+     * of role_permissions), so the cached role.permissions collections are invalidated too.
      */
     public void deletePermission(Long id) {
-        if (!permissionRepository.existsById(id)) {
-            throw new RuntimeException("Permission not found: " + id);
+        Permission permission = permissionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Permission not found: " + id));
+        for (Role role : roleRepository.findByPermissions_Id(id)) {
+            role.getPermissions().remove(permission);
         }
-        permissionRepository.deleteById(id);
+        permissionRepository.delete(permission);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent("Permission deleted: " + id));
     }
 
     /**
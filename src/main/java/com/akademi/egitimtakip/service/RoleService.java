@@ -7,7 +7,10 @@ import com.akademi.egitimtakip.entity.Permission;
 import com.akademi.egitimtakip.entity.Role;
 import com.akademi.egitimtakip.repository.PermissionRepository;
 import com.akademi.egitimtakip.repository.RoleRepository;
+import com.akademi.egitimtakip.security.RolePermissionMatrix;
+import com.akademi.egitimtakip.security.RolePermissionsChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +34,12 @@ public class RoleService {
     @Autowired
     private PermissionRepository permissionRepository;
 
+    @Autowired
+    private RolePermissionMatrix rolePermissionMatrix;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Get all roles
      */
@@ -83,6 +92,7 @@ public class RoleService {
         }
 
         role = roleRepository.save(role);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent("Role created: " + role.getName()));
         return toDTO(role);
     }
 
@@ -111,6 +121,7 @@ public class RoleService {
         }
 
         role = roleRepository.save(role);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent("Role updated: " + role.getName()));
         return toDTO(role);
     }
 
@@ -122,6 +133,7 @@ public class RoleService {
             throw new RuntimeException("Role not found: " + id);
         }
         roleRepository.deleteById(id);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent("Role deleted: " + id));
     }
 
     /**
@@ -136,6 +148,7 @@ public class RoleService {
 
         role.addPermission(permission);
         role = roleRepository.save(role);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent("Permission " + permissionId + " added to role " + roleId));
         return toDTO(role);
     }
 
@@ -151,17 +164,19 @@ public class RoleService {
 
         role.removePermission(permission);
         role = roleRepository.save(role);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent("Permission " + permissionId + " removed from role " + roleId));
         return toDTO(role);
     }
 
     /**
-     * Check if role has permission
+     * Check if role has permission (served from RolePermissionMatrix)
      */
     @Transactional(readOnly = true)
     public boolean hasPermission(Long roleId, String module, String action) {
-        Role role = roleRepository.findByIdWithPermissions(roleId)
-                .orElseThrow(() -> new RuntimeException("Role not found: " + roleId));
-        return role.hasPermission(module, action);
+        if (!rolePermissionMatrix.containsRole(roleId)) {
+            throw new RuntimeException("Role not found: " + roleId);
+        }
+        return rolePermissionMatrix.hasPermission(roleId, module, action);
     }
 
     /**
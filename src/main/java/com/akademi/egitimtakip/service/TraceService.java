@@ -0,0 +1,73 @@
+package com.akademi.egitimtakip.service;
+
+import com.akademi.egitimtakip.dto.TraceDTO;
+import com.akademi.egitimtakip.dto.TraceSpanDTO;
+import com.akademi.egitimtakip.entity.RequestTrace;
+import com.akademi.egitimtakip.entity.TraceSpan;
+import com.akademi.egitimtakip.repository.RequestTraceRepository;
+import com.akademi.egitimtakip.repository.TraceSpanRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TraceService
+ *
+ * Saklanan trace'leri (TraceRecorder'ın tuttuğu yavaş ve hatalı istekler) span ağacı olarak okur.
+ * Span'lar düz liste halinde saklanır (parent_index); ağaç okuma sırasında kurulur.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TraceService {
+
+    @Autowired
+    private RequestTraceRepository requestTraceRepository;
+
+    @Autowired
+    private TraceSpanRepository traceSpanRepository;
+
+    /**
+     * Trace'i span ağacıyla getirir; aynı id ile birden fazla kayıt varsa en sonuncusu
+     */
+    public TraceDTO getTrace(String traceId) {
+        RequestTrace trace = requestTraceRepository.findFirstByTraceIdOrderByIdDesc(traceId)
+                .orElseThrow(() -> new RuntimeException("Trace bulunamadı: " + traceId));
+
+        TraceDTO dto = new TraceDTO();
+        dto.setTraceId(trace.getTraceId());
+        dto.setHttpMethod(trace.getHttpMethod());
+        dto.setEndpoint(trace.getEndpoint());
+        dto.setStatusCode(trace.getStatusCode());
+        dto.setDurationMs(trace.getDurationMs());
+        dto.setReason(trace.getReason());
+        dto.setSpanCount(trace.getSpanCount());
+        dto.setDroppedSpans(trace.getDroppedSpans());
+        dto.setCreatedAt(trace.getCreatedAt());
+
+        List<TraceSpan> spans = traceSpanRepository.findByTraceIdAndCreatedAtOrderBySpanIndex(
+            trace.getTraceId(), trace.getCreatedAt());
+        // Parent her zaman çocuğundan önce açılır; index sırasıyla okumak ağacı tek geçişte kurar
+        Map<Integer, TraceSpanDTO> byIndex = new HashMap<>();
+        for (TraceSpan span : spans) {
+            TraceSpanDTO node = new TraceSpanDTO();
+            node.setIndex(span.getSpanIndex());
+            node.setKind(span.getKind());
+            node.setName(span.getName());
+            node.setStartOffsetUs(span.getStartOffsetUs());
+            node.setDurationUs(span.getDurationUs());
+            byIndex.put(span.getSpanIndex(), node);
+
+            TraceSpanDTO parent = byIndex.get(span.getParentIndex());
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else {
+                dto.getSpans().add(node);
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,127 @@
+package com.akademi.egitimtakip.service;
+
+import com.akademi.egitimtakip.dto.TrafficPointDTO;
+import com.akademi.egitimtakip.dto.TrafficStatsDTO;
+import com.akademi.egitimtakip.metrics.TrafficAggregate;
+import com.akademi.egitimtakip.metrics.TrafficRollupStore;
+import com.akademi.egitimtakip.metrics.TrafficRollupStore.Tier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * TrafficStatsService
+ *
+ * Log paneli trafik istatistikleri. Yalnızca traffic_rollups satırlarını okur (ham api_logs /
+ * performance_logs satırlarını taramaz); maliyet aralıktaki kova sayısıyla orantılıdır.
+ * Son dakikanın trafiği bellekteki kovalar yazılana kadar (en fazla ~1 dakika) görünmez.
+ */
+@Service
+public class TrafficStatsService {
+
+    /**
+     * Bir zaman serisinin en fazla adım sayısı
+     */
+    static final int MAX_POINTS = 5000;
+
+    @Autowired
+    private TrafficRollupStore trafficRollupStore;
+
+    /**
+     * Endpoint başına özet, istek sayısına göre azalan
+     *
+     * @param method HTTP metodu (null ise hepsi)
+     * @param endpoint Endpoint pattern'i, tam eşleşme (null ise hepsi)
+     */
+    public List<TrafficStatsDTO> getSummary(LocalDateTime from, LocalDateTime to, String method, String endpoint) {
+        validateRange(from, to);
+        Map<String, TrafficAggregate> byEndpoint = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> statusCounts = new LinkedHashMap<>();
+        for (TrafficAggregate row : trafficRollupStore.load(from, to, Tier.DAY, normalize(method), blankToNull(endpoint))) {
+            String key = row.getMethod() + " " + row.getEndpoint();
+            byEndpoint.computeIfAbsent(key, k -> row.emptyCopy(from)).merge(row);
+            statusCounts.computeIfAbsent(key, k -> new TreeMap<>())
+                .merge(row.getStatusClass(), row.getRequestCount(), Long::sum);
+        }
+
+        List<TrafficStatsDTO> summary = new ArrayList<>();
+        byEndpoint.forEach((key, total) -> summary.add(new TrafficStatsDTO(
+            total.getMethod(), total.getEndpoint(), total.getRequestCount(), total.getErrorCount(),
+            total.getMeanMs(), total.getDurationMinMs(), total.getDurationMaxMs(),
+            total.percentile(50.0), total.percentile(90.0), total.percentile(99.0),
+            statusCounts.get(key))));
+        summary.sort(Comparator.comparingLong(TrafficStatsDTO::getRequestCount).reversed());
+        return summary;
+    }
+
+    /**
+     * Adım başına toplam trafik (boş adımlar dahil edilmez)
+     *
+     * @param step MINUTE, HOUR veya DAY; null ise aralığa göre seçilir (≤6 saat dakika, ≤7 gün saat, üstü gün)
+     * @throws IllegalArgumentException Aralık/adım geçersizse veya adım sayısı MAX_POINTS'i aşarsa
+     */
+    public List<TrafficPointDTO> getSeries(LocalDateTime from, LocalDateTime to, String step,
+                                           String method, String endpoint) {
+        validateRange(from, to);
+        Tier tier = step != null && !step.isBlank() ? parseStep(step) : autoStep(from, to);
+        long points = Duration.between(tier.floor(from), to).toMinutes()
+            / Duration.of(1, tier.getUnit()).toMinutes() + 1;
+        if (points > MAX_POINTS) {
+            throw new IllegalArgumentException(String.format(
+                "Aralık %s adımıyla %d noktadan fazla üretir; daha kaba bir adım seçin", tier, MAX_POINTS));
+        }
+
+        TreeMap<LocalDateTime, TrafficAggregate> byBucket = new TreeMap<>();
+        for (TrafficAggregate row : trafficRollupStore.load(from, to, tier, normalize(method), blankToNull(endpoint))) {
+            LocalDateTime bucket = tier.floor(row.getBucketStart());
+            byBucket.computeIfAbsent(bucket, b -> row.emptyCopy(b)).merge(row);
+        }
+
+        List<TrafficPointDTO> series = new ArrayList<>();
+        byBucket.forEach((bucket, total) -> series.add(new TrafficPointDTO(
+            bucket, total.getRequestCount(), total.getErrorCount(), total.getMeanMs(),
+            total.percentile(50.0), total.percentile(99.0), total.getDurationMaxMs())));
+        return series;
+    }
+
+    // Helpers
+
+    private static Tier autoStep(LocalDateTime from, LocalDateTime to) {
+        Duration range = Duration.between(from, to);
+        if (range.compareTo(Duration.ofHours(6)) <= 0) {
+            return Tier.MINUTE;
+        }
+        return range.compareTo(Duration.ofDays(7)) <= 0 ? Tier.HOUR : Tier.DAY;
+    }
+
+    private static Tier parseStep(String step) {
+        try {
+            return Tier.valueOf(step.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("step MINUTE, HOUR veya DAY olmalıdır: " + step);
+        }
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from, to'dan önce olmalıdır: " + from + " - " + to);
+        }
+    }
+
+    private static String normalize(String method) {
+        return method != null && !method.isBlank() ? method.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static String blankToNull(String value) {
+        return value != null && !value.isBlank() ? value : null;
+    }
+}
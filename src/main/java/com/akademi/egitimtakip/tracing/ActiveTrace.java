@@ -0,0 +1,146 @@
+package com.akademi.egitimtakip.tracing;
+
+import java.util.Arrays;
+
+/**
+ * ActiveTrace
+ *
+ * Bir isteğin span'larını tutan thread başına arena. Span'lar paralel dizilerde
+ * (parent, kind, name, başlangıç, süre) saklanır; arena thread'e bir kez ayrılır ve
+ * her istekte sıfırlanarak yeniden kullanılır, istek başına nesne oluşturulmaz.
+ * Span adları önbellekteki string'lere (SpanNames) veya Hibernate'in SQL string'ine referanstır.
+ *
+ * Yalnızca sahibi olan thread erişir; thread-safe değildir.
+ * Kapasite dolunca yeni span'lar açılmaz, droppedSpans sayılır.
+ */
+final class ActiveTrace {
+
+    private final int[] parents;
+    private final SpanKind[] kinds;
+    private final String[] names;
+    private final long[] startNanos;
+    private final long[] durationNanos;
+
+    private String traceId;
+    private long startedAtNanos;
+    private int size;
+    private int current;
+    private int droppedSpans;
+    private boolean failed;
+    private boolean active;
+    private String pendingSql;
+
+    ActiveTrace(int capacity) {
+        parents = new int[capacity];
+        kinds = new SpanKind[capacity];
+        names = new String[capacity];
+        startNanos = new long[capacity];
+        durationNanos = new long[capacity];
+    }
+
+    void reset(String traceId) {
+        // Önceki isteğin adları tutulmasın
+        Arrays.fill(names, 0, size, null);
+        this.traceId = traceId;
+        this.startedAtNanos = System.nanoTime();
+        this.size = 0;
+        this.current = -1;
+        this.droppedSpans = 0;
+        this.failed = false;
+        this.pendingSql = null;
+        this.active = true;
+    }
+
+    /**
+     * @return Span index'i; kapasite dolduysa -1
+     */
+    int open(SpanKind kind, String name) {
+        if (size == parents.length) {
+            droppedSpans++;
+            return -1;
+        }
+        int index = size++;
+        parents[index] = current;
+        kinds[index] = kind;
+        names[index] = name;
+        startNanos[index] = System.nanoTime();
+        durationNanos[index] = -1;
+        current = index;
+        return index;
+    }
+
+    void close(int index) {
+        if (index < 0 || index >= size) {
+            return;
+        }
+        durationNanos[index] = System.nanoTime() - startNanos[index];
+        current = parents[index];
+    }
+
+    int capacity() {
+        return parents.length;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    void deactivate() {
+        active = false;
+    }
+
+    String getTraceId() {
+        return traceId;
+    }
+
+    long getStartedAtNanos() {
+        return startedAtNanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int parent(int index) {
+        return parents[index];
+    }
+
+    SpanKind kind(int index) {
+        return kinds[index];
+    }
+
+    String name(int index) {
+        return names[index];
+    }
+
+    long startNanos(int index) {
+        return startNanos[index];
+    }
+
+    /**
+     * @return Süre (ns); span kapanmadıysa -1
+     */
+    long durationNanos(int index) {
+        return durationNanos[index];
+    }
+
+    int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    boolean isFailed() {
+        return failed;
+    }
+
+    void markFailed() {
+        failed = true;
+    }
+
+    String getPendingSql() {
+        return pendingSql;
+    }
+
+    void setPendingSql(String pendingSql) {
+        this.pendingSql = pendingSql;
+    }
+}
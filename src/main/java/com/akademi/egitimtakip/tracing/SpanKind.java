@@ -0,0 +1,34 @@
+package com.akademi.egitimtakip.tracing;
+
+/**
+ * SpanKind
+ *
+ * Bir span'ın hangi katmanda açıldığı.
+ */
+public enum SpanKind {
+
+    /**
+     * İsteğin tamamı (TraceFilter)
+     */
+    HTTP,
+
+    /**
+     * Controller metodu (LogInterceptor)
+     */
+    CONTROLLER,
+
+    /**
+     * Servis metodu (PerformanceAspect)
+     */
+    SERVICE,
+
+    /**
+     * Spring Data repository metodu (PerformanceAspect)
+     */
+    REPOSITORY,
+
+    /**
+     * Hibernate üzerinden çalışan SQL ifadesi (TracingSessionEventListener)
+     */
+    SQL
+}
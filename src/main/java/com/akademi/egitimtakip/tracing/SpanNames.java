@@ -0,0 +1,55 @@
+package com.akademi.egitimtakip.tracing;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SpanNames
+ *
+ * Span adlarının ("EgitimService.updateEgitim") önbelleği. Ad metod başına bir kez oluşturulur;
+ * span açmak string birleştirme yapmaz.
+ */
+public final class SpanNames {
+
+    private static final Map<Method, String> METHOD_NAMES = new ConcurrentHashMap<>();
+
+    /**
+     * Repository proxy sınıfı başına ad önbelleği: findById gibi miras alınan metodlar
+     * tüm repository'lerde aynı Method nesnesidir, ad proxy'nin arayüzünden alınır
+     */
+    private static final ClassValue<Map<Method, String>> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected Map<Method, String> computeValue(Class<?> proxyClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private SpanNames() {
+    }
+
+    /**
+     * Sınıf + metod adı (metodun tanımlandığı sınıfa göre)
+     */
+    public static String of(Method method) {
+        return METHOD_NAMES.computeIfAbsent(method,
+            m -> m.getDeclaringClass().getSimpleName() + "." + m.getName());
+    }
+
+    /**
+     * Repository metodu; ad proxy'nin uygulamaya ait arayüzünden alınır (EgitimRepository.findById)
+     */
+    public static String ofRepository(Class<?> proxyClass, Method method) {
+        return REPOSITORY_NAMES.get(proxyClass).computeIfAbsent(method,
+            m -> repositoryName(proxyClass) + "." + m.getName());
+    }
+
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (type.getName().startsWith("com.akademi.")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
@@ -0,0 +1,114 @@
+package com.akademi.egitimtakip.tracing;
+
+import org.slf4j.MDC;
+
+/**
+ * TraceContext
+ *
+ * İstek thread'indeki aktif trace'e statik erişim. TraceFilter trace'i başlatır/bitirir;
+ * aspect'ler, LogInterceptor ve Hibernate katmanı span açıp kapatır.
+ * Aktif trace yoksa (arka plan thread'leri, izleme kapalı) tüm çağrılar hiçbir şey yapmaz.
+ *
+ * Trace id MDC'ye (traceId) de yazılır; @Async görevlerine AsyncConfig'in TaskDecorator'ı ile taşınır.
+ * currentTraceId() aktif trace yoksa MDC'deki değeri döner.
+ */
+public final class TraceContext {
+
+    public static final String MDC_KEY = "traceId";
+
+    private static final ThreadLocal<ActiveTrace> ARENA = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    /**
+     * Mevcut isteğin trace id'si (yoksa null)
+     */
+    public static String currentTraceId() {
+        ActiveTrace trace = ARENA.get();
+        if (trace != null && trace.isActive()) {
+            return trace.getTraceId();
+        }
+        return MDC.get(MDC_KEY);
+    }
+
+    /**
+     * Yeni bir span açar
+     *
+     * @return closeSpan'e verilecek index; aktif trace yoksa veya kapasite dolduysa -1
+     */
+    public static int openSpan(SpanKind kind, String name) {
+        ActiveTrace trace = ARENA.get();
+        return trace != null && trace.isActive() ? trace.open(kind, name) : -1;
+    }
+
+    public static void closeSpan(int span) {
+        if (span < 0) {
+            return;
+        }
+        ActiveTrace trace = ARENA.get();
+        if (trace != null && trace.isActive()) {
+            trace.close(span);
+        }
+    }
+
+    /**
+     * İsteği hatalı olarak işaretler (trace yavaş olmasa da saklanır)
+     */
+    public static void markFailed() {
+        ActiveTrace trace = ARENA.get();
+        if (trace != null && trace.isActive()) {
+            trace.markFailed();
+        }
+    }
+
+    // TraceFilter ve Hibernate katmanı için
+
+    /**
+     * Thread'in arenasını sıfırlayıp trace'i başlatır
+     *
+     * @return Thread'de zaten aktif bir trace varsa false
+     */
+    static boolean begin(String traceId, int maxSpans) {
+        ActiveTrace trace = ARENA.get();
+        if (trace == null || trace.capacity() != maxSpans) {
+            trace = new ActiveTrace(maxSpans);
+            ARENA.set(trace);
+        } else if (trace.isActive()) {
+            return false;
+        }
+        trace.reset(traceId);
+        MDC.put(MDC_KEY, traceId);
+        return true;
+    }
+
+    /**
+     * Trace'i bitirir; dönen arena aynı thread'de bir sonraki begin'e kadar okunabilir
+     */
+    static ActiveTrace end() {
+        MDC.remove(MDC_KEY);
+        ActiveTrace trace = ARENA.get();
+        if (trace == null || !trace.isActive()) {
+            return null;
+        }
+        trace.deactivate();
+        return trace;
+    }
+
+    static void setPendingSql(String sql) {
+        ActiveTrace trace = ARENA.get();
+        if (trace != null && trace.isActive()) {
+            trace.setPendingSql(sql);
+        }
+    }
+
+    static int openSqlSpan() {
+        ActiveTrace trace = ARENA.get();
+        if (trace == null || !trace.isActive()) {
+            return -1;
+        }
+        String sql = trace.getPendingSql();
+        trace.setPendingSql(null);
+        return trace.open(SpanKind.SQL, sql != null ? sql : "SQL");
+    }
+}
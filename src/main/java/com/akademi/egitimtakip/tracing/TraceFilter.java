@@ -0,0 +1,100 @@
+package com.akademi.egitimtakip.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * TraceFilter
+ *
+ * Her isteğin trace'ini başlatır ve bitirir; filtre zincirinin en başında çalışır (WebMvcConfig).
+ * Gelen X-Trace-Id yalnızca güvenilen bir adresten (app.tracing.trusted-sources, ör. gateway) geliyorsa ve
+ * geçerliyse kullanılır; diğer isteklerde header yok sayılır ve 16 karakterlik hex id sunucuda üretilir.
+ * Böylece istemci başka bir isteğin trace id'sini seçip kayıtlarına karışamaz.
+ * Id yanıt header'ına da yazılır. İstek bitince trace TraceRecorder'a verilir.
+ *
+ * Async başlatan isteklerde (SSE, export) trace yalnızca thread'den bırakılır, saklanmaz.
+ */
+public class TraceFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Trace-Id";
+
+    private static final Pattern VALID_TRACE_ID = Pattern.compile("[A-Za-z0-9-]{8,64}");
+
+    private final TraceRecorder traceRecorder;
+
+    private final Set<String> trustedSources;
+
+    /**
+     * @param trustedSources X-Trace-Id'si kabul edilen uzak adresler (request.getRemoteAddr()); boşsa hiçbiri
+     */
+    public TraceFilter(TraceRecorder traceRecorder, Collection<String> trustedSources) {
+        this.traceRecorder = traceRecorder;
+        this.trustedSources = trustedSources.stream()
+            .map(String::trim)
+            .filter(source -> !source.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String inbound = trustedSources.contains(request.getRemoteAddr()) ? request.getHeader(HEADER) : null;
+        String traceId = resolveTraceId(inbound);
+        response.setHeader(HEADER, traceId);
+
+        if (!traceRecorder.isEnabled() || !TraceContext.begin(traceId, traceRecorder.getMaxSpans())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Kök span'ın adı yalnızca trace saklanırsa oluşturulur (TraceRecorder)
+        int root = TraceContext.openSpan(SpanKind.HTTP, null);
+        boolean failed = false;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failed = true;
+            throw e;
+        } finally {
+            TraceContext.closeSpan(root);
+            ActiveTrace trace = TraceContext.end();
+            if (trace != null && !request.isAsyncStarted()) {
+                try {
+                    traceRecorder.finish(trace, request.getMethod(), request.getRequestURI(),
+                        failed ? 500 : response.getStatus(), failed);
+                } catch (Exception e) {
+                    // İzleme hatası isteği etkilememeli
+                    System.err.println("Trace kaydedilemedi: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/h2-console") ||
+               path.contains("/static") ||
+               path.endsWith(".js") ||
+               path.endsWith(".css") ||
+               path.endsWith(".png") ||
+               path.endsWith(".jpg");
+    }
+
+    static String resolveTraceId(String header) {
+        if (header != null && VALID_TRACE_ID.matcher(header).matches()) {
+            return header;
+        }
+        return String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+}
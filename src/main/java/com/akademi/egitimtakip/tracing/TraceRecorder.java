@@ -0,0 +1,135 @@
+package com.akademi.egitimtakip.tracing;
+
+import com.akademi.egitimtakip.entity.RequestTrace;
+import com.akademi.egitimtakip.entity.TraceSpan;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TraceRecorder
+ *
+ * İstek bittiğinde trace'in saklanıp saklanmayacağına karar verir (tail sampling).
+ * Hatalı (5xx, yakalanmamış exception veya error log'u yazılmış) ya da slow-threshold-ms'i aşan
+ * istekler span ağacıyla birlikte LogIngestionPipeline'ın "trace" tamponuna bırakılır;
+ * diğerlerinin arenası hiçbir nesne oluşturulmadan bırakılır.
+ *
+ * Span başlangıçları isteğin başından itibaren mikro saniye (start_offset_us) olarak yazılır.
+ */
+@Component
+public class TraceRecorder {
+
+    public static final String REASON_SLOW = "SLOW";
+    public static final String REASON_ERROR = "ERROR";
+
+    private static final int MAX_NAME_LENGTH = 1000;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Value("${app.tracing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.tracing.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
+
+    @Value("${app.tracing.max-spans:256}")
+    private int maxSpans;
+
+    private final AtomicLong traced = new AtomicLong();
+    private final AtomicLong keptSlow = new AtomicLong();
+    private final AtomicLong keptError = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong droppedSpans = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxSpans() {
+        return maxSpans;
+    }
+
+    /**
+     * Biten isteğin trace'ini değerlendirir
+     *
+     * @param trace TraceContext.end() ile alınan arena
+     * @param failed İstek yakalanmamış exception ile bittiyse true
+     * @return Trace saklandıysa true
+     */
+    boolean finish(ActiveTrace trace, String httpMethod, String uri, int statusCode, boolean failed) {
+        traced.incrementAndGet();
+        long durationNanos = System.nanoTime() - trace.getStartedAtNanos();
+        long durationMs = durationNanos / 1_000_000;
+
+        String reason;
+        if (failed || statusCode >= 500 || trace.isFailed()) {
+            reason = REASON_ERROR;
+            keptError.incrementAndGet();
+        } else if (durationMs >= slowThresholdMs) {
+            reason = REASON_SLOW;
+            keptSlow.incrementAndGet();
+        } else {
+            discarded.incrementAndGet();
+            return false;
+        }
+        droppedSpans.addAndGet(trace.getDroppedSpans());
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        String rootName = truncate(httpMethod + " " + uri, MAX_NAME_LENGTH);
+
+        RequestTrace requestTrace = new RequestTrace();
+        requestTrace.setTraceId(trace.getTraceId());
+        requestTrace.setHttpMethod(httpMethod);
+        requestTrace.setEndpoint(truncate(uri, 500));
+        requestTrace.setStatusCode(statusCode);
+        requestTrace.setDurationMs(durationMs);
+        requestTrace.setReason(reason);
+        requestTrace.setSpanCount(trace.size());
+        requestTrace.setDroppedSpans(trace.getDroppedSpans());
+        requestTrace.setCreatedAt(createdAt);
+
+        for (int i = 0; i < trace.size(); i++) {
+            TraceSpan span = new TraceSpan();
+            span.setTraceId(trace.getTraceId());
+            span.setSpanIndex(i);
+            span.setParentIndex(trace.parent(i));
+            span.setKind(trace.kind(i).name());
+            String name = trace.name(i);
+            span.setName(name != null ? truncate(name, MAX_NAME_LENGTH) : rootName);
+            span.setStartOffsetUs((trace.startNanos(i) - trace.getStartedAtNanos()) / 1000);
+            long spanDuration = trace.durationNanos(i);
+            span.setDurationUs(spanDuration >= 0 ? spanDuration / 1000 : null);
+            span.setCreatedAt(createdAt);
+            requestTrace.getSpans().add(span);
+        }
+
+        logIngestionPipeline.submit(requestTrace);
+        return true;
+    }
+
+    /**
+     * Sayaçlar: traced, keptSlow, keptError, discarded, droppedSpans (arena dolduğu için açılmayan span)
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("traced", traced.get());
+        stats.put("keptSlow", keptSlow.get());
+        stats.put("keptError", keptError.get());
+        stats.put("discarded", discarded.get());
+        stats.put("droppedSpans", droppedSpans.get());
+        return stats;
+    }
+
+    private static String truncate(String str, int maxLength) {
+        if (str == null) return null;
+        if (str.length() <= maxLength) return str;
+        return str.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,38 @@
+package com.akademi.egitimtakip.tracing;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * TracingSessionEventListener
+ *
+ * Hibernate session'ındaki JDBC çalıştırmalarını (sorgu, insert/update/delete, batch)
+ * aktif trace'e SQL span'ı olarak ekler. Her session için bir örnek oluşturulur.
+ * application.properties: spring.jpa.properties.hibernate.session.events.auto
+ */
+public class TracingSessionEventListener extends BaseSessionEventListener {
+
+    private int statementSpan = -1;
+    private int batchSpan = -1;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementSpan = TraceContext.openSqlSpan();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        TraceContext.closeSpan(statementSpan);
+        statementSpan = -1;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchSpan = TraceContext.openSqlSpan();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        TraceContext.closeSpan(batchSpan);
+        batchSpan = -1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.akademi.egitimtakip.tracing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * TracingStatementInspector
+ *
+ * Hibernate'in çalıştıracağı SQL'i aktif trace'e bırakır; TracingSessionEventListener
+ * ifade çalışırken bu metinle bir SQL span'ı açar. SQL değiştirilmez.
+ * application.properties: spring.jpa.properties.hibernate.session_factory.statement_inspector
+ */
+public class TracingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        TraceContext.setPendingSql(sql);
+        return sql;
+    }
+}
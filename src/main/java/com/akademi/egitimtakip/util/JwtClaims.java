@@ -0,0 +1,28 @@
+package com.akademi.egitimtakip.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * JWT Claims
+ * 
+ * İmzası ve süresi doğrulanmış bir token'dan çıkarılan değerler.
+ * JwtUtil.parseToken() tarafından tek seferde üretilir.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtClaims {
+
+    private final String email;
+    private final String rol;
+    private final Instant expiresAt;
+
+    /**
+     * Token süresi dolmuş mu
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
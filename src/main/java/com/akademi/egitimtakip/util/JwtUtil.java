@@ -1,14 +1,23 @@
 package com.akademi.egitimtakip.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
@@ -16,6 +25,10 @@ import java.util.function.Function;
  * 
  * JWT token oluşturma ve doğrulama işlemlerini yönetir.
  * H2 database ile uyumlu çalışır, token'lar memory'de saklanır.
+ * 
+ * İmza anahtarı ve parser başlangıçta bir kez oluşturulur. parseToken() token'ı
+ * tek seferde doğrular; doğrulanmış token'lar, token özeti (SHA-256) ile anahtarlanan
+ * sınırlı bir LRU/TTL önbellekte tutulur (en geç token'ın süresi dolana kadar).
  */
 @Component
 public class JwtUtil {
@@ -26,11 +39,34 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 saat (milliseconds)
     private Long expiration;
 
+    @Value("${jwt.cache.max-size:10000}") // 0 = önbellek kapalı
+    private int cacheMaxSize;
+
+    @Value("${jwt.cache.ttl-ms:300000}") // 5 dakika
+    private long cacheTtlMs;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Map<String, CachedToken> verifiedTokens;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
     /**
-     * Secret key'i oluşturur (HS256 algoritması için)
+     * Secret key ve parser'ı bir kez oluşturur (HS256 algoritması için)
      */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedToken> eldest) {
+                return size() > cacheMaxSize;
+            }
+        };
     }
 
     /**
@@ -45,15 +81,53 @@ public class JwtUtil {
                 .claim("rol", rol)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Token'ı tek seferde doğrular ve claim'lerini döndürür.
+     * Önbellekte geçerli bir kayıt varsa imza tekrar doğrulanmaz.
+     * 
+     * @throws io.jsonwebtoken.JwtException Token geçersiz veya süresi dolmuşsa
+     */
+    public JwtClaims parseToken(String token) {
+        if (cacheMaxSize <= 0) {
+            return verify(token);
+        }
+
+        Instant now = Instant.now();
+        String key = digest(token);
+        synchronized (verifiedTokens) {
+            CachedToken cached = verifiedTokens.get(key);
+            if (cached != null) {
+                if (now.isBefore(cached.validUntil)) {
+                    cacheHits.incrementAndGet();
+                    return cached.claims;
+                }
+                verifiedTokens.remove(key);
+            }
+        }
+
+        cacheMisses.incrementAndGet();
+        JwtClaims claims = verify(token);
+
+        // Önbellek süresi token'ın süresini geçemez
+        Instant validUntil = now.plusMillis(cacheTtlMs);
+        if (claims.getExpiresAt() != null && claims.getExpiresAt().isBefore(validUntil)) {
+            validUntil = claims.getExpiresAt();
+        }
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(key, new CachedToken(claims, validUntil));
+        }
+        return claims;
+    }
+
     /**
      * Token'dan email çıkarır
      */
     public String getEmailFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+        return parseToken(token).getEmail();
     }
 
     /**
@@ -62,13 +136,7 @@ public class JwtUtil {
      */
     public String getRolFromToken(String token) {
         try {
-            return getClaimFromToken(token, claims -> {
-                Object rolClaim = claims.get("rol");
-                if (rolClaim == null) {
-                    return null;
-                }
-                return rolClaim.toString();
-            });
+            return parseToken(token).getRol();
         } catch (Exception e) {
             return null;
         }
@@ -86,34 +154,67 @@ public class JwtUtil {
      * Token'dan tüm claim'leri çıkarır
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
      * Token'ın geçerliliğini kontrol eder
      */
     public Boolean validateToken(String token, String email) {
-        final String tokenEmail = getEmailFromToken(token);
-        return (tokenEmail.equals(email) && !isTokenExpired(token));
+        final JwtClaims claims = parseToken(token);
+        return (claims.getEmail().equals(email) && !claims.isExpired(Instant.now()));
     }
 
     /**
-     * Token'ın süresinin dolup dolmadığını kontrol eder
+     * Önbellek isabet sayısı
      */
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    public long getCacheHits() {
+        return cacheHits.get();
     }
 
     /**
-     * Token'dan expiration date'i çıkarır
+     * Önbellek ıska sayısı (imza doğrulaması yapılan token sayısı)
      */
-    private Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * İmzayı ve süreyi doğrulayarak JwtClaims üretir
+     */
+    private JwtClaims verify(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        Object rolClaim = claims.get("rol");
+        Date expirationDate = claims.getExpiration();
+        return new JwtClaims(
+            claims.getSubject(),
+            rolClaim != null ? rolClaim.toString() : null,
+            expirationDate != null ? expirationDate.toInstant() : null
+        );
     }
-}
 
+    /**
+     * Token'ın SHA-256 özeti (önbellek anahtarı; token'ın kendisi saklanmaz)
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    /**
+     * Önbellekteki doğrulanmış token
+     */
+    private static final class CachedToken {
+        private final JwtClaims claims;
+        private final Instant validUntil;
+
+        private CachedToken(JwtClaims claims, Instant validUntil) {
+            this.claims = claims;
+            this.validUntil = validUntil;
+        }
+    }
+}
@@ -1,38 +1,34 @@
 package com.akademi.egitimtakip.util;
 
-import com.akademi.egitimtakip.entity.Kullanici;
-import com.akademi.egitimtakip.entity.Role;
-import com.akademi.egitimtakip.entity.Sorumlu;
-import com.akademi.egitimtakip.repository.KullaniciRepository;
-import com.akademi.egitimtakip.repository.SorumluRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.akademi.egitimtakip.entity.Rol;
+import com.akademi.egitimtakip.security.AuthenticatedPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.stereotype.Component;
-
-import java.util.Optional;
 
 /**
  * Security Utilities
  * 
  * Provides utility methods for accessing current user information
  * from the Spring Security context.
+ * All getters read the AuthenticatedPrincipal built once per request by
+ * JwtAuthenticationFilter; none of them touch the database.
  */
-@Component
-public class SecurityUtils {
-
-    private static KullaniciRepository kullaniciRepository;
-    private static SorumluRepository sorumluRepository;
+public final class SecurityUtils {
 
-    @Autowired
-    public void setKullaniciRepository(KullaniciRepository repo) {
-        SecurityUtils.kullaniciRepository = repo;
+    private SecurityUtils() {
     }
 
-    @Autowired
-    public void setSorumluRepository(SorumluRepository repo) {
-        SecurityUtils.sorumluRepository = repo;
+    /**
+     * Get current authenticated principal
+     * @return AuthenticatedPrincipal or null if not authenticated via JWT
+     */
+    public static AuthenticatedPrincipal getCurrentPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof AuthenticatedPrincipal principal) {
+            return principal;
+        }
+        return null;
     }
 
     /**
@@ -40,28 +36,8 @@ public class SecurityUtils {
      * @return User ID or null if not authenticated
      */
     public static Long getCurrentUserId() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
-            return null;
-        }
-
-        Object principal = auth.getPrincipal();
-        String username = null;
-
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else if (principal instanceof String) {
-            username = (String) principal;
-        }
-
-        if (username != null && kullaniciRepository != null) {
-            Optional<Kullanici> kullanici = kullaniciRepository.findByEmail(username);
-            if (kullanici.isEmpty()) {
-                kullanici = kullaniciRepository.findByKullaniciAdi(username);
-            }
-            return kullanici.map(Kullanici::getId).orElse(null);
-        }
-        return null;
+        AuthenticatedPrincipal principal = getCurrentPrincipal();
+        return principal != null ? principal.getUserId() : null;
     }
 
     /**
@@ -75,7 +51,9 @@ public class SecurityUtils {
         }
 
         Object principal = auth.getPrincipal();
-        if (principal instanceof UserDetails) {
+        if (principal instanceof AuthenticatedPrincipal) {
+            return ((AuthenticatedPrincipal) principal).getEmail();
+        } else if (principal instanceof UserDetails) {
             return ((UserDetails) principal).getUsername();
         } else if (principal instanceof String) {
             return (String) principal;
@@ -84,44 +62,21 @@ public class SecurityUtils {
     }
 
     /**
-     * Get current user's Kullanici entity
-     * @return Kullanici or null
+     * Get current user's Sorumlu ID (if linked)
+     * @return Sorumlu ID or null
      */
-    public static Kullanici getCurrentKullanici() {
-        String username = getCurrentUsername();
-        if (username != null && kullaniciRepository != null) {
-            // Try to find by email first, then by username
-            Optional<Kullanici> kullanici = kullaniciRepository.findByEmail(username);
-            if (kullanici.isEmpty()) {
-                kullanici = kullaniciRepository.findByKullaniciAdi(username);
-            }
-            return kullanici.orElse(null);
-        }
-        return null;
+    public static Long getCurrentSorumluId() {
+        AuthenticatedPrincipal principal = getCurrentPrincipal();
+        return principal != null ? principal.getSorumluId() : null;
     }
 
     /**
-     * Get current user's Sorumlu entity (if linked)
-     * @return Sorumlu or null
+     * Get current user's legacy Kullanici.rol
+     * @return Rol or null
      */
-    public static Sorumlu getCurrentSorumlu() {
-        Kullanici kullanici = getCurrentKullanici();
-        if (kullanici != null && kullanici.getSorumluId() != null && sorumluRepository != null) {
-            return sorumluRepository.findById(kullanici.getSorumluId()).orElse(null);
-        }
-        return null;
-    }
-
-    /**
-     * Get current user's Role
-     * @return Role or null
-     */
-    public static Role getCurrentUserRole() {
-        Sorumlu sorumlu = getCurrentSorumlu();
-        if (sorumlu != null) {
-            return sorumlu.getRole();
-        }
-        return null;
+    public static Rol getCurrentLegacyRol() {
+        AuthenticatedPrincipal principal = getCurrentPrincipal();
+        return principal != null ? principal.getLegacyRol() : null;
     }
 
     /**
@@ -129,8 +84,8 @@ public class SecurityUtils {
      * @return Role ID or null
      */
     public static Long getCurrentUserRoleId() {
-        Role role = getCurrentUserRole();
-        return role != null ? role.getId() : null;
+        AuthenticatedPrincipal principal = getCurrentPrincipal();
+        return principal != null ? principal.getRoleId() : null;
     }
 
     /**
@@ -138,8 +93,8 @@ public class SecurityUtils {
      * @return Role name or null
      */
     public static String getCurrentUserRoleName() {
-        Role role = getCurrentUserRole();
-        return role != null ? role.getName() : null;
+        AuthenticatedPrincipal principal = getCurrentPrincipal();
+        return principal != null ? principal.getRoleName() : null;
     }
 
     /**
@@ -170,4 +125,3 @@ public class SecurityUtils {
         return auth != null && auth.isAuthenticated() && !auth.getPrincipal().equals("anonymousUser");
     }
 }
-
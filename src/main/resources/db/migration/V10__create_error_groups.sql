@@ -0,0 +1,41 @@
+-- Migration: Create error_groups table
+-- Version: V10
+-- Description:
+--   Every handled exception used to write a new error_logs row with its full
+--   stack trace, so one recurring bug stored thousands of identical traces.
+--   Errors are now grouped by a fingerprint: SHA-256 of the exception type,
+--   the normalized message template and the top application stack frames.
+--   error_groups keeps first_seen, last_seen, the occurrence count and one
+--   sample stack trace per group; ErrorGroupAggregator updates the counters
+--   in memory and flushes them periodically.
+--   New error_logs rows are lightweight occurrences (user, endpoint, time)
+--   linked to their group by fingerprint and carry no stack trace.
+
+-- =====================================================
+-- 1. ERROR_GROUPS TABLE
+-- =====================================================
+CREATE TABLE IF NOT EXISTS error_groups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    exception_type VARCHAR(255),
+    message_template VARCHAR(500),
+    top_frame VARCHAR(500),
+    sample_message TEXT,
+    sample_stacktrace TEXT,
+    occurrence_count BIGINT NOT NULL,
+    first_seen TIMESTAMP NOT NULL,
+    last_seen TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_error_groups_fingerprint ON error_groups (fingerprint);
+CREATE INDEX IF NOT EXISTS idx_error_groups_last_seen ON error_groups (last_seen);
+CREATE INDEX IF NOT EXISTS idx_error_groups_created_id ON error_groups (created_at, id);
+
+-- =====================================================
+-- 2. ERROR_LOGS GROUP REFERENCE
+-- =====================================================
+ALTER TABLE error_logs ADD COLUMN IF NOT EXISTS fingerprint VARCHAR(64);
+
+-- Occurrences of a group, and the orphan check during retention
+CREATE INDEX IF NOT EXISTS idx_error_logs_fingerprint ON error_logs (fingerprint);
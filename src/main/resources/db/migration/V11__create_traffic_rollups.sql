@@ -0,0 +1,33 @@
+-- Migration: Create traffic_rollups table
+-- Version: V11
+-- Description:
+--   Log panel statistics were computed by scanning raw api_logs /
+--   performance_logs rows. Traffic is now rolled up per time bucket and key
+--   (method, endpoint template, status class): request and error counts,
+--   duration sum/min/max and a mergeable latency sketch (log-linear bucket
+--   counts, "bucket:count,..."). TrafficRollupRegistry fills minute buckets
+--   in memory from LogInterceptor and flushes closed minutes; they are then
+--   downsampled to HOUR and DAY tiers. Dashboard queries read only these
+--   rows, so their cost depends on the number of buckets, not requests.
+--   created_at is the bucket start and drives per-tier retention.
+
+CREATE TABLE IF NOT EXISTS traffic_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tier VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    method VARCHAR(10) NOT NULL,
+    endpoint VARCHAR(500) NOT NULL,
+    status_class VARCHAR(5) NOT NULL,
+    request_count BIGINT NOT NULL,
+    error_count BIGINT NOT NULL,
+    duration_sum_ms BIGINT NOT NULL,
+    duration_min_ms BIGINT NOT NULL,
+    duration_max_ms BIGINT NOT NULL,
+    latency_sketch TEXT,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Range reads per tier and the per-bucket merge/replace
+CREATE UNIQUE INDEX IF NOT EXISTS ux_traffic_rollups_key
+    ON traffic_rollups (tier, bucket_start, method, endpoint, status_class);
+CREATE INDEX IF NOT EXISTS idx_traffic_rollups_created_id ON traffic_rollups (created_at, id);
@@ -0,0 +1,14 @@
+-- Migration: Add value indexes for log substring filters
+-- Version: V12
+-- Description:
+--   The "contains" filters of the log endpoints (api/error endpoint, error
+--   exception type, frontend page) used LIKE '%x%', which cannot use an index
+--   and scans the whole table. LogSearchIndex now resolves the search text to
+--   the matching distinct column values with an in-memory trigram index and
+--   filters with column IN (...). These indexes serve that lookup; the
+--   created_at suffix keeps the newest-first page order on the index.
+
+CREATE INDEX IF NOT EXISTS idx_api_logs_endpoint_created ON api_logs (endpoint, created_at);
+CREATE INDEX IF NOT EXISTS idx_error_logs_endpoint_created ON error_logs (endpoint, created_at);
+CREATE INDEX IF NOT EXISTS idx_error_logs_exception_type_created ON error_logs (exception_type, created_at);
+CREATE INDEX IF NOT EXISTS idx_frontend_logs_page_created ON frontend_logs (page, created_at);
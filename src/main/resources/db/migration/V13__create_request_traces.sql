@@ -0,0 +1,47 @@
+-- Migration: Create request trace tables and trace ids on log rows
+-- Version: V13
+-- Description:
+--   Every request gets a trace id (TraceFilter, X-Trace-Id header, MDC) and
+--   a span tree (controller, service, repository, SQL) kept in memory while
+--   it runs. Only requests that end slow or failing are stored
+--   (tail-based sampling): a summary row in request_traces and one row per
+--   span in trace_spans. api_logs, error_logs and activity_logs rows carry
+--   the trace id so a log entry can be opened as a span tree.
+
+CREATE TABLE IF NOT EXISTS request_traces (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    trace_id VARCHAR(64) NOT NULL,
+    http_method VARCHAR(10),
+    endpoint VARCHAR(500),
+    status_code INT,
+    duration_ms BIGINT,
+    reason VARCHAR(10),
+    span_count INT,
+    dropped_spans INT,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS trace_spans (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    trace_id VARCHAR(64) NOT NULL,
+    span_index INT NOT NULL,
+    parent_index INT NOT NULL,
+    kind VARCHAR(20) NOT NULL,
+    name VARCHAR(1000),
+    start_offset_us BIGINT NOT NULL,
+    duration_us BIGINT,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_request_traces_trace_id ON request_traces (trace_id);
+CREATE INDEX IF NOT EXISTS idx_request_traces_created_id ON request_traces (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_trace_spans_trace_span ON trace_spans (trace_id, span_index);
+CREATE INDEX IF NOT EXISTS idx_trace_spans_created_id ON trace_spans (created_at, id);
+
+ALTER TABLE api_logs ADD COLUMN IF NOT EXISTS trace_id VARCHAR(64);
+ALTER TABLE error_logs ADD COLUMN IF NOT EXISTS trace_id VARCHAR(64);
+ALTER TABLE activity_logs ADD COLUMN IF NOT EXISTS trace_id VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_api_logs_trace_id ON api_logs (trace_id);
+CREATE INDEX IF NOT EXISTS idx_error_logs_trace_id ON error_logs (trace_id);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_trace_id ON activity_logs (trace_id);
@@ -0,0 +1,12 @@
+-- Migration: Add per-request SQL statement stats to api_logs
+-- Version: V14
+-- Description:
+--   StatementAccountingDataSource counts the SQL statements run on the
+--   request thread. Each api_logs row keeps the request's statement count,
+--   database time, rows read/affected and the highest repeat count of a
+--   single statement shape (N+1 indicator).
+
+ALTER TABLE api_logs ADD COLUMN IF NOT EXISTS sql_count INT;
+ALTER TABLE api_logs ADD COLUMN IF NOT EXISTS sql_time_ms BIGINT;
+ALTER TABLE api_logs ADD COLUMN IF NOT EXISTS sql_rows BIGINT;
+ALTER TABLE api_logs ADD COLUMN IF NOT EXISTS sql_max_repeat INT;
@@ -0,0 +1,16 @@
+-- Migration: Track last use of api_log_bodies rows
+-- Version: V15
+-- Description:
+--   A body that was stored long ago can be reused by a new api_logs row.
+--   Retention aged bodies by created_at, so it could delete such a body
+--   after ApiLogBodyStore had returned its hash but before the referring
+--   api_logs row was committed. ApiLogBodyStore now refreshes last_used_at
+--   when a body is reused and LogRetentionEngine ages bodies by it.
+
+ALTER TABLE api_log_bodies ADD COLUMN IF NOT EXISTS last_used_at TIMESTAMP;
+UPDATE api_log_bodies SET last_used_at = created_at WHERE last_used_at IS NULL;
+ALTER TABLE api_log_bodies ALTER COLUMN last_used_at SET NOT NULL;
+
+-- Retention scans by last_used_at instead of created_at
+DROP INDEX IF EXISTS idx_api_log_bodies_created_id;
+CREATE INDEX IF NOT EXISTS idx_api_log_bodies_last_used_id ON api_log_bodies (last_used_at, id);
@@ -0,0 +1,41 @@
+-- Migration: Add filter indexes to api_logs table
+-- Version: V5
+-- Description:
+--   The log panel (GET /api/logs/api) filters api_logs by user, date range,
+--   status code and minimum duration, always ordered by created_at DESC.
+--   These indexes let the database resolve those filters and the page
+--   without scanning the whole table.
+--   api_logs is normally created by Hibernate, so the table is created here
+--   (IF NOT EXISTS) to keep the migration safe on a fresh database.
+
+-- =====================================================
+-- 1. API_LOGS TABLE (full schema, matches ApiLog entity)
+-- =====================================================
+CREATE TABLE IF NOT EXISTS api_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    endpoint VARCHAR(500),
+    http_method VARCHAR(10),
+    status_code INTEGER,
+    request_body TEXT,
+    response_body TEXT,
+    duration_ms BIGINT,
+    ip VARCHAR(45),
+    created_at TIMESTAMP NOT NULL
+);
+
+-- =====================================================
+-- 2. INDEXES
+-- =====================================================
+
+-- Default ordering and date range filters
+CREATE INDEX IF NOT EXISTS idx_api_logs_created_at ON api_logs (created_at);
+
+-- "Logs of a user" ordered by date
+CREATE INDEX IF NOT EXISTS idx_api_logs_user_created ON api_logs (user_id, created_at);
+
+-- "Errors (e.g. 500) in a date range"
+CREATE INDEX IF NOT EXISTS idx_api_logs_status_created ON api_logs (status_code, created_at);
+
+-- Slow request filter (minDuration)
+CREATE INDEX IF NOT EXISTS idx_api_logs_duration ON api_logs (duration_ms);
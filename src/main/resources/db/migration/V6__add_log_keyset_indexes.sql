@@ -0,0 +1,68 @@
+-- Migration: Add keyset (cursor) pagination indexes to log tables
+-- Version: V6
+-- Description:
+--   Cursor mode of the log endpoints (/api/logs/*/cursor) seeks with
+--   (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC.
+--   A composite (created_at, id) index lets each slice start directly at the
+--   cursor position instead of scanning and skipping OFFSET rows.
+--   api_logs already has idx_api_logs_created_at (V5); H2 appends the
+--   primary key to secondary indexes, so it serves the seek as well.
+--   Log tables are normally created by Hibernate, so they are created here
+--   (IF NOT EXISTS) to keep the migration safe on a fresh database.
+
+-- =====================================================
+-- 1. ACTIVITY_LOGS
+-- =====================================================
+CREATE TABLE IF NOT EXISTS activity_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    action VARCHAR(100) NOT NULL,
+    entity_type VARCHAR(100),
+    entity_id BIGINT,
+    description VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_activity_logs_created_id ON activity_logs (created_at, id);
+
+-- =====================================================
+-- 2. ERROR_LOGS
+-- =====================================================
+CREATE TABLE IF NOT EXISTS error_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    endpoint VARCHAR(500),
+    exception_type VARCHAR(255),
+    message TEXT,
+    stacktrace TEXT,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_error_logs_created_id ON error_logs (created_at, id);
+
+-- =====================================================
+-- 3. PERFORMANCE_LOGS
+-- =====================================================
+CREATE TABLE IF NOT EXISTS performance_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    endpoint VARCHAR(500),
+    duration_ms BIGINT NOT NULL,
+    method_name VARCHAR(255),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_performance_logs_created_id ON performance_logs (created_at, id);
+
+-- =====================================================
+-- 4. FRONTEND_LOGS
+-- =====================================================
+CREATE TABLE IF NOT EXISTS frontend_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    action VARCHAR(255) NOT NULL,
+    page VARCHAR(255),
+    details TEXT,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_frontend_logs_created_id ON frontend_logs (created_at, id);
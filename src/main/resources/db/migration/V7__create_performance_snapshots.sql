@@ -0,0 +1,24 @@
+-- Migration: Create performance_snapshots table
+-- Version: V7
+-- Description:
+--   PerformanceAspect no longer writes one performance_logs row per slow call.
+--   Every service call is recorded into an in-memory latency histogram and
+--   LatencyRegistry periodically writes one summary row per method
+--   (window, sample count, mean, p50/p90/p99/p999, max; durations in microseconds).
+
+CREATE TABLE IF NOT EXISTS performance_snapshots (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    method_name VARCHAR(255) NOT NULL,
+    window_seconds BIGINT NOT NULL,
+    sample_count BIGINT NOT NULL,
+    mean_us BIGINT NOT NULL,
+    p50_us BIGINT NOT NULL,
+    p90_us BIGINT NOT NULL,
+    p99_us BIGINT NOT NULL,
+    p999_us BIGINT NOT NULL,
+    max_us BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_performance_snapshots_created_id ON performance_snapshots (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_performance_snapshots_method_created ON performance_snapshots (method_name, created_at);
@@ -0,0 +1,9 @@
+-- Migration: Add event_count to frontend_logs
+-- Version: V8
+-- Description:
+--   The React app now sends UI events in batches (POST /api/logs/frontend/batch)
+--   and identical events (same user, action, page, details) arriving within the
+--   coalescing window are stored as one row. event_count holds how many events
+--   the row stands for; created_at is the time of the first one.
+
+ALTER TABLE frontend_logs ADD COLUMN IF NOT EXISTS event_count INT DEFAULT 1 NOT NULL;
@@ -0,0 +1,36 @@
+-- Migration: Create api_log_bodies table
+-- Version: V9
+-- Description:
+--   Request/response bodies of api_logs are mostly near-identical JSON and were
+--   the bulk of the table. Each distinct body is now stored once, compressed,
+--   in api_log_bodies, keyed by the SHA-256 hash of its UTF-8 bytes.
+--   api_logs references bodies by request_body_hash / response_body_hash.
+--   The old request_body / response_body columns are kept for existing rows;
+--   ApiLogBodyMigrator moves them into api_log_bodies in background chunks
+--   and clears them. Bodies no longer referenced by any api_logs row are
+--   removed by LogRetentionEngine.
+
+-- =====================================================
+-- 1. API_LOG_BODIES TABLE
+-- =====================================================
+CREATE TABLE IF NOT EXISTS api_log_bodies (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    hash VARCHAR(64) NOT NULL,
+    codec VARCHAR(10) NOT NULL,
+    original_length INTEGER NOT NULL,
+    content VARBINARY(65536) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_api_log_bodies_hash ON api_log_bodies (hash);
+CREATE INDEX IF NOT EXISTS idx_api_log_bodies_created_id ON api_log_bodies (created_at, id);
+
+-- =====================================================
+-- 2. API_LOGS BODY REFERENCES
+-- =====================================================
+ALTER TABLE api_logs ADD COLUMN IF NOT EXISTS request_body_hash VARCHAR(64);
+ALTER TABLE api_logs ADD COLUMN IF NOT EXISTS response_body_hash VARCHAR(64);
+
+-- Orphan check during retention (NOT EXISTS per body hash)
+CREATE INDEX IF NOT EXISTS idx_api_logs_request_body_hash ON api_logs (request_body_hash);
+CREATE INDEX IF NOT EXISTS idx_api_logs_response_body_hash ON api_logs (response_body_hash);
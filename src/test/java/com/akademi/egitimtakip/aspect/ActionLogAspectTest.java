@@ -0,0 +1,148 @@
+package com.akademi.egitimtakip.aspect;
+
+import com.akademi.egitimtakip.annotation.LogAction;
+import com.akademi.egitimtakip.dto.EgitimRequestDTO;
+import com.akademi.egitimtakip.dto.EgitimResponseDTO;
+import com.akademi.egitimtakip.service.EgitimService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.expression.Expression;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ActionLogAspect Unit Test / Benchmark
+ *
+ * Description şablonlarının metod başına önbelleğe alınıp doğru değerlendirildiğini,
+ * derlenmiş ifade başka tipte bir sonuçla karşılaşınca yorumlanan ifadeye dönüldüğünü doğrular.
+ * Benchmark yalnızca -Dbenchmarks=true ile çalışır: EgitimService.createEgitim/updateEgitim şablonları
+ * için çağrı başına maliyet (her çağrıda parse + yeni bağlam / önbellek + derlenmiş ifade) konsola yazdırılır.
+ */
+class ActionLogAspectTest {
+
+    private static final int ITERATIONS = 200_000;
+
+    private final ActionLogAspect aspect = new ActionLogAspect();
+
+    @Test
+    @DisplayName("Şablon metod başına bir kez parse edilmeli ve result/args ile değerlendirilmeli")
+    void testDescriptionIsCachedAndEvaluated() throws Exception {
+        Method create = EgitimService.class.getMethod("createEgitim", EgitimRequestDTO.class);
+        Method delete = EgitimService.class.getMethod("deleteEgitim", Long.class);
+
+        ActionLogAspect.ActionMetadata metadata = aspect.getMetadata(create);
+        assertThat(aspect.getMetadata(create)).isSameAs(metadata);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(aspect.evaluateDescription(metadata, new Object[] {new EgitimRequestDTO()}, egitim("Java " + i)))
+                .isEqualTo("Yeni eğitim oluşturuldu: Java " + i);
+        }
+        assertThat(metadata.isCompiled()).isTrue();
+        assertThat(aspect.evaluateDescription(aspect.getMetadata(delete), new Object[] {42L}, null))
+            .isEqualTo("Eğitim silindi (ID: 42)");
+    }
+
+    @Test
+    @DisplayName("Derlenmiş ifade başka tipte sonuçla hata verirse yorumlanan ifadeye dönülmeli")
+    void testFallsBackToInterpretedExpression() throws Exception {
+        ActionLogAspect.ActionMetadata metadata = aspect.getMetadata(getClass().getMethod("sampleAction"));
+
+        // İlk çağrılarda ifade EgitimResponseDTO için derlenir
+        for (int i = 0; i < 3; i++) {
+            assertThat(aspect.evaluateDescription(metadata, new Object[0], egitim("Java")))
+                .isEqualTo("Güncellendi: Java");
+        }
+        assertThat(aspect.evaluateDescription(metadata, new Object[0], new OtherResult("Python")))
+            .isEqualTo("Güncellendi: Python");
+        assertThat(metadata.isCompiled()).isFalse();
+        assertThat(aspect.evaluateDescription(metadata, new Object[0], egitim("Go")))
+            .isEqualTo("Güncellendi: Go");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("Benchmark: createEgitim/updateEgitim description maliyeti")
+    void benchmarkDescriptionEvaluation() throws Exception {
+        Method create = EgitimService.class.getMethod("createEgitim", EgitimRequestDTO.class);
+        Method update = EgitimService.class.getMethod("updateEgitim", Long.class, EgitimRequestDTO.class);
+        Object[] createArgs = {new EgitimRequestDTO()};
+        Object[] updateArgs = {7L, new EgitimRequestDTO()};
+        EgitimResponseDTO result = egitim("Java Eğitimi");
+
+        for (Method method : new Method[] {create, update}) {
+            Object[] args = method == create ? createArgs : updateArgs;
+
+            // Isınma
+            runUncached(method, args, result, ITERATIONS / 10);
+            runCached(method, args, result, ITERATIONS / 10);
+
+            long start = System.nanoTime();
+            String uncached = runUncached(method, args, result, ITERATIONS);
+            long uncachedNs = (System.nanoTime() - start) / ITERATIONS;
+
+            start = System.nanoTime();
+            String cached = runCached(method, args, result, ITERATIONS);
+            long cachedNs = (System.nanoTime() - start) / ITERATIONS;
+
+            assertThat(cached).isEqualTo(uncached).endsWith("Java Eğitimi");
+            System.out.println(String.format(
+                "📊 @LogAction description (%s): her çağrıda parse %d ns, önbellek + derlenmiş SpEL %d ns",
+                method.getName(), uncachedNs, cachedNs
+            ));
+        }
+    }
+
+    @LogAction(action = "UPDATE", entityType = "Egitim", description = "Güncellendi: #{result.ad}")
+    public Object sampleAction() {
+        return null;
+    }
+
+    // Helpers
+
+    /**
+     * Önceki akış: annotation reflection ile okunur, şablon her çağrıda parse edilir, yeni bağlam kurulur
+     */
+    private String runUncached(Method method, Object[] args, Object result, int iterations) {
+        SpelExpressionParser parser = new SpelExpressionParser();
+        String description = null;
+        for (int i = 0; i < iterations; i++) {
+            LogAction logAction = method.getAnnotation(LogAction.class);
+            StandardEvaluationContext context = new StandardEvaluationContext(new ActionLogAspect.ActionContext(args, result));
+            Expression expression = parser.parseExpression(logAction.description(), new TemplateParserContext());
+            description = expression.getValue(context, String.class);
+        }
+        return description;
+    }
+
+    private String runCached(Method method, Object[] args, Object result, int iterations) {
+        String description = null;
+        for (int i = 0; i < iterations; i++) {
+            description = aspect.evaluateDescription(aspect.getMetadata(method), args, result);
+        }
+        return description;
+    }
+
+    private static EgitimResponseDTO egitim(String ad) {
+        EgitimResponseDTO dto = new EgitimResponseDTO();
+        dto.setAd(ad);
+        return dto;
+    }
+
+    public static class OtherResult {
+        private final String ad;
+
+        public OtherResult(String ad) {
+            this.ad = ad;
+        }
+
+        public String getAd() {
+            return ad;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.akademi.egitimtakip.config;
+
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import com.akademi.egitimtakip.service.ExportService;
+import com.akademi.egitimtakip.tracing.TraceFilter;
+import com.akademi.egitimtakip.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * AsyncConfig Integration Test
+ *
+ * Export stream'lerinin @Async havuzunda (2 çekirdek thread) sıraya girmeden, MVC async
+ * executor'ında aynı anda çalıştığını doğrular.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AsyncConfigTest {
+
+    private static final String TRACE_ID = "async-config-test-1";
+
+    private static final int EXPORTS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @SpyBean
+    private ExportService exportService;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        // İsteklerin log satırları yazıldıktan sonra silinir; diğer testler boş log tablolarıyla çalışır
+        long deadline = System.currentTimeMillis() + 5000;
+        while (countApiLogs() < EXPORTS && System.currentTimeMillis() < deadline) {
+            logIngestionPipeline.flushAll();
+            Thread.sleep(20);
+        }
+        for (String table : List.of("api_logs", "activity_logs", "error_logs", "request_traces", "trace_spans")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE trace_id = ?", TRACE_ID);
+        }
+    }
+
+    @Test
+    @DisplayName("Eşzamanlı export'lar MVC async executor'ında birlikte çalışmalı")
+    void testConcurrentExportsRunOnMvcExecutor() throws Exception {
+        CountDownLatch started = new CountDownLatch(EXPORTS);
+        CountDownLatch release = new CountDownLatch(1);
+        Queue<String> threads = new ConcurrentLinkedQueue<>();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            started.countDown();
+            // Diğer export'lar başlayana kadar thread'i tutar; havuz küçükse sonrakiler hiç başlamaz
+            release.await(30, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(exportService).exportEgitimler(any(), any(), any(), any(), any());
+
+        String token = jwtUtil.generateToken("admin@akademi.com", "ADMIN");
+        List<MvcResult> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < EXPORTS; i++) {
+                results.add(mockMvc.perform(get("/egitim/export")
+                        .header("Authorization", "Bearer " + token)
+                        .header(TraceFilter.HEADER, TRACE_ID))
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+            }
+
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(threads).hasSize(EXPORTS).allMatch(name -> name.startsWith("mvc-async-"));
+        } finally {
+            release.countDown();
+        }
+
+        for (MvcResult result : results) {
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("id,ad,egitimKodu")));
+        }
+    }
+
+    private long countApiLogs() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_logs WHERE trace_id = ?", Long.class, TRACE_ID);
+    }
+}
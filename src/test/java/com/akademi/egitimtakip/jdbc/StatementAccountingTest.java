@@ -0,0 +1,192 @@
+package com.akademi.egitimtakip.jdbc;
+
+import com.akademi.egitimtakip.dto.QueryStatsDTO;
+import com.akademi.egitimtakip.dto.SlowQueryDTO;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import com.akademi.egitimtakip.metrics.QueryCountRegistry;
+import com.akademi.egitimtakip.tracing.TraceFilter;
+import com.akademi.egitimtakip.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * StatementAccounting Integration Test
+ *
+ * İstek thread'indeki SQL ifadelerinin sarmalanmış DataSource üzerinden sayıldığını,
+ * aynı ifade şeklinin tekrarının N+1 olarak işaretlendiğini, yavaş ifadelerin EXPLAIN planıyla
+ * tutulduğunu ve istek özetinin api_logs satırına ve endpoint raporuna yazıldığını doğrular.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementAccountingTest {
+
+    private static final String TRACE_ID = "sql-accounting-test-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QueryCountRegistry queryCountRegistry;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    private long defaultSlowQueryMs;
+    private long defaultExplainIntervalMs;
+    private int sentRequests;
+
+    @BeforeEach
+    void setUp() {
+        defaultSlowQueryMs = (Long) ReflectionTestUtils.getField(slowQueryLog, "slowQueryMs");
+        defaultExplainIntervalMs = (Long) ReflectionTestUtils.getField(slowQueryLog, "explainIntervalMs");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        StatementAccounting.end();
+        ReflectionTestUtils.setField(slowQueryLog, "slowQueryMs", defaultSlowQueryMs);
+        ReflectionTestUtils.setField(slowQueryLog, "explainIntervalMs", defaultExplainIntervalMs);
+        if (sentRequests > 0) {
+            // İsteklerin log satırları yazıldıktan sonra silinir; diğer testler boş log tablolarıyla çalışır
+            awaitTrue(() -> countRows("api_logs") >= sentRequests);
+            for (String table : List.of("api_logs", "activity_logs", "error_logs", "request_traces", "trace_spans")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE trace_id = ?", TRACE_ID);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Literal'ler ? ile değiştirilmeli, tanımlayıcılardaki rakamlar korunmalı")
+    void testStatementShape() {
+        assertThat(StatementShape.of("SELECT * FROM egitim e1_0 WHERE e1_0.id = 42 AND ad = 'It''s'", false))
+            .isEqualTo("SELECT * FROM egitim e1_0 WHERE e1_0.id = ? AND ad = ?");
+        assertThat(StatementShape.of("select  *\n from t where x = 1.5", false))
+            .isEqualTo("select * from t where x = ?");
+        String prepared = "select e1_0.id from egitim e1_0 where e1_0.id=?";
+        assertThat(StatementShape.of(prepared, true)).isSameAs(prepared);
+    }
+
+    @Test
+    @DisplayName("Aynı şekil tekrarlanınca ifadeler, satırlar ve en yüksek tekrar sayılmalı")
+    void testRepeatedShapeCounted() {
+        StatementAccounting.begin("GET", "/test");
+        for (int i = 0; i < 6; i++) {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM egitim WHERE id = ?", Long.class, i);
+        }
+        // Düz Statement: farklı literal'ler aynı şekle düşer
+        jdbcTemplate.queryForList("SELECT id FROM egitim WHERE id = 1");
+        jdbcTemplate.queryForList("SELECT id FROM egitim WHERE id = 2");
+        RequestStatementStats stats = StatementAccounting.end();
+
+        assertThat(stats.getStatements()).isEqualTo(8);
+        assertThat(stats.getDistinctShapes()).isEqualTo(2);
+        assertThat(stats.getMaxRepeat()).isEqualTo(6);
+        assertThat(stats.getMaxRepeatShape()).isEqualTo("SELECT COUNT(*) FROM egitim WHERE id = ?");
+        // COUNT(*) her seferinde bir satır döner
+        assertThat(stats.getRows()).isGreaterThanOrEqualTo(6);
+        assertThat(stats.getMaxRepeat()).isGreaterThanOrEqualTo(queryCountRegistry.getRepeatThreshold());
+        assertThat(StatementAccounting.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Aktif istek yokken ifadeler sayılmamalı")
+    void testNoAccountingOutsideRequest() {
+        long before = queryCountRegistry.getStats().get("statements");
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM egitim", Long.class);
+
+        assertThat(StatementAccounting.current()).isNull();
+        assertThat(queryCountRegistry.getStats().get("statements")).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Yavaş ifade H2 EXPLAIN planıyla tutulmalı")
+    void testSlowStatementExplained() {
+        ReflectionTestUtils.setField(slowQueryLog, "slowQueryMs", 0L);
+        ReflectionTestUtils.setField(slowQueryLog, "explainIntervalMs", 0L);
+
+        StatementAccounting.begin("GET", "/slow-test");
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM egitim WHERE ad = ?", Long.class, "yok");
+        RequestStatementStats stats = StatementAccounting.end();
+
+        assertThat(stats.getSlowStatements()).isEqualTo(1);
+        SlowQueryDTO slow = slowQueryLog.getRecent().get(0);
+        assertThat(slow.getSql()).isEqualTo("SELECT COUNT(*) FROM egitim WHERE ad = ?");
+        assertThat(slow.getEndpoint()).isEqualTo("/slow-test");
+        assertThat(slow.getPlan()).isNotBlank().doesNotStartWith("EXPLAIN alınamadı");
+        assertThat(slow.getPlan().toUpperCase()).contains("EGITIM");
+    }
+
+    @Test
+    @DisplayName("İstek özeti api_logs satırına ve endpoint raporuna yazılmalı")
+    void testRequestSummaryRecorded() throws Exception {
+        String token = jwtUtil.generateToken("admin@akademi.com", "ADMIN");
+        long recordedBefore = queryCountRegistry.getStats().get("recorded");
+
+        mockMvc.perform(get("/egitim")
+                .header("Authorization", "Bearer " + token)
+                .header(TraceFilter.HEADER, TRACE_ID))
+            .andExpect(status().isOk());
+        sentRequests++;
+
+        assertThat(queryCountRegistry.getStats().get("recorded")).isGreaterThan(recordedBefore);
+        QueryStatsDTO row = queryCountRegistry.getReport(QueryCountRegistry.SORT_STATEMENTS).stream()
+            .filter(r -> "GET".equals(r.getMethod()) && "/egitim".equals(r.getEndpoint()))
+            .findFirst()
+            .orElseThrow();
+        assertThat(row.getRequests()).isPositive();
+        assertThat(row.getMaxStatements()).isPositive();
+
+        awaitTrue(() -> countRows("api_logs") > 0);
+        Map<String, Object> log = jdbcTemplate.queryForMap(
+            "SELECT sql_count, sql_max_repeat FROM api_logs WHERE trace_id = ?", TRACE_ID);
+        assertThat(((Number) log.get("SQL_COUNT")).intValue()).isPositive();
+        assertThat(((Number) log.get("SQL_MAX_REPEAT")).intValue()).isPositive();
+
+        mockMvc.perform(get("/api/logs/queries").param("sort", "unknown")
+                .header("Authorization", "Bearer " + token)
+                .header(TraceFilter.HEADER, TRACE_ID))
+            .andExpect(status().isBadRequest());
+        sentRequests++;
+    }
+
+    private long countRows(String table) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + table + " WHERE trace_id = ?", Long.class, TRACE_ID);
+    }
+
+    private void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            logIngestionPipeline.flushAll();
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
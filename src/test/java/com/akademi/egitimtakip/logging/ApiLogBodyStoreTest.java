@@ -0,0 +1,228 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.entity.ApiLog;
+import com.akademi.egitimtakip.service.ApiLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ApiLogBodyStore Integration Test / Benchmark
+ *
+ * Aynı body'lerin api_log_bodies'e bir kez, sıkıştırılmış yazıldığını, body'lerin
+ * yalnızca detayda açıldığını ve eski satırların arka plan taşımasını doğrular.
+ * Ham ve saklanan byte miktarı konsola yazdırılır.
+ * Yazım write-behind olduğu için test @Transactional değildir; eklenen satırlar her testten sonra silinir.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ApiLogBodyStoreTest {
+
+    private static final String ENDPOINT_PREFIX = "/api-body-test/";
+
+    @Autowired
+    private ApiLogService apiLogService;
+
+    @Autowired
+    private ApiLogBodyStore apiLogBodyStore;
+
+    @Autowired
+    private ApiLogBodyMigrator apiLogBodyMigrator;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private LogRetentionEngine logRetentionEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM api_logs WHERE endpoint LIKE ?", ENDPOINT_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM api_log_bodies b WHERE " +
+            "NOT EXISTS (SELECT 1 FROM api_logs a WHERE a.request_body_hash = b.hash) AND " +
+            "NOT EXISTS (SELECT 1 FROM api_logs a WHERE a.response_body_hash = b.hash)");
+        apiLogBodyStore.forgetKnownHashes();
+    }
+
+    @Test
+    @DisplayName("Aynı body'ler bir kez, sıkıştırılmış saklanmalı; detayda açılmalı")
+    void testBodiesAreDeduplicatedAndCompressed() throws InterruptedException {
+        int logs = 1000;
+        int distinctBodies = 10;
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < distinctBodies; i++) {
+            bodies.add(listPayload(i));
+        }
+
+        long rawBytes = 0;
+        for (int i = 0; i < logs; i++) {
+            String response = bodies.get(i % distinctBodies);
+            apiLogService.saveApiLog(7L, ENDPOINT_PREFIX + i, "POST", 200,
+                "{\"ad\":\"Eğitim\"}", response, 5L, "127.0.0.1");
+            rawBytes += response.getBytes(StandardCharsets.UTF_8).length;
+        }
+        logIngestionPipeline.flushAll();
+        waitForRows(logs);
+
+        List<String> hashes = new ArrayList<>();
+        for (String body : bodies) {
+            hashes.add(ApiLogBodyStore.hash(body.getBytes(StandardCharsets.UTF_8)));
+        }
+        String placeholders = String.join(", ", Collections.nCopies(hashes.size(), "?"));
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM api_log_bodies WHERE hash IN (" + placeholders + ")",
+            Long.class, hashes.toArray())).isEqualTo(distinctBodies);
+        Long storedBytes = jdbcTemplate.queryForObject(
+            "SELECT SUM(LENGTH(content)) FROM api_log_bodies WHERE hash IN (" + placeholders + ")",
+            Long.class, hashes.toArray());
+        assertThat(storedBytes).isLessThan(rawBytes / logs * distinctBodies);
+
+        // Liste body taşımaz, detay açar
+        Page<ApiLog> page = apiLogService.getLogsByFilters(
+            7L, null, null, null, ENDPOINT_PREFIX, null, PageRequest.of(0, 20));
+        assertThat(page.getContent()).allSatisfy(log -> {
+            assertThat(log.getResponseBody()).isNull();
+            assertThat(log.getResponseBodyHash()).isNotNull();
+        });
+        ApiLog detail = apiLogService.getLogDetail(page.getContent().get(0).getId());
+        int n = Integer.parseInt(detail.getEndpoint().substring(ENDPOINT_PREFIX.length()));
+        assertThat(detail.getResponseBody()).isEqualTo(bodies.get(n % distinctBodies));
+        assertThat(detail.getRequestBody()).isEqualTo("{\"ad\":\"Eğitim\"}");
+
+        System.out.println(String.format(
+            "📊 API log body'leri: %d log, ham response=%d KB, saklanan=%d KB (%d farklı body)",
+            logs, rawBytes / 1024, storedBytes / 1024, distinctBodies
+        ));
+    }
+
+    @Test
+    @DisplayName("Eski satırların body'leri taşınmalı, düz kolonlar boşaltılmalı")
+    void testLegacyRowsAreMigrated() {
+        String body = listPayload(42);
+        for (int i = 0; i < 30; i++) {
+            jdbcTemplate.update(
+                "INSERT INTO api_logs (endpoint, http_method, status_code, request_body, response_body, created_at) " +
+                "VALUES (?, 'GET', 200, ?, ?, ?)",
+                ENDPOINT_PREFIX + "legacy-" + i, i % 2 == 0 ? "{\"sayfa\":" + i + "}" : null, body,
+                Timestamp.valueOf(LocalDateTime.now()));
+        }
+
+        assertThat(apiLogBodyMigrator.migrate()).isGreaterThanOrEqualTo(30);
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM api_logs WHERE endpoint LIKE ? AND (request_body IS NOT NULL OR response_body IS NOT NULL)",
+            Long.class, ENDPOINT_PREFIX + "%")).isZero();
+        Long id = jdbcTemplate.queryForObject(
+            "SELECT id FROM api_logs WHERE endpoint = ?", Long.class, ENDPOINT_PREFIX + "legacy-4");
+        ApiLog detail = apiLogService.getLogDetail(id);
+        assertThat(detail.getRequestBody()).isEqualTo("{\"sayfa\":4}");
+        assertThat(detail.getResponseBody()).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Referansı kalmayan eski body'ler temizlenmeli, kullanılanlar kalmalı")
+    void testUnreferencedBodiesArePurged() throws InterruptedException {
+        String kept = listPayload(7);
+        String orphan = listPayload(8);
+        List<String> hashes = apiLogBodyStore.storeAll(List.of(kept, orphan));
+        apiLogService.saveApiLog(7L, ENDPOINT_PREFIX + "kept", "GET", 500, null, kept, 5L, "127.0.0.1");
+        logIngestionPipeline.flushAll();
+        waitForRows(1);
+        age(hashes.get(0), 2);
+        age(hashes.get(1), 2);
+
+        logRetentionEngine.purge("api-body", LocalDateTime.now().minusDays(1));
+
+        assertThat(apiLogBodyStore.load(hashes.get(0))).isEqualTo(kept);
+        assertThat(apiLogBodyStore.load(hashes.get(1))).isNull();
+    }
+
+    @Test
+    @DisplayName("Tekrar kullanılan eski body, referans veren log yazılmadan önce temizlenmemeli")
+    @SuppressWarnings("unchecked")
+    void testReusedBodySurvivesRetentionBeforeLogIsWritten() throws InterruptedException {
+        String body = listPayload(9);
+        String hash = apiLogBodyStore.storeAll(List.of(body)).get(0);
+
+        // 1) Yeniden başlatma sonrası: hash önbellekte yok, tabloda günlerdir referanssız duruyor
+        age(hash, 3);
+        apiLogBodyStore.forgetKnownHashes();
+        assertThat(apiLogBodyStore.storeAll(List.of(body))).containsExactly(hash);
+        // api_logs satırı henüz yazılmadan temizlik araya girer
+        logRetentionEngine.purge("api-body", LocalDateTime.now().minusDays(1));
+        assertThat(apiLogBodyStore.load(hash)).isEqualTo(body);
+
+        // 2) Hash önbellekte ama son yenilemesi touch-interval'dan eski
+        age(hash, 3);
+        Map<String, Long> knownHashes = (Map<String, Long>) ReflectionTestUtils.getField(apiLogBodyStore, "knownHashes");
+        knownHashes.put(hash, System.currentTimeMillis() - TimeUnit.DAYS.toMillis(3));
+        assertThat(apiLogBodyStore.storeAll(List.of(body))).containsExactly(hash);
+        logRetentionEngine.purge("api-body", LocalDateTime.now().plusMinutes(1));
+        assertThat(apiLogBodyStore.load(hash)).isEqualTo(body);
+
+        // Log sonunda yazılır ve body'ye referans verir
+        apiLogService.saveApiLog(7L, ENDPOINT_PREFIX + "reused", "GET", 500, null, body, 5L, "127.0.0.1");
+        logIngestionPipeline.flushAll();
+        waitForRows(1);
+        Page<ApiLog> page = apiLogService.getLogsByFilters(null, null, null, null, ENDPOINT_PREFIX + "reused", null,
+            PageRequest.of(0, 1));
+        assertThat(apiLogService.getLogDetail(page.getContent().get(0).getId()).getResponseBody()).isEqualTo(body);
+    }
+
+    // Helpers
+
+    /**
+     * Body satırını verilen gün kadar önce yazılmış ve son kez kullanılmış gibi gösterir
+     */
+    private void age(String hash, int days) {
+        Timestamp past = Timestamp.valueOf(LocalDateTime.now().minusDays(days));
+        jdbcTemplate.update("UPDATE api_log_bodies SET created_at = ?, last_used_at = ? WHERE hash = ?", past, past, hash);
+    }
+
+    private static String listPayload(int variant) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i + 1)
+                .append(",\"ad\":\"Eğitim ").append(i + 1).append("\"")
+                .append(",\"kategori\":\"Yazılım\",\"durum\":\"AKTIF\",\"varyant\":").append(variant).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private void waitForRows(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (countRows() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(countRows()).isEqualTo(expected);
+    }
+
+    private long countRows() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM api_logs WHERE endpoint LIKE ?", Long.class, ENDPOINT_PREFIX + "%");
+    }
+}
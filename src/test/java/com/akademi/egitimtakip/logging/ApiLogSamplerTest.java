@@ -0,0 +1,121 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.dto.SamplingConfigDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ApiLogSampler Unit Test / Benchmark
+ *
+ * Hata ve yavaş isteklerin her zaman loglandığını, head sampling ve endpoint başına
+ * token bucket sınırının uygulandığını ve loglanmayan isteklerin sayaçlara girdiğini doğrular.
+ * Tek endpoint'e gelen yoğun trafikte yazılan satır sayısı ve karar maliyeti konsola yazdırılır.
+ */
+class ApiLogSamplerTest {
+
+    private static final String RULES =
+        "GET / 0 0;" +
+        "GET /egitim/** 0.1 0;" +
+        "GET /** 1.0 5;" +
+        "* /** 1.0 0";
+
+    @Test
+    @DisplayName("Hatalar ve yavaş istekler örnekleme oranından bağımsız loglanmalı")
+    void testErrorsAndSlowRequestsAreAlwaysKept() {
+        ApiLogSampler sampler = sampler(RULES);
+
+        assertThat(sampler.shouldLog("GET", "/", "/", 200, 5)).isFalse();
+        assertThat(sampler.shouldLog("GET", "/", "/", 500, 5)).isTrue();
+        assertThat(sampler.shouldLog("GET", "/", "/", 404, 5)).isTrue();
+        assertThat(sampler.shouldLog("GET", "/", "/", 200, 1500)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Head sampling oranı uygulanmalı, toplam sayaçlar tam kalmalı")
+    void testHeadSamplingKeepsAccurateTotals() {
+        ApiLogSampler sampler = sampler(RULES);
+        int requests = 10_000;
+        int logged = 0;
+        for (int i = 0; i < requests; i++) {
+            if (sampler.shouldLog("GET", "/egitim/" + i, "/egitim/{id}", 200, 3)) {
+                logged++;
+            }
+        }
+
+        assertThat(logged).isBetween(800, 1200);
+        Map<String, Object> row = endpoint(sampler, "GET /egitim/{id}");
+        assertThat(row.get("requests")).isEqualTo((long) requests);
+        assertThat(row.get("logged")).isEqualTo((long) logged);
+        assertThat(row.get("meanMs")).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Endpoint başına saniyelik sınır, ani yoğunlukta satır sayısını sınırlamalı")
+    void testTokenBucketCapsBurstPerEndpoint() {
+        ApiLogSampler sampler = sampler(RULES);
+        int requests = 100_000;
+        int logged = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            if (sampler.shouldLog("GET", "/kategori", "/kategori", 200, 2)) {
+                logged++;
+            }
+        }
+        long elapsedNs = System.nanoTime() - start;
+        // Diğer endpoint'in kovası etkilenmemeli
+        boolean otherEndpoint = sampler.shouldLog("GET", "/durum", "/durum", 200, 2);
+
+        System.out.println(String.format(
+            "📊 API log örnekleme: tek endpoint'e %d istek → %d satır, karar başına %.0f ns",
+            requests, logged, (double) elapsedNs / requests
+        ));
+
+        long elapsedSeconds = elapsedNs / 1_000_000_000L;
+        assertThat(logged).isBetween(5, 5 + 5 * (int) (elapsedSeconds + 1));
+        assertThat(otherEndpoint).isTrue();
+        assertThat(endpoint(sampler, "GET /kategori").get("requests")).isEqualTo((long) requests);
+    }
+
+    @Test
+    @DisplayName("Ayarlar yeniden başlatmadan değişmeli, geçersiz kural reddedilmeli")
+    void testHotReload() {
+        ApiLogSampler sampler = sampler(RULES);
+        assertThat(sampler.shouldLog("POST", "/egitim", "/egitim", 201, 10)).isTrue();
+
+        sampler.update(new SamplingConfigDTO("POST /egitim 0 0; * /** 1.0 0", null, null));
+        assertThat(sampler.shouldLog("POST", "/egitim", "/egitim", 201, 10)).isFalse();
+        assertThat(sampler.getConfig().getKeepErrors()).isTrue();
+
+        assertThatThrownBy(() -> sampler.update(new SamplingConfigDTO("GET /** 2.0 0", null, null)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sampler.update(new SamplingConfigDTO("GET /** 1.0", null, null)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(sampler.getConfig().getRules()).isEqualTo("POST /egitim 0 0; * /** 1.0 0");
+    }
+
+    // Helpers
+
+    private static ApiLogSampler sampler(String rules) {
+        ApiLogSampler sampler = new ApiLogSampler();
+        ReflectionTestUtils.setField(sampler, "rulesSpec", rules);
+        ReflectionTestUtils.setField(sampler, "keepErrors", true);
+        ReflectionTestUtils.setField(sampler, "slowThresholdMs", 1000L);
+        ReflectionTestUtils.setField(sampler, "maxEndpoints", 100);
+        sampler.init();
+        return sampler;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> endpoint(ApiLogSampler sampler, String key) {
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) sampler.getStats().get("endpoints");
+        return rows.stream().filter(row -> key.equals(row.get("endpoint"))).findFirst().orElseThrow();
+    }
+}
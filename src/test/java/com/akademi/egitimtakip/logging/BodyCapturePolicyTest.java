@@ -0,0 +1,283 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.config.WebMvcConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BodyCapturePolicy / ContentCachingFilter Unit Test / Benchmark
+ *
+ * Kurallara göre yalnızca gereken önekin yakalandığını, yanıtın tamamının
+ * istemciye iletildiğini ve streaming yanıtların yakalanmadığını doğrular.
+ * Büyük yanıtta tee ile eski ContentCachingResponseWrapper'ın heap ayırımı konsola yazdırılır.
+ */
+class BodyCapturePolicyTest {
+
+    private static final String RULES =
+        "* /auth/** * 0 0;" +
+        "GET /** error 0 100;" +
+        "GET /** * 0 0;" +
+        "* /** * 50 20";
+
+    private static final int LARGE_BODY = 1024 * 1024;
+
+    @Test
+    @DisplayName("Yanıt tamamen iletilmeli, yalnızca kuraldaki önek yakalanmalı")
+    void testTeeForwardsFullBodyAndCapturesPrefix() throws Exception {
+        WebMvcConfig.ContentCachingFilter filter = new WebMvcConfig.ContentCachingFilter(policy(RULES));
+        MockHttpServletRequest request = request("POST", "/egitim");
+        request.setContent("{\"ad\":\"Yeni Eğitim\",\"aciklama\":\"uzun bir açıklama metni, elli byte'tan uzun\"}"
+            .getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        AtomicReference<String> requestBody = new AtomicReference<>();
+        AtomicReference<String> responseBody = new AtomicReference<>();
+        byte[] body = repeat('x', 10_000);
+
+        filter.doFilter(request, response, (req, res) -> {
+            // Uygulama body'nin tamamını okur
+            byte[] read = req.getInputStream().readAllBytes();
+            assertThat(read).hasSize(request.getContentAsByteArray().length);
+
+            res.setContentType("application/json");
+            res.getOutputStream().write(body);
+            // LogInterceptor.afterCompletion muadili
+            BodyCapture capture = BodyCapture.from((HttpServletRequest) req);
+            requestBody.set(capture.getRequestBody(201));
+            responseBody.set(capture.getResponseBody(201));
+        });
+
+        assertThat(response.getContentAsByteArray()).hasSize(body.length);
+        assertThat(requestBody.get().getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(50);
+        assertThat(requestBody.get()).startsWith("{\"ad\":\"Yeni Eğitim");
+        assertThat(responseBody.get()).hasSize(20);
+        assertThat(request.getAttribute(BodyCapture.ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    @DisplayName("Hiçbir kural body istemiyorsa istek sarmalanmamalı")
+    void testNoWrappingWhenNothingIsCaptured() throws Exception {
+        WebMvcConfig.ContentCachingFilter filter = new WebMvcConfig.ContentCachingFilter(policy(RULES));
+        MockHttpServletRequest request = request("POST", "/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain chain = (req, res) -> {
+            assertThat(req).isSameAs(request);
+            assertThat(res).isSameAs(response);
+            assertThat(BodyCapture.from((HttpServletRequest) req)).isNull();
+        };
+        filter.doFilter(request, response, chain);
+    }
+
+    @Test
+    @DisplayName("error kuralı yalnızca hata durumunda body döndürmeli")
+    void testErrorOnlyRule() throws Exception {
+        BodyCapturePolicy policy = policy(RULES);
+
+        assertThat(responseBodyFor(policy, 200)).isNull();
+        assertThat(responseBodyFor(policy, 404)).hasSize(100);
+        assertThat(responseBodyFor(policy, 500)).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("Streaming yanıtlar yakalanmamalı")
+    void testStreamingResponseIsNotCaptured() throws Exception {
+        WebMvcConfig.ContentCachingFilter filter = new WebMvcConfig.ContentCachingFilter(policy(RULES));
+        MockHttpServletRequest request = request("POST", "/stream");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> captured = new AtomicReference<>("not-set");
+
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType("text/event-stream");
+            res.getWriter().write("data: merhaba\n\n");
+            res.getWriter().flush();
+            captured.set(BodyCapture.from((HttpServletRequest) req).getResponseBody(200));
+        });
+
+        assertThat(response.getContentAsString()).isEqualTo("data: merhaba\n\n");
+        assertThat(captured.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Writer ile yazılan Türkçe karakterler charset belirtilmese de UTF-8 yakalanmalı")
+    void testWriterCapturesNonAsciiAsUtf8() throws Exception {
+        String json = "{\"ad\":\"Çağrı Öğütçü\",\"not\":\"şeker \uD83D\uDE00\"}";
+
+        // Servlet varsayılanı ISO-8859-1; yakalanan önek yine de UTF-8 okunmalı
+        String captured = writerResponseBody("* /** * 0 100", res -> {
+            res.setContentType("application/json");
+            PrintWriter writer = res.getWriter();
+            writer.write(json, 0, 10);
+            writer.write(json.toCharArray(), 10, 20);
+            for (char c : json.substring(30).toCharArray()) {
+                // Surrogate çifti iki ayrı yazımda gelir
+                writer.write(c);
+            }
+            writer.flush();
+        });
+        assertThat(captured).isEqualTo(json);
+
+        // Sınır çok byte'lı bir karakterin ortasına düşerse yarım karakter yakalanmamalı
+        String truncated = writerResponseBody("* /** * 0 20", res -> {
+            res.setContentType("application/json");
+            res.getWriter().write("aççççççççççç");
+            res.getWriter().flush();
+        });
+        assertThat(truncated).isEqualTo("a" + "ç".repeat(9)).doesNotContain("\uFFFD");
+        assertThat(truncated.getBytes(StandardCharsets.UTF_8)).hasSize(19);
+    }
+
+    @Test
+    @DisplayName("Geçersiz kural reddedilmeli")
+    void testInvalidRuleIsRejected() {
+        assertThatThrownBy(() -> BodyCapturePolicy.parseRules("GET /** 2xx 10", 100))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BodyCapturePolicy.parseRules("GET /** 6xx 10 10", 100))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Büyük yanıtta tee, tam önbelleğe göre çok daha az heap ayırmalı")
+    void testTeeAllocatesFarLessThanFullCaching() throws Exception {
+        BodyCapturePolicy policy = policy("* /** * 5000 5000");
+        WebMvcConfig.ContentCachingFilter filter = new WebMvcConfig.ContentCachingFilter(policy);
+        byte[] body = repeat('y', LARGE_BODY);
+        FilterChain chain = (req, res) -> {
+            for (int off = 0; off < body.length; off += 8192) {
+                res.getOutputStream().write(body, off, Math.min(8192, body.length - off));
+            }
+        };
+
+        // Isınma
+        for (int i = 0; i < 5; i++) {
+            filter.doFilter(request("POST", "/egitim"), new DiscardingResponse(), chain);
+            cachingRoundTrip(chain);
+        }
+
+        long teeBytes = allocated(() -> filter.doFilter(request("POST", "/egitim"), new DiscardingResponse(), chain));
+        long cachingBytes = allocated(() -> cachingRoundTrip(chain));
+
+        System.out.println(String.format(
+            "📊 1MB yanıt: tee=%d KB, ContentCachingResponseWrapper=%d KB heap ayırımı",
+            teeBytes / 1024, cachingBytes / 1024
+        ));
+        assertThat(teeBytes).isLessThan(cachingBytes / 4);
+    }
+
+    // Helpers
+
+    private static BodyCapturePolicy policy(String rules) {
+        BodyCapturePolicy policy = new BodyCapturePolicy();
+        ReflectionTestUtils.setField(policy, "rulesSpec", rules);
+        ReflectionTestUtils.setField(policy, "maxBytes", 8192);
+        ReflectionTestUtils.setField(policy, "poolSize", 4);
+        ReflectionTestUtils.setField(policy, "streamingContentTypeSpec",
+            new String[] {"text/event-stream", "application/x-ndjson"});
+        policy.init();
+        return policy;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setCharacterEncoding("UTF-8");
+        return request;
+    }
+
+    private static String responseBodyFor(BodyCapturePolicy policy, int status) throws Exception {
+        WebMvcConfig.ContentCachingFilter filter = new WebMvcConfig.ContentCachingFilter(policy);
+        AtomicReference<String> captured = new AtomicReference<>();
+        filter.doFilter(request("GET", "/egitim"), new MockHttpServletResponse(), (req, res) -> {
+            ((HttpServletResponse) res).setStatus(status);
+            res.getOutputStream().write(repeat('z', 1000));
+            captured.set(BodyCapture.from((HttpServletRequest) req).getResponseBody(status));
+        });
+        return captured.get();
+    }
+
+    private static String writerResponseBody(String rules, ResponseWriter body) throws Exception {
+        WebMvcConfig.ContentCachingFilter filter = new WebMvcConfig.ContentCachingFilter(policy(rules));
+        AtomicReference<String> captured = new AtomicReference<>();
+        filter.doFilter(request("POST", "/egitim"), new MockHttpServletResponse(), (req, res) -> {
+            body.write((HttpServletResponse) res);
+            captured.set(BodyCapture.from((HttpServletRequest) req).getResponseBody(200));
+        });
+        return captured.get();
+    }
+
+    private static void cachingRoundTrip(FilterChain chain) throws Exception {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(new DiscardingResponse());
+        chain.doFilter(request("POST", "/egitim"), wrapper);
+        wrapper.copyBodyToResponse();
+    }
+
+    private static long allocated(ThrowingRunnable runnable) throws Exception {
+        com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        runnable.run();
+        return threadBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private static byte[] repeat(char c, int length) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) c);
+        return bytes;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private interface ResponseWriter {
+        void write(HttpServletResponse response) throws IOException;
+    }
+
+    /**
+     * Yazılanları saklamayan yanıt (istemciye giden soketin yerine)
+     */
+    private static final class DiscardingResponse extends MockHttpServletResponse {
+        private final ServletOutputStream discard = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return discard;
+        }
+    }
+}
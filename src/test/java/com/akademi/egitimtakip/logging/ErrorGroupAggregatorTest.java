@@ -0,0 +1,191 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.dto.ErrorGroupDTO;
+import com.akademi.egitimtakip.entity.ErrorGroup;
+import com.akademi.egitimtakip.service.ErrorLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ErrorGroupAggregator Integration Test / Benchmark
+ *
+ * Tekrarlayan bir hatanın tek gruba sayıldığını, stack trace'in yalnızca grupta bir kez
+ * saklandığını ve tekrarların hafif error_logs satırları olarak yazıldığını doğrular.
+ * Eski (satır başına stack trace) ve yeni yazılan byte miktarı konsola yazdırılır.
+ * Yazım write-behind olduğu için test @Transactional değildir; eklenen satırlar her testten sonra silinir.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ErrorGroupAggregatorTest {
+
+    private static final String ENDPOINT_PREFIX = "/error-group-test/";
+
+    @Autowired
+    private ErrorLogService errorLogService;
+
+    @Autowired
+    private ErrorGroupAggregator errorGroupAggregator;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private LogRetentionEngine logRetentionEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM error_logs WHERE endpoint LIKE ?", ENDPOINT_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM error_groups g WHERE " +
+            "NOT EXISTS (SELECT 1 FROM error_logs e WHERE e.fingerprint = g.fingerprint)");
+        errorGroupAggregator.forgetKnownFingerprints();
+    }
+
+    @Test
+    @DisplayName("Mesajı farklı id'li aynı hata tek gruba sayılmalı, stack trace bir kez saklanmalı")
+    void testRecurringErrorIsGrouped() throws InterruptedException {
+        int occurrences = 1000;
+        long legacyBytes = 0;
+        for (int i = 0; i < occurrences; i++) {
+            RuntimeException exception = notFound(i);
+            errorLogService.saveErrorLog((long) (i % 5), ENDPOINT_PREFIX + i, exception);
+            legacyBytes += stackTrace(exception).length();
+        }
+        logIngestionPipeline.flushAll();
+        errorGroupAggregator.flush();
+        waitForRows(occurrences);
+
+        List<String> fingerprints = jdbcTemplate.queryForList(
+            "SELECT DISTINCT fingerprint FROM error_logs WHERE endpoint LIKE ?", String.class, ENDPOINT_PREFIX + "%");
+        assertThat(fingerprints).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM error_logs WHERE endpoint LIKE ? AND stacktrace IS NOT NULL",
+            Long.class, ENDPOINT_PREFIX + "%")).isZero();
+
+        Page<ErrorGroupDTO> groups = errorLogService.getGroups("RuntimeException", null,
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "occurrenceCount")));
+        ErrorGroupDTO group = groups.getContent().stream()
+            .filter(g -> fingerprints.get(0).equals(g.getFingerprint())).findFirst().orElseThrow();
+        assertThat(group.getOccurrenceCount()).isEqualTo(occurrences);
+        assertThat(group.getMessageTemplate()).isEqualTo("Eğitim bulunamadı: #");
+        assertThat(group.getTopFrame()).endsWith("ErrorGroupAggregatorTest.notFound");
+        assertThat(group.getFirstSeen()).isBeforeOrEqualTo(group.getLastSeen());
+
+        ErrorGroup detail = errorLogService.getGroup(group.getId());
+        assertThat(detail.getSampleStacktrace()).contains("Eğitim bulunamadı: 0");
+        long storedBytes = detail.getSampleStacktrace().length();
+
+        System.out.println(String.format(
+            "📊 Hata gruplama: %d tekrar → 1 grup, stack trace %d KB yerine %d KB saklandı",
+            occurrences, legacyBytes / 1024, storedBytes / 1024
+        ));
+    }
+
+    @Test
+    @DisplayName("Farklı kod yolundan gelen aynı mesaj ayrı gruba düşmeli; sayaçlar turlar arasında toplanmalı")
+    void testDifferentFramesAreSeparateGroupsAndCountsAccumulate() throws InterruptedException {
+        errorLogService.saveErrorLog(1L, ENDPOINT_PREFIX + "a", notFound(1));
+        errorLogService.saveErrorLog(1L, ENDPOINT_PREFIX + "b", notFoundElsewhere(2));
+        errorGroupAggregator.flush();
+        errorLogService.saveErrorLog(1L, ENDPOINT_PREFIX + "c", notFound(3));
+        errorGroupAggregator.flush();
+        logIngestionPipeline.flushAll();
+        waitForRows(3);
+
+        String first = fingerprintOf("a");
+        assertThat(fingerprintOf("c")).isEqualTo(first);
+        assertThat(fingerprintOf("b")).isNotEqualTo(first);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT occurrence_count FROM error_groups WHERE fingerprint = ?", Long.class, first)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT sample_message FROM error_groups WHERE fingerprint = ?", String.class, first))
+            .isEqualTo("Eğitim bulunamadı: 1");
+    }
+
+    @Test
+    @DisplayName("Tekrarı kalmayan gruplar temizlenmeli, tekrarı olanlar kalmalı")
+    void testGroupsWithoutOccurrencesArePurged() throws InterruptedException {
+        errorLogService.saveErrorLog(1L, ENDPOINT_PREFIX + "kept", notFound(1));
+        errorLogService.saveErrorLog(1L, ENDPOINT_PREFIX + "gone", notFoundElsewhere(2));
+        errorGroupAggregator.flush();
+        logIngestionPipeline.flushAll();
+        waitForRows(2);
+        String kept = fingerprintOf("kept");
+        String gone = fingerprintOf("gone");
+        jdbcTemplate.update("DELETE FROM error_logs WHERE endpoint = ?", ENDPOINT_PREFIX + "gone");
+
+        logRetentionEngine.purge("error-group", LocalDateTime.now().plusMinutes(1));
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM error_groups WHERE fingerprint = ?", Long.class, kept)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM error_groups WHERE fingerprint = ?", Long.class, gone)).isZero();
+    }
+
+    @Test
+    @DisplayName("Mesaj şablonu değişken değerleri, frame listesi satır numarasını içermemeli")
+    void testNormalization() {
+        assertThat(ErrorFingerprint.messageTemplate("Eğitim bulunamadı: 42")).isEqualTo("Eğitim bulunamadı: #");
+        assertThat(ErrorFingerprint.messageTemplate("Kullanıcı 'ali@akademi.com' için token 9f86d081884c7d65 geçersiz"))
+            .isEqualTo("Kullanıcı ? için token ? geçersiz");
+        assertThat(ErrorFingerprint.messageTemplate("Kayıt 123e4567-e89b-12d3-a456-426614174000 kilitli"))
+            .isEqualTo("Kayıt ? kilitli");
+
+        RuntimeException exception = notFound(7);
+        List<String> fromTrace = ErrorFingerprint.frames(exception.getStackTrace(), "com.akademi", 5);
+        List<String> fromText = ErrorFingerprint.frames(stackTrace(exception), "com.akademi", 5);
+        assertThat(fromTrace).isNotEmpty().isEqualTo(fromText);
+        assertThat(fromTrace.get(0)).isEqualTo(ErrorGroupAggregatorTest.class.getName() + ".notFound");
+    }
+
+    // Helpers
+
+    private static RuntimeException notFound(long id) {
+        return new RuntimeException("Eğitim bulunamadı: " + id);
+    }
+
+    private static RuntimeException notFoundElsewhere(long id) {
+        return new RuntimeException("Eğitim bulunamadı: " + id);
+    }
+
+    private static String stackTrace(Throwable exception) {
+        StringWriter sw = new StringWriter();
+        exception.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    private String fingerprintOf(String suffix) {
+        return jdbcTemplate.queryForObject(
+            "SELECT fingerprint FROM error_logs WHERE endpoint = ?", String.class, ENDPOINT_PREFIX + suffix);
+    }
+
+    private void waitForRows(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (countRows() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(countRows()).isEqualTo(expected);
+    }
+
+    private long countRows() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM error_logs WHERE endpoint LIKE ?", Long.class, ENDPOINT_PREFIX + "%");
+    }
+}
@@ -0,0 +1,278 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.entity.ActivityLog;
+import com.akademi.egitimtakip.service.ApiLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LogIngestionPipeline Integration Test
+ *
+ * Logların toplu (batch) yazıldığını, tampon dolduğunda drop politikasının uygulandığını
+ * ve yazıcının 5 katı hızda süren bir trafik artışında tampon ve heap'in sınırlı kaldığını doğrular.
+ * CALLER_RUNS ile istek thread'inde yazılan denetim kaydının çağıranın transaction'ından bağımsız olduğu da doğrulanır.
+ * Yazıcı thread kendi transaction'ını kullandığı için test @Transactional değildir;
+ * eklenen satırlar her testten sonra silinir.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LogIngestionPipelineTest {
+
+    private static final String ENDPOINT_PREFIX = "/pipeline-test/";
+    private static final String ENTITY_TYPE = "PIPELINE_TEST";
+
+    @Autowired
+    private ApiLogService apiLogService;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM api_logs WHERE endpoint LIKE ?", ENDPOINT_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM activity_logs WHERE entity_type = ?", ENTITY_TYPE);
+    }
+
+    @Test
+    @DisplayName("API logları tek tek değil, batch halinde yazılmalı")
+    void testApiLogsAreWrittenInBatches() throws InterruptedException {
+        long flushedBefore = logIngestionPipeline.getStats().get("api").get("flushed");
+        long batchesBefore = logIngestionPipeline.getStats().get("api").get("batches");
+
+        for (int i = 0; i < 1000; i++) {
+            apiLogService.saveApiLog(7L, ENDPOINT_PREFIX + i, "GET", 200, null, null, 5L, "127.0.0.1");
+        }
+        logIngestionPipeline.flushAll();
+
+        // Yazıcı thread elindeki son batch'i bitirene kadar bekle
+        // (satırlar commit edildikten sonra sayaç artar; ikisi de beklenir)
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((countRows() < 1000
+                || logIngestionPipeline.getStats().get("api").get("flushed") - flushedBefore < 1000)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(countRows()).isEqualTo(1000);
+        long flushed = logIngestionPipeline.getStats().get("api").get("flushed") - flushedBefore;
+        long batches = logIngestionPipeline.getStats().get("api").get("batches") - batchesBefore;
+        assertThat(flushed).isEqualTo(1000);
+        assertThat(batches).isLessThan(100);
+
+        System.out.println(String.format("📊 1000 api log → %d batch", batches));
+    }
+
+    @Test
+    @DisplayName("DROP_NEWEST: Tampon doluyken yeni kayıtlar atılmalı")
+    void testDropNewestPolicy() {
+        List<Integer> written = new ArrayList<>();
+        LogWriteBuffer<Integer> buffer = new LogWriteBuffer<>(
+            "test", 10, 100, 50, LogDropPolicy.DROP_NEWEST, 0, written::addAll);
+
+        for (int i = 0; i < 15; i++) {
+            buffer.offer(i);
+        }
+        buffer.flushNow();
+
+        assertThat(buffer.getEnqueued()).isEqualTo(10);
+        assertThat(buffer.getDropped()).isEqualTo(5);
+        assertThat(written).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST: Tampon doluyken en eski kayıtlar atılmalı")
+    void testDropOldestPolicy() {
+        List<Integer> written = new ArrayList<>();
+        LogWriteBuffer<Integer> buffer = new LogWriteBuffer<>(
+            "test", 10, 100, 50, LogDropPolicy.DROP_OLDEST, 0, written::addAll);
+
+        for (int i = 0; i < 15; i++) {
+            buffer.offer(i);
+        }
+        buffer.flushNow();
+
+        assertThat(buffer.getDropped()).isEqualTo(5);
+        assertThat(buffer.getFlushed()).isEqualTo(10);
+        assertThat(written).containsExactly(5, 6, 7, 8, 9, 10, 11, 12, 13, 14);
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS: Tampon doluyken kayıt atılmamalı, çağıran thread yazmalı")
+    void testCallerRunsPolicy() {
+        List<Integer> written = new ArrayList<>();
+        LogWriteBuffer<Integer> buffer = new LogWriteBuffer<>(
+            "test", 10, 100, 50, LogDropPolicy.CALLER_RUNS, 0, written::addAll);
+
+        for (int i = 0; i < 15; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        // Taşan 5 kayıt hemen (sıradakilerden önce) yazıldı
+        assertThat(written).containsExactly(10, 11, 12, 13, 14);
+        buffer.flushNow();
+
+        assertThat(buffer.getDropped()).isZero();
+        assertThat(buffer.getCallerRuns()).isEqualTo(5);
+        assertThat(buffer.getFlushed()).isEqualTo(15);
+        assertThat(written).hasSize(15);
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS: Çağıran thread'deki yazım başarısızsa offer false dönmeli")
+    void testCallerRunsReportsFailedWrite() {
+        LogWriteBuffer<Integer> buffer = new LogWriteBuffer<>(
+            "test", 1, 100, 50, LogDropPolicy.CALLER_RUNS, 0, batch -> {
+                throw new IllegalStateException("db down");
+            });
+
+        assertThat(buffer.offer(1)).isTrue();
+        assertThat(buffer.offer(2)).isFalse();
+        assertThat(buffer.getCallerRuns()).isEqualTo(1);
+        assertThat(buffer.getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS: Denetim kaydı çağıranın rollback'inden etkilenmemeli, hatası çağıranı bozmamalı")
+    @SuppressWarnings("unchecked")
+    void testCallerRunsAuditIsIndependentOfCallerTransaction() {
+        LogWriteBuffer<ActivityLog> original =
+            (LogWriteBuffer<ActivityLog>) ReflectionTestUtils.getField(logIngestionPipeline, "activityLogs");
+        // Yazıcı thread'i olmayan 1 kayıtlık tampon: sonraki kayıtlar taşar ve çağıran thread'de yazılır
+        LogWriteBuffer<ActivityLog> full = new LogWriteBuffer<>(
+            "activity", 1, 100, 50, LogDropPolicy.CALLER_RUNS, 0,
+            batch -> ReflectionTestUtils.invokeMethod(logIngestionPipeline, "writeActivityLogs", batch));
+        ReflectionTestUtils.setField(logIngestionPipeline, "activityLogs", full);
+        TransactionTemplate business = new TransactionTemplate(transactionManager);
+        try {
+            // İş transaction'ı geri alınır (ör. PermissionDeniedException); taşan denetim kaydı kalmalı
+            business.executeWithoutResult(status -> {
+                assertThat(logIngestionPipeline.submit(activity("PERMISSION_DENIED", "queued"))).isTrue();
+                assertThat(logIngestionPipeline.submit(activity("PERMISSION_DENIED", "overflow"))).isTrue();
+                status.setRollbackOnly();
+            });
+
+            // Denetim INSERT'ü başarısız (action NOT NULL); iş yazımı yine commit edilmeli
+            business.executeWithoutResult(status -> {
+                jdbcTemplate.update(
+                    "INSERT INTO activity_logs (action, entity_type, description, created_at) " +
+                    "VALUES ('UPDATE', ?, 'business', CURRENT_TIMESTAMP)", ENTITY_TYPE);
+                assertThat(logIngestionPipeline.submit(activity(null, "invalid"))).isFalse();
+            });
+        } finally {
+            ReflectionTestUtils.setField(logIngestionPipeline, "activityLogs", original);
+        }
+
+        assertThat(countActivity("overflow")).isEqualTo(1);
+        assertThat(countActivity("business")).isEqualTo(1);
+        assertThat(countActivity("invalid")).isZero();
+        assertThat(full.getCallerRuns()).isEqualTo(2);
+        assertThat(full.getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Yük testi: yazıcının 5 katı hızda trafik artışında tampon ve heap sınırlı kalmalı")
+    void testHeapStaysBoundedUnderSpike() throws InterruptedException {
+        int capacity = 2_000;
+        int writerRatePerSecond = 20_000;
+        int spikeRatePerSecond = writerRatePerSecond * 5;
+        long spikeMs = 3_000;
+        String body = "x".repeat(4_096);
+
+        // Veritabanını taklit eden yavaş yazıcı: batch başına kayıt sayısıyla orantılı bekler
+        AtomicLong written = new AtomicLong();
+        LogWriteBuffer<String> buffer = new LogWriteBuffer<>(
+            "spike", capacity, 100, 50, LogDropPolicy.DROP_OLDEST, 0, batch -> {
+                sleepNanos(batch.size() * 1_000_000_000L / writerRatePerSecond);
+                written.addAndGet(batch.size());
+            });
+        buffer.start();
+
+        long baseline = usedHeapAfterGc();
+        long offered = 0;
+        int maxQueued = 0;
+        long start = System.nanoTime();
+        long elapsedNs;
+        while ((elapsedNs = System.nanoTime() - start) < spikeMs * 1_000_000) {
+            long due = elapsedNs * spikeRatePerSecond / 1_000_000_000L;
+            while (offered < due) {
+                // Her kayıt kendi body kopyasını tutar (istekten gelen request/response body gibi)
+                buffer.offer(body + offered);
+                offered++;
+            }
+            maxQueued = Math.max(maxQueued, buffer.getQueued());
+            Thread.sleep(1);
+        }
+        long retainedMb = (usedHeapAfterGc() - baseline) / (1024 * 1024);
+        int remaining = buffer.stop(10_000);
+
+        assertThat(maxQueued).isLessThanOrEqualTo(capacity);
+        assertThat(remaining).isZero();
+        // Her kayıt ya yazıldı ya da (en eskiler) atıldı
+        assertThat(buffer.getDropped()).isPositive();
+        assertThat(buffer.getFlushed() + buffer.getDropped()).isEqualTo(offered);
+        // Kuyruk dolu haldeyken tutulan body'ler: capacity × ~4 KB ≈ 8 MB (sınırsız kuyrukta yüzlerce MB)
+        assertThat(retainedMb).isLessThan(64);
+
+        System.out.println(String.format(
+            "📊 Spike (%d ms, 4 KB body): %d teklif, %d yazıldı (gelen/yazılan %.1fx), %d atıldı, en fazla %d/%d kuyrukta, tutulan heap %d MB",
+            spikeMs, offered, written.get(), (double) offered / written.get(), buffer.getDropped(),
+            maxQueued, capacity, retainedMb
+        ));
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ActivityLog activity(String action, String description) {
+        ActivityLog log = new ActivityLog();
+        log.setAction(action);
+        log.setEntityType(ENTITY_TYPE);
+        log.setDescription(description);
+        return log;
+    }
+
+    private int countActivity(String description) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM activity_logs WHERE entity_type = ? AND description = ?",
+            Integer.class, ENTITY_TYPE, description);
+        return count != null ? count : 0;
+    }
+
+    private int countRows() {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM api_logs WHERE endpoint LIKE ?", Integer.class, ENDPOINT_PREFIX + "%");
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,131 @@
+package com.akademi.egitimtakip.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LogRetentionEngine Integration Test
+ *
+ * Süresi dolan logların id aralıkları halinde silindiğini, yeni kayıtlara
+ * dokunulmadığını ve sayaçların güncellendiğini doğrular.
+ * Her chunk kendi transaction'ında commit edildiği için test @Transactional değildir;
+ * eklenen satırlar her testten sonra silinir.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LogRetentionEngineTest {
+
+    private static final String ENDPOINT_PREFIX = "/retention-test/";
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private LogRetentionEngine logRetentionEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(logRetentionEngine, "chunkSize", CHUNK_SIZE);
+        ReflectionTestUtils.setField(logRetentionEngine, "pauseMs", 0L);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ReflectionTestUtils.setField(logRetentionEngine, "chunkSize", 5000);
+        ReflectionTestUtils.setField(logRetentionEngine, "pauseMs", 100L);
+        jdbcTemplate.update("DELETE FROM api_logs WHERE endpoint LIKE ?", ENDPOINT_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM error_logs WHERE endpoint LIKE ?", ENDPOINT_PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("Eski kayıtlar chunk'lar halinde silinmeli, yeni kayıtlar kalmalı")
+    void testPurgeDeletesOnlyExpiredRowsInChunks() {
+        LocalDateTime now = LocalDateTime.now();
+        // Eski ve yeni kayıtlar karışık id sırasıyla eklenir
+        insertApiLogs(6000, i -> i % 3 == 0 ? now.minusDays(1) : now.minusDays(60));
+
+        long startTime = System.currentTimeMillis();
+        long removed = logRetentionEngine.purge("api", now.minusDays(30));
+        long duration = System.currentTimeMillis() - startTime;
+
+        assertThat(removed).isEqualTo(4000);
+        assertThat(countApiLogs()).isEqualTo(2000);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM api_logs WHERE endpoint LIKE ? AND created_at < ?",
+            Long.class, ENDPOINT_PREFIX + "%", Timestamp.valueOf(now.minusDays(30)))).isZero();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> api = (Map<String, Object>)
+            ((Map<String, Object>) logRetentionEngine.getStatus().get("tables")).get("api");
+        long chunks = (Long) api.get("chunks");
+        assertThat(chunks).isGreaterThanOrEqualTo(6000 / CHUNK_SIZE - 1);
+        assertThat(api.get("removedLastRun")).isEqualTo(4000L);
+        assertThat(api.get("currentId")).isNull();
+
+        System.out.println(String.format(
+            "📊 Log temizleme: 6000 kayıttan %d silindi, %d chunk (chunk=%d), %dms",
+            removed, chunks, CHUNK_SIZE, duration
+        ));
+    }
+
+    @Test
+    @DisplayName("runNow: gün parametresi tüm log türlerine uygulanmalı")
+    void testRunNowAppliesOverrideToAllTypes() {
+        LocalDateTime now = LocalDateTime.now();
+        insertApiLogs(10, i -> now.minusDays(10));
+        jdbcTemplate.update(
+            "INSERT INTO error_logs (endpoint, exception_type, message, created_at) VALUES (?, ?, ?, ?)",
+            ENDPOINT_PREFIX + "error", "RuntimeException", "test", Timestamp.valueOf(now.minusDays(10)));
+
+        Map<String, Long> removed = logRetentionEngine.runNow(5);
+
+        assertThat(removed).containsKeys("api", "activity", "error", "performance", "performance-snapshot", "frontend");
+        assertThat(removed.get("api")).isGreaterThanOrEqualTo(10);
+        assertThat(removed.get("error")).isGreaterThanOrEqualTo(1);
+        assertThat(countApiLogs()).isZero();
+        assertThat(logRetentionEngine.isRunning()).isFalse();
+        assertThat(logRetentionEngine.getStatus().get("lastFinishedAt")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Geçersiz saklama süresi reddedilmeli")
+    void testInvalidDaysAreRejected() {
+        assertThatThrownBy(() -> logRetentionEngine.trigger(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> logRetentionEngine.purge("unknown", LocalDateTime.now()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void insertApiLogs(int count, IntFunction<LocalDateTime> createdAt) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {ENDPOINT_PREFIX + i, "GET", 200, 5L, Timestamp.valueOf(createdAt.apply(i))});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO api_logs (endpoint, http_method, status_code, duration_ms, created_at) VALUES (?, ?, ?, ?, ?)",
+            rows);
+    }
+
+    private long countApiLogs() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM api_logs WHERE endpoint LIKE ?", Long.class, ENDPOINT_PREFIX + "%");
+    }
+}
@@ -0,0 +1,289 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.entity.ApiLog;
+import com.akademi.egitimtakip.service.ApiLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * LogSearchIndex Integration Test / Benchmark
+ *
+ * Trigram indeksinin kaba kuvvet contains aramasıyla aynı değerleri bulduğunu, endpoint filtresinin
+ * indeksle LIKE ile aynı sayfayı döndüğünü, pipeline'ın yazdığı değerlerin hemen, pipeline dışından yazılanların
+ * catch-up/resync ile aramada bulunduğunu ve catch-up hatasında LIKE'a dönüldüğünü doğrular.
+ * Benchmark yalnızca -Dbenchmarks=true ile çalışır: api_logs'a log.search.benchmark.rows (varsayılan 200.000)
+ * satır yazılır, iki yolun sorgu süreleri konsola yazdırılır.
+ * Daha büyük tablolar için: mvn test -Dtest=LogSearchIndexTest -Dbenchmarks=true -Dlog.search.benchmark.rows=1000000
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LogSearchIndexTest {
+
+    private static final String MARKER_IP = "search-bench";
+    private static final int RESOURCES = 40;
+    private static final int IDS_PER_RESOURCE = 500;
+
+    @Autowired
+    private LogSearchIndex logSearchIndex;
+
+    @Autowired
+    private ApiLogService apiLogService;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        ReflectionTestUtils.setField(logSearchIndex, "maxMatches", 1000);
+        ReflectionTestUtils.setField(logSearchIndex, "rescanRows", 2000L);
+        ReflectionTestUtils.setField(logSearchIndex, "jdbcTemplate", jdbcTemplate);
+        jdbcTemplate.update("DELETE FROM api_logs WHERE ip = ?", MARKER_IP);
+        logSearchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Trigram araması kaba kuvvet contains ile aynı değerleri bulmalı")
+    void testTrigramSearchMatchesBruteForce() {
+        TrigramIndex index = new TrigramIndex();
+        List<String> values = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            String value = "/" + pick(random, "egitim", "Kategori", "proje", "odeme", "api/logs") + "/" + random.nextInt(900);
+            values.add(value);
+            index.add(value);
+        }
+        assertThat(index.add(values.get(0))).isFalse();
+
+        for (String needle : List.of("egitim/1", "KATEGORI/4", "api/log", "/9", "je/", "xyz", "Kategori/12")) {
+            for (boolean ignoreCase : new boolean[] {true, false}) {
+                List<String> expected = values.stream()
+                    .distinct()
+                    .filter(v -> ignoreCase
+                        ? v.toLowerCase(Locale.ROOT).contains(needle.toLowerCase(Locale.ROOT))
+                        : v.contains(needle))
+                    .toList();
+                assertThat(index.search(needle, ignoreCase, Integer.MAX_VALUE))
+                    .as("%s ignoreCase=%s", needle, ignoreCase)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+        assertThat(index.search("/", false, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("Endpoint filtresi indeksle LIKE ile aynı sonucu vermeli")
+    void testEndpointFilterUsesIndex() {
+        compareIndexedAndLike(5_000, "kaynak7/1");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("Benchmark: Endpoint filtresi indeksle LIKE'tan hızlı olmalı")
+    void benchmarkEndpointFilter() {
+        compareIndexedAndLike(Integer.getInteger("log.search.benchmark.rows", 200_000), "kaynak7/12");
+    }
+
+    @Test
+    @DisplayName("Sayfa ve count sorguları aranan metni bir kez çözmeli")
+    void testFilterIsResolvedOncePerQuery() {
+        insertRows(200);
+        logSearchIndex.rebuild();
+        long indexedBefore = logSearchIndex.getStats().get("indexedQueries");
+
+        Page<ApiLog> page = query("kaynak", PageRequest.of(0, 5));
+
+        assertThat(page.getTotalElements()).isEqualTo(200);
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(logSearchIndex.getStats().get("indexedQueries")).isEqualTo(indexedBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Pipeline'dan yazılan loglar catch-up beklemeden aramada bulunmalı")
+    void testPipelineRowsAreIndexedOnWrite() throws InterruptedException {
+        logSearchIndex.rebuild();
+        long caughtUpBefore = logSearchIndex.getStats().get("caughtUpRows");
+
+        apiLogService.saveApiLog(null, "/pipeline-kaynak/7", "GET", 200, null, null, 1L, MARKER_IP);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (countRows("/pipeline-kaynak/7") == 0 && System.currentTimeMillis() < deadline) {
+            logIngestionPipeline.flushAll();
+            Thread.sleep(20);
+        }
+
+        assertThat(logSearchIndex.resolve(LogSearchIndex.Field.API_ENDPOINT, "PIPELINE-kaynak", true))
+            .containsExactly("/pipeline-kaynak/7");
+        assertThat(apiLogService.getLogsByEndpoint("pipeline-kaynak")).hasSize(1);
+        assertThat(logSearchIndex.getStats().get("caughtUpRows")).isEqualTo(caughtUpBefore);
+    }
+
+    @Test
+    @DisplayName("Pipeline dışından yazılan loglar catch-up ile sözlüğe eklenmeli")
+    void testNewRowsAreCaughtUp() {
+        logSearchIndex.rebuild();
+        long caughtUpBefore = logSearchIndex.getStats().get("caughtUpRows");
+        insertRow("/yeni-kaynak/42");
+
+        logSearchIndex.catchUp();
+
+        assertThat(logSearchIndex.resolve(LogSearchIndex.Field.API_ENDPOINT, "YENI-kaynak", true))
+            .containsExactly("/yeni-kaynak/42");
+        assertThat(logSearchIndex.resolve(LogSearchIndex.Field.API_ENDPOINT, "YENI-kaynak", false)).isEmpty();
+        assertThat(logSearchIndex.getStats().get("caughtUpRows")).isGreaterThan(caughtUpBefore);
+        assertThat(apiLogService.getLogsByEndpoint("yeni-kaynak")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Daha büyük id'li satırdan sonra commit edilen satır da aramada bulunmalı")
+    void testRowsCommittedOutOfIdOrderAreCaughtUp() {
+        logSearchIndex.rebuild();
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM api_logs", Long.class);
+
+        // id'si daha büyük olan satır önce commit edilir ve catch-up onu sözlüğe alır
+        insertWithId(maxId + 10, "/once-commit/1");
+        logSearchIndex.catchUp();
+        assertThat(logSearchIndex.resolve(LogSearchIndex.Field.API_ENDPOINT, "once-commit", false))
+            .containsExactly("/once-commit/1");
+
+        // Daha önce ayrılmış, daha küçük id'li satır sonra commit edilir (rescan-rows penceresinde)
+        insertWithId(maxId + 5, "/gec-commit/1");
+        logSearchIndex.catchUp();
+        assertThat(logSearchIndex.resolve(LogSearchIndex.Field.API_ENDPOINT, "gec-commit", false))
+            .containsExactly("/gec-commit/1");
+        assertThat(apiLogService.getLogsByEndpoint("gec-commit")).hasSize(1);
+
+        // Pencerenin dışında kalan geç commit'i resync yakalar
+        ReflectionTestUtils.setField(logSearchIndex, "rescanRows", 0L);
+        insertWithId(maxId + 3, "/cok-gec-commit/1");
+        logSearchIndex.catchUp();
+        logSearchIndex.resync();
+        assertThat(logSearchIndex.resolve(LogSearchIndex.Field.API_ENDPOINT, "cok-gec-commit", false))
+            .containsExactly("/cok-gec-commit/1");
+    }
+
+    @Test
+    @DisplayName("Catch-up başarısız olursa arama LIKE'a dönmeli")
+    void testFailedCatchUpFallsBackToLike() {
+        logSearchIndex.rebuild();
+        insertRow("/kopuk-kaynak/3");
+        Map<String, Long> before = logSearchIndex.getStats();
+
+        ReflectionTestUtils.setField(logSearchIndex, "jdbcTemplate", mock(JdbcTemplate.class, invocation -> {
+            throw new DataAccessResourceFailureException("bağlantı yok");
+        }));
+        try {
+            logSearchIndex.catchUp();
+        } finally {
+            ReflectionTestUtils.setField(logSearchIndex, "jdbcTemplate", jdbcTemplate);
+        }
+
+        // Sözlükte olmayan satır boş sonuç yerine LIKE ile bulunur
+        assertThat(logSearchIndex.resolve(LogSearchIndex.Field.API_ENDPOINT, "kopuk-kaynak", false)).isNull();
+        assertThat(query("kopuk-kaynak", PageRequest.of(0, 20)).getTotalElements()).isEqualTo(1);
+        Map<String, Long> failed = logSearchIndex.getStats();
+        assertThat(failed.get("failedCatchUps")).isGreaterThan(before.get("failedCatchUps"));
+        assertThat(failed.get("fallbackQueries")).isGreaterThan(before.get("fallbackQueries"));
+
+        logSearchIndex.catchUp();
+        assertThat(logSearchIndex.resolve(LogSearchIndex.Field.API_ENDPOINT, "kopuk-kaynak", false))
+            .containsExactly("/kopuk-kaynak/3");
+    }
+
+    // Helpers
+
+    private void compareIndexedAndLike(int rows, String needle) {
+        insertRows(rows);
+        logSearchIndex.rebuild();
+
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+        long indexedBefore = logSearchIndex.getStats().get("indexedQueries");
+
+        // Isınma
+        query(needle, pageable);
+        long start = System.nanoTime();
+        Page<ApiLog> indexed = query(needle, pageable);
+        long indexedMs = (System.nanoTime() - start) / 1_000_000;
+        assertThat(logSearchIndex.getStats().get("indexedQueries")).isGreaterThan(indexedBefore);
+
+        // max-matches = 0: her arama LIKE'a düşer
+        ReflectionTestUtils.setField(logSearchIndex, "maxMatches", 0);
+        query(needle, pageable);
+        start = System.nanoTime();
+        Page<ApiLog> scanned = query(needle, pageable);
+        long scanMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(indexed.getTotalElements()).isEqualTo(scanned.getTotalElements()).isPositive();
+        assertThat(indexed.getContent()).extracting(ApiLog::getId)
+            .containsExactlyElementsOf(scanned.getContent().stream().map(ApiLog::getId).toList());
+
+        System.out.println(String.format(
+            "📊 Log alt dize araması: %d satır, %d farklı endpoint, '%s' → %d eşleşme; LIKE %d ms, trigram indeksi %d ms (%s)",
+            rows, RESOURCES * IDS_PER_RESOURCE, needle, indexed.getTotalElements(), scanMs, indexedMs,
+            logSearchIndex.getStats()
+        ));
+    }
+
+    private void insertRow(String endpoint) {
+        jdbcTemplate.update(
+            "INSERT INTO api_logs (endpoint, http_method, status_code, duration_ms, ip, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+            endpoint, "GET", 200, 1L, MARKER_IP, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private long countRows(String endpoint) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_logs WHERE endpoint = ?", Long.class, endpoint);
+    }
+
+    private void insertWithId(long id, String endpoint) {
+        jdbcTemplate.update(
+            "INSERT INTO api_logs (id, endpoint, http_method, status_code, duration_ms, ip, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            id, endpoint, "GET", 200, 1L, MARKER_IP, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private Page<ApiLog> query(String endpoint, PageRequest pageable) {
+        return apiLogService.getLogsByFilters(null, null, null, null, endpoint, null, pageable);
+    }
+
+    private void insertRows(int rows) {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        int chunk = 10_000;
+        for (int offset = 0; offset < rows; offset += chunk) {
+            List<Object[]> batch = new ArrayList<>(chunk);
+            for (int i = offset; i < Math.min(rows, offset + chunk); i++) {
+                String endpoint = "/kaynak" + random.nextInt(RESOURCES) + "/" + random.nextInt(IDS_PER_RESOURCE);
+                batch.add(new Object[] {endpoint, "GET", 200, 5L, MARKER_IP, Timestamp.valueOf(base.plusNanos(i * 1000L))});
+            }
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO api_logs (endpoint, http_method, status_code, duration_ms, ip, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                batch);
+        }
+    }
+
+    private static String pick(Random random, String... options) {
+        return options[random.nextInt(options.length)];
+    }
+}
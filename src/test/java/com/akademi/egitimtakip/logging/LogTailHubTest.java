@@ -0,0 +1,217 @@
+package com.akademi.egitimtakip.logging;
+
+import com.akademi.egitimtakip.dto.LogTailEventDTO;
+import com.akademi.egitimtakip.entity.ApiLog;
+import com.akademi.egitimtakip.entity.ErrorLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LogTailHub Unit Test / Benchmark
+ *
+ * Filtrelerin sunucuda uygulandığını, takılan bir abonenin yayın thread'ini ve diğer aboneleri
+ * bekletmediğini, kuyruğun sınırlı kaldığını ve DISCONNECT politikasının bağlantıyı kapattığını doğrular.
+ * Takılı bir abone varken kayıt başına yayın maliyeti konsola yazdırılır.
+ */
+class LogTailHubTest {
+
+    private static final int BUFFER_SIZE = 100;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void releaseStalledSinks() {
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Filtreler sunucuda uygulanmalı: tür, endpoint ve kullanıcı")
+    void testServerSideFilters() {
+        LogTailHub hub = hub(LogTailHub.SlowConsumerPolicy.DROP_OLDEST);
+        RecordingSink errorsOnEgitim = new RecordingSink();
+        RecordingSink userSeven = new RecordingSink();
+        hub.subscribe(Set.of("error"), "/egitim", null, errorsOnEgitim);
+        hub.subscribe(Set.of("api", "error"), null, 7L, userSeven);
+
+        hub.publish(apiLog("/egitim/1", 1L));
+        hub.publish(apiLog("/kategori", 7L));
+        hub.publish(errorLog("/egitim/2", 7L));
+        hub.publish(errorLog("/proje/3", 1L));
+
+        awaitTrue(() -> errorsOnEgitim.events().size() == 1 && userSeven.events().size() == 2);
+        assertThat(errorsOnEgitim.events()).extracting(LogTailEventDTO::getEndpoint).containsExactly("/egitim/2");
+        assertThat(errorsOnEgitim.events().get(0).getSummary()).isEqualTo("java.lang.IllegalStateException: boom");
+        assertThat(userSeven.events()).extracting(LogTailEventDTO::getType).containsExactly("api", "error");
+        assertThat(hub.getStats().get("published")).isEqualTo(4L);
+
+        assertThatThrownBy(() -> hub.subscribe("api,trace", null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Takılan abone yayını ve diğer aboneleri bekletmemeli; kuyruğu sınırlı kalmalı")
+    void testStalledSubscriberDoesNotBackUpLogging() {
+        LogTailHub hub = hub(LogTailHub.SlowConsumerPolicy.DROP_OLDEST);
+        RecordingSink stalled = new RecordingSink(release);
+        RecordingSink rare = new RecordingSink();
+        LogTailHub.Subscriber stalledSubscriber = hub.subscribe(Set.of("api"), null, null, stalled);
+        hub.subscribe(Set.of("api"), "/rare", null, rare);
+
+        int events = 200_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            hub.publish(apiLog(i % 1000 == 0 ? "/rare/" + i : "/egitim/" + i, 1L));
+        }
+        long elapsedNs = System.nanoTime() - start;
+
+        awaitTrue(() -> rare.events().size() == events / 1000);
+        assertThat(stalledSubscriber.queued()).isLessThanOrEqualTo(BUFFER_SIZE);
+        long dropped = hub.getStats().get("dropped");
+        assertThat(dropped).isGreaterThanOrEqualTo(events - BUFFER_SIZE - 1L);
+
+        // Tarayıcı açıldığında kaçırdığı kayıt sayısı bildirilir, akış kaldığı yerden devam eder
+        release.countDown();
+        awaitTrue(() -> stalled.names().contains("dropped"));
+        awaitTrue(() -> stalledSubscriber.queued() == 0);
+        assertThat(stalledSubscriber.isClosed()).isFalse();
+
+        System.out.println(String.format(
+            "📊 Canlı log akışı: takılı abone varken %d kayıt yayınlandı, kayıt başına %.0f ns, " +
+                "%d kayıt atıldı, abone kuyruğu en fazla %d",
+            events, (double) elapsedNs / events, dropped, BUFFER_SIZE
+        ));
+    }
+
+    @Test
+    @DisplayName("DISCONNECT politikası dolan aboneyi kapatmalı; abone sınırı aşılmamalı")
+    void testDisconnectPolicyAndSubscriberLimit() {
+        LogTailHub hub = hub(LogTailHub.SlowConsumerPolicy.DISCONNECT);
+        RecordingSink stalled = new RecordingSink(release);
+        LogTailHub.Subscriber subscriber = hub.subscribe(Set.of("api"), null, null, stalled);
+
+        for (int i = 0; i <= BUFFER_SIZE + 1; i++) {
+            hub.publish(apiLog("/egitim/" + i, 1L));
+        }
+
+        assertThat(subscriber.isClosed()).isTrue();
+        assertThat(hub.getStats()).containsEntry("subscribers", 0L).containsEntry("disconnected", 1L);
+        release.countDown();
+        awaitTrue(() -> stalled.closed);
+
+        ReflectionTestUtils.setField(hub, "maxSubscribers", 1);
+        assertThat(hub.subscribe(Set.of("api"), null, null, new RecordingSink())).isNotNull();
+        assertThat(hub.subscribe(Set.of("api"), null, null, new RecordingSink())).isNull();
+        hub.closeAll();
+    }
+
+    // Helpers
+
+    private static LogTailHub hub(LogTailHub.SlowConsumerPolicy policy) {
+        LogTailHub hub = new LogTailHub();
+        ReflectionTestUtils.setField(hub, "bufferSize", BUFFER_SIZE);
+        ReflectionTestUtils.setField(hub, "maxSubscribers", 20);
+        ReflectionTestUtils.setField(hub, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(hub, "heartbeatMs", 50L);
+        ReflectionTestUtils.setField(hub, "slowConsumerPolicy", policy);
+        return hub;
+    }
+
+    private static ApiLog apiLog(String endpoint, Long userId) {
+        ApiLog log = new ApiLog();
+        log.setUserId(userId);
+        log.setEndpoint(endpoint);
+        log.setHttpMethod("GET");
+        log.setStatusCode(200);
+        log.setDurationMs(3L);
+        log.setCreatedAt(LocalDateTime.now());
+        return log;
+    }
+
+    private static ErrorLog errorLog(String endpoint, Long userId) {
+        ErrorLog log = new ErrorLog();
+        log.setUserId(userId);
+        log.setEndpoint(endpoint);
+        log.setExceptionType("java.lang.IllegalStateException");
+        log.setMessage("boom");
+        log.setCreatedAt(LocalDateTime.now());
+        return log;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Koşul 5 saniye içinde sağlanmadı");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gönderilen olayları biriktirir; latch verilirse açılana kadar ilk gönderimde bekler (takılan tarayıcı)
+     */
+    private static final class RecordingSink implements LogTailHub.EventSink {
+
+        private final CountDownLatch gate;
+        private final ConcurrentLinkedQueue<Map.Entry<String, Object>> sent = new ConcurrentLinkedQueue<>();
+        private volatile boolean closed;
+
+        private RecordingSink() {
+            this(new CountDownLatch(0));
+        }
+
+        private RecordingSink(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(String name, Object data) {
+            while (gate.getCount() > 0) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    // Kapatma isteği yazma bitene kadar beklemez (engelleyen soket yazması gibi)
+                }
+            }
+            sent.add(Map.entry(name, data));
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private List<String> names() {
+            return sent.stream().map(Map.Entry::getKey).toList();
+        }
+
+        private List<LogTailEventDTO> events() {
+            return sent.stream()
+                .filter(entry -> entry.getValue() instanceof LogTailEventDTO)
+                .map(entry -> (LogTailEventDTO) entry.getValue())
+                .toList();
+        }
+    }
+}
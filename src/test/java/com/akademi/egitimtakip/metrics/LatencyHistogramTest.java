@@ -0,0 +1,118 @@
+package com.akademi.egitimtakip.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * LatencyHistogram Unit Test / Benchmark
+ *
+ * Yüzdelik doğruluğu, kayan pencerenin süresi dolan örnekleri düşürmesini
+ * ve kayıt yolunun nesne oluşturmadığını doğrular.
+ */
+class LatencyHistogramTest {
+
+    private static final long SLOT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int SLOTS = 6;
+
+    @Test
+    @DisplayName("Yüzdelikler bilinen dağılımda %7 hata içinde olmalı")
+    void testPercentileAccuracy() {
+        LatencyHistogram histogram = new LatencyHistogram("Test.uniform", SLOT_NANOS, SLOTS);
+        long now = SLOT_NANOS * 100;
+
+        // 1µs .. 10000µs arası eşit dağılım
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros), now);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot(now);
+        assertThat(snapshot.getCount()).isEqualTo(10_000);
+        assertThat(snapshot.getWindowSeconds()).isEqualTo(60);
+        assertThat(snapshot.getMeanMicros()).isCloseTo(5_000L, within(50L));
+        assertThat(snapshot.getP50Micros()).isCloseTo(5_000L, within(350L));
+        assertThat(snapshot.getP90Micros()).isCloseTo(9_000L, within(630L));
+        assertThat(snapshot.getP99Micros()).isCloseTo(9_900L, within(100L));
+        assertThat(snapshot.getP999Micros()).isCloseTo(9_990L, within(10L));
+        assertThat(snapshot.getMaxMicros()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("Pencere dışına çıkan slotlar özete katılmamalı")
+    void testRollingWindowExpiry() {
+        LatencyHistogram histogram = new LatencyHistogram("Test.window", SLOT_NANOS, SLOTS);
+        long start = SLOT_NANOS * 100;
+
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(500), start);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(2), start + SLOT_NANOS * 3);
+
+        // İki kayıt da pencerede
+        LatencySnapshot both = histogram.snapshot(start + SLOT_NANOS * 3);
+        assertThat(both.getCount()).isEqualTo(2);
+        assertThat(both.getMaxMicros()).isEqualTo(500_000);
+
+        // İlk slot pencereden çıktı, yavaş çağrı artık görünmemeli
+        LatencySnapshot later = histogram.snapshot(start + SLOT_NANOS * SLOTS);
+        assertThat(later.getCount()).isEqualTo(1);
+        assertThat(later.getMaxMicros()).isEqualTo(2_000);
+        assertThat(later.getTotalCount()).isEqualTo(2);
+
+        // Aynı slot yeni dönemde yeniden kullanıldığında eski sayaçlar sıfırlanmalı
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1), start + SLOT_NANOS * SLOTS);
+        LatencySnapshot reused = histogram.snapshot(start + SLOT_NANOS * SLOTS);
+        assertThat(reused.getCount()).isEqualTo(2);
+        assertThat(reused.getMaxMicros()).isEqualTo(2_000);
+
+        // Tüm pencere boşaldı
+        assertThat(histogram.snapshot(start + SLOT_NANOS * 20).getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Kova sınırları değeri kapsamalı ve göreli hata 1/16'yı aşmamalı")
+    void testBucketBounds() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1_000, 123_456, 987_654_321L}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertThat(upper).isGreaterThanOrEqualTo(value);
+            assertThat(upper - value).isLessThanOrEqualTo(Math.max(value / 16, 0));
+        }
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    @DisplayName("record() nesne oluşturmamalı")
+    void testRecordIsAllocationFree() {
+        LatencyHistogram histogram = new LatencyHistogram("Test.alloc", SLOT_NANOS, SLOTS);
+        int iterations = 100_000;
+
+        // JIT ısınması
+        for (int i = 0; i < iterations; i++) {
+            histogram.record(i * 37L);
+        }
+
+        com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            histogram.record(i * 37L);
+        }
+        long elapsed = System.nanoTime() - startTime;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        System.out.println(String.format(
+            "📊 LatencyHistogram.record: %d kayıt, %.1f ns/kayıt, %d byte ayrıldı",
+            iterations, (double) elapsed / iterations, allocated
+        ));
+
+        // Ölçüm çağrılarının kendi küçük ayırımlarına pay bırak (kayıt başına 1 byte'ın çok altında)
+        assertThat(allocated).isLessThan(iterations / 10);
+    }
+}
@@ -0,0 +1,170 @@
+package com.akademi.egitimtakip.metrics;
+
+import com.akademi.egitimtakip.controller.MetricsController;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import com.akademi.egitimtakip.security.JwtAuthenticationFilter;
+import com.akademi.egitimtakip.tracing.TraceFilter;
+import com.akademi.egitimtakip.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PrometheusExporter Integration Test
+ *
+ * Histogram kovalarının kümülatif yazıldığını, route sayısının sınırlandığını ve /metrics
+ * çıktısının HTTP, havuz, Hibernate, log tamponu ve JVM ailelerini içerdiğini doğrular.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PrometheusExporterTest {
+
+    private static final String TRACE_ID = "prometheus-test-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MetricsController metricsController;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean requestSent;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ReflectionTestUtils.setField(metricsController, "token", "");
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "metricsToken", "");
+        if (requestSent) {
+            // İsteğin log satırları yazıldıktan sonra silinir; diğer testler boş log tablolarıyla çalışır
+            long deadline = System.currentTimeMillis() + 5000;
+            while (countApiLogs() == 0 && System.currentTimeMillis() < deadline) {
+                logIngestionPipeline.flushAll();
+                Thread.sleep(20);
+            }
+            for (String table : List.of("api_logs", "activity_logs", "error_logs", "request_traces", "trace_spans")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE trace_id = ?", TRACE_ID);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Histogram kümülatif yazılmalı, max-routes aşılınca OTHER kullanılmalı")
+    void testHistogramAndRouteLimit() {
+        HttpServerMetrics metrics = new HttpServerMetrics();
+        ReflectionTestUtils.setField(metrics, "maxRoutes", 1);
+        metrics.record("GET", "/egitim", 200, 3);
+        metrics.record("GET", "/egitim", 200, 40);
+        metrics.record("GET", "/egitim", 404, 20000);
+        metrics.record("GET", "/proje", 200, 1);
+        metrics.record("GET", null, 404, 1);
+
+        PrometheusWriter writer = new PrometheusWriter();
+        metrics.write(writer);
+        String text = writer.toString();
+
+        assertThat(text).contains("http_server_requests_total{method=\"GET\",route=\"/egitim\",status=\"200\"} 2\n");
+        assertThat(text).contains("http_server_requests_total{method=\"GET\",route=\"/egitim\",status=\"404\"} 1\n");
+        assertThat(text).contains("http_server_request_duration_seconds_bucket{method=\"GET\",route=\"/egitim\",le=\"0.005\"} 1\n");
+        assertThat(text).contains("http_server_request_duration_seconds_bucket{method=\"GET\",route=\"/egitim\",le=\"0.05\"} 2\n");
+        assertThat(text).contains("http_server_request_duration_seconds_bucket{method=\"GET\",route=\"/egitim\",le=\"10\"} 2\n");
+        assertThat(text).contains("http_server_request_duration_seconds_bucket{method=\"GET\",route=\"/egitim\",le=\"+Inf\"} 3\n");
+        assertThat(text).contains("http_server_request_duration_seconds_sum{method=\"GET\",route=\"/egitim\"} 20.043\n");
+        assertThat(text).contains("http_server_request_duration_seconds_count{method=\"GET\",route=\"/egitim\"} 3\n");
+        // Sınır dolduktan sonra yeni route'lar (eşleşmeyenler dahil) OTHER'da toplanır
+        assertThat(text).contains("route=\"" + HttpServerMetrics.OTHER + "\",status=\"200\"} 1\n");
+        assertThat(text).contains("route=\"" + HttpServerMetrics.OTHER + "\",status=\"404\"} 1\n");
+        assertThat(text).doesNotContain("/proje");
+    }
+
+    @Test
+    @DisplayName("Etiket değerleri kaçışlanmalı")
+    void testLabelEscaping() {
+        PrometheusWriter writer = new PrometheusWriter();
+        writer.sample("m", new String[]{"l", "a\"b\\c\nd"}, 1);
+
+        assertThat(writer.toString()).isEqualTo("m{l=\"a\\\"b\\\\c\\nd\"} 1\n");
+    }
+
+    @Test
+    @DisplayName("/metrics HTTP, havuz, Hibernate, log tamponu ve JVM metriklerini döndürmeli")
+    void testScrape() throws Exception {
+        String token = jwtUtil.generateToken("admin@akademi.com", "ADMIN");
+        mockMvc.perform(get("/egitim")
+                .header("Authorization", "Bearer " + token)
+                .header(TraceFilter.HEADER, TRACE_ID))
+            .andExpect(status().isOk());
+        requestSent = true;
+
+        String text = mockMvc.perform(get("/metrics").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", PrometheusWriter.CONTENT_TYPE))
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(text).contains("# TYPE http_server_request_duration_seconds histogram");
+        assertThat(text).contains("http_server_requests_total{method=\"GET\",route=\"/egitim\",status=\"200\"}");
+        assertThat(text).containsPattern("hikaricp_connections_acquire_seconds_count\\{pool=\"[^\"]+\"} [1-9]");
+        assertThat(text).contains("hibernate_statistics_enabled 1");
+        assertThat(text).containsPattern("hibernate_statements_prepared_total [1-9]");
+        assertThat(text).contains("egitim_log_buffer_queued{buffer=\"api\"}");
+        assertThat(text).contains("egitim_async_executor_queue_capacity");
+        assertThat(text).containsPattern("jvm_threads_current [1-9]");
+        assertThat(text).contains("jvm_memory_used_bytes{area=\"heap\"}");
+    }
+
+    @Test
+    @DisplayName("Token ayarlıysa scrape Bearer token istemeli")
+    void testScrapeToken() throws Exception {
+        ReflectionTestUtils.setField(metricsController, "token", "scrape-secret");
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "metricsToken", "scrape-secret");
+
+        mockMvc.perform(get("/metrics"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/metrics").header("Authorization", "Bearer wrong"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/metrics").header("Authorization", "Bearer scrape-secret"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Token ayarlı değilse scrape JWT olmadan reddedilmeli")
+    void testScrapeWithoutTokenRequiresUser() throws Exception {
+        mockMvc.perform(get("/metrics"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/metrics").header("Authorization", "Bearer not-a-jwt"))
+            .andExpect(status().isUnauthorized());
+
+        String token = jwtUtil.generateToken("admin@akademi.com", "ADMIN");
+        mockMvc.perform(get("/metrics").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+    }
+
+    private long countApiLogs() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_logs WHERE trace_id = ?", Long.class, TRACE_ID);
+    }
+}
@@ -0,0 +1,167 @@
+package com.akademi.egitimtakip.metrics;
+
+import com.akademi.egitimtakip.dto.TrafficPointDTO;
+import com.akademi.egitimtakip.dto.TrafficStatsDTO;
+import com.akademi.egitimtakip.service.TrafficStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Traffic Rollup Integration Test / Benchmark
+ *
+ * Dakikalık kovaların bellekte toplanıp yazıldığını, saatlik/günlük katmanlara indirildiğini ve
+ * herhangi bir zaman aralığı sorgusunun yalnızca rollup satırlarından ham veriyle aynı toplamları
+ * verdiğini doğrular. Üç günlük trafik için okunan satır sayısı ve sorgu süresi konsola yazdırılır.
+ * Veriler geçmiş bir tarihe yazılır ve her testten sonra silinir.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TrafficRollupTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2001, 3, 5, 0, 0);
+    private static final String ENDPOINT = "/rollup-test/egitim/{id}";
+
+    @Autowired
+    private TrafficRollupRegistry trafficRollupRegistry;
+
+    @Autowired
+    private TrafficRollupStore trafficRollupStore;
+
+    @Autowired
+    private TrafficStatsService trafficStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM traffic_rollups WHERE bucket_start < ?",
+            Timestamp.valueOf(LocalDateTime.of(2002, 1, 1, 0, 0)));
+        trafficRollupStore.resetProgress();
+    }
+
+    @Test
+    @DisplayName("Üç günlük trafik: aralık sorgusu rollup katmanlarından ham veriyle aynı toplamları vermeli")
+    void testRangeQueryMatchesRawTraffic() {
+        int minutes = 3 * 24 * 60;
+        int perMinute = 25;
+        LocalDateTime from = BASE.plusMinutes(30);
+        LocalDateTime to = BASE.plusDays(3);
+
+        List<Long> durationsInRange = new ArrayList<>();
+        long errorsInRange = 0;
+        for (int minute = 0; minute < minutes; minute++) {
+            LocalDateTime time = BASE.plusMinutes(minute).plusSeconds(17);
+            for (int i = 0; i < perMinute; i++) {
+                int n = minute * perMinute + i;
+                long duration = n % 100 == 0 ? 1500 : 5 + n % 40;
+                int status = n % 20 == 0 ? 500 : 200;
+                trafficRollupRegistry.record("GET", ENDPOINT, status, duration, time);
+                if (!time.isBefore(from)) {
+                    durationsInRange.add(duration);
+                    errorsInRange += status >= 400 ? 1 : 0;
+                }
+            }
+            if (minute % 60 == 59) {
+                trafficRollupRegistry.flushAll();
+            }
+        }
+        trafficRollupStore.downsample(BASE.plusDays(3).plusHours(1));
+
+        long rowsBefore = trafficRollupStore.getStats().get("rowsRead");
+        long start = System.nanoTime();
+        List<TrafficStatsDTO> summary = trafficStatsService.getSummary(from, to, "GET", ENDPOINT);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long rowsRead = trafficRollupStore.getStats().get("rowsRead") - rowsBefore;
+
+        assertThat(summary).hasSize(1);
+        TrafficStatsDTO stats = summary.get(0);
+        assertThat(stats.getRequestCount()).isEqualTo(durationsInRange.size());
+        assertThat(stats.getErrorCount()).isEqualTo(errorsInRange);
+        assertThat(stats.getStatusCounts()).containsEntry("5xx", errorsInRange);
+        assertThat(stats.getMaxMs()).isEqualTo(1500L);
+        assertThat(stats.getMinMs()).isEqualTo(5L);
+        assertThat(stats.getMeanMs()).isEqualTo(
+            durationsInRange.stream().mapToLong(Long::longValue).sum() / durationsInRange.size());
+        Collections.sort(durationsInRange);
+        long exactP90 = durationsInRange.get((int) Math.ceil(0.90 * durationsInRange.size()) - 1);
+        assertThat((double) stats.getP90Ms()).isBetween(exactP90 * 0.94, exactP90 * 1.07);
+
+        // Günler DAY, kenardaki saatler HOUR, ilk yarım saat MINUTE katmanından okunur
+        assertThat(rowsRead).isLessThan(200);
+
+        System.out.println(String.format(
+            "📊 Trafik rollup: %d istek (3 gün) → %d rollup satırı okundu, özet sorgusu %d ms",
+            durationsInRange.size(), rowsRead, elapsedMs
+        ));
+    }
+
+    @Test
+    @DisplayName("Zaman serisi adım başına toplamları vermeli; aynı dakika iki kez yazılırsa toplanmalı")
+    void testSeriesAndRepeatedMinuteMerge() {
+        for (int hour = 0; hour < 3; hour++) {
+            LocalDateTime time = BASE.plusHours(hour).plusMinutes(10);
+            for (int i = 0; i < 10; i++) {
+                trafficRollupRegistry.record("POST", ENDPOINT, 201, 20, time);
+            }
+            trafficRollupRegistry.flushAll();
+            // Aynı dakikaya geç gelen kayıtlar mevcut satıra eklenir
+            trafficRollupRegistry.record("POST", ENDPOINT, 404, 40, time);
+            trafficRollupRegistry.flushAll();
+        }
+
+        List<TrafficPointDTO> minutes = trafficStatsService.getSeries(
+            BASE, BASE.plusHours(3), "MINUTE", "POST", ENDPOINT);
+        assertThat(minutes).hasSize(3);
+        assertThat(minutes).allSatisfy(point -> {
+            assertThat(point.getRequestCount()).isEqualTo(11);
+            assertThat(point.getErrorCount()).isEqualTo(1);
+            assertThat(point.getMaxMs()).isEqualTo(40);
+        });
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM traffic_rollups WHERE tier = 'MINUTE' AND endpoint = ? AND bucket_start < ?",
+            Long.class, ENDPOINT, Timestamp.valueOf(BASE.plusDays(1)))).isEqualTo(6L);
+
+        trafficRollupStore.downsample(BASE.plusHours(4));
+        List<TrafficPointDTO> hours = trafficStatsService.getSeries(
+            BASE, BASE.plusHours(3), "HOUR", "post", ENDPOINT);
+        assertThat(hours).extracting(TrafficPointDTO::getBucketStart)
+            .containsExactly(BASE, BASE.plusHours(1), BASE.plusHours(2));
+        assertThat(hours).extracting(TrafficPointDTO::getRequestCount).containsOnly(11L);
+
+        assertThatThrownBy(() -> trafficStatsService.getSeries(BASE, BASE.plusDays(30), "MINUTE", null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> trafficStatsService.getSeries(BASE, BASE.plusDays(1), "WEEK", null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Latency sketch birleştirilebilir ve saklama biçiminden geri okunabilir olmalı")
+    void testSketchMergeAndEncoding() {
+        LatencySketch first = new LatencySketch();
+        LatencySketch second = new LatencySketch();
+        for (int i = 1; i <= 1000; i++) {
+            (i % 2 == 0 ? first : second).record(i);
+        }
+        LatencySketch merged = LatencySketch.decode(first.encode()).merge(LatencySketch.decode(second.encode()));
+
+        assertThat(merged.getCount()).isEqualTo(1000);
+        assertThat((double) merged.valueAtPercentile(50.0, 1000)).isBetween(500.0, 500 * 1.07);
+        assertThat((double) merged.valueAtPercentile(99.0, 1000)).isBetween(990.0, 1000.0);
+        assertThatThrownBy(() -> LatencySketch.decode("12")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
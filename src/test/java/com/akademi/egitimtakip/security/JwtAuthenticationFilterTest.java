@@ -0,0 +1,191 @@
+package com.akademi.egitimtakip.security;
+
+import com.akademi.egitimtakip.entity.Egitim;
+import com.akademi.egitimtakip.entity.Kullanici;
+import com.akademi.egitimtakip.entity.Permission;
+import com.akademi.egitimtakip.entity.Rol;
+import com.akademi.egitimtakip.entity.Role;
+import com.akademi.egitimtakip.entity.Sorumlu;
+import com.akademi.egitimtakip.repository.EgitimRepository;
+import com.akademi.egitimtakip.repository.KullaniciRepository;
+import com.akademi.egitimtakip.repository.PermissionRepository;
+import com.akademi.egitimtakip.repository.RoleRepository;
+import com.akademi.egitimtakip.repository.SorumluRepository;
+import com.akademi.egitimtakip.util.JwtUtil;
+import com.akademi.egitimtakip.util.SecurityUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * JwtAuthenticationFilter Integration Test / Benchmark
+ *
+ * Korumalı bir PUT /egitim/{id} isteğinde kullanıcı bilgisinin filtrede bir kez
+ * çözümlendiğini ve SecurityUtils getter'larının veritabanına gitmediğini doğrular.
+ * Sorgu sayıları (Hibernate prepared statement) konsola yazdırılır.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "filtre-test@akademi.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private AuthenticatedPrincipalResolver principalResolver;
+
+    @Autowired
+    private RolePermissionMatrix rolePermissionMatrix;
+
+    @Autowired
+    private KullaniciRepository kullaniciRepository;
+
+    @Autowired
+    private SorumluRepository sorumluRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private EgitimRepository egitimRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long egitimId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        Permission update = new Permission();
+        update.setModule("education");
+        update.setAction("update");
+        update = permissionRepository.save(update);
+
+        Role role = new Role();
+        role.setName("FILTRE_TEST_EDITOR");
+        role.addPermission(update);
+        role = roleRepository.save(role);
+
+        Sorumlu sorumlu = new Sorumlu();
+        sorumlu.setAd("Filtre");
+        sorumlu.setSoyad("Test");
+        sorumlu.setRole(role);
+        sorumlu = sorumluRepository.save(sorumlu);
+
+        Kullanici kullanici = new Kullanici();
+        kullanici.setAdSoyad("Filtre Test");
+        kullanici.setEmail(EMAIL);
+        kullanici.setSifreHash("x");
+        kullanici.setRol(Rol.EGITMEN); // legacy EGITMEN yalnızca view; update yetkisi rolden gelmeli
+        kullanici.setSorumluId(sorumlu.getId());
+        kullaniciRepository.save(kullanici);
+
+        Egitim egitim = new Egitim();
+        egitim.setAd("Filtre Test Eğitimi");
+        egitimId = egitimRepository.save(egitim).getId();
+
+        entityManager.flush();
+        rolePermissionMatrix.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Benchmark: PUT /egitim/{id} isteğinde kullanıcı bir kez çözümlenmeli")
+    void benchmarkQueriesPerGuardedPut() throws Exception {
+        String token = jwtUtil.generateToken(EMAIL, "EGITMEN");
+
+        // Eski yol: her SecurityUtils çağrısı findByEmail + Sorumlu(EAGER Role -> permissions) yüklüyordu
+        long legacyLookup = countStatements(() -> {
+            Kullanici kullanici = kullaniciRepository.findByEmail(EMAIL).orElseThrow();
+            sorumluRepository.findById(kullanici.getSorumluId()).map(Sorumlu::getRole);
+        });
+
+        // Yeni yol: filtre principal'ı bir kez oluşturur
+        long principalResolution = countStatements(() -> principalResolver.resolve(EMAIL));
+
+        long request = countStatements(() -> {
+            try {
+                mockMvc.perform(put("/egitim/{id}", egitimId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ad\":\"Güncellenmiş Eğitim\"}"))
+                    .andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Principal hazırken getter'lar sorgu üretmemeli
+        AuthenticatedPrincipal principal = principalResolver.resolve(EMAIL);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        long getters = countStatements(() -> {
+            for (int i = 0; i < 100; i++) {
+                SecurityUtils.getCurrentUserId();
+                SecurityUtils.getCurrentSorumluId();
+                SecurityUtils.getCurrentUserRoleName();
+                SecurityUtils.isAdmin();
+                SecurityUtils.hasRole("ADMIN");
+            }
+        });
+
+        System.out.println(String.format(
+            "📊 Eski kullanıcı çözümleme (çağrı başına)=%d sorgu, principal (istek başına)=%d sorgu, " +
+            "PUT /egitim/{id} toplam=%d sorgu, 500 SecurityUtils çağrısı=%d sorgu",
+            legacyLookup, principalResolution, request, getters
+        ));
+
+        assertThat(principal.getUserId()).isNotNull();
+        assertThat(principal.getRoleName()).isEqualTo("FILTRE_TEST_EDITOR");
+        assertThat(principalResolution).isLessThanOrEqualTo(2);
+        assertThat(getters).isZero();
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,203 @@
+package com.akademi.egitimtakip.service;
+
+import com.akademi.egitimtakip.dto.CursorPageResponse;
+import com.akademi.egitimtakip.entity.ApiLog;
+import com.akademi.egitimtakip.logging.LogSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ApiLogService Integration Test / Benchmark
+ *
+ * getLogsByFilters'ın tablo büyüklüğünden bağımsız çalıştığını doğrular:
+ * tablo büyüse de yüklenen entity sayısı sayfa boyutunu geçmemeli.
+ * Gecikme (ms) ve heap kullanımı konsola yazdırılır.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ApiLogServiceTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ApiLogService apiLogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LogSearchIndex logSearchIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Filtreler veritabanında uygulanmalı, doğru sayfa dönmeli")
+    void testFiltersAreAppliedInDatabase() {
+        seed(500);
+
+        Page<ApiLog> page = apiLogService.getLogsByFilters(
+            0L, null, null, 500, "/egitim", 100L,
+            PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"))
+        );
+
+        assertThat(page.getContent()).isNotEmpty();
+        assertThat(page.getContent()).allSatisfy(log -> {
+            assertThat(log.getUserId()).isEqualTo(0L);
+            assertThat(log.getStatusCode()).isEqualTo(500);
+            assertThat(log.getEndpoint()).contains("/egitim");
+            assertThat(log.getDurationMs()).isGreaterThanOrEqualTo(100L);
+        });
+
+        // En yeni kayıt en üstte olmalı
+        List<ApiLog> content = page.getContent();
+        for (int i = 1; i < content.size(); i++) {
+            assertThat(content.get(i - 1).getCreatedAt()).isAfterOrEqualTo(content.get(i).getCreatedAt());
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark: Tablo büyüdükçe yüklenen satır sayısı sabit kalmalı")
+    void benchmarkMemoryAndLatencyStayFlat() {
+        long smallLoads = measure(2_000);
+        long largeLoads = measure(20_000);
+
+        assertThat(smallLoads).isLessThanOrEqualTo(PAGE_SIZE);
+        assertThat(largeLoads).isLessThanOrEqualTo(PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Cursor: Tüm dilimler gezildiğinde her kayıt tam bir kez gelmeli")
+    void testCursorPaginationVisitsEveryRowOnce() {
+        // Aynı created_at değerine sahip satırlar id ile ayrışmalı
+        Timestamp sameTime = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1));
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 105; i++) {
+            rows.add(new Object[] { "/egitim/" + i, 200, sameTime });
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO api_logs (endpoint, status_code, created_at) VALUES (?, ?, ?)", rows);
+
+        Set<Long> seen = new HashSet<>();
+        Long previousId = Long.MAX_VALUE;
+        String cursor = null;
+        int slices = 0;
+        do {
+            CursorPageResponse<ApiLog> slice = apiLogService.getLogsByFiltersAfter(
+                null, null, null, null, null, null, cursor, PAGE_SIZE);
+            for (ApiLog log : slice.getContent()) {
+                assertThat(seen.add(log.getId())).isTrue();
+                assertThat(log.getId()).isLessThan(previousId);
+                previousId = log.getId();
+            }
+            cursor = slice.getNextCursor();
+            slices++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(105);
+        assertThat(slices).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Cursor: Aralık dışı size IllegalArgumentException (400) vermeli")
+    void testCursorSizeOutOfRangeRejected() {
+        for (int size : new int[] { 0, -1, CursorPageResponse.MAX_SIZE + 1 }) {
+            assertThatThrownBy(() -> apiLogService.getLogsByFiltersAfter(
+                null, null, null, null, null, null, null, size))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(apiLogService.getLogsByFiltersAfter(
+            null, null, null, null, null, null, null, 1).getSize()).isEqualTo(1);
+    }
+
+    /**
+     * Tabloyu verilen satır sayısına tamamlar, bir sayfa sorgular ve
+     * yüklenen entity sayısını döndürür.
+     */
+    private long measure(int rows) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_logs", Integer.class);
+        seed(rows - (existing != null ? existing : 0));
+
+        statistics.clear();
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+
+        Page<ApiLog> page = apiLogService.getLogsByFilters(
+            null, LocalDateTime.now().minusDays(30), null, null, null, null,
+            PageRequest.of(5, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"))
+        );
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long heapDeltaKb = Math.max(0, (runtime.totalMemory() - runtime.freeMemory()) - heapBefore) / 1024;
+        long loads = statistics.getEntityLoadCount();
+
+        System.out.println(String.format(
+            "📊 api_logs=%d satır → %dms, yüklenen entity=%d, heap farkı≈%dKB, toplam=%d",
+            rows, elapsedMs, loads, heapDeltaKb, page.getTotalElements()
+        ));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        return loads;
+    }
+
+    /**
+     * JDBC batch insert ile test verisi oluşturur; satırlar pipeline dışından yazıldığı için
+     * arama indeksi (test transaction'ında) catch-up ile güncellenir
+     */
+    private void seed(int count) {
+        if (count <= 0) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {
+                (long) (i % 10),
+                i % 2 == 0 ? "/egitim/" + i : "/odeme/" + i,
+                "GET",
+                i % 5 == 0 ? 500 : 200,
+                "{\"payload\":\"" + "x".repeat(200) + "\"}",
+                (long) (i % 300),
+                "127.0.0.1",
+                Timestamp.valueOf(now.minusSeconds(i))
+            });
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO api_logs (user_id, endpoint, http_method, status_code, response_body, duration_ms, ip, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            rows
+        );
+        logSearchIndex.catchUp();
+    }
+}
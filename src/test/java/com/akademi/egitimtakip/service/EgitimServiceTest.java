@@ -0,0 +1,212 @@
+package com.akademi.egitimtakip.service;
+
+import com.akademi.egitimtakip.dto.EgitimListDTO;
+import com.akademi.egitimtakip.dto.EgitimResponseDTO;
+import com.akademi.egitimtakip.entity.Egitim;
+import com.akademi.egitimtakip.entity.Egitmen;
+import com.akademi.egitimtakip.entity.Kategori;
+import com.akademi.egitimtakip.entity.Paydas;
+import com.akademi.egitimtakip.entity.Permission;
+import com.akademi.egitimtakip.entity.Proje;
+import com.akademi.egitimtakip.entity.Role;
+import com.akademi.egitimtakip.entity.Sorumlu;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EgitimService Integration Test / Benchmark
+ *
+ * Eğitim listesinin sayfa başına sabit sayıda sorguyla yüklendiğini doğrular
+ * (N+1 regresyon testi). Sayfa boyutu büyüse de sorgu sayısı artmamalı.
+ * Sorgu sayıları konsola yazdırılır.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class EgitimServiceTest {
+
+    private static final int EGITIM_COUNT = 60;
+
+    /**
+     * Sayfa başına izin verilen en fazla sorgu sayısı:
+     * id sayfası + count + eğitim/proje + 4 ilişki seti + iç içe ilişkiler (ünvan, rol, yetki, paydaş listeleri)
+     */
+    private static final long MAX_STATEMENTS_PER_PAGE = 12;
+
+    @Autowired
+    private EgitimService egitimService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        seed();
+    }
+
+    @Test
+    @DisplayName("Sayfa sorgu sayısı sayfa boyutundan bağımsız olmalı")
+    void testPageQueryCountIsBounded() {
+        long small = measure(5);
+        long large = measure(50);
+
+        assertThat(small).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+        assertThat(large).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    @DisplayName("Sayfa sırası ve ilişkiler korunmalı")
+    void testPageKeepsOrderAndRelations() {
+        Page<EgitimResponseDTO> page = egitimService.getAllEgitimler(
+            PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "id")), null, 2024, null);
+
+        assertThat(page.getTotalElements()).isEqualTo(EGITIM_COUNT);
+        assertThat(page.getContent()).hasSize(10);
+        List<EgitimResponseDTO> content = page.getContent();
+        for (int i = 1; i < content.size(); i++) {
+            assertThat(content.get(i - 1).getId()).isGreaterThan(content.get(i).getId());
+        }
+
+        EgitimResponseDTO first = content.get(0);
+        assertThat(first.getKategoriler()).hasSize(2);
+        assertThat(first.getEgitmenler()).hasSize(2);
+        assertThat(first.getSorumlular()).hasSize(2);
+        assertThat(first.getPaydaslar()).hasSize(2);
+        assertThat(first.getProje()).isNotNull();
+        assertThat(first.getSorumlular()).allSatisfy(sorumlu -> assertThat(sorumlu.getUnvanlar()).isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("Liste görünümü projeksiyonu tek sayfa sorgusu + count ile gelmeli")
+    void testListProjectionUsesTwoStatements() {
+        statistics.clear();
+
+        Page<EgitimListDTO> page = egitimService.getEgitimListesi(
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "ad")), null, null, "Aktif");
+
+        assertThat(page.getTotalElements()).isEqualTo(EGITIM_COUNT / 2);
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getContent()).allSatisfy(egitim -> {
+            assertThat(egitim.getDurum()).isEqualTo("Aktif");
+            assertThat(egitim.getProjeIsim()).startsWith("Proje ");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * Persistence context temizlenmiş halde bir sayfa yükler ve sorgu sayısını döndürür
+     */
+    private long measure(int pageSize) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Page<EgitimResponseDTO> page = egitimService.getAllEgitimler(
+            PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "id")), null, null, null);
+
+        long statements = statistics.getPrepareStatementCount();
+        System.out.println(String.format(
+            "📊 GET /egitim sayfa boyutu=%d → %d sorgu, yüklenen entity=%d, koleksiyon=%d",
+            pageSize, statements, statistics.getEntityLoadCount(), statistics.getCollectionLoadCount()
+        ));
+
+        assertThat(page.getContent()).hasSize(pageSize);
+        return statements;
+    }
+
+    /**
+     * Her eğitime 2'şer kategori, eğitmen, sorumlu, paydaş ve bir proje bağlar.
+     * Sorumluların rolü (EAGER) ve ünvanları, paydaşların proje/eğitim listeleri de doludur.
+     */
+    private void seed() {
+        Permission view = new Permission();
+        view.setModule("education");
+        view.setAction("view");
+        entityManager.persist(view);
+
+        Role role = new Role();
+        role.setName("N1_TEST_ROLE");
+        role.addPermission(view);
+        entityManager.persist(role);
+
+        List<Kategori> kategoriler = new ArrayList<>();
+        List<Egitmen> egitmenler = new ArrayList<>();
+        List<Sorumlu> sorumlular = new ArrayList<>();
+        List<Paydas> paydaslar = new ArrayList<>();
+        List<Proje> projeler = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Kategori kategori = new Kategori();
+            kategori.setAd("Kategori " + i);
+            entityManager.persist(kategori);
+            kategoriler.add(kategori);
+
+            Egitmen egitmen = new Egitmen();
+            egitmen.setAd("Eğitmen");
+            egitmen.setSoyad(String.valueOf(i));
+            entityManager.persist(egitmen);
+            egitmenler.add(egitmen);
+
+            Sorumlu sorumlu = new Sorumlu();
+            sorumlu.setAd("Sorumlu");
+            sorumlu.setSoyad(String.valueOf(i));
+            sorumlu.setUnvanlar(new ArrayList<>(List.of("Proje Sorumlusu")));
+            sorumlu.setRole(role);
+            entityManager.persist(sorumlu);
+            sorumlular.add(sorumlu);
+
+            Paydas paydas = new Paydas();
+            paydas.setAd("Paydaş " + i);
+            entityManager.persist(paydas);
+            paydaslar.add(paydas);
+
+            Proje proje = new Proje();
+            proje.setIsim("Proje " + i);
+            proje.setPaydas(paydas);
+            entityManager.persist(proje);
+            projeler.add(proje);
+        }
+
+        for (int i = 0; i < EGITIM_COUNT; i++) {
+            Egitim egitim = new Egitim();
+            egitim.setAd("N+1 Eğitim " + i);
+            egitim.setDurum(i % 2 == 0 ? "Aktif" : "Planlandı");
+            egitim.setBaslangicTarihi(LocalDate.of(2024, 1 + i % 12, 1));
+            egitim.setKategoriler(Set.of(kategoriler.get(i % 6), kategoriler.get((i + 1) % 6)));
+            egitim.setEgitmenler(Set.of(egitmenler.get(i % 6), egitmenler.get((i + 1) % 6)));
+            egitim.setSorumlular(Set.of(sorumlular.get(i % 6), sorumlular.get((i + 1) % 6)));
+            egitim.setPaydaslar(Set.of(paydaslar.get(i % 6), paydaslar.get((i + 1) % 6)));
+            egitim.setProje(projeler.get(i % 6));
+            entityManager.persist(egitim);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,189 @@
+package com.akademi.egitimtakip.service;
+
+import com.akademi.egitimtakip.export.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ExportService Integration Test / Benchmark
+ *
+ * Export'un liste filtrelerini uyguladığını, ilişki setlerini satır başına değil
+ * chunk başına sorguladığını ve CSV / NDJSON çıktısının doğru olduğunu doğrular.
+ * Süre ve sorgu sayısı konsola yazdırılır.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExportServiceTest {
+
+    private static final int EGITIM_COUNT = 1200;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("CSV: Filtre uygulanmalı, ilişkiler chunk başına tek sorguyla gelmeli")
+    void testEgitimCsvExportBatchesRelations() {
+        seedEgitimler();
+
+        statistics.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+        long rows = exportService.exportEgitimler(out, ExportFormat.CSV, null, 2024, "Aktif");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(rows).isEqualTo(EGITIM_COUNT / 2);
+        assertThat(lines).hasSize(EGITIM_COUNT / 2 + 1);
+        assertThat(lines[0]).startsWith("id,ad,egitimKodu").endsWith("kategoriler,egitmenler,sorumlular,paydaslar");
+        assertThat(lines[1]).contains("\"Export, Eğitim 0\"").contains("Kategori A; Kategori B").contains("Ayşe Yılmaz");
+
+        // 1 stream sorgusu + her 500'lük chunk için 4 ilişki sorgusu (satır sayısından bağımsız)
+        int chunks = (EGITIM_COUNT / 2 + 499) / 500;
+        assertThat(statements).isLessThanOrEqualTo(1 + 4L * chunks);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        System.out.println(String.format(
+            "📊 Egitim CSV export: %d satır → %dms, %d sorgu, yüklenen entity=%d",
+            rows, elapsedMs, statements, statistics.getEntityLoadCount()
+        ));
+    }
+
+    @Test
+    @DisplayName("NDJSON: Her satır bir JSON nesnesi, ilişkiler dizi olmalı")
+    void testFaaliyetNdjsonExport() throws Exception {
+        Long projeId = insertProje("Export Projesi");
+        Long sorumluId = insertSorumlu("Mehmet", "Demir");
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO faaliyet (isim, turu, tarih, proje_id) VALUES (?, ?, ?, ?)",
+                "Faaliyet " + i, "Seminer", Date.valueOf(LocalDate.of(2024, 5, i + 1)), projeId);
+        }
+        jdbcTemplate.update("INSERT INTO faaliyet (isim, turu, tarih) VALUES (?, ?, ?)",
+            "Başka Faaliyet", "Toplantı", Date.valueOf(LocalDate.of(2024, 6, 1)));
+        Long firstId = jdbcTemplate.queryForObject(
+            "SELECT MIN(id) FROM faaliyet WHERE proje_id = ?", Long.class, projeId);
+        jdbcTemplate.update("INSERT INTO faaliyet_sorumlu (faaliyet_id, sorumlu_id) VALUES (?, ?)", firstId, sorumluId);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportFaaliyetler(out, ExportFormat.NDJSON, projeId, "Seminer");
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(firstId);
+        assertThat(first.get("tarih").asText()).isEqualTo("2024-05-01");
+        assertThat(first.get("projeIsim").asText()).isEqualTo("Export Projesi");
+        assertThat(first.get("sorumlular").isArray()).isTrue();
+        assertThat(first.get("sorumlular").get(0).asText()).isEqualTo("Mehmet Demir");
+        assertThat(objectMapper.readTree(lines[1]).get("sorumlular")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Ödeme export'u liste endpoint'iyle aynı filtreleri uygulamalı")
+    void testOdemeExportAppliesListFilters() {
+        Long sorumluId = insertSorumlu("Zeynep", "Kaya");
+        jdbcTemplate.update("INSERT INTO egitim (ad, durum) VALUES (?, ?)", "Ödeme Eğitimi", "Aktif");
+        Long egitimId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM egitim", Long.class);
+        for (int i = 0; i < 4; i++) {
+            jdbcTemplate.update(
+                "INSERT INTO odeme (birim_ucret, toplam_ucret, odeme_kaynagi, durum, is_deleted, egitim_id, sorumlu_id, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                100, 400, i % 2 == 0 ? "Proje Bütçesi" : "Sponsor", "Ödendi", false, egitimId, sorumluId);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportOdemeler(out, ExportFormat.CSV, egitimId, null, sorumluId, "bütçe");
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[1]).contains("Proje Bütçesi").contains("Ödeme Eğitimi").endsWith("Zeynep Kaya");
+    }
+
+    /**
+     * Yarısı "Aktif" ve 2024 başlangıçlı eğitimler + her birine 2 kategori ve 1 sorumlu bağlar
+     */
+    private void seedEgitimler() {
+        Long kategoriA = insertKategori("Kategori A");
+        Long kategoriB = insertKategori("Kategori B");
+        Long sorumluId = insertSorumlu("Ayşe", "Yılmaz");
+
+        List<Object[]> egitimler = new ArrayList<>(EGITIM_COUNT);
+        for (int i = 0; i < EGITIM_COUNT; i++) {
+            boolean match = i % 2 == 0;
+            egitimler.add(new Object[] {
+                "Export, Eğitim " + i,
+                match ? "Aktif" : "Tamamlandı",
+                Date.valueOf(LocalDate.of(2024, 1 + i % 12, 1))
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO egitim (ad, durum, baslangic_tarihi) VALUES (?, ?, ?)", egitimler);
+
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM egitim WHERE ad LIKE 'Export, Eğitim %' ORDER BY id", Long.class);
+        List<Object[]> kategoriLinks = new ArrayList<>();
+        List<Object[]> sorumluLinks = new ArrayList<>();
+        for (Long id : ids) {
+            kategoriLinks.add(new Object[] { id, kategoriA });
+            kategoriLinks.add(new Object[] { id, kategoriB });
+            sorumluLinks.add(new Object[] { id, sorumluId });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO egitim_kategori (egitim_id, kategori_id) VALUES (?, ?)", kategoriLinks);
+        jdbcTemplate.batchUpdate("INSERT INTO egitim_sorumlu (egitim_id, sorumlu_id) VALUES (?, ?)", sorumluLinks);
+    }
+
+    private Long insertKategori(String ad) {
+        jdbcTemplate.update("INSERT INTO kategori (ad) VALUES (?)", ad);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM kategori", Long.class);
+    }
+
+    private Long insertSorumlu(String ad, String soyad) {
+        jdbcTemplate.update("INSERT INTO sorumlu (ad, soyad) VALUES (?, ?)", ad, soyad);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM sorumlu", Long.class);
+    }
+
+    private Long insertProje(String isim) {
+        jdbcTemplate.update("INSERT INTO proje (isim) VALUES (?)", isim);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM proje", Long.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.akademi.egitimtakip.service;
+
+import com.akademi.egitimtakip.dto.FrontendEventDTO;
+import com.akademi.egitimtakip.logging.FrontendEventCoalescer;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * FrontendLogService Integration Test / Benchmark
+ *
+ * Toplu gönderilen frontend olaylarının birleştirilerek az sayıda satır
+ * olarak yazıldığını doğrular. Yazım write-behind olduğu için test
+ * @Transactional değildir; eklenen satırlar her testten sonra silinir.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FrontendLogServiceTest {
+
+    private static final String PAGE_PREFIX = "/frontend-batch-test/";
+
+    @Autowired
+    private FrontendLogService frontendLogService;
+
+    @Autowired
+    private FrontendEventCoalescer frontendEventCoalescer;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM frontend_logs WHERE page LIKE ?", PAGE_PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("Aynı olaylar birleştirilip toplu yazılmalı")
+    void testIdenticalEventsAreCoalesced() throws InterruptedException {
+        int requests = 50;
+        int eventsPerRequest = 20;
+        int distinctEvents = 10;
+
+        for (int r = 0; r < requests; r++) {
+            List<FrontendEventDTO> events = new ArrayList<>();
+            for (int i = 0; i < eventsPerRequest; i++) {
+                int n = (r * eventsPerRequest + i) % distinctEvents;
+                events.add(new FrontendEventDTO(7L, "BUTTON_CLICK", PAGE_PREFIX + n, "Kaydet"));
+            }
+            assertThat(frontendLogService.saveFrontendEvents(events)).isEqualTo(eventsPerRequest);
+        }
+
+        frontendEventCoalescer.flush();
+        logIngestionPipeline.flushAll();
+        int total = requests * eventsPerRequest;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sumEventCount() < total && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        long rows = countRows();
+        assertThat(sumEventCount()).isEqualTo(total);
+        // Zamanlanmış pencere kapanışı test ortasına denk gelirse her olay en fazla iki satıra bölünür
+        assertThat(rows).isBetween((long) distinctEvents, 2L * distinctEvents);
+
+        System.out.println(String.format(
+            "📊 Frontend olayları: %d olay, %d istek (önce %d), %d satır yazıldı",
+            total, requests, total, rows
+        ));
+    }
+
+    @Test
+    @DisplayName("Aksiyonu boş olaylar atlanmalı, büyük batch reddedilmeli")
+    void testInvalidEventsAndOversizedBatch() {
+        List<FrontendEventDTO> events = new ArrayList<>();
+        events.add(new FrontendEventDTO(1L, " ", PAGE_PREFIX + "x", null));
+        events.add(null);
+        events.add(new FrontendEventDTO(1L, "PAGE_VIEW", PAGE_PREFIX + "x", null));
+        assertThat(frontendLogService.saveFrontendEvents(events)).isEqualTo(1);
+
+        List<FrontendEventDTO> tooMany = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            tooMany.add(new FrontendEventDTO(1L, "PAGE_VIEW", PAGE_PREFIX + i, null));
+        }
+        assertThatThrownBy(() -> frontendLogService.saveFrontendEvents(tooMany))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        frontendEventCoalescer.flush();
+        logIngestionPipeline.flushAll();
+    }
+
+    private long countRows() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM frontend_logs WHERE page LIKE ? AND action = 'BUTTON_CLICK'",
+            Long.class, PAGE_PREFIX + "%");
+    }
+
+    private long sumEventCount() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(event_count), 0) FROM frontend_logs WHERE page LIKE ? AND action = 'BUTTON_CLICK'",
+            Long.class, PAGE_PREFIX + "%");
+    }
+}
@@ -0,0 +1,162 @@
+package com.akademi.egitimtakip.service;
+
+import com.akademi.egitimtakip.entity.Permission;
+import com.akademi.egitimtakip.entity.Rol;
+import com.akademi.egitimtakip.repository.PermissionRepository;
+import com.akademi.egitimtakip.repository.RoleRepository;
+import com.akademi.egitimtakip.security.AuthenticatedPrincipal;
+import com.akademi.egitimtakip.security.RolePermissionMatrix;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * PermissionCheckService Unit Tests
+ *
+ * Verifies that permission checks read the user from the AuthenticatedPrincipal
+ * and role permissions from the in-memory RolePermissionMatrix, without
+ * touching the database.
+ */
+@ExtendWith(MockitoExtension.class)
+class PermissionCheckServiceTest {
+
+    private static final String EMAIL = "egitmen@akademi.com";
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PermissionRepository permissionRepository;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    private RolePermissionMatrix rolePermissionMatrix;
+    private PermissionCheckService permissionCheckService;
+
+    @BeforeEach
+    void setUp() {
+        rolePermissionMatrix = new RolePermissionMatrix();
+        ReflectionTestUtils.setField(rolePermissionMatrix, "roleRepository", roleRepository);
+        ReflectionTestUtils.setField(rolePermissionMatrix, "permissionRepository", permissionRepository);
+
+        permissionCheckService = new PermissionCheckService();
+        ReflectionTestUtils.setField(permissionCheckService, "roleRepository", roleRepository);
+        ReflectionTestUtils.setField(permissionCheckService, "rolePermissionMatrix", rolePermissionMatrix);
+        ReflectionTestUtils.setField(permissionCheckService, "activityLogService", activityLogService);
+
+        when(permissionRepository.findAllByOrderByModuleAscActionAsc()).thenReturn(List.of(
+            permission("egitim", "create"), permission("egitim", "delete"), permission("egitim", "view")));
+        when(roleRepository.findAllIdAndName()).thenReturn(List.<Object[]>of(new Object[] { 3L, "EDITOR" }));
+        when(roleRepository.findAllRolePermissionPairs()).thenReturn(List.of(
+            new Object[] { 3L, "egitim", "create" }, new Object[] { 3L, "egitim", "view" }));
+        rolePermissionMatrix.reload();
+
+        authenticate(new AuthenticatedPrincipal(10L, EMAIL, 5L, 3L, "EDITOR", Rol.EGITMEN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testChecksUsePrincipalAndMatrixOnly() {
+        clearInvocations(roleRepository, permissionRepository);
+
+        assertTrue(permissionCheckService.hasPermission("egitim", "view"));   // legacy EGITMEN
+        assertTrue(permissionCheckService.hasPermission("egitim", "create")); // new role system
+        assertFalse(permissionCheckService.hasPermission("egitim", "delete"));
+        assertFalse(permissionCheckService.isAdmin());
+
+        verifyNoInteractions(roleRepository, permissionRepository);
+    }
+
+    @Test
+    void testAdminRoleBypassesChecks() {
+        authenticate(new AuthenticatedPrincipal(1L, "admin@akademi.com", 1L, 1L, "ADMIN", Rol.EGITMEN));
+
+        assertTrue(permissionCheckService.hasPermission("roles", "delete"));
+        assertTrue(permissionCheckService.isAdmin());
+    }
+
+    @Test
+    void testMatrixReloadSwapsInNewGrants() {
+        assertFalse(permissionCheckService.hasPermission("egitim", "delete"));
+
+        when(roleRepository.findAllRolePermissionPairs()).thenReturn(List.of(
+            new Object[] { 3L, "egitim", "create" }, new Object[] { 3L, "egitim", "delete" }));
+        rolePermissionMatrix.reload();
+
+        assertTrue(permissionCheckService.hasPermission("egitim", "delete"));
+        assertTrue(rolePermissionMatrix.hasPermission(3L, "EGITIM", "Delete"));
+        assertFalse(rolePermissionMatrix.hasPermission(3L, "egitim", "view"));
+        assertFalse(rolePermissionMatrix.hasPermission(99L, "egitim", "create"));
+    }
+
+    @Test
+    void testConcurrentReloadsPublishInReadOrder() throws Exception {
+        CountDownLatch firstReading = new CountDownLatch(1);
+        CountDownLatch secondReading = new CountDownLatch(1);
+        List<Object[]> stale = List.<Object[]>of(new Object[] { 3L, "egitim", "view" });
+        List<Object[]> fresh = List.<Object[]>of(new Object[] { 3L, "egitim", "delete" });
+
+        // İlk rebuild eski grant'ları okur ve bekler; ikinci rebuild araya girip yeni grant'ları okumaya çalışır
+        when(roleRepository.findAllRolePermissionPairs())
+            .thenAnswer(invocation -> {
+                firstReading.countDown();
+                secondReading.await(300, TimeUnit.MILLISECONDS);
+                return stale;
+            })
+            .thenAnswer(invocation -> {
+                secondReading.countDown();
+                return fresh;
+            });
+
+        Thread first = new Thread(rolePermissionMatrix::reload);
+        first.start();
+        assertTrue(firstReading.await(5, TimeUnit.SECONDS));
+        Thread second = new Thread(rolePermissionMatrix::reload);
+        second.start();
+        first.join(5_000);
+        second.join(5_000);
+
+        // Sonra okunan (yeni) snapshot kalmalı
+        assertTrue(rolePermissionMatrix.hasPermission(3L, "egitim", "delete"));
+        assertFalse(rolePermissionMatrix.hasPermission(3L, "egitim", "view"));
+    }
+
+    @Test
+    void testUnauthenticatedUserHasNoPermission() {
+        SecurityContextHolder.clearContext();
+
+        assertFalse(permissionCheckService.hasPermission("egitim", "view"));
+        assertFalse(permissionCheckService.isAdmin());
+    }
+
+    private void authenticate(AuthenticatedPrincipal principal) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + principal.getLegacyRol().name()))));
+    }
+
+    private Permission permission(String module, String action) {
+        Permission permission = new Permission();
+        permission.setModule(module);
+        permission.setAction(action);
+        return permission;
+    }
+}
@@ -0,0 +1,391 @@
+package com.akademi.egitimtakip.service;
+
+import com.akademi.egitimtakip.dto.CacheRegionStatsDTO;
+import com.akademi.egitimtakip.dto.EgitimRequestDTO;
+import com.akademi.egitimtakip.dto.EgitmenDTO;
+import com.akademi.egitimtakip.dto.KategoriDTO;
+import com.akademi.egitimtakip.dto.PaydasDTO;
+import com.akademi.egitimtakip.dto.PermissionDTO;
+import com.akademi.egitimtakip.dto.RoleDTO;
+import com.akademi.egitimtakip.dto.RoleRequestDTO;
+import com.akademi.egitimtakip.entity.Kategori;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import com.akademi.egitimtakip.metrics.SecondLevelCacheMetrics;
+import com.akademi.egitimtakip.repository.KategoriRepository;
+import com.akademi.egitimtakip.tracing.TraceFilter;
+import com.akademi.egitimtakip.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reference Data Cache Integration Test / Benchmark
+ *
+ * Kategori, Paydas, Egitmen, Permission ve Role için ikinci seviye önbelleğin ve sorgu önbelleğinin
+ * servislerden geçen her yazmada geçersiz kılındığını, ısınmış liste sorgularının veritabanına
+ * gitmediğini doğrular. GET /egitim ve POST /egitim önbellek soğuk ve sıcakken ölçülür;
+ * süre ve SQL ifade sayısı konsola yazdırılır.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReferenceDataCacheTest {
+
+    private static final String TRACE_ID = "reference-cache-test-1";
+    private static final String PREFIX = "L2 Cache ";
+    private static final String DURUM = "L2Cache";
+    private static final String PERMISSION_MODULE = "cache-test";
+    private static final int EGITIM_COUNT = 100;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private KategoriService kategoriService;
+
+    @Autowired
+    private PaydasService paydasService;
+
+    @Autowired
+    private EgitmenService egitmenService;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private KategoriRepository kategoriRepository;
+
+    @Autowired
+    private SecondLevelCacheMetrics secondLevelCacheMetrics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    private Statistics statistics;
+    private int sentRequests;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (sentRequests > 0) {
+            // İsteklerin log satırları yazıldıktan sonra silinir; diğer testler boş log tablolarıyla çalışır
+            long deadline = System.currentTimeMillis() + 5000;
+            while (countApiLogs() < sentRequests && System.currentTimeMillis() < deadline) {
+                logIngestionPipeline.flushAll();
+                Thread.sleep(20);
+            }
+            for (String table : List.of("api_logs", "activity_logs", "error_logs", "request_traces", "trace_spans")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE trace_id = ?", TRACE_ID);
+            }
+        }
+        String egitimIds = "SELECT id FROM egitim WHERE durum = '" + DURUM + "'";
+        for (String table : List.of("egitim_kategori", "egitim_egitmen", "egitim_paydas", "egitim_sorumlu")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE egitim_id IN (" + egitimIds + ")");
+        }
+        jdbcTemplate.update("DELETE FROM egitim WHERE durum = ?", DURUM);
+        jdbcTemplate.update("DELETE FROM kategori WHERE ust_kategori_id IN (SELECT id FROM kategori WHERE ad LIKE ?)", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM kategori WHERE ad LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM egitmen WHERE ad LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM paydas WHERE ad LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM role_permissions WHERE permission_id IN (SELECT id FROM permissions WHERE module = ?)",
+            PERMISSION_MODULE);
+        jdbcTemplate.update("DELETE FROM permissions WHERE module = ?", PERMISSION_MODULE);
+        jdbcTemplate.update("DELETE FROM roles WHERE name LIKE ?", PREFIX + "%");
+        // Temizlik JDBC ile yapıldı; Hibernate'in haberi olmadığından önbellek elle boşaltılır
+        evictAll();
+    }
+
+    @Test
+    @DisplayName("Kategori: ısınmış liste sorgusu veritabanına gitmemeli, her yazma listeyi geçersiz kılmalı")
+    void testKategoriListCachedAndInvalidated() {
+        KategoriDTO parent = kategoriService.create(kategori("Ana", null));
+        kategoriService.getAll();
+
+        statistics.clear();
+        List<KategoriDTO> warm = kategoriService.getAll();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(names(warm)).contains(PREFIX + "Ana");
+
+        // Güncelleme: hem liste hem id ile okuma yeni değeri görmeli
+        kategoriService.update(parent.getId(), kategori("Ana Yeni", null));
+        assertThat(names(kategoriService.getAll())).contains(PREFIX + "Ana Yeni").doesNotContain(PREFIX + "Ana");
+        assertThat(kategoriService.getById(parent.getId()).getAd()).isEqualTo(PREFIX + "Ana Yeni");
+
+        // Alt kategori: üst kategorinin önbellekteki altKategoriler seti düşürülmeli
+        assertThat(altKategoriler(parent.getId())).isEmpty();
+        KategoriDTO child = kategoriService.create(kategori("Alt", parent.getId()));
+        assertThat(altKategoriler(parent.getId())).containsExactly(PREFIX + "Alt");
+        assertThat(names(kategoriService.getAll())).contains(PREFIX + "Alt");
+        assertThat(kategoriService.getAll(org.springframework.data.domain.PageRequest.of(0, 1000)).getContent())
+            .extracting(KategoriDTO::getAd).contains(PREFIX + "Alt");
+
+        kategoriService.delete(child.getId());
+        assertThat(altKategoriler(parent.getId())).isEmpty();
+        assertThat(names(kategoriService.getAll())).doesNotContain(PREFIX + "Alt");
+    }
+
+    @Test
+    @DisplayName("Paydaş ve eğitmen: oluşturma, güncelleme ve silme listeye yansımalı")
+    void testPaydasAndEgitmenInvalidated() {
+        PaydasDTO paydas = new PaydasDTO();
+        paydas.setAd(PREFIX + "Paydaş");
+        paydas = paydasService.create(paydas);
+        EgitmenDTO egitmen = new EgitmenDTO();
+        egitmen.setAd(PREFIX + "Eğitmen");
+        egitmen.setSoyad("Test");
+        egitmen = egitmenService.create(egitmen);
+        assertThat(paydasService.getAll()).extracting(PaydasDTO::getAd).contains(PREFIX + "Paydaş");
+        assertThat(egitmenService.getAll()).extracting(EgitmenDTO::getAd).contains(PREFIX + "Eğitmen");
+
+        paydas.setAd(PREFIX + "Paydaş 2");
+        paydasService.update(paydas.getId(), paydas);
+        egitmen.setAd(PREFIX + "Eğitmen 2");
+        egitmenService.update(egitmen.getId(), egitmen);
+        assertThat(paydasService.getAll()).extracting(PaydasDTO::getAd)
+            .contains(PREFIX + "Paydaş 2").doesNotContain(PREFIX + "Paydaş");
+        assertThat(egitmenService.getById(egitmen.getId()).getAd()).isEqualTo(PREFIX + "Eğitmen 2");
+        assertThat(egitmenService.getAll()).extracting(EgitmenDTO::getAd)
+            .contains(PREFIX + "Eğitmen 2").doesNotContain(PREFIX + "Eğitmen");
+
+        paydasService.delete(paydas.getId());
+        egitmenService.delete(egitmen.getId());
+        assertThat(paydasService.getAll()).extracting(PaydasDTO::getAd).doesNotContain(PREFIX + "Paydaş 2");
+        assertThat(egitmenService.getAll()).extracting(EgitmenDTO::getAd).doesNotContain(PREFIX + "Eğitmen 2");
+    }
+
+    @Test
+    @DisplayName("Yetki silinince önbellekteki rol yetki setlerinden de düşmeli")
+    void testPermissionDeleteInvalidatesRolePermissions() {
+        PermissionDTO kept = permissionService.createPermission(PERMISSION_MODULE, "view", "Kalan");
+        PermissionDTO deleted = permissionService.createPermission(PERMISSION_MODULE, "delete", "Silinen");
+        RoleRequestDTO request = new RoleRequestDTO();
+        request.setName(PREFIX + "Rol");
+        request.setPermissionIds(Set.of(kept.getId(), deleted.getId()));
+        RoleDTO role = roleService.createRole(request);
+
+        // Liste sorgusu ve rolün yetki seti önbelleğe alınır
+        assertThat(actions(findRole(role.getId()))).containsExactlyInAnyOrder("view", "delete");
+        assertThat(actions(findRole(role.getId()))).containsExactlyInAnyOrder("view", "delete");
+
+        permissionService.updatePermission(kept.getId(), "Güncel");
+        assertThat(permissionService.getAllPermissions()).filteredOn(p -> p.getId().equals(kept.getId()))
+            .extracting(PermissionDTO::getDescription).containsExactly("Güncel");
+
+        permissionService.deletePermission(deleted.getId());
+        assertThat(actions(findRole(role.getId()))).containsExactly("view");
+        assertThat(actions(roleService.getRoleById(role.getId()))).containsExactly("view");
+        assertThat(permissionService.getAllPermissions()).extracting(PermissionDTO::getId).doesNotContain(deleted.getId());
+
+        roleService.removePermissionFromRole(role.getId(), kept.getId());
+        assertThat(findRole(role.getId()).getPermissions()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Bölge sayaçları isabet, ıska ve kayıt sayısını göstermeli")
+    void testRegionStats() {
+        KategoriDTO created = kategoriService.create(kategori("Sayaç", null));
+        evictAll();
+        statistics.clear();
+        kategoriService.getById(created.getId());
+        kategoriService.getById(created.getId());
+
+        CacheRegionStatsDTO region = secondLevelCacheMetrics.getRegions().stream()
+            .filter(r -> r.getRegion().equals("kategori")).findFirst().orElseThrow();
+        assertThat(region.getMisses()).isEqualTo(1);
+        assertThat(region.getHits()).isEqualTo(1);
+        assertThat(region.getPuts()).isEqualTo(1);
+        assertThat(region.getSize()).isGreaterThanOrEqualTo(1);
+        assertThat(secondLevelCacheMetrics.getStats()).containsKeys("regions", "hits", "misses", "puts", "evictions", "size");
+    }
+
+    @Test
+    @DisplayName("Benchmark: GET /egitim ve POST /egitim önbellek soğuk ve sıcakken")
+    void testEgitimEndpointsColdVsWarm() throws Exception {
+        List<Long> kategoriIds = new ArrayList<>();
+        List<Long> egitmenIds = new ArrayList<>();
+        List<Long> paydasIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            kategoriIds.add(kategoriService.create(kategori("Bench " + i, null)).getId());
+            EgitmenDTO egitmen = new EgitmenDTO();
+            egitmen.setAd(PREFIX + "Bench " + i);
+            egitmen.setSoyad("Eğitmen");
+            egitmenIds.add(egitmenService.create(egitmen).getId());
+            PaydasDTO paydas = new PaydasDTO();
+            paydas.setAd(PREFIX + "Bench " + i);
+            paydasIds.add(paydasService.create(paydas).getId());
+        }
+        seedEgitimler(kategoriIds, egitmenIds, paydasIds);
+
+        String token = jwtUtil.generateToken("admin@akademi.com", "ADMIN");
+        EgitimRequestDTO request = new EgitimRequestDTO();
+        request.setDurum(DURUM);
+        request.setKategoriIds(Set.copyOf(kategoriIds.subList(0, 3)));
+        request.setEgitmenIds(Set.copyOf(egitmenIds.subList(0, 2)));
+        request.setPaydasIds(Set.copyOf(paydasIds.subList(0, 2)));
+
+        long[] coldGet = measure(true, () -> getEgitimler(token));
+        long[] warmGet = measure(false, () -> getEgitimler(token));
+        long[] coldPost = measure(true, () -> postEgitim(token, request));
+        long[] warmPost = measure(false, () -> postEgitim(token, request));
+
+        System.out.println(String.format(
+            "📊 GET /egitim (%d kayıt): soğuk %.2fms / %.1f sorgu, sıcak %.2fms / %.1f sorgu (istek başına)",
+            EGITIM_COUNT, coldGet[0] / 1_000_000.0 / ROUNDS, coldGet[1] / (double) ROUNDS,
+            warmGet[0] / 1_000_000.0 / ROUNDS, warmGet[1] / (double) ROUNDS));
+        System.out.println(String.format(
+            "📊 POST /egitim (3 kategori, 2 eğitmen, 2 paydaş): soğuk %.2fms / %.1f sorgu, sıcak %.2fms / %.1f sorgu (istek başına)",
+            coldPost[0] / 1_000_000.0 / ROUNDS, coldPost[1] / (double) ROUNDS,
+            warmPost[0] / 1_000_000.0 / ROUNDS, warmPost[1] / (double) ROUNDS));
+
+        // Sıcak GET: kategori/eğitmen/paydaş setleri ve elemanları önbellekten (yalnızca sorumlu seti sorgulanır)
+        assertThat(warmGet[1]).isLessThan(coldGet[1]);
+        // Sıcak POST: multiLoad referans verisini önbellekten alır, yalnızca insert'ler kalır
+        assertThat(warmPost[1]).isLessThan(coldPost[1]);
+    }
+
+    private interface Call {
+        void run() throws Exception;
+    }
+
+    /**
+     * ROUNDS kez çağırır; cold ise her çağrıdan önce tüm önbellek boşaltılır.
+     * Dönüş: {toplam süre (ns), toplam SQL ifadesi}
+     */
+    private long[] measure(boolean cold, Call call) throws Exception {
+        if (!cold) {
+            call.run();
+        }
+        long nanos = 0;
+        long statements = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            if (cold) {
+                evictAll();
+            }
+            statistics.clear();
+            long start = System.nanoTime();
+            call.run();
+            nanos += System.nanoTime() - start;
+            statements += statistics.getPrepareStatementCount();
+        }
+        return new long[]{nanos, statements};
+    }
+
+    private void getEgitimler(String token) throws Exception {
+        mockMvc.perform(get("/egitim")
+                .param("size", String.valueOf(EGITIM_COUNT))
+                .param("durum", DURUM)
+                .header("Authorization", "Bearer " + token)
+                .header(TraceFilter.HEADER, TRACE_ID))
+            .andExpect(status().isOk());
+        sentRequests++;
+    }
+
+    private void postEgitim(String token, EgitimRequestDTO request) throws Exception {
+        request.setAd(PREFIX + "Yeni " + sentRequests);
+        mockMvc.perform(post("/egitim")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request))
+                .header("Authorization", "Bearer " + token)
+                .header(TraceFilter.HEADER, TRACE_ID))
+            .andExpect(status().isCreated());
+        sentRequests++;
+    }
+
+    private void seedEgitimler(List<Long> kategoriIds, List<Long> egitmenIds, List<Long> paydasIds) {
+        for (int i = 0; i < EGITIM_COUNT; i++) {
+            jdbcTemplate.update("INSERT INTO egitim (ad, durum) VALUES (?, ?)", PREFIX + "Eğitim " + i, DURUM);
+            Long egitimId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM egitim", Long.class);
+            for (int k = 0; k < 3; k++) {
+                jdbcTemplate.update("INSERT INTO egitim_kategori (egitim_id, kategori_id) VALUES (?, ?)",
+                    egitimId, kategoriIds.get((i + k) % kategoriIds.size()));
+            }
+            for (int k = 0; k < 2; k++) {
+                jdbcTemplate.update("INSERT INTO egitim_egitmen (egitim_id, egitmen_id) VALUES (?, ?)",
+                    egitimId, egitmenIds.get((i + k) % egitmenIds.size()));
+                jdbcTemplate.update("INSERT INTO egitim_paydas (egitim_id, paydas_id) VALUES (?, ?)",
+                    egitimId, paydasIds.get((i + k) % paydasIds.size()));
+            }
+        }
+    }
+
+    private void evictAll() {
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+    }
+
+    private List<String> altKategoriler(Long id) {
+        return new TransactionTemplate(transactionManager).execute(status -> kategoriRepository.findById(id)
+            .orElseThrow().getAltKategoriler().stream().map(Kategori::getAd).collect(Collectors.toList()));
+    }
+
+    private RoleDTO findRole(Long id) {
+        return roleService.getAllRoles().stream().filter(r -> r.getId().equals(id)).findFirst().orElseThrow();
+    }
+
+    private static KategoriDTO kategori(String ad, Long ustKategoriId) {
+        KategoriDTO dto = new KategoriDTO();
+        dto.setAd(PREFIX + ad);
+        dto.setUstKategoriId(ustKategoriId);
+        return dto;
+    }
+
+    private static List<String> names(List<KategoriDTO> kategoriler) {
+        return kategoriler.stream().map(KategoriDTO::getAd).collect(Collectors.toList());
+    }
+
+    private static List<String> actions(RoleDTO role) {
+        return role.getPermissions().stream().map(PermissionDTO::getAction).collect(Collectors.toList());
+    }
+
+    private long countApiLogs() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_logs WHERE trace_id = ?", Long.class, TRACE_ID);
+    }
+}
@@ -0,0 +1,271 @@
+package com.akademi.egitimtakip.tracing;
+
+import com.akademi.egitimtakip.dto.TraceDTO;
+import com.akademi.egitimtakip.dto.TraceSpanDTO;
+import com.akademi.egitimtakip.entity.Egitim;
+import com.akademi.egitimtakip.logging.LogIngestionPipeline;
+import com.akademi.egitimtakip.repository.EgitimRepository;
+import com.akademi.egitimtakip.repository.RequestTraceRepository;
+import com.akademi.egitimtakip.service.TraceService;
+import com.akademi.egitimtakip.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * TraceRecorder Integration Test
+ *
+ * Trace id'nin yanıt header'ına ve log satırlarına yazıldığını, güvenilmeyen adreslerin X-Trace-Id'sinin
+ * yok sayıldığını, yavaş ve hatalı isteklerin
+ * span ağacıyla (HTTP -> CONTROLLER -> SERVICE -> REPOSITORY -> SQL) saklandığını,
+ * hızlı başarılı isteklerin atıldığını ve arena dolunca span'ların sayılarak bırakıldığını doğrular.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TraceRecorderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TraceRecorder traceRecorder;
+
+    @Autowired
+    private TraceService traceService;
+
+    @Autowired
+    private RequestTraceRepository requestTraceRepository;
+
+    @Autowired
+    private EgitimRepository egitimRepository;
+
+    @Autowired
+    private LogIngestionPipeline logIngestionPipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+    private long defaultSlowThresholdMs;
+    private Long egitimId;
+    private final List<String> traceIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        token = jwtUtil.generateToken("admin@akademi.com", "ADMIN");
+        defaultSlowThresholdMs = (Long) ReflectionTestUtils.getField(traceRecorder, "slowThresholdMs");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ReflectionTestUtils.setField(traceRecorder, "slowThresholdMs", defaultSlowThresholdMs);
+        // İsteklerin log satırları yazıldıktan sonra silinir; diğer testler boş log tablolarıyla çalışır
+        for (String traceId : traceIds) {
+            awaitTrue(() -> countRows("api_logs", traceId) > 0);
+            for (String table : List.of("api_logs", "activity_logs", "error_logs", "request_traces", "trace_spans")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE trace_id = ?", traceId);
+            }
+        }
+        if (egitimId != null) {
+            egitimRepository.deleteById(egitimId);
+        }
+    }
+
+    @Test
+    @DisplayName("Yavaş istek span ağacıyla saklanmalı, trace id log satırlarına yazılmalı")
+    void testSlowRequestStoredWithSpanTree() throws Exception {
+        Egitim egitim = new Egitim();
+        egitim.setAd("Trace Test Eğitimi");
+        egitimId = egitimRepository.save(egitim).getId();
+        // Her istek "yavaş" sayılsın
+        ReflectionTestUtils.setField(traceRecorder, "slowThresholdMs", 0L);
+
+        mockMvc.perform(put("/egitim/{id}", egitimId)
+                .header("Authorization", "Bearer " + token)
+                .header(TraceFilter.HEADER, "trace-test-slow-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ad\":\"Güncellenmiş Eğitim\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(TraceFilter.HEADER, "trace-test-slow-1"));
+        traceIds.add("trace-test-slow-1");
+
+        awaitTrue(() -> requestTraceRepository.findFirstByTraceIdOrderByIdDesc("trace-test-slow-1").isPresent());
+        TraceDTO trace = traceService.getTrace("trace-test-slow-1");
+
+        assertThat(trace.getReason()).isEqualTo(TraceRecorder.REASON_SLOW);
+        assertThat(trace.getStatusCode()).isEqualTo(200);
+        assertThat(trace.getDroppedSpans()).isZero();
+        assertThat(trace.getSpans()).hasSize(1);
+
+        TraceSpanDTO root = trace.getSpans().get(0);
+        assertThat(root.getKind()).isEqualTo("HTTP");
+        assertThat(root.getName()).isEqualTo("PUT /egitim/" + egitimId);
+        assertThat(root.getDurationUs()).isNotNull();
+
+        TraceSpanDTO controller = child(root, "CONTROLLER", "EgitimController.updateEgitim");
+        TraceSpanDTO service = child(controller, "SERVICE", "EgitimService.updateEgitim");
+        TraceSpanDTO repository = child(service, "REPOSITORY", "EgitimRepository.findById");
+        assertThat(repository.getChildren())
+            .anySatisfy(sql -> {
+                assertThat(sql.getKind()).isEqualTo("SQL");
+                assertThat(sql.getName()).containsIgnoringCase("select");
+            });
+        assertThat(flatten(root)).allSatisfy(span ->
+            assertThat(span.getStartOffsetUs()).isGreaterThanOrEqualTo(0L));
+
+        awaitTrue(() -> countRows("api_logs", "trace-test-slow-1") > 0);
+    }
+
+    @Test
+    @DisplayName("Hatalı istek eşik altında olsa da saklanmalı ve error log'a trace id yazılmalı")
+    void testFailedRequestStored() throws Exception {
+        MvcResult result = mockMvc.perform(get("/egitim")
+                .header("Authorization", "Bearer " + token)
+                .param("sort", "olmayanAlan,asc"))
+            .andExpect(status().isInternalServerError())
+            .andReturn();
+
+        String traceId = result.getResponse().getHeader(TraceFilter.HEADER);
+        assertThat(traceId).matches("[0-9a-f]{16}");
+        traceIds.add(traceId);
+
+        awaitTrue(() -> requestTraceRepository.findFirstByTraceIdOrderByIdDesc(traceId).isPresent());
+        TraceDTO trace = traceService.getTrace(traceId);
+        assertThat(trace.getReason()).isEqualTo(TraceRecorder.REASON_ERROR);
+        assertThat(trace.getStatusCode()).isEqualTo(500);
+        child(trace.getSpans().get(0), "CONTROLLER", "EgitimController.getAllEgitimler");
+
+        awaitTrue(() -> countRows("error_logs", traceId) == 1);
+    }
+
+    @Test
+    @DisplayName("Hızlı başarılı istek saklanmamalı; geçersiz X-Trace-Id yerine yeni id üretilmeli")
+    void testFastRequestDiscarded() throws Exception {
+        ReflectionTestUtils.setField(traceRecorder, "slowThresholdMs", 60_000L);
+        long discardedBefore = traceRecorder.getStats().get("discarded");
+
+        MvcResult result = mockMvc.perform(get("/egitim")
+                .header("Authorization", "Bearer " + token)
+                .header(TraceFilter.HEADER, "kısa id; geçersiz"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        String traceId = result.getResponse().getHeader(TraceFilter.HEADER);
+        assertThat(traceId).matches("[0-9a-f]{16}");
+        traceIds.add(traceId);
+        assertThat(traceRecorder.getStats().get("discarded")).isEqualTo(discardedBefore + 1);
+
+        logIngestionPipeline.flushAll();
+        assertThat(requestTraceRepository.findFirstByTraceIdOrderByIdDesc(traceId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Güvenilmeyen adresten gelen X-Trace-Id yok sayılmalı, id sunucuda üretilmeli")
+    void testUntrustedTraceIdIgnored() throws Exception {
+        MvcResult result = mockMvc.perform(get("/egitim")
+                .header("Authorization", "Bearer " + token)
+                .header(TraceFilter.HEADER, "trace-test-spoofed-1")
+                .with(request -> {
+                    request.setRemoteAddr("203.0.113.7");
+                    return request;
+                }))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        String traceId = result.getResponse().getHeader(TraceFilter.HEADER);
+        assertThat(traceId).matches("[0-9a-f]{16}");
+        traceIds.add(traceId);
+
+        awaitTrue(() -> countRows("api_logs", traceId) > 0);
+        assertThat(countRows("api_logs", "trace-test-spoofed-1")).isZero();
+    }
+
+    @Test
+    @DisplayName("Arena dolunca yeni span'lar açılmamalı ve sayılmalı; arena sonraki istekte yeniden kullanılmalı")
+    void testArenaOverflow() {
+        assertThat(TraceContext.begin("overflow-trace-1", 4)).isTrue();
+        assertThat(TraceContext.begin("overflow-trace-2", 4)).isFalse();
+        int root = TraceContext.openSpan(SpanKind.HTTP, null);
+        List<Integer> spans = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            spans.add(TraceContext.openSpan(SpanKind.SERVICE, "S" + i));
+        }
+        for (int i = spans.size() - 1; i >= 0; i--) {
+            TraceContext.closeSpan(spans.get(i));
+        }
+        TraceContext.closeSpan(root);
+        ActiveTrace trace = TraceContext.end();
+
+        assertThat(spans).containsExactly(1, 2, 3, -1, -1);
+        assertThat(trace.size()).isEqualTo(4);
+        assertThat(trace.getDroppedSpans()).isEqualTo(2);
+        assertThat(trace.parent(3)).isEqualTo(2);
+        assertThat(trace.durationNanos(3)).isGreaterThanOrEqualTo(0L);
+        assertThat(TraceContext.currentTraceId()).isNull();
+        assertThat(TraceContext.openSpan(SpanKind.SERVICE, "aktif trace yok")).isEqualTo(-1);
+
+        assertThat(TraceContext.begin("overflow-trace-3", 4)).isTrue();
+        ActiveTrace reused = TraceContext.end();
+        assertThat(reused).isSameAs(trace);
+        assertThat(reused.size()).isZero();
+        assertThat(reused.getDroppedSpans()).isZero();
+    }
+
+    private static TraceSpanDTO child(TraceSpanDTO parent, String kind, String name) {
+        return parent.getChildren().stream()
+            .filter(span -> kind.equals(span.getKind()) && name.equals(span.getName()))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError(kind + " " + name + " span'ı bulunamadı: " + names(parent)));
+    }
+
+    private static List<String> names(TraceSpanDTO parent) {
+        return parent.getChildren().stream().map(span -> span.getKind() + " " + span.getName()).toList();
+    }
+
+    private static List<TraceSpanDTO> flatten(TraceSpanDTO root) {
+        List<TraceSpanDTO> spans = new ArrayList<>();
+        spans.add(root);
+        for (TraceSpanDTO child : root.getChildren()) {
+            spans.addAll(flatten(child));
+        }
+        return spans;
+    }
+
+    private long countRows(String table, String traceId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + table + " WHERE trace_id = ?", Long.class, traceId);
+    }
+
+    private void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            logIngestionPipeline.flushAll();
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
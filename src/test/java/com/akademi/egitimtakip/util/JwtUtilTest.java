@@ -0,0 +1,142 @@
+package com.akademi.egitimtakip.util;
+
+import com.akademi.egitimtakip.entity.Rol;
+import com.akademi.egitimtakip.security.AuthenticatedPrincipal;
+import com.akademi.egitimtakip.security.AuthenticatedPrincipalResolver;
+import com.akademi.egitimtakip.security.JwtAuthenticationFilter;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtUtil Unit Tests / Benchmark
+ *
+ * Token'ın tek seferde doğrulandığını, doğrulanmış token önbelleğinin
+ * token süresini aşmadığını doğrular. Benchmark yalnızca -Dbenchmarks=true ile çalışır:
+ * JwtAuthenticationFilter'ın önbellekli ve önbelleksiz çalışma hızını ölçer (sonuç konsola yazdırılır).
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLong";
+    private static final String EMAIL = "egitmen@akademi.com";
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Token bir kez doğrulanmalı, sonraki çağrılar önbellekten gelmeli")
+    void testParseTokenCachesVerifiedClaims() {
+        JwtUtil jwtUtil = jwtUtil(100, 86_400_000L);
+        String token = jwtUtil.generateToken(EMAIL, "EGITMEN");
+
+        JwtClaims claims = jwtUtil.parseToken(token);
+        assertEquals(EMAIL, claims.getEmail());
+        assertEquals("EGITMEN", claims.getRol());
+
+        assertEquals(EMAIL, jwtUtil.getEmailFromToken(token));
+        assertEquals("EGITMEN", jwtUtil.getRolFromToken(token));
+        assertTrue(jwtUtil.validateToken(token, EMAIL));
+
+        assertEquals(1, jwtUtil.getCacheMisses());
+        assertEquals(3, jwtUtil.getCacheHits());
+    }
+
+    @Test
+    @DisplayName("Değiştirilmiş token önbellekten dönmemeli, reddedilmeli")
+    void testTamperedTokenIsRejected() {
+        JwtUtil jwtUtil = jwtUtil(100, 86_400_000L);
+        String token = jwtUtil.generateToken(EMAIL, "EGITMEN");
+        jwtUtil.parseToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(tampered));
+    }
+
+    @Test
+    @DisplayName("Önbellek kaydı token süresini aşmamalı")
+    void testCacheEntryDoesNotOutliveTokenExpiry() throws InterruptedException {
+        // exp saniyeye yuvarlanır; 1 sn'lik token üretildiği anda süresi dolmuş olabilir
+        JwtUtil jwtUtil = jwtUtil(100, 2_000L);
+        String token = jwtUtil.generateToken(EMAIL, "EGITMEN");
+        jwtUtil.parseToken(token);
+
+        Thread.sleep(2_100);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("Benchmark: JwtAuthenticationFilter önbellekli/önbelleksiz")
+    void benchmarkFilterThroughput() throws Exception {
+        double uncached = measureFilter(jwtUtil(0, 86_400_000L));
+        JwtUtil cachedUtil = jwtUtil(100, 86_400_000L);
+        double cached = measureFilter(cachedUtil);
+
+        System.out.println(String.format(
+            "📊 JwtAuthenticationFilter: önbelleksiz=%.0f istek/sn, önbellekli=%.0f istek/sn (x%.1f)",
+            uncached, cached, cached / uncached
+        ));
+
+        // Aynı token için imza yalnızca bir kez doğrulanmalı
+        assertEquals(1, cachedUtil.getCacheMisses());
+    }
+
+    /**
+     * Aynı token ile filtreyi art arda çalıştırır, saniyedeki istek sayısını döndürür
+     */
+    private double measureFilter(JwtUtil jwtUtil) throws Exception {
+        AuthenticatedPrincipalResolver resolver = mock(AuthenticatedPrincipalResolver.class);
+        when(resolver.resolve(anyString()))
+            .thenReturn(new AuthenticatedPrincipal(1L, EMAIL, null, null, null, Rol.EGITMEN));
+
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "principalResolver", resolver);
+
+        String header = "Bearer " + jwtUtil.generateToken(EMAIL, "EGITMEN");
+
+        runFilter(filter, header, 2_000); // warm-up
+        int iterations = 20_000;
+        long start = System.nanoTime();
+        runFilter(filter, header, iterations);
+        long elapsedNs = System.nanoTime() - start;
+
+        return iterations / (elapsedNs / 1_000_000_000.0);
+    }
+
+    private void runFilter(JwtAuthenticationFilter filter, String header, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/egitim");
+            request.addHeader("Authorization", header);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private JwtUtil jwtUtil(int cacheMaxSize, long expirationMs) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expirationMs);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", cacheMaxSize);
+        ReflectionTestUtils.setField(jwtUtil, "cacheTtlMs", 300_000L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}